@@ -0,0 +1,15 @@
+#!/bin/bash
+# Bootstraps a hot-standby replica from the primary on first start, then runs postgres.
+set -e
+
+if [ ! -s "$PGDATA/PG_VERSION" ]; then
+  echo "Cloning primary ${PRIMARY_HOST} into ${PGDATA}"
+  until pg_isready -h "$PRIMARY_HOST" -U "$REPLICATION_USER"; do
+    sleep 1
+  done
+  export PGPASSWORD="$REPLICATION_PASSWORD"
+  pg_basebackup -h "$PRIMARY_HOST" -U "$REPLICATION_USER" -D "$PGDATA" -Fp -Xs -P -R
+  chmod 0700 "$PGDATA"
+fi
+
+exec postgres -c hot_standby=on
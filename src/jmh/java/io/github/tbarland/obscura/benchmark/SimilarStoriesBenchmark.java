@@ -0,0 +1,102 @@
+package io.github.tbarland.obscura.benchmark;
+
+import io.github.tbarland.obscura.dto.SimilarStoryDto;
+import io.github.tbarland.obscura.similar.LshIndex;
+import io.github.tbarland.obscura.similar.MinHasher;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Query, update and signing latency of the similar-stories index over a synthetic corpus. Stories
+ * are drawn from topics of about a thousand stories sharing tags and a vocabulary, so LSH buckets
+ * are crowded the way a real catalog's are. Index size and build time are printed at setup; {@code
+ * sign} includes generating the story text.
+ *
+ * <p>At a million stories the index holds about 500 MB of primitive arrays.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class SimilarStoriesBenchmark {
+
+  @Param({"100000", "1000000"})
+  public int stories;
+
+  @Param({"200"})
+  public int contentLength;
+
+  private MinHasher hasher;
+  private LshIndex index;
+  private Random random;
+  private int[][] updates;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    hasher = new MinHasher(64, 3, 8, 20_000);
+    index = new LshIndex(16, 4, stories);
+    random = new Random(42);
+    long started = System.nanoTime();
+    for (int id = 1; id <= stories; id++) {
+      int topic = random.nextInt(stories / 1000 + 1);
+      index.put(id, hasher.signature(tags(random, topic), prose(random, topic, contentLength)));
+    }
+    updates = new int[1024][];
+    for (int i = 0; i < updates.length; i++) {
+      int topic = random.nextInt(stories / 1000 + 1);
+      updates[i] = hasher.signature(tags(random, topic), prose(random, topic, contentLength));
+    }
+    System.out.printf(
+        "%n[similar] %d stories indexed in %d ms, %d MB%n",
+        stories,
+        TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started),
+        index.memoryBytes() >> 20);
+  }
+
+  @Benchmark
+  public List<SimilarStoryDto> nearest() {
+    return index.nearest(1 + random.nextInt(stories), 10, 0.1);
+  }
+
+  /** Relinks one story under a new signature, as an update event does after signing. */
+  @Benchmark
+  public void update() {
+    index.put(1 + random.nextInt(stories), updates[random.nextInt(updates.length)]);
+  }
+
+  @Benchmark
+  public int[] sign() {
+    int topic = random.nextInt(stories / 1000 + 1);
+    return hasher.signature(tags(random, topic), prose(random, topic, contentLength));
+  }
+
+  private static List<String> tags(Random random, int topic) {
+    List<String> tags = new ArrayList<>(List.of("topic" + topic, "genre" + topic % 20));
+    if (random.nextBoolean()) {
+      tags.add("mood" + random.nextInt(30));
+    }
+    return tags;
+  }
+
+  /** Text mostly from the topic's 40-word vocabulary, with some words from anywhere. */
+  private static String prose(Random random, int topic, int length) {
+    StringBuilder out = new StringBuilder(length + 16);
+    while (out.length() < length) {
+      int word = random.nextInt(5) == 0 ? random.nextInt(100_000) : topic * 40 + random.nextInt(40);
+      out.append('w').append(Integer.toString(word, 36)).append(' ');
+    }
+    return out.toString();
+  }
+}
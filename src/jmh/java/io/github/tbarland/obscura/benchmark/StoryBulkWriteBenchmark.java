@@ -0,0 +1,125 @@
+package io.github.tbarland.obscura.benchmark;
+
+import io.github.tbarland.obscura.ObscuraApplication;
+import io.github.tbarland.obscura.config.ImportProperties;
+import io.github.tbarland.obscura.importer.CopyStoryWriter;
+import io.github.tbarland.obscura.importer.JdbcBatchStoryWriter;
+import io.github.tbarland.obscura.importer.StoryBulkWriter;
+import io.github.tbarland.obscura.model.Story;
+import io.github.tbarland.obscura.repository.StoryRepository;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+
+/**
+ * Stories written per second to PostgreSQL by each write path: JPA ({@code saveAll}), {@link
+ * JdbcBatchStoryWriter} (with {@code reWriteBatchedInserts}) and {@link CopyStoryWriter}. Each
+ * operation is one story with two tags; an invocation writes {@value #BATCH} of them in one
+ * transaction. Stories are built, and fingerprinted, before the timed part.
+ *
+ * <p>Starts a PostgreSQL container, so Docker must be running.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class StoryBulkWriteBenchmark {
+
+  private static final int BATCH = 2000;
+
+  @Param({"jpa", "batch", "copy"})
+  public String path;
+
+  @Param({"1000"})
+  public int contentLength;
+
+  private PostgreSQLContainer<?> postgres;
+  private ConfigurableApplicationContext context;
+  private TransactionTemplate transactionTemplate;
+  private StoryRepository storyRepository;
+  private StoryBulkWriter writer;
+  private Random random;
+  private List<Story> stories;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    postgres = new PostgreSQLContainer<>("postgres:17-alpine");
+    postgres.start();
+    context =
+        new SpringApplicationBuilder(ObscuraApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=" + postgres.getJdbcUrl() + "&reWriteBatchedInserts=true",
+                "spring.datasource.username=" + postgres.getUsername(),
+                "spring.datasource.password=" + postgres.getPassword(),
+                "spring.jpa.show-sql=false",
+                "obscura.outbox.relay-enabled=false",
+                "logging.level.root=WARN")
+            .run();
+    transactionTemplate = context.getBean(TransactionTemplate.class);
+    storyRepository = context.getBean(StoryRepository.class);
+    DataSource dataSource = context.getBean(DataSource.class);
+    writer =
+        path.equals("copy")
+            ? new CopyStoryWriter(dataSource)
+            : new JdbcBatchStoryWriter(dataSource, context.getBean(ImportProperties.class));
+    random = new Random(42);
+  }
+
+  @Setup(Level.Invocation)
+  public void prepareBatch() {
+    LocalDateTime now = LocalDateTime.now();
+    stories = new ArrayList<>(BATCH);
+    for (int i = 0; i < BATCH; i++) {
+      StringBuilder content = new StringBuilder(contentLength + 16);
+      while (content.length() < contentLength) {
+        content.append('w').append(Integer.toString(random.nextInt(100_000), 36)).append(' ');
+      }
+      Story story = new Story();
+      story.setTitle("Bulk story " + i);
+      story.setContent(content.toString());
+      story.setAuthor("Author " + random.nextInt(50));
+      story.setTags(new ArrayList<>(List.of("bulk", "tag" + random.nextInt(20))));
+      story.setCreatedAt(now);
+      story.setUpdatedAt(now);
+      stories.add(story);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+    postgres.stop();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(BATCH)
+  public void write() {
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          if (path.equals("jpa")) {
+            storyRepository.saveAll(stories);
+          } else {
+            writer.insert(stories);
+          }
+        });
+  }
+}
@@ -0,0 +1,96 @@
+package io.github.tbarland.obscura.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.tbarland.obscura.ObscuraApplication;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.service.StoryListWriter;
+import io.github.tbarland.obscura.service.StoryService;
+import io.github.tbarland.obscura.web.StoryWireFormat;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Cost of rendering the full story list: the previous path (entities, DTO list, ObjectMapper)
+ * against {@link StoryListWriter} streaming from the result set. Both run against the same
+ * in-memory H2 catalog inside a non-web application context.
+ *
+ * <p>Run with {@code -Pjmh.profilers=gc} and divide {@code gc.alloc.rate.norm} by {@code stories}
+ * for bytes allocated per story, or {@code -Pjmh.profilers=jfr} for allocation flame graphs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StoryListAllocationBenchmark {
+
+  @Param({"1000"})
+  public int stories;
+
+  @Param({"200", "4000"})
+  public int contentLength;
+
+  private ConfigurableApplicationContext context;
+  private StoryService storyService;
+  private StoryListWriter storyListWriter;
+  private ObjectMapper objectMapper;
+
+  @Setup(Level.Trial)
+  public void setUp() {
+    context =
+        new SpringApplicationBuilder(ObscuraApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:list-benchmark;DB_CLOSE_DELAY=-1",
+                "spring.jpa.show-sql=false",
+                "obscura.outbox.relay-enabled=false",
+                "logging.level.root=WARN")
+            .run();
+    storyService = context.getBean(StoryService.class);
+    storyListWriter = context.getBean(StoryListWriter.class);
+    objectMapper = context.getBean(ObjectMapper.class);
+
+    String content = "The fog rolled over the cellar door. ".repeat(contentLength / 37 + 1);
+    List<StoryRequestDto> batch = new ArrayList<>();
+    for (int i = 0; i < stories; i++) {
+      batch.add(
+          new StoryRequestDto(
+              "Story " + i,
+              content.substring(0, contentLength),
+              "Author " + (i % 50),
+              List.of("horror", "tag" + (i % 20))));
+      if (batch.size() == 500 || i == stories - 1) {
+        storyService.createStories(batch);
+        batch.clear();
+      }
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    context.close();
+  }
+
+  @Benchmark
+  public void dtoList() throws Exception {
+    objectMapper.writeValue(OutputStream.nullOutputStream(), storyService.getAllStories());
+  }
+
+  @Benchmark
+  public void streamedFromResultSet() throws Exception {
+    storyListWriter.writeAll(StoryWireFormat.JSON, OutputStream.nullOutputStream());
+  }
+}
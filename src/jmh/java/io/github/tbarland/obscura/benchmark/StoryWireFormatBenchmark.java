@@ -0,0 +1,122 @@
+package io.github.tbarland.obscura.benchmark;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Encode/decode cost of the story DTOs in each negotiated wire format, for a single story and for a
+ * list page. Mappers are configured like the application's (ISO dates, JavaTimeModule). Payload
+ * sizes are printed at setup so throughput can be read alongside bytes on the wire; run with {@code
+ * -prof gc} for allocation rates.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StoryWireFormatBenchmark {
+
+  @Param({"json", "smile", "cbor"})
+  public String format;
+
+  @Param({"1", "100"})
+  public int stories;
+
+  @Param({"500", "8000"})
+  public int contentLength;
+
+  private ObjectWriter writer;
+  private ObjectReader reader;
+  private List<StoryResponseDto> page;
+  private byte[] encoded;
+
+  @Setup(Level.Trial)
+  public void setUp() throws Exception {
+    JsonFactory factory =
+        switch (format) {
+          case "smile" -> new SmileFactory();
+          case "cbor" -> new CBORFactory();
+          default -> new JsonFactory();
+        };
+    ObjectMapper mapper =
+        new ObjectMapper(factory)
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+    writer = mapper.writerFor(StoryResponseDto[].class);
+    reader = mapper.readerFor(StoryResponseDto[].class);
+
+    Random random = new Random(42);
+    page = new ArrayList<>(stories);
+    LocalDateTime now = LocalDateTime.of(2025, 11, 11, 10, 30);
+    for (int i = 0; i < stories; i++) {
+      page.add(
+          new StoryResponseDto(
+              (long) i + 1,
+              "A Haunting on Elm Street #" + i,
+              prose(random, contentLength),
+              "Author " + random.nextInt(500),
+              List.of("horror", "ghost", "tag" + random.nextInt(50)),
+              now.minusMinutes(i),
+              now));
+    }
+    encoded = writer.writeValueAsBytes(page.toArray(StoryResponseDto[]::new));
+    System.out.printf(
+        "%n[%s] %d stories x %d chars -> %d bytes%n",
+        format, stories, contentLength, encoded.length);
+  }
+
+  @Benchmark
+  public byte[] encode() throws Exception {
+    return writer.writeValueAsBytes(page.toArray(StoryResponseDto[]::new));
+  }
+
+  @Benchmark
+  public StoryResponseDto[] decode() throws Exception {
+    return reader.readValue(encoded);
+  }
+
+  private static String prose(Random random, int length) {
+    String[] words = {
+      "the",
+      "fog",
+      "rolled",
+      "over",
+      "cellar",
+      "door",
+      "whispered",
+      "lantern",
+      "midnight",
+      "shadow",
+      "creaked",
+      "hollow",
+      "moon",
+      "candle",
+      "footsteps",
+      "abandoned"
+    };
+    StringBuilder out = new StringBuilder(length + 16);
+    while (out.length() < length) {
+      out.append(words[random.nextInt(words.length)]).append(random.nextInt(8) == 0 ? ". " : " ");
+    }
+    return out.substring(0, length);
+  }
+}
@@ -0,0 +1,38 @@
+package io.github.tbarland.obscura.loadtest;
+
+import java.util.SplittableRandom;
+
+/** Read-heavy browsing: 90% single-story reads over a seeded catalog, 10% full list reads. */
+final class BrowseScenario implements Scenario {
+
+  private long[] ids = new long[0];
+
+  @Override
+  public String name() {
+    return "browse";
+  }
+
+  @Override
+  public void seed(StoryApiClient client, LoadTestConfig config) {
+    SplittableRandom random = new SplittableRandom(42);
+    ids = new long[config.seedStories()];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] =
+          client.createStory(
+              "seed",
+              StoryContent.title(random),
+              StoryContent.text(random, 2_000),
+              "Load Test",
+              StoryContent.tags(random, 3));
+    }
+  }
+
+  @Override
+  public void iterate(StoryApiClient client, VirtualUser user) {
+    if (user.random().nextInt(10) == 0 || ids.length == 0) {
+      client.listStories(user.clientKey());
+    } else {
+      client.getStory(user.clientKey(), ids[user.random().nextInt(ids.length)]);
+    }
+  }
+}
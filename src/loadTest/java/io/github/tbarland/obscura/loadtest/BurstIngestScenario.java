@@ -0,0 +1,20 @@
+package io.github.tbarland.obscura.loadtest;
+
+/** Burst ingestion: every iteration creates a new 1-4 KB story with three tags. */
+final class BurstIngestScenario implements Scenario {
+
+  @Override
+  public String name() {
+    return "ingest";
+  }
+
+  @Override
+  public void iterate(StoryApiClient client, VirtualUser user) {
+    client.createStory(
+        user.clientKey(),
+        StoryContent.title(user.random()),
+        StoryContent.text(user.random(), 1_000 + user.random().nextInt(3_000)),
+        "Load Test",
+        StoryContent.tags(user.random(), 3));
+  }
+}
@@ -0,0 +1,36 @@
+package io.github.tbarland.obscura.loadtest;
+
+import java.util.SplittableRandom;
+
+/** Large-content reads: a small set of book-length stories read over and over. */
+final class LargeContentScenario implements Scenario {
+
+  private static final int LARGE_STORIES = 20;
+
+  private long[] ids = new long[0];
+
+  @Override
+  public String name() {
+    return "large";
+  }
+
+  @Override
+  public void seed(StoryApiClient client, LoadTestConfig config) {
+    SplittableRandom random = new SplittableRandom(7);
+    ids = new long[LARGE_STORIES];
+    for (int i = 0; i < ids.length; i++) {
+      ids[i] =
+          client.createStory(
+              "seed",
+              StoryContent.title(random),
+              StoryContent.text(random, config.largeContentKb() * 1024),
+              "Load Test",
+              StoryContent.tags(random, 2));
+    }
+  }
+
+  @Override
+  public void iterate(StoryApiClient client, VirtualUser user) {
+    client.getLargeStory(user.clientKey(), ids[user.random().nextInt(ids.length)]);
+  }
+}
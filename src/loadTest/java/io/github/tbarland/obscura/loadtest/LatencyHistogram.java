@@ -0,0 +1,78 @@
+package io.github.tbarland.obscura.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent log-linear latency histogram in microseconds.
+ *
+ * <p>Values below 128 are counted exactly; above that each power of two is split into 64 linear
+ * sub-buckets, so any reported percentile is within about 1.6% of the true value while the whole
+ * histogram stays a fixed-size array that every worker can record into without locking.
+ */
+final class LatencyHistogram {
+
+  private static final int SUB_BUCKETS = 64;
+  private static final int BUCKET_COUNT = SUB_BUCKETS * 60;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+  private final LongAdder total = new LongAdder();
+  private final LongAdder sum = new LongAdder();
+  private final LongAccumulator max = new LongAccumulator(Math::max, 0);
+
+  void record(long micros) {
+    long value = Math.max(0, micros);
+    counts.incrementAndGet(indexOf(value));
+    total.increment();
+    sum.add(value);
+    max.accumulate(value);
+  }
+
+  long count() {
+    return total.sum();
+  }
+
+  double meanMicros() {
+    long count = count();
+    return count == 0 ? 0 : (double) sum.sum() / count;
+  }
+
+  long maxMicros() {
+    return max.get();
+  }
+
+  /** Upper bound of the bucket holding the given percentile (0-100). */
+  long percentileMicros(double percentile) {
+    long count = count();
+    if (count == 0) {
+      return 0;
+    }
+    long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+    long seen = 0;
+    for (int i = 0; i < BUCKET_COUNT; i++) {
+      seen += counts.get(i);
+      if (seen >= rank) {
+        return Math.min(upperBoundOf(i), maxMicros());
+      }
+    }
+    return maxMicros();
+  }
+
+  static int indexOf(long value) {
+    if (value < 2 * SUB_BUCKETS) {
+      return (int) value;
+    }
+    int shift = 63 - Long.numberOfLeadingZeros(value) - 6;
+    return shift * SUB_BUCKETS + (int) (value >>> shift);
+  }
+
+  static long upperBoundOf(int index) {
+    if (index < 2 * SUB_BUCKETS) {
+      return index;
+    }
+    int shift = index / SUB_BUCKETS - 1;
+    long mantissa = index - (long) shift * SUB_BUCKETS;
+    return ((mantissa + 1) << shift) - 1;
+  }
+}
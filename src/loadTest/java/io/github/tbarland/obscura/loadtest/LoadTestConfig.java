@@ -0,0 +1,61 @@
+package io.github.tbarland.obscura.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Command line options, passed as {@code --name=value} (e.g. through {@code ./gradlew loadTest
+ * --args="--scenario=browse --duration=60s"}).
+ */
+record LoadTestConfig(
+    URI baseUri,
+    String scenario,
+    int concurrency,
+    Duration warmup,
+    Duration duration,
+    int seedStories,
+    int largeContentKb,
+    String accept,
+    Path reportDir,
+    String label) {
+
+  static LoadTestConfig parse(String[] args) {
+    Map<String, String> options = new HashMap<>();
+    for (String arg : args) {
+      if (!arg.startsWith("--") || !arg.contains("=")) {
+        throw new IllegalArgumentException("Expected --name=value but got: " + arg);
+      }
+      int split = arg.indexOf('=');
+      options.put(arg.substring(2, split), arg.substring(split + 1));
+    }
+
+    return new LoadTestConfig(
+        URI.create(options.getOrDefault("base-url", "http://localhost:8080")),
+        options.getOrDefault("scenario", "browse"),
+        Integer.parseInt(options.getOrDefault("concurrency", "32")),
+        duration(options.getOrDefault("warmup", "10s")),
+        duration(options.getOrDefault("duration", "60s")),
+        Integer.parseInt(options.getOrDefault("seed-stories", "500")),
+        Integer.parseInt(options.getOrDefault("large-content-kb", "512")),
+        options.getOrDefault("accept", "application/json"),
+        Path.of(options.getOrDefault("report-dir", "build/reports/load-test")),
+        options.getOrDefault("label", ""));
+  }
+
+  /** Accepts {@code 30s}, {@code 2m} or ISO-8601 ({@code PT30S}). */
+  static Duration duration(String value) {
+    if (value.startsWith("P") || value.startsWith("p")) {
+      return Duration.parse(value);
+    }
+    long amount = Long.parseLong(value.substring(0, value.length() - 1));
+    return switch (value.charAt(value.length() - 1)) {
+      case 's' -> Duration.ofSeconds(amount);
+      case 'm' -> Duration.ofMinutes(amount);
+      case 'h' -> Duration.ofHours(amount);
+      default -> throw new IllegalArgumentException("Unsupported duration: " + value);
+    };
+  }
+}
@@ -0,0 +1,192 @@
+package io.github.tbarland.obscura.loadtest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Summarises a run per operation (throughput and latency percentiles) and writes it three ways: a
+ * console table, a JSON file per run, and a row per operation appended to {@code history.csv} so
+ * runs can be compared across commits.
+ */
+final class LoadTestReport {
+
+  private static final double[] PERCENTILES = {50, 90, 99, 99.9};
+  private static final DateTimeFormatter FILE_STAMP =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneOffset.UTC);
+
+  private final LoadTestConfig config;
+  private final Duration elapsed;
+  private final Instant finishedAt;
+  private final List<OperationStats> operations;
+
+  LoadTestReport(LoadTestConfig config, Duration elapsed, Map<String, OperationStats> stats) {
+    this.config = config;
+    this.elapsed = elapsed;
+    this.finishedAt = Instant.now();
+    this.operations =
+        stats.values().stream().sorted(Comparator.comparing(OperationStats::name)).toList();
+  }
+
+  void print() {
+    System.out.printf(
+        Locale.ROOT,
+        "%nScenario '%s' (%s): %d users for %ds, label '%s'%n",
+        config.scenario(),
+        config.accept(),
+        config.concurrency(),
+        elapsed.toSeconds(),
+        config.label());
+    System.out.printf(
+        Locale.ROOT,
+        "%-18s %10s %10s %8s %8s %9s %9s %9s %9s %9s%n",
+        "operation",
+        "requests",
+        "req/s",
+        "errors",
+        "429/503",
+        "p50 ms",
+        "p90 ms",
+        "p99 ms",
+        "p99.9 ms",
+        "max ms");
+    for (OperationStats op : operations) {
+      LatencyHistogram latency = op.latency();
+      System.out.printf(
+          Locale.ROOT,
+          "%-18s %10d %10.1f %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+          op.name(),
+          latency.count(),
+          throughput(op),
+          op.errors(),
+          op.rejected(),
+          millis(latency.percentileMicros(50)),
+          millis(latency.percentileMicros(90)),
+          millis(latency.percentileMicros(99)),
+          millis(latency.percentileMicros(99.9)),
+          millis(latency.maxMicros()));
+    }
+  }
+
+  Path writeJson() throws IOException {
+    Files.createDirectories(config.reportDir());
+    Path file =
+        config
+            .reportDir()
+            .resolve(config.scenario() + "-" + FILE_STAMP.format(finishedAt) + ".json");
+
+    StringBuilder json = new StringBuilder();
+    json.append("{\n")
+        .append("  \"scenario\": ")
+        .append(StoryApiClient.quote(config.scenario()))
+        .append(",\n  \"label\": ")
+        .append(StoryApiClient.quote(config.label()))
+        .append(",\n  \"accept\": ")
+        .append(StoryApiClient.quote(config.accept()))
+        .append(",\n  \"finishedAt\": ")
+        .append(StoryApiClient.quote(finishedAt.toString()))
+        .append(",\n  \"concurrency\": ")
+        .append(config.concurrency())
+        .append(",\n  \"durationSeconds\": ")
+        .append(elapsed.toMillis() / 1000.0)
+        .append(",\n  \"operations\": [");
+    for (int i = 0; i < operations.size(); i++) {
+      OperationStats op = operations.get(i);
+      LatencyHistogram latency = op.latency();
+      json.append(i == 0 ? "\n" : ",\n")
+          .append("    {\"name\": ")
+          .append(StoryApiClient.quote(op.name()))
+          .append(", \"requests\": ")
+          .append(latency.count())
+          .append(", \"throughputPerSecond\": ")
+          .append(format(throughput(op)))
+          .append(", \"errors\": ")
+          .append(op.errors())
+          .append(", \"rejected\": ")
+          .append(op.rejected())
+          .append(", \"responseBytes\": ")
+          .append(op.bytes())
+          .append(", \"meanMs\": ")
+          .append(format(latency.meanMicros() / 1000.0));
+      for (double percentile : PERCENTILES) {
+        json.append(", \"p")
+            .append(percentileLabel(percentile))
+            .append("Ms\": ")
+            .append(format(millis(latency.percentileMicros(percentile))));
+      }
+      json.append(", \"maxMs\": ").append(format(millis(latency.maxMicros()))).append('}');
+    }
+    json.append("\n  ]\n}\n");
+
+    Files.writeString(file, json, StandardCharsets.UTF_8);
+    return file;
+  }
+
+  Path appendHistory() throws IOException {
+    Files.createDirectories(config.reportDir());
+    Path history = config.reportDir().resolve("history.csv");
+    StringBuilder rows = new StringBuilder();
+    if (!Files.exists(history)) {
+      rows.append(
+          "finished_at,label,scenario,accept,concurrency,operation,requests,req_per_sec,errors,"
+              + "rejected,p50_ms,p90_ms,p99_ms,p999_ms,max_ms\n");
+    }
+    for (OperationStats op : operations) {
+      LatencyHistogram latency = op.latency();
+      rows.append(
+          String.join(
+              ",",
+              finishedAt.toString(),
+              config.label(),
+              config.scenario(),
+              config.accept(),
+              Integer.toString(config.concurrency()),
+              op.name(),
+              Long.toString(latency.count()),
+              format(throughput(op)),
+              Long.toString(op.errors()),
+              Long.toString(op.rejected()),
+              format(millis(latency.percentileMicros(50))),
+              format(millis(latency.percentileMicros(90))),
+              format(millis(latency.percentileMicros(99))),
+              format(millis(latency.percentileMicros(99.9))),
+              format(millis(latency.maxMicros()))));
+      rows.append('\n');
+    }
+    Files.writeString(
+        history,
+        rows,
+        StandardCharsets.UTF_8,
+        StandardOpenOption.CREATE,
+        StandardOpenOption.APPEND);
+    return history;
+  }
+
+  private double throughput(OperationStats op) {
+    return op.latency().count() / Math.max(0.001, elapsed.toMillis() / 1000.0);
+  }
+
+  private static double millis(long micros) {
+    return micros / 1000.0;
+  }
+
+  private static String format(double value) {
+    return String.format(Locale.ROOT, "%.3f", value);
+  }
+
+  private static String percentileLabel(double percentile) {
+    return percentile == Math.rint(percentile)
+        ? Long.toString((long) percentile)
+        : Double.toString(percentile).replace(".", "");
+  }
+}
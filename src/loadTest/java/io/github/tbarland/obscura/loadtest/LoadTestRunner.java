@@ -0,0 +1,100 @@
+package io.github.tbarland.obscura.loadtest;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Closed-loop HTTP load generator for the story API.
+ *
+ * <p>Each of {@code --concurrency} virtual users runs on its own virtual thread and loops over the
+ * scenario's iteration as fast as responses come back. The scenario is seeded first, then run for
+ * {@code --warmup} without recording (JIT, connection pools, caches) and for {@code --duration}
+ * with recording. Run the service with rate limiting disabled or generously configured, otherwise
+ * 429s dominate the numbers.
+ */
+public final class LoadTestRunner {
+
+  private LoadTestRunner() {}
+
+  public static void main(String[] args) throws Exception {
+    LoadTestConfig config = LoadTestConfig.parse(args);
+    if (config.label().isEmpty()) {
+      config = withLabel(config, gitRevision());
+    }
+    Scenario scenario = Scenario.named(config.scenario());
+    StoryApiClient client =
+        new StoryApiClient(config.baseUri(), config.accept(), Duration.ofSeconds(10));
+
+    System.out.printf("Seeding scenario '%s' against %s%n", scenario.name(), config.baseUri());
+    scenario.seed(client, config);
+
+    System.out.printf("Warming up for %ds%n", config.warmup().toSeconds());
+    run(scenario, client, config.concurrency(), config.warmup());
+
+    System.out.printf("Measuring for %ds%n", config.duration().toSeconds());
+    client.startRecording();
+    long start = System.nanoTime();
+    run(scenario, client, config.concurrency(), config.duration());
+    Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+    client.stopRecording();
+
+    LoadTestReport report = new LoadTestReport(config, elapsed, client.stats());
+    report.print();
+    System.out.printf("%nJSON report: %s%n", report.writeJson());
+    System.out.printf("History:     %s%n", report.appendHistory());
+  }
+
+  private static void run(
+      Scenario scenario, StoryApiClient client, int concurrency, Duration duration)
+      throws InterruptedException {
+    if (duration.isZero()) {
+      return;
+    }
+    long deadline = System.nanoTime() + duration.toNanos();
+    try (ExecutorService users = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < concurrency; i++) {
+        Scenario.VirtualUser user =
+            new Scenario.VirtualUser("loadtest-" + i, new SplittableRandom(31L * i + 17));
+        users.submit(
+            () -> {
+              while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                scenario.iterate(client, user);
+              }
+            });
+      }
+      users.shutdown();
+      users.awaitTermination(duration.toSeconds() + 60, TimeUnit.SECONDS);
+    }
+  }
+
+  private static LoadTestConfig withLabel(LoadTestConfig config, String label) {
+    return new LoadTestConfig(
+        config.baseUri(),
+        config.scenario(),
+        config.concurrency(),
+        config.warmup(),
+        config.duration(),
+        config.seedStories(),
+        config.largeContentKb(),
+        config.accept(),
+        config.reportDir(),
+        label);
+  }
+
+  private static String gitRevision() {
+    try {
+      Process git = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").start();
+      String revision = new String(git.getInputStream().readAllBytes()).strip();
+      return git.waitFor() == 0 ? revision : "unknown";
+    } catch (IOException ex) {
+      return "unknown";
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return "unknown";
+    }
+  }
+}
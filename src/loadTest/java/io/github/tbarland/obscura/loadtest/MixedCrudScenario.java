@@ -0,0 +1,39 @@
+package io.github.tbarland.obscura.loadtest;
+
+/**
+ * Mixed CRUD: each iteration walks one story through its lifecycle (create, three reads, update,
+ * read, delete), so virtual users never read each other's deleted stories.
+ */
+final class MixedCrudScenario implements Scenario {
+
+  @Override
+  public String name() {
+    return "mixed";
+  }
+
+  @Override
+  public void iterate(StoryApiClient client, VirtualUser user) {
+    long id =
+        client.createStory(
+            user.clientKey(),
+            StoryContent.title(user.random()),
+            StoryContent.text(user.random(), 1_500),
+            "Load Test",
+            StoryContent.tags(user.random(), 2));
+    if (id < 0) {
+      return;
+    }
+    for (int i = 0; i < 3; i++) {
+      client.getStory(user.clientKey(), id);
+    }
+    client.updateStory(
+        user.clientKey(),
+        id,
+        StoryContent.title(user.random()),
+        StoryContent.text(user.random(), 1_500),
+        "Load Test",
+        StoryContent.tags(user.random(), 2));
+    client.getStory(user.clientKey(), id);
+    client.deleteStory(user.clientKey(), id);
+  }
+}
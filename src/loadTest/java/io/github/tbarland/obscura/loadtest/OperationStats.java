@@ -0,0 +1,52 @@
+package io.github.tbarland.obscura.loadtest;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/** Latency and outcome counters for one kind of request (e.g. "get-story"). */
+final class OperationStats {
+
+  private final String name;
+  private final LatencyHistogram latency = new LatencyHistogram();
+  private final LongAdder errors = new LongAdder();
+  private final LongAdder rejected = new LongAdder();
+  private final LongAdder bytes = new LongAdder();
+
+  OperationStats(String name) {
+    this.name = name;
+  }
+
+  void record(long micros, int status, long responseBytes) {
+    latency.record(micros);
+    bytes.add(responseBytes);
+    if (status == 429 || status == 503) {
+      rejected.increment();
+    } else if (status < 200 || status >= 300) {
+      errors.increment();
+    }
+  }
+
+  void recordFailure(long micros) {
+    latency.record(micros);
+    errors.increment();
+  }
+
+  String name() {
+    return name;
+  }
+
+  LatencyHistogram latency() {
+    return latency;
+  }
+
+  long errors() {
+    return errors.sum();
+  }
+
+  long rejected() {
+    return rejected.sum();
+  }
+
+  long bytes() {
+    return bytes.sum();
+  }
+}
@@ -0,0 +1,36 @@
+package io.github.tbarland.obscura.loadtest;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** A load profile: optional seeding before the run, then one iteration per virtual-user loop. */
+interface Scenario {
+
+  String name();
+
+  default void seed(StoryApiClient client, LoadTestConfig config) {}
+
+  void iterate(StoryApiClient client, VirtualUser user);
+
+  static Scenario named(String name) {
+    return switch (name) {
+      case "browse" -> new BrowseScenario();
+      case "ingest" -> new BurstIngestScenario();
+      case "mixed" -> new MixedCrudScenario();
+      case "large" -> new LargeContentScenario();
+      default ->
+          throw new IllegalArgumentException(
+              "Unknown scenario '" + name + "', expected one of " + names());
+    };
+  }
+
+  static List<String> names() {
+    return List.of("browse", "ingest", "mixed", "large");
+  }
+
+  /**
+   * Per-thread identity and randomness. Each virtual user sends its own X-API-Key, which the
+   * service only honours when it is listed in {@code obscura.rate-limit.api-keys}.
+   */
+  record VirtualUser(String clientKey, SplittableRandom random) {}
+}
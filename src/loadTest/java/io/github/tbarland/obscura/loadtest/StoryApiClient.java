@@ -0,0 +1,168 @@
+package io.github.tbarland.obscura.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Thin JDK HttpClient wrapper over the story API that times every call into per-operation stats.
+ * Only the measurement phase records; seeding goes through the same methods with recording off.
+ */
+final class StoryApiClient {
+
+  private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+  private final HttpClient httpClient;
+  private final URI baseUri;
+  private final String accept;
+  private final Map<String, OperationStats> stats = new ConcurrentHashMap<>();
+  private volatile boolean recording;
+
+  StoryApiClient(URI baseUri, String accept, Duration timeout) {
+    this.baseUri = baseUri;
+    this.accept = accept;
+    this.httpClient =
+        HttpClient.newBuilder()
+            .connectTimeout(timeout)
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+  }
+
+  void startRecording() {
+    recording = true;
+  }
+
+  void stopRecording() {
+    recording = false;
+  }
+
+  Map<String, OperationStats> stats() {
+    return stats;
+  }
+
+  /** Returns the new story id, or -1 if creation failed. */
+  long createStory(
+      String clientKey, String title, String content, String author, List<String> tags) {
+    HttpResponse<byte[]> response =
+        send(
+            "create-story",
+            clientKey,
+            request("/api/stories")
+                // The new id is parsed from a JSON body whatever --accept is
+                .setHeader("Accept", "application/json")
+                .header("Content-Type", "application/json")
+                .POST(ofJson(storyJson(title, content, author, tags))));
+    return response != null && response.statusCode() == 200 ? extractId(response.body()) : -1;
+  }
+
+  void getStory(String clientKey, long id) {
+    send("get-story", clientKey, request("/api/stories/" + id).GET());
+  }
+
+  void getLargeStory(String clientKey, long id) {
+    send("get-large-story", clientKey, request("/api/stories/" + id).GET());
+  }
+
+  void listStories(String clientKey) {
+    send("list-stories", clientKey, request("/api/stories").GET());
+  }
+
+  void updateStory(
+      String clientKey, long id, String title, String content, String author, List<String> tags) {
+    send(
+        "update-story",
+        clientKey,
+        request("/api/stories/" + id)
+            .header("Content-Type", "application/json")
+            .PUT(ofJson(storyJson(title, content, author, tags))));
+  }
+
+  void deleteStory(String clientKey, long id) {
+    send("delete-story", clientKey, request("/api/stories/" + id).DELETE());
+  }
+
+  private HttpRequest.Builder request(String path) {
+    return HttpRequest.newBuilder(baseUri.resolve(path)).header("Accept", accept);
+  }
+
+  private static HttpRequest.BodyPublisher ofJson(String json) {
+    return HttpRequest.BodyPublishers.ofString(json, StandardCharsets.UTF_8);
+  }
+
+  private HttpResponse<byte[]> send(
+      String operation, String clientKey, HttpRequest.Builder builder) {
+    HttpRequest request = builder.header("X-API-Key", clientKey).build();
+    long start = System.nanoTime();
+    try {
+      HttpResponse<byte[]> response =
+          httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+      if (recording) {
+        stats
+            .computeIfAbsent(operation, OperationStats::new)
+            .record(micros(start), response.statusCode(), response.body().length);
+      }
+      return response;
+    } catch (IOException ex) {
+      if (recording) {
+        stats.computeIfAbsent(operation, OperationStats::new).recordFailure(micros(start));
+      }
+      return null;
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      return null;
+    }
+  }
+
+  private static long micros(long startNanos) {
+    return (System.nanoTime() - startNanos) / 1_000;
+  }
+
+  private static long extractId(byte[] body) {
+    Matcher matcher = ID.matcher(new String(body, StandardCharsets.UTF_8));
+    return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+  }
+
+  static String storyJson(String title, String content, String author, List<String> tags) {
+    return "{\"title\":"
+        + quote(title)
+        + ",\"content\":"
+        + quote(content)
+        + ",\"author\":"
+        + quote(author)
+        + ",\"tags\":["
+        + tags.stream().map(StoryApiClient::quote).collect(Collectors.joining(","))
+        + "]}";
+  }
+
+  static String quote(String value) {
+    StringBuilder out = new StringBuilder(value.length() + 2).append('"');
+    for (int i = 0; i < value.length(); i++) {
+      char c = value.charAt(i);
+      switch (c) {
+        case '"' -> out.append("\\\"");
+        case '\\' -> out.append("\\\\");
+        case '\n' -> out.append("\\n");
+        case '\r' -> out.append("\\r");
+        case '\t' -> out.append("\\t");
+        default -> {
+          if (c < 0x20) {
+            out.append(String.format("\\u%04x", (int) c));
+          } else {
+            out.append(c);
+          }
+        }
+      }
+    }
+    return out.append('"').toString();
+  }
+}
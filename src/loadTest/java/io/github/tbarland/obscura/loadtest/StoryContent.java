@@ -0,0 +1,36 @@
+package io.github.tbarland.obscura.loadtest;
+
+import java.util.List;
+import java.util.SplittableRandom;
+
+/** Generates plausible story text and tags of a requested size. */
+final class StoryContent {
+
+  private static final String[] WORDS =
+      ("the shadow crept along hallway while candle flickered and whispers rose from cellar "
+              + "beneath old house no one dared to open door midnight fog lantern graveyard raven "
+              + "silence cold breath behind her")
+          .split(" ");
+
+  private static final String[] TAGS = {
+    "horror", "ghost", "suspense", "gothic", "haunted", "mystery", "folklore", "cosmic", "thriller"
+  };
+
+  private StoryContent() {}
+
+  static String text(SplittableRandom random, int approximateChars) {
+    StringBuilder text = new StringBuilder(approximateChars + 16);
+    while (text.length() < approximateChars) {
+      text.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+    }
+    return text.toString().strip();
+  }
+
+  static String title(SplittableRandom random) {
+    return "Load " + WORDS[random.nextInt(WORDS.length)] + " " + random.nextInt(1_000_000);
+  }
+
+  static List<String> tags(SplittableRandom random, int count) {
+    return random.ints(0, TAGS.length).distinct().limit(count).mapToObj(i -> TAGS[i]).toList();
+  }
+}
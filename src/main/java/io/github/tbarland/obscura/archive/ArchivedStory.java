@@ -0,0 +1,101 @@
+package io.github.tbarland.obscura.archive;
+
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.model.Story;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/** A story as kept in an archive segment: what it is served as, plus what restoring it needs. */
+record ArchivedStory(
+    long id,
+    String title,
+    String content,
+    String author,
+    List<String> tags,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt,
+    Long duplicateOf) {
+
+  StoryResponseDto toResponseDto() {
+    return new StoryResponseDto(id, title, content, author, tags, createdAt, updatedAt);
+  }
+
+  /** The story as an entity, its length and fingerprints recomputed from the content. */
+  Story toStory() {
+    Story story = new Story();
+    story.setId(id);
+    story.setTitle(title);
+    story.setContent(content);
+    story.setAuthor(author);
+    story.setTags(new ArrayList<>(tags));
+    story.setCreatedAt(createdAt);
+    story.setUpdatedAt(updatedAt);
+    story.setDuplicateOf(duplicateOf);
+    return story;
+  }
+
+  /** Writes everything but the id, which the segment keeps in front of each record. */
+  void writeTo(DataOutputStream out) throws IOException {
+    writeString(out, title);
+    writeString(out, content);
+    writeString(out, author);
+    out.writeInt(tags.size());
+    for (String tag : tags) {
+      writeString(out, tag);
+    }
+    writeTime(out, createdAt);
+    writeTime(out, updatedAt);
+    // Story ids start at 1
+    out.writeLong(duplicateOf != null ? duplicateOf : 0);
+  }
+
+  static ArchivedStory readFrom(long id, DataInputStream in) throws IOException {
+    String title = readString(in);
+    String content = readString(in);
+    String author = readString(in);
+    int tagCount = in.readInt();
+    List<String> tags = new ArrayList<>(tagCount);
+    for (int i = 0; i < tagCount; i++) {
+      tags.add(readString(in));
+    }
+    LocalDateTime createdAt = readTime(in);
+    LocalDateTime updatedAt = readTime(in);
+    long duplicateOf = in.readLong();
+    return new ArchivedStory(
+        id,
+        title,
+        content,
+        author,
+        tags,
+        createdAt,
+        updatedAt,
+        duplicateOf != 0 ? duplicateOf : null);
+  }
+
+  private static void writeString(DataOutputStream out, String value) throws IOException {
+    byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+    out.writeInt(bytes.length);
+    out.write(bytes);
+  }
+
+  private static String readString(DataInputStream in) throws IOException {
+    byte[] bytes = new byte[in.readInt()];
+    in.readFully(bytes);
+    return new String(bytes, StandardCharsets.UTF_8);
+  }
+
+  private static void writeTime(DataOutputStream out, LocalDateTime time) throws IOException {
+    out.writeLong(time.toEpochSecond(ZoneOffset.UTC));
+    out.writeInt(time.getNano());
+  }
+
+  private static LocalDateTime readTime(DataInputStream in) throws IOException {
+    return LocalDateTime.ofEpochSecond(in.readLong(), in.readInt(), ZoneOffset.UTC);
+  }
+}
@@ -0,0 +1,145 @@
+package io.github.tbarland.obscura.archive;
+
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * An open archive segment (see {@link SegmentWriter} for the layout). Only the sparse index is held
+ * in memory; a lookup binary-searches it for the one block that can hold the id, then reads and
+ * inflates that block. Safe for concurrent lookups.
+ */
+final class Segment implements AutoCloseable {
+
+  private final Path path;
+  private final FileChannel channel;
+  private final long[] firstIds;
+  private final long[] offsets;
+  private final int[] lengths;
+  private final int[] rawLengths;
+
+  private Segment(Path path, FileChannel channel, ByteBuffer index, int blocks) {
+    this.path = path;
+    this.channel = channel;
+    this.firstIds = new long[blocks];
+    this.offsets = new long[blocks];
+    this.lengths = new int[blocks];
+    this.rawLengths = new int[blocks];
+    for (int i = 0; i < blocks; i++) {
+      firstIds[i] = index.getLong();
+      offsets[i] = index.getLong();
+      lengths[i] = index.getInt();
+      rawLengths[i] = index.getInt();
+    }
+  }
+
+  static Segment open(Path path) throws IOException {
+    FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+    try {
+      long size = channel.size();
+      if (size < SegmentWriter.FOOTER_BYTES) {
+        throw new IOException("Not an archive segment: " + path);
+      }
+      ByteBuffer footer =
+          read(channel, size - SegmentWriter.FOOTER_BYTES, SegmentWriter.FOOTER_BYTES);
+      long indexOffset = footer.getLong();
+      int blocks = footer.getInt();
+      if (footer.getInt() != SegmentWriter.MAGIC
+          || blocks < 0
+          || indexOffset + (long) blocks * SegmentWriter.INDEX_ENTRY_BYTES
+              != size - SegmentWriter.FOOTER_BYTES) {
+        throw new IOException("Not an archive segment: " + path);
+      }
+      ByteBuffer index = read(channel, indexOffset, blocks * SegmentWriter.INDEX_ENTRY_BYTES);
+      return new Segment(path, channel, index, blocks);
+    } catch (IOException | RuntimeException ex) {
+      channel.close();
+      throw ex;
+    }
+  }
+
+  /** Story {@code id}, or null if this segment does not hold it. */
+  ArchivedStory find(long id) throws IOException {
+    int block = blockFor(id);
+    if (block < 0) {
+      return null;
+    }
+    DataInputStream records = new DataInputStream(new ByteArrayInputStream(inflate(block)));
+    while (records.available() > 0) {
+      long recordId = records.readLong();
+      int length = records.readInt();
+      if (recordId == id) {
+        return ArchivedStory.readFrom(id, records);
+      }
+      if (recordId > id) {
+        return null;
+      }
+      records.skipNBytes(length);
+    }
+    return null;
+  }
+
+  /** The last block whose first id is at most {@code id}, or -1. */
+  private int blockFor(long id) {
+    int low = 0;
+    int high = firstIds.length - 1;
+    int found = -1;
+    while (low <= high) {
+      int mid = (low + high) >>> 1;
+      if (firstIds[mid] <= id) {
+        found = mid;
+        low = mid + 1;
+      } else {
+        high = mid - 1;
+      }
+    }
+    return found;
+  }
+
+  private byte[] inflate(int block) throws IOException {
+    ByteBuffer compressed = read(channel, offsets[block], lengths[block]);
+    byte[] raw = new byte[rawLengths[block]];
+    Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(compressed);
+      int length = 0;
+      while (length < raw.length && !inflater.finished()) {
+        int inflated = inflater.inflate(raw, length, raw.length - length);
+        if (inflated == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+          break;
+        }
+        length += inflated;
+      }
+      if (length != raw.length) {
+        throw new IOException("Truncated block " + block + " in archive segment " + path);
+      }
+      return raw;
+    } catch (DataFormatException ex) {
+      throw new IOException("Corrupt block " + block + " in archive segment " + path, ex);
+    } finally {
+      inflater.end();
+    }
+  }
+
+  private static ByteBuffer read(FileChannel channel, long position, int length)
+      throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(length);
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, position + buffer.position()) < 0) {
+        throw new IOException("Unexpected end of archive segment");
+      }
+    }
+    return buffer.flip();
+  }
+
+  @Override
+  public void close() throws IOException {
+    channel.close();
+  }
+}
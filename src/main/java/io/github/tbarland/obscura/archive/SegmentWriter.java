@@ -0,0 +1,158 @@
+package io.github.tbarland.obscura.archive;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ * Writes one archive segment: stories in increasing id order, packed into blocks of about {@code
+ * blockSize} uncompressed bytes, each compressed with raw DEFLATE. A block is a run of records of
+ * {@code id (long), length (int), body}, so a reader can step over records without decoding them.
+ * The blocks are followed by the sparse index, one entry per block of {@code first id (long),
+ * offset (long), compressed length (int), uncompressed length (int)}, and a footer of {@code index
+ * offset (long), block count (int), magic (int)}.
+ *
+ * <p>The segment is written to a temporary file that {@link #finish()} forces to disk and renames
+ * into place, so a segment file that exists is complete and never changes. Closing an unfinished
+ * writer deletes the temporary file.
+ */
+final class SegmentWriter implements AutoCloseable {
+
+  static final int MAGIC = 0x4f425331; // "OBS1"
+  static final int INDEX_ENTRY_BYTES = 2 * Long.BYTES + 2 * Integer.BYTES;
+  static final int FOOTER_BYTES = Long.BYTES + 2 * Integer.BYTES;
+  static final String TEMPORARY_SUFFIX = ".tmp";
+
+  private final Path target;
+  private final Path temporary;
+  private final FileChannel channel;
+  private final int blockSize;
+  private final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+  private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+  private final DataOutputStream records = new DataOutputStream(block);
+  private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+  private final DataOutputStream bodyOut = new DataOutputStream(body);
+  private byte[] compressed = new byte[0];
+
+  private long[] firstIds = new long[16];
+  private long[] offsets = new long[16];
+  private int[] lengths = new int[16];
+  private int[] rawLengths = new int[16];
+  private int blocks;
+  private long blockFirstId;
+  private long lastId;
+  private int stories;
+  private boolean finished;
+
+  SegmentWriter(Path target, int blockSize) throws IOException {
+    this.target = target;
+    this.temporary = target.resolveSibling(target.getFileName() + TEMPORARY_SUFFIX);
+    this.channel =
+        FileChannel.open(temporary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+    this.blockSize = blockSize;
+  }
+
+  void add(ArchivedStory story) throws IOException {
+    if (stories > 0 && story.id() <= lastId) {
+      throw new IllegalArgumentException(
+          "Stories must be added in increasing id order: " + story.id() + " after " + lastId);
+    }
+    body.reset();
+    story.writeTo(bodyOut);
+    if (block.size() == 0) {
+      blockFirstId = story.id();
+    }
+    records.writeLong(story.id());
+    records.writeInt(body.size());
+    body.writeTo(records);
+    lastId = story.id();
+    stories++;
+    if (block.size() >= blockSize) {
+      flushBlock();
+    }
+  }
+
+  int stories() {
+    return stories;
+  }
+
+  /**
+   * Writes the index and footer, forces the file to disk and moves it into place. Returns the size
+   * of the segment in bytes.
+   */
+  long finish() throws IOException {
+    flushBlock();
+    long indexOffset = channel.position();
+    ByteBuffer index = ByteBuffer.allocate(blocks * INDEX_ENTRY_BYTES + FOOTER_BYTES);
+    for (int i = 0; i < blocks; i++) {
+      index.putLong(firstIds[i]).putLong(offsets[i]).putInt(lengths[i]).putInt(rawLengths[i]);
+    }
+    index.putLong(indexOffset).putInt(blocks).putInt(MAGIC).flip();
+    writeFully(index);
+    long size = channel.position();
+    channel.force(true);
+    channel.close();
+    Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE);
+    finished = true;
+    // Make the rename itself durable; not every platform can open a directory for this
+    try (FileChannel directory = FileChannel.open(target.getParent(), StandardOpenOption.READ)) {
+      directory.force(true);
+    } catch (IOException ex) {
+      // best effort
+    }
+    return size;
+  }
+
+  @Override
+  public void close() throws IOException {
+    deflater.end();
+    if (!finished) {
+      channel.close();
+      Files.deleteIfExists(temporary);
+    }
+  }
+
+  private void flushBlock() throws IOException {
+    if (block.size() == 0) {
+      return;
+    }
+    byte[] raw = block.toByteArray();
+    deflater.reset();
+    deflater.setInput(raw);
+    deflater.finish();
+    int length = 0;
+    while (!deflater.finished()) {
+      if (length == compressed.length) {
+        compressed = Arrays.copyOf(compressed, Math.max(4096, compressed.length * 2));
+      }
+      length += deflater.deflate(compressed, length, compressed.length - length);
+    }
+    if (blocks == firstIds.length) {
+      firstIds = Arrays.copyOf(firstIds, blocks * 2);
+      offsets = Arrays.copyOf(offsets, blocks * 2);
+      lengths = Arrays.copyOf(lengths, blocks * 2);
+      rawLengths = Arrays.copyOf(rawLengths, blocks * 2);
+    }
+    firstIds[blocks] = blockFirstId;
+    offsets[blocks] = channel.position();
+    lengths[blocks] = length;
+    rawLengths[blocks] = raw.length;
+    blocks++;
+    writeFully(ByteBuffer.wrap(compressed, 0, length));
+    block.reset();
+  }
+
+  private void writeFully(ByteBuffer buffer) throws IOException {
+    while (buffer.hasRemaining()) {
+      channel.write(buffer);
+    }
+  }
+}
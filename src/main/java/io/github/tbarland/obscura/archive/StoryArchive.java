@@ -0,0 +1,172 @@
+package io.github.tbarland.obscura.archive;
+
+import io.github.tbarland.obscura.config.ArchiveProperties;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.model.Story;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Read side of the archive tier: stories that {@link StoryArchiver} moved out of the story table,
+ * found through archived_story and read from their segment file. Segments are opened on first use
+ * and stay open; each holds only its sparse index in memory, a few bytes per block.
+ *
+ * <p>Segment files must be reachable under {@code obscura.archive.directory} on every node that
+ * serves reads, so with more than one node the directory belongs on a shared volume.
+ */
+@Component
+public class StoryArchive implements DisposableBean {
+
+  private static final String FIND_SEGMENT =
+      "SELECT s.file_name FROM archived_story a"
+          + " JOIN story_archive_segment s ON s.id = a.segment_id WHERE a.story_id = ?";
+
+  private static final String LIST_AFTER =
+      "SELECT a.story_id, s.file_name FROM archived_story a"
+          + " JOIN story_archive_segment s ON s.id = a.segment_id WHERE a.story_id > ?"
+          + " ORDER BY a.story_id LIMIT ?";
+
+  private static final String INSERT_STORY =
+      "INSERT INTO story (id, title, content, content_length, content_hash, simhash,"
+          + " duplicate_of, author, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final ArchiveProperties properties;
+  private final Map<String, Segment> segments = new ConcurrentHashMap<>();
+  private final Counter reads;
+
+  public StoryArchive(
+      DataSource dataSource, ArchiveProperties properties, MeterRegistry meterRegistry) {
+    if (properties.enabled() && properties.directory() == null) {
+      throw new IllegalStateException("obscura.archive.directory must be set to enable archiving");
+    }
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.properties = properties;
+    this.reads =
+        Counter.builder("obscura.archive.reads")
+            .description("Stories served from archive segments")
+            .register(meterRegistry);
+  }
+
+  /** Story {@code id} from the archive; empty if it is not archived or the archive is off. */
+  public Optional<StoryResponseDto> find(long id) {
+    return read(id).map(ArchivedStory::toResponseDto);
+  }
+
+  /**
+   * Up to {@code limit} archived stories with ids above {@code afterId}, in id order; empty if the
+   * archive is off. Listings and syncs leave archived stories out, so clients that start from
+   * scratch page through these as well.
+   */
+  public List<StoryResponseDto> list(long afterId, int limit) {
+    if (!properties.enabled()) {
+      return List.of();
+    }
+    List<StoryResponseDto> stories = new ArrayList<>();
+    jdbcTemplate.query(
+        LIST_AFTER,
+        rs -> {
+          stories.add(read(rs.getString(2), rs.getLong(1)).toResponseDto());
+        },
+        afterId,
+        limit);
+    return stories;
+  }
+
+  /**
+   * Moves story {@code id} back into the story table so that it can be updated or deleted like any
+   * other story; false if it is not archived. Its copy in the segment file is left behind,
+   * unreferenced.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public boolean restore(long id) {
+    Optional<ArchivedStory> archived = read(id);
+    if (archived.isEmpty()) {
+      return false;
+    }
+    Story story = archived.get().toStory();
+    jdbcTemplate.update(
+        INSERT_STORY,
+        story.getId(),
+        story.getTitle(),
+        story.getContent(),
+        story.getContentLength(),
+        story.getContentHash(),
+        story.getSimhash(),
+        story.getDuplicateOf(),
+        story.getAuthor(),
+        Timestamp.valueOf(story.getCreatedAt()),
+        Timestamp.valueOf(story.getUpdatedAt()));
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO story_tags (story_id, tags) VALUES (?, ?)",
+        story.getTags().stream().map(tag -> new Object[] {id, tag}).toList());
+    jdbcTemplate.update("DELETE FROM archived_story WHERE story_id = ?", id);
+    return true;
+  }
+
+  Path directory() {
+    return Path.of(properties.directory());
+  }
+
+  private Optional<ArchivedStory> read(long id) {
+    if (!properties.enabled()) {
+      return Optional.empty();
+    }
+    List<String> files = jdbcTemplate.queryForList(FIND_SEGMENT, String.class, id);
+    if (files.isEmpty()) {
+      return Optional.empty();
+    }
+    return Optional.of(read(files.getFirst(), id));
+  }
+
+  private ArchivedStory read(String file, long id) {
+    ArchivedStory story;
+    try {
+      story = segment(file).find(id);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not read archive segment " + file, ex);
+    }
+    if (story == null) {
+      throw new IllegalStateException("Archived story " + id + " is missing from segment " + file);
+    }
+    reads.increment();
+    return story;
+  }
+
+  private Segment segment(String file) throws IOException {
+    Segment segment = segments.get(file);
+    if (segment == null) {
+      Segment opened = Segment.open(directory().resolve(file));
+      segment = segments.putIfAbsent(file, opened);
+      if (segment == null) {
+        segment = opened;
+      } else {
+        opened.close();
+      }
+    }
+    return segment;
+  }
+
+  @Override
+  public void destroy() throws IOException {
+    for (Segment segment : segments.values()) {
+      segment.close();
+    }
+    segments.clear();
+  }
+}
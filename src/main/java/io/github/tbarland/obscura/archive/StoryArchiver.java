@@ -0,0 +1,265 @@
+package io.github.tbarland.obscura.archive;
+
+import io.github.tbarland.obscura.cache.RenderedStory;
+import io.github.tbarland.obscura.cache.RenderedStoryCache;
+import io.github.tbarland.obscura.cache.StoryEntityCache;
+import io.github.tbarland.obscura.config.ArchiveProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Moves stories not updated for {@code obscura.archive.archive-after} out of the story table into
+ * archive segments, in id order, up to {@code segment-stories} per segment. Each segment is
+ * written, forced to disk and renamed into place before one transaction records its stories in
+ * archived_story and deletes them from story, so a crash in between leaves at worst an unreferenced
+ * file, never a story that is in neither place. A story updated after it was read no longer
+ * qualifies when its row is locked for the delete and stays in the table.
+ *
+ * <p>Archiving does not change a story: no outbox event or tombstone is recorded and sync clients
+ * keep their copies. Archived stories drop out of listings, exports, full syncs, similar stories
+ * and the duplicate index, but are still served by id and listed by {@link StoryArchive#list}
+ * ({@code GET /api/stories/sync/archived}) for clients that sync from scratch. {@link
+ * StoryArchive#restore} moves one back when it is updated or deleted.
+ */
+@Component
+public class StoryArchiver implements SchedulingConfigurer {
+
+  private static final Logger log = LoggerFactory.getLogger(StoryArchiver.class);
+
+  private static final String SELECT_STORIES =
+      "SELECT id, title, content, author, created_at, updated_at, duplicate_of FROM story"
+          + " WHERE id IN (%s) ORDER BY id";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final StoryArchive storyArchive;
+  private final StoryEntityCache storyEntityCache;
+  private final RenderedStoryCache renderedStoryCache;
+  private final ArchiveProperties properties;
+  private final Counter archived;
+
+  public StoryArchiver(
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      StoryArchive storyArchive,
+      StoryEntityCache storyEntityCache,
+      RenderedStoryCache renderedStoryCache,
+      ArchiveProperties properties,
+      MeterRegistry meterRegistry) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.storyArchive = storyArchive;
+    this.storyEntityCache = storyEntityCache;
+    this.renderedStoryCache = renderedStoryCache;
+    this.properties = properties;
+    this.archived =
+        Counter.builder("obscura.archive.archived")
+            .description("Stories moved out of the story table into archive segments")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar registrar) {
+    if (properties.enabled() && properties.archiver()) {
+      registrar.addFixedDelayTask(this::archiveSafely, properties.interval());
+    }
+  }
+
+  /** Archives every story last updated more than {@code archive-after} ago; returns how many. */
+  public synchronized int archive() {
+    LocalDateTime cutoff = LocalDateTime.now().minus(properties.archiveAfter());
+    Path directory = storyArchive.directory();
+    try {
+      Files.createDirectories(directory);
+      deleteUnfinishedSegments(directory);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not prepare archive directory " + directory, ex);
+    }
+    int total = 0;
+    while (true) {
+      List<Long> ids =
+          jdbcTemplate.queryForList(
+              "SELECT id FROM story WHERE updated_at < ? ORDER BY id LIMIT ?",
+              Long.class,
+              Timestamp.valueOf(cutoff),
+              properties.segmentStories());
+      if (ids.isEmpty()) {
+        break;
+      }
+      total += archiveSegment(directory, ids, cutoff);
+      if (ids.size() < properties.segmentStories()) {
+        break;
+      }
+    }
+    return total;
+  }
+
+  private void archiveSafely() {
+    try {
+      archive();
+    } catch (RuntimeException ex) {
+      log.warn("Story archiving failed, will retry: {}", ex.getMessage());
+    }
+  }
+
+  private int archiveSegment(Path directory, List<Long> ids, LocalDateTime cutoff) {
+    String fileName =
+        "stories-%d-%d-%d.seg".formatted(ids.getFirst(), ids.getLast(), System.currentTimeMillis());
+    Path file = directory.resolve(fileName);
+    Map<Long, Long> versions = new HashMap<>();
+    long size;
+    try (SegmentWriter writer = new SegmentWriter(file, (int) properties.blockSize().toBytes())) {
+      for (List<Long> batch : batches(ids)) {
+        for (ArchivedStory story : load(batch)) {
+          writer.add(story);
+          versions.put(story.id(), RenderedStory.versionOf(story.updatedAt()));
+        }
+      }
+      size = writer.finish();
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not write archive segment " + file, ex);
+    }
+
+    List<Long> moved = transactionTemplate.execute(status -> move(fileName, size, ids, cutoff));
+    if (moved.isEmpty()) {
+      // Everything was updated or deleted in the meantime; nothing references the file
+      try {
+        Files.deleteIfExists(file);
+      } catch (IOException ex) {
+        log.warn("Could not delete unused archive segment {}: {}", file, ex.getMessage());
+      }
+      return 0;
+    }
+    // Story rows went away past Hibernate, along with their cached tags and finder results. Other
+    // nodes evict theirs on the broadcast; the content is unchanged, so the shared copy is kept.
+    storyEntityCache.evict(moved);
+    for (Long id : moved) {
+      renderedStoryCache.invalidate(id, versions.get(id));
+    }
+    archived.increment(moved.size());
+    log.info("Archived {} stories to {}", moved.size(), fileName);
+    return moved.size();
+  }
+
+  /**
+   * Locks the stories that still qualify, records them as archived in segment {@code fileName} and
+   * deletes them from story. Returns their ids.
+   */
+  private List<Long> move(String fileName, long size, List<Long> ids, LocalDateTime cutoff) {
+    Timestamp before = Timestamp.valueOf(cutoff);
+    List<Long> locked = new ArrayList<>(ids.size());
+    for (List<Long> batch : batches(ids)) {
+      List<Object> args = new ArrayList<>(batch);
+      args.add(before);
+      locked.addAll(
+          jdbcTemplate.queryForList(
+              "SELECT id FROM story WHERE id IN ("
+                  + placeholders(batch.size())
+                  + ") AND updated_at < ? FOR UPDATE",
+              Long.class,
+              args.toArray()));
+    }
+    if (locked.isEmpty()) {
+      return locked;
+    }
+
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    KeyHolder key = new GeneratedKeyHolder();
+    jdbcTemplate.update(
+        connection -> {
+          PreparedStatement statement =
+              connection.prepareStatement(
+                  "INSERT INTO story_archive_segment (file_name, story_count, size_bytes,"
+                      + " created_at) VALUES (?, ?, ?, ?)",
+                  new String[] {"id"});
+          statement.setString(1, fileName);
+          statement.setInt(2, locked.size());
+          statement.setLong(3, size);
+          statement.setTimestamp(4, now);
+          return statement;
+        },
+        key);
+    long segmentId = key.getKey().longValue();
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO archived_story (story_id, segment_id, archived_at) VALUES (?, ?, ?)",
+        locked.stream().map(id -> new Object[] {id, segmentId, now}).toList());
+    // Tags go with their story: by foreign key on H2, by trigger on partitioned PostgreSQL
+    for (List<Long> batch : batches(locked)) {
+      jdbcTemplate.update(
+          "DELETE FROM story WHERE id IN (" + placeholders(batch.size()) + ")", batch.toArray());
+    }
+    return locked;
+  }
+
+  private List<ArchivedStory> load(List<Long> ids) {
+    String in = placeholders(ids.size());
+    Map<Long, List<String>> tags = new HashMap<>();
+    jdbcTemplate.query(
+        "SELECT story_id, tags FROM story_tags WHERE story_id IN (" + in + ")",
+        rs -> {
+          tags.computeIfAbsent(rs.getLong(1), id -> new ArrayList<>()).add(rs.getString(2));
+        },
+        ids.toArray());
+    return jdbcTemplate.query(
+        SELECT_STORIES.formatted(in),
+        (rs, row) -> {
+          long id = rs.getLong("id");
+          return new ArchivedStory(
+              id,
+              rs.getString("title"),
+              rs.getString("content"),
+              rs.getString("author"),
+              tags.getOrDefault(id, List.of()),
+              rs.getTimestamp("created_at").toLocalDateTime(),
+              rs.getTimestamp("updated_at").toLocalDateTime(),
+              rs.getObject("duplicate_of", Long.class));
+        },
+        ids.toArray());
+  }
+
+  private List<List<Long>> batches(List<Long> ids) {
+    List<List<Long>> batches = new ArrayList<>();
+    for (int from = 0; from < ids.size(); from += properties.batchSize()) {
+      batches.add(ids.subList(from, Math.min(ids.size(), from + properties.batchSize())));
+    }
+    return batches;
+  }
+
+  private static String placeholders(int count) {
+    return String.join(", ", Collections.nCopies(count, "?"));
+  }
+
+  /** Temporary files of segments that a crash or failure left unfinished. */
+  private static void deleteUnfinishedSegments(Path directory) throws IOException {
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(directory, "*" + SegmentWriter.TEMPORARY_SUFFIX)) {
+      for (Path file : files) {
+        Files.delete(file);
+      }
+    }
+  }
+}
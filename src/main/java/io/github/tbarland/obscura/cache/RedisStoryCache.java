@@ -0,0 +1,170 @@
+package io.github.tbarland.obscura.cache;
+
+import io.github.tbarland.obscura.config.RedisCacheProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.ReturnType;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@link SharedStoryCache} on Redis. Each story is a hash of its version ({@code v}), JSON ({@code
+ * j}) and optional gzip ({@code g}). An invalidation replaces the hash with a marker holding only
+ * the new version, and every write goes through a script that compares versions, so a slow node can
+ * never overwrite newer content or resurrect an invalidated story.
+ *
+ * <p>Invalidation messages are {@code id:version:sentAtMillis:nodeId}; {@link
+ * StoryInvalidationListener} applies them on the other nodes. Redis failures are logged and treated
+ * as misses so the database remains the fallback.
+ */
+@Component
+@ConditionalOnProperty(prefix = "obscura.cache.redis", name = "enabled")
+public class RedisStoryCache implements SharedStoryCache {
+
+  private static final Logger log = LoggerFactory.getLogger(RedisStoryCache.class);
+
+  private static final byte[] VERSION = {'v'};
+  private static final byte[] JSON = {'j'};
+  private static final byte[] GZIP = {'g'};
+  private static final byte[] EMPTY = {};
+
+  // ARGV: version, json ('' for an invalidation marker), gzip, ttl millis
+  private static final byte[] PUT_IF_NEWER_SCRIPT =
+      """
+      local current = redis.call('HMGET', KEYS[1], 'v', 'j')
+      local v = tonumber(current[1])
+      local version = tonumber(ARGV[1])
+      local marker = ARGV[2] == ''
+      if v then
+        local isValue = current[2] and current[2] ~= ''
+        if marker and v >= version then return 0 end
+        if not marker and (v > version or (v == version and isValue)) then return 0 end
+      end
+      redis.call('DEL', KEYS[1])
+      if marker then
+        redis.call('HSET', KEYS[1], 'v', ARGV[1])
+      else
+        redis.call('HSET', KEYS[1], 'v', ARGV[1], 'j', ARGV[2], 'g', ARGV[3])
+      end
+      redis.call('PEXPIRE', KEYS[1], ARGV[4])
+      return 1
+      """
+          .getBytes(StandardCharsets.UTF_8);
+
+  private final RedisConnectionFactory connectionFactory;
+  private final RedisCacheProperties properties;
+  private final String nodeId = UUID.randomUUID().toString();
+  private final byte[] channel;
+  private final Counter hits;
+  private final Counter misses;
+  private final Counter errors;
+  private final Counter invalidationsSent;
+
+  public RedisStoryCache(
+      RedisConnectionFactory connectionFactory,
+      RedisCacheProperties properties,
+      MeterRegistry meterRegistry) {
+    this.connectionFactory = connectionFactory;
+    this.properties = properties;
+    this.channel = properties.channel().getBytes(StandardCharsets.UTF_8);
+    this.hits = requests(meterRegistry, "hit");
+    this.misses = requests(meterRegistry, "miss");
+    this.errors = requests(meterRegistry, "error");
+    this.invalidationsSent =
+        Counter.builder("obscura.cache.invalidations")
+            .tag("direction", "sent")
+            .description("Story cache invalidations broadcast to or received from other nodes")
+            .register(meterRegistry);
+    Gauge.builder("obscura.cache.hit.ratio", this, RedisStoryCache::hitRatio)
+        .tag("level", "shared")
+        .description("Hit ratio of the story cache level")
+        .register(meterRegistry);
+  }
+
+  /** Identifies this node in invalidation messages so it can skip its own. */
+  public String nodeId() {
+    return nodeId;
+  }
+
+  @Override
+  public RenderedStory get(long id) {
+    try (var connection = connectionFactory.getConnection()) {
+      List<byte[]> fields = connection.hashCommands().hMGet(key(id), VERSION, JSON, GZIP);
+      if (fields == null || fields.get(1) == null || fields.get(1).length == 0) {
+        misses.increment();
+        return null;
+      }
+      hits.increment();
+      long version = Long.parseLong(new String(fields.get(0), StandardCharsets.US_ASCII));
+      byte[] gzip = fields.get(2) != null && fields.get(2).length > 0 ? fields.get(2) : null;
+      return new RenderedStory(id, version, fields.get(1), gzip);
+    } catch (RuntimeException ex) {
+      errors.increment();
+      log.warn("Shared story cache read failed for story {}", id, ex);
+      return null;
+    }
+  }
+
+  @Override
+  public void putIfNewer(RenderedStory story) {
+    write(story.id(), story.version(), story.json(), story.gzip());
+  }
+
+  @Override
+  public void invalidate(long id, long version) {
+    write(id, version, EMPTY, EMPTY);
+    String message = id + ":" + version + ":" + System.currentTimeMillis() + ":" + nodeId;
+    try (var connection = connectionFactory.getConnection()) {
+      connection.publish(channel, message.getBytes(StandardCharsets.UTF_8));
+      invalidationsSent.increment();
+    } catch (RuntimeException ex) {
+      // Other nodes still converge through the version marker on their next miss and the TTL.
+      errors.increment();
+      log.warn("Could not broadcast invalidation of story {}", id, ex);
+    }
+  }
+
+  private void write(long id, long version, byte[] json, byte[] gzip) {
+    try (var connection = connectionFactory.getConnection()) {
+      connection
+          .scriptingCommands()
+          .eval(
+              PUT_IF_NEWER_SCRIPT,
+              ReturnType.INTEGER,
+              1,
+              key(id),
+              Long.toString(version).getBytes(StandardCharsets.US_ASCII),
+              json,
+              gzip != null ? gzip : EMPTY,
+              Long.toString(properties.timeToLive().toMillis())
+                  .getBytes(StandardCharsets.US_ASCII));
+    } catch (RuntimeException ex) {
+      errors.increment();
+      log.warn("Shared story cache write failed for story {}", id, ex);
+    }
+  }
+
+  private byte[] key(long id) {
+    return (properties.keyPrefix() + id).getBytes(StandardCharsets.UTF_8);
+  }
+
+  private double hitRatio() {
+    double lookups = hits.count() + misses.count() + errors.count();
+    return lookups == 0 ? 0 : hits.count() / lookups;
+  }
+
+  private static Counter requests(MeterRegistry meterRegistry, String result) {
+    return Counter.builder("obscura.cache.requests")
+        .tag("level", "shared")
+        .tag("result", result)
+        .description("Story cache lookups by level and outcome")
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,31 @@
+package io.github.tbarland.obscura.cache;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * A story's JSON response body, serialized once. {@code gzip} is null when the body was too small
+ * to be worth compressing. {@code version} is the story's last modification time in epoch micros.
+ */
+public record RenderedStory(long id, long version, byte[] json, byte[] gzip) {
+
+  /** Version of a deleted story: above any timestamp and exact as a double (for Redis scripts). */
+  public static final long DELETED_VERSION = 1L << 53;
+
+  private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+  public static long versionOf(LocalDateTime updatedAt) {
+    if (updatedAt == null) {
+      return 0;
+    }
+    return updatedAt.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + updatedAt.getNano() / 1_000;
+  }
+
+  public String etag() {
+    return "\"" + id + "-" + version + "\"";
+  }
+
+  int weight() {
+    return ENTRY_OVERHEAD_BYTES + json.length + (gzip != null ? gzip.length : 0);
+  }
+}
@@ -0,0 +1,251 @@
+package io.github.tbarland.obscura.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.github.tbarland.obscura.config.RenderedCacheProperties;
+import io.github.tbarland.obscura.datasource.ReplicaRoutingContext;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.outbox.StoryChangedEvent;
+import io.github.tbarland.obscura.service.CoalescingStoryReader;
+import io.github.tbarland.obscura.service.StoryService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.zip.GZIPOutputStream;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Fully serialized JSON bodies for single-story reads, so hot stories skip DTO mapping and Jackson
+ * entirely. This is the local (near) level, bounded by total bytes; when a {@link SharedStoryCache}
+ * is configured, local misses are served from it before falling back to the database.
+ *
+ * <p>Every committed mutation invalidates its entry locally and in the shared level, which also
+ * tells the other nodes to drop theirs. A load runs inside the cache's per-key computation, so an
+ * invalidation that races a load waits for it and then removes the result: stale bodies are never
+ * left behind. Misses read from the primary, because a lagging replica could otherwise repopulate
+ * an entry with the pre-update version, and single misses go through {@link CoalescingStoryReader}
+ * so concurrent requests for a cold story share one load.
+ */
+@Component
+public class RenderedStoryCache {
+
+  private final StoryService storyService;
+  private final CoalescingStoryReader storyReader;
+  private final ObjectMapper objectMapper;
+  private final RenderedCacheProperties properties;
+  private final Optional<SharedStoryCache> sharedCache;
+  private final Cache<Long, RenderedStory> cache;
+  // Bumped before every local invalidation, so batch loads can tell if they raced one
+  private final AtomicLong invalidations = new AtomicLong();
+
+  public RenderedStoryCache(
+      StoryService storyService,
+      CoalescingStoryReader storyReader,
+      ObjectMapper objectMapper,
+      RenderedCacheProperties properties,
+      MeterRegistry meterRegistry,
+      Optional<SharedStoryCache> sharedCache) {
+    this.storyService = storyService;
+    this.storyReader = storyReader;
+    this.objectMapper = objectMapper;
+    this.properties = properties;
+    this.sharedCache = sharedCache;
+    this.cache =
+        Caffeine.newBuilder()
+            .maximumWeight(properties.maxSize().toBytes())
+            .weigher((Long id, RenderedStory story) -> story.weight())
+            .expireAfterWrite(properties.timeToLive())
+            .recordStats()
+            .build();
+
+    CaffeineCacheMetrics.monitor(meterRegistry, cache, "story.rendered");
+    Gauge.builder("obscura.cache.rendered.bytes", this, RenderedStoryCache::weightedSize)
+        .description("Bytes held by the pre-rendered story cache")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+    Gauge.builder("obscura.cache.hit.ratio", cache, c -> c.stats().hitRate())
+        .tag("level", "local")
+        .description("Hit ratio of the story cache level")
+        .register(meterRegistry);
+  }
+
+  /** Returns the rendered story, loading it on a miss; propagates the service's 404. */
+  public RenderedStory get(Long id) {
+    if (!properties.enabled()) {
+      return render(id);
+    }
+    return cache.get(id, this::load);
+  }
+
+  /**
+   * Returns the rendered stories that exist among {@code ids}, in the order given; absent ids do
+   * not exist. Local hits are taken as-is, shared-level lookups for the rest run in parallel, and
+   * whatever is still missing is loaded from the database in one query.
+   */
+  public Map<Long, RenderedStory> getAll(List<Long> ids) {
+    long generation = invalidations.get();
+    Map<Long, RenderedStory> found = new HashMap<>();
+    if (properties.enabled()) {
+      found.putAll(cache.getAllPresent(ids));
+    }
+    List<Long> misses = ids.stream().filter(id -> !found.containsKey(id)).toList();
+
+    Map<Long, RenderedStory> loaded = new HashMap<>();
+    if (properties.enabled() && sharedCache.isPresent() && !misses.isEmpty()) {
+      loaded.putAll(getAllShared(misses));
+      misses = misses.stream().filter(id -> !loaded.containsKey(id)).toList();
+    }
+    if (!misses.isEmpty()) {
+      for (RenderedStory rendered : renderAll(misses)) {
+        loaded.put(rendered.id(), rendered);
+        if (properties.enabled()) {
+          sharedCache.ifPresent(shared -> shared.putIfNewer(rendered));
+        }
+      }
+    }
+    // Unlike single loads these run outside the cache's per-key computation, so take them back out
+    // if anything was invalidated since the reads began rather than risk keeping a stale body.
+    if (properties.enabled()) {
+      loaded.forEach(cache.asMap()::putIfAbsent);
+      if (invalidations.get() != generation) {
+        loaded.forEach(cache.asMap()::remove);
+      }
+    }
+    found.putAll(loaded);
+
+    Map<Long, RenderedStory> ordered = new LinkedHashMap<>();
+    for (Long id : ids) {
+      RenderedStory rendered = found.get(id);
+      if (rendered != null) {
+        ordered.put(id, rendered);
+      }
+    }
+    return ordered;
+  }
+
+  /** Drops the local copy only; used when another node reports a change. */
+  public void invalidateLocal(Long id) {
+    invalidations.incrementAndGet();
+    cache.invalidate(id);
+  }
+
+  /**
+   * Drops the story here and, through the shared level, on the other nodes, which also evict it
+   * from their Hibernate caches. For rows changed without an outbox event (archiving), pass the
+   * story's unchanged version so the shared copy stays valid.
+   */
+  public void invalidate(long id, long version) {
+    sharedCache.ifPresent(shared -> shared.invalidate(id, version));
+    invalidateLocal(id);
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStoryChanged(StoryChangedEvent event) {
+    long version =
+        event.story() != null
+            ? RenderedStory.versionOf(event.story().updatedAt())
+            : RenderedStory.DELETED_VERSION;
+    invalidate(event.storyId(), version);
+  }
+
+  long weightedSize() {
+    return cache.policy().eviction().map(eviction -> eviction.weightedSize().orElse(0)).orElse(0L);
+  }
+
+  private RenderedStory load(Long id) {
+    if (sharedCache.isEmpty()) {
+      return render(id);
+    }
+    RenderedStory shared = sharedCache.get().get(id);
+    if (shared != null) {
+      return shared;
+    }
+    RenderedStory rendered = render(id);
+    sharedCache.get().putIfNewer(rendered);
+    return rendered;
+  }
+
+  private Map<Long, RenderedStory> getAllShared(List<Long> ids) {
+    SharedStoryCache shared = sharedCache.orElseThrow();
+    Map<Long, RenderedStory> found = new HashMap<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      List<Future<RenderedStory>> lookups = new ArrayList<>(ids.size());
+      for (Long id : ids) {
+        lookups.add(executor.submit(() -> shared.get(id)));
+      }
+      for (Future<RenderedStory> lookup : lookups) {
+        RenderedStory rendered = lookup.get();
+        if (rendered != null) {
+          found.put(rendered.id(), rendered);
+        }
+      }
+    } catch (InterruptedException ex) {
+      // Whatever was not resolved yet is simply loaded from the database
+      Thread.currentThread().interrupt();
+    } catch (ExecutionException ex) {
+      throw new IllegalStateException("Shared story cache lookup failed", ex.getCause());
+    }
+    return found;
+  }
+
+  private RenderedStory render(Long id) {
+    return render(onPrimary(() -> storyReader.getStoryById(id)));
+  }
+
+  private List<RenderedStory> renderAll(List<Long> ids) {
+    return onPrimary(() -> storyService.getStoriesByIds(ids)).stream().map(this::render).toList();
+  }
+
+  private static <T> T onPrimary(Supplier<T> read) {
+    boolean alreadyPinned = ReplicaRoutingContext.isPrimaryForced();
+    ReplicaRoutingContext.forcePrimary();
+    try {
+      return read.get();
+    } finally {
+      if (!alreadyPinned) {
+        ReplicaRoutingContext.clear();
+      }
+    }
+  }
+
+  private RenderedStory render(StoryResponseDto story) {
+    byte[] json;
+    try {
+      json = objectMapper.writeValueAsBytes(story);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Could not serialize story " + story.id(), ex);
+    }
+    byte[] gzip =
+        properties.gzip() && json.length >= properties.gzipMinSize().toBytes() ? gzip(json) : null;
+    return new RenderedStory(story.id(), RenderedStory.versionOf(story.updatedAt()), json, gzip);
+  }
+
+  private static byte[] gzip(byte[] bytes) {
+    ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length / 3 + 64);
+    try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+      gzip.write(bytes);
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+    return out.toByteArray();
+  }
+}
@@ -0,0 +1,23 @@
+package io.github.tbarland.obscura.cache;
+
+/**
+ * Second cache level shared by all nodes, behind each node's {@link RenderedStoryCache}.
+ * Implementations must never fail a read: errors are reported as misses.
+ */
+public interface SharedStoryCache {
+
+  /** Returns the shared copy, or null on a miss (including after an invalidation). */
+  RenderedStory get(long id);
+
+  /**
+   * Stores {@code story} unless the shared tier already holds a newer version or an invalidation
+   * beyond it, so a node that loaded before a write elsewhere cannot reinstate stale content.
+   */
+  void putIfNewer(RenderedStory story);
+
+  /**
+   * Marks everything older than {@code version} as stale and tells the other nodes to drop their
+   * local copy.
+   */
+  void invalidate(long id, long version);
+}
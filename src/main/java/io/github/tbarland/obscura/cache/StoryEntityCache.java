@@ -0,0 +1,48 @@
+package io.github.tbarland.obscura.cache;
+
+import io.github.tbarland.obscura.model.Story;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.Collection;
+import org.hibernate.Cache;
+import org.springframework.stereotype.Component;
+
+/**
+ * Evicts stories from this node's Hibernate second-level and query caches. Hibernate only keeps
+ * them consistent with its own writes on the same node, so they are evicted here when another node
+ * reports a change ({@link StoryInvalidationListener}) and after the story table is changed with
+ * plain SQL. Evicting does nothing when the second-level cache is disabled.
+ */
+@Component
+public class StoryEntityCache {
+
+  private static final String TAGS_ROLE = Story.class.getName() + ".tags";
+
+  private final EntityManagerFactory entityManagerFactory;
+
+  public StoryEntityCache(EntityManagerFactory entityManagerFactory) {
+    this.entityManagerFactory = entityManagerFactory;
+  }
+
+  /** Evicts the stories and their tags, and every cached finder result that could list them. */
+  public void evict(Collection<Long> ids) {
+    Cache cache = cache();
+    for (Long id : ids) {
+      cache.evictEntityData(Story.class, id);
+      cache.evictCollectionData(TAGS_ROLE, id);
+    }
+    cache.evictQueryRegions();
+  }
+
+  /** Evicts cached finder results only, for rows that were added without passing Hibernate. */
+  public void evictQueries() {
+    cache().evictQueryRegions();
+  }
+
+  public void evictAll() {
+    cache().evictAllRegions();
+  }
+
+  private Cache cache() {
+    return entityManagerFactory.getCache().unwrap(Cache.class);
+  }
+}
@@ -0,0 +1,74 @@
+package io.github.tbarland.obscura.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+
+/**
+ * Applies invalidations broadcast by other nodes to the local level and to this node's Hibernate
+ * caches, which would otherwise hand the stale story straight back to the next load, and records
+ * how long they took to arrive. Lag is measured against the sender's wall clock, so it includes
+ * clock skew.
+ */
+public class StoryInvalidationListener implements MessageListener {
+
+  private static final Logger log = LoggerFactory.getLogger(StoryInvalidationListener.class);
+
+  private final RenderedStoryCache localCache;
+  private final StoryEntityCache entityCache;
+  private final String nodeId;
+  private final Timer lag;
+  private final Counter received;
+
+  public StoryInvalidationListener(
+      RenderedStoryCache localCache,
+      StoryEntityCache entityCache,
+      String nodeId,
+      MeterRegistry meterRegistry) {
+    this.localCache = localCache;
+    this.entityCache = entityCache;
+    this.nodeId = nodeId;
+    this.lag =
+        Timer.builder("obscura.cache.invalidation.lag")
+            .tag("level", "local")
+            .description("Delay between a change being broadcast and this node evicting it")
+            .publishPercentiles(0.5, 0.99)
+            .register(meterRegistry);
+    this.received =
+        Counter.builder("obscura.cache.invalidations")
+            .tag("direction", "received")
+            .description("Story cache invalidations broadcast to or received from other nodes")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public void onMessage(Message message, byte[] pattern) {
+    String body = new String(message.getBody(), StandardCharsets.UTF_8);
+    String[] parts = body.split(":", 4);
+    if (parts.length != 4) {
+      log.warn("Ignoring malformed story invalidation '{}'", body);
+      return;
+    }
+    if (parts[3].equals(nodeId)) {
+      return;
+    }
+    try {
+      long id = Long.parseLong(parts[0]);
+      // Entity first: a load racing the local invalidation must not find the old row in L2
+      entityCache.evict(List.of(id));
+      localCache.invalidateLocal(id);
+      long sentAt = Long.parseLong(parts[2]);
+      lag.record(Duration.ofMillis(Math.max(0, System.currentTimeMillis() - sentAt)));
+      received.increment();
+    } catch (NumberFormatException ex) {
+      log.warn("Ignoring malformed story invalidation '{}'", body);
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Archive tier, bound from {@code obscura.archive}. Every {@code interval}, stories not updated for
+ * {@code archiveAfter} are moved out of the story table into segment files under {@code directory},
+ * at most {@code segmentStories} per file, compressed in blocks of about {@code blockSize}. Stories
+ * are read and deleted {@code batchSize} at a time. Archived stories can be read on every node that
+ * sees {@code directory}; {@code archiver} turns the job off on all but one of them.
+ */
+@ConfigurationProperties(prefix = "obscura.archive")
+public record ArchiveProperties(
+    @DefaultValue("false") boolean enabled,
+    String directory,
+    @DefaultValue("90d") Duration archiveAfter,
+    @DefaultValue("true") boolean archiver,
+    @DefaultValue("1h") Duration interval,
+    @DefaultValue("100000") int segmentStories,
+    @DefaultValue("64KB") DataSize blockSize,
+    @DefaultValue("1000") int batchSize) {}
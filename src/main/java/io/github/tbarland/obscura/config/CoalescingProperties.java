@@ -0,0 +1,12 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Request coalescing for story reads, bound from {@code obscura.coalescing}. {@code maxWait} bounds
+ * how long a request waits on another request's in-flight load before giving up with 503.
+ */
+@ConfigurationProperties(prefix = "obscura.coalescing")
+public record CoalescingProperties(@DefaultValue("5s") Duration maxWait) {}
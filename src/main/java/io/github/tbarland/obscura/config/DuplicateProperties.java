@@ -0,0 +1,21 @@
+package io.github.tbarland.obscura.config;
+
+import io.github.tbarland.obscura.dedup.DuplicatePolicy;
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Duplicate detection on story creation, bound from {@code obscura.dedup}. {@code exactPolicy}
+ * applies to identical content and {@code nearPolicy} to content whose SimHash differs in at most
+ * {@code nearDistance} bits (at most 7; a one-word edit in a hundred words moves two to seven). The
+ * in-memory fingerprint index picks up stories created or deleted on other nodes every {@code
+ * refreshInterval}.
+ */
+@ConfigurationProperties(prefix = "obscura.dedup")
+public record DuplicateProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("flag") DuplicatePolicy exactPolicy,
+    @DefaultValue("flag") DuplicatePolicy nearPolicy,
+    @DefaultValue("6") int nearDistance,
+    @DefaultValue("30s") Duration refreshInterval) {}
@@ -0,0 +1,19 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * gRPC server settings, bound from {@code obscura.grpc}. The server only starts when {@code
+ * enabled} is true; it listens on its own port next to the servlet container.
+ */
+@ConfigurationProperties(prefix = "obscura.grpc")
+public record GrpcProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("9090") int port,
+    @DefaultValue("8MB") DataSize maxInboundMessageSize,
+    @DefaultValue("500") int exportBatchSize,
+    @DefaultValue("100") int ingestBatchSize,
+    @DefaultValue("10s") Duration shutdownGracePeriod) {}
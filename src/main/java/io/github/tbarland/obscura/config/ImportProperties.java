@@ -0,0 +1,23 @@
+package io.github.tbarland.obscura.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Bulk story imports, bound from {@code obscura.import}. Only files under {@code directory} can be
+ * imported. Files are cut into chunks of about {@code chunkSize} at record boundaries; up to {@code
+ * parallelism} chunks are parsed, validated and written at once, each in its own transaction with
+ * inserts batched by {@code batchSize}. At most {@code maxErrorsPerChunk} rejected records per
+ * chunk are kept for the import's status. With {@code copy} (PostgreSQL only) stories are written
+ * with {@code COPY} through a staging table instead of insert batches.
+ */
+@ConfigurationProperties(prefix = "obscura.import")
+public record ImportProperties(
+    @DefaultValue("false") boolean enabled,
+    String directory,
+    @DefaultValue("4") int parallelism,
+    @DefaultValue("8MB") DataSize chunkSize,
+    @DefaultValue("1000") int batchSize,
+    @DefaultValue("false") boolean copy,
+    @DefaultValue("20") int maxErrorsPerChunk) {}
@@ -0,0 +1,62 @@
+package io.github.tbarland.obscura.config;
+
+import io.github.tbarland.obscura.observability.ContinuousRecording;
+import io.github.tbarland.obscura.observability.FlightRecordingEndpoint;
+import io.github.tbarland.obscura.observability.HttpRequestRecorder;
+import io.github.tbarland.obscura.observability.StoryOperationRecorder;
+import io.github.tbarland.obscura.observability.StoryServicePointcut;
+import io.github.tbarland.obscura.service.StoryService;
+import java.nio.file.Path;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Flight recorder events, active unless {@code obscura.jfr.enabled} is false. Every public {@link
+ * StoryService} method is advised by {@link StoryOperationRecorder}, ahead of the transaction
+ * advice, and every API request passes through {@link HttpRequestRecorder}. Database time for both
+ * comes from the datasource wrapper of {@link SqlCaptureConfig}.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "obscura.jfr", name = "enabled", matchIfMissing = true)
+public class JfrConfig {
+
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  public static Advisor storyOperationAdvisor() {
+    DefaultPointcutAdvisor advisor =
+        new DefaultPointcutAdvisor(new StoryServicePointcut(), new StoryOperationRecorder());
+    advisor.setOrder(Ordered.HIGHEST_PRECEDENCE);
+    return advisor;
+  }
+
+  @Bean
+  public WebMvcConfigurer httpRequestRecorderConfigurer() {
+    return new WebMvcConfigurer() {
+      @Override
+      public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(new HttpRequestRecorder()).addPathPatterns("/api/**");
+      }
+    };
+  }
+
+  @Bean
+  public FlightRecordingEndpoint flightRecordingEndpoint(JfrProperties properties) {
+    return new FlightRecordingEndpoint(Path.of(properties.directory()), properties.maxDumps());
+  }
+
+  @Bean
+  @ConditionalOnProperty(prefix = "obscura.jfr", name = "recording", havingValue = "true")
+  public ContinuousRecording continuousRecording(JfrProperties properties) {
+    return new ContinuousRecording(
+        properties.settings(), properties.maxAge(), properties.maxSize(), properties.threshold());
+  }
+}
@@ -0,0 +1,26 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Java Flight Recorder integration, bound from {@code obscura.jfr}. When enabled, story service
+ * calls and API requests emit custom events, which cost next to nothing unless a recording enables
+ * them. With {@code recording}, the application keeps a continuous recording of its own with the
+ * JDK's {@code settings} configuration, holding up to {@code maxAge} and {@code maxSize}, that
+ * records the custom events taking at least {@code threshold}. The {@code jfr} actuator endpoint
+ * dumps every running recording to a file in {@code directory}, keeping the newest {@code maxDumps}
+ * files.
+ */
+@ConfigurationProperties(prefix = "obscura.jfr")
+public record JfrProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("false") boolean recording,
+    @DefaultValue("default") String settings,
+    @DefaultValue("30m") Duration maxAge,
+    @DefaultValue("256MB") DataSize maxSize,
+    @DefaultValue("0ms") Duration threshold,
+    @DefaultValue("jfr") String directory,
+    @DefaultValue("10") int maxDumps) {}
@@ -0,0 +1,126 @@
+package io.github.tbarland.obscura.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.github.tbarland.obscura.model.Story;
+import io.github.tbarland.obscura.repository.StoryRepository;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import jakarta.persistence.EntityManagerFactory;
+import java.net.URI;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.UUID;
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate second-level cache for {@link Story} and its tags, plus the query cache for the
+ * repository finders marked cacheable, backed by Caffeine through JCache. Regions are created here
+ * from {@link JpaCacheProperties} so their bounds live in the Spring configuration; an unknown
+ * region fails startup instead of silently creating an unbounded cache.
+ *
+ * <p>Each node keeps its own regions. Writes through Hibernate keep them consistent on the writing
+ * node, and the other nodes evict the story and the query regions when the change is broadcast
+ * through the shared rendered-cache level ({@code StoryInvalidationListener}); without that level,
+ * run a single node or disable this cache. Code that changes the story table with plain SQL must
+ * evict through {@code StoryEntityCache} and broadcast the change itself (see {@code
+ * StoryArchiver}, {@code StoryPartitionManager#dropPartition}).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "obscura.jpa.cache", name = "enabled", matchIfMissing = true)
+public class JpaCacheConfig {
+
+  static final List<String> REGIONS =
+      List.of(
+          Story.CACHE_REGION,
+          Story.TAGS_CACHE_REGION,
+          StoryRepository.QUERY_CACHE_REGION,
+          RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+  /**
+   * One manager per application context, so contexts on different databases (as in tests) never
+   * share entries.
+   */
+  @Bean(destroyMethod = "close")
+  public CacheManager jpaCacheManager(JpaCacheProperties properties) {
+    CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+    CacheManager cacheManager =
+        provider.getCacheManager(
+            URI.create("obscura-jpa-" + UUID.randomUUID()), getClass().getClassLoader());
+    for (String region : REGIONS) {
+      cacheManager.createCache(region, configuration(properties.region(region)));
+    }
+    // Query results are only valid while these timestamps are held, so they are never evicted
+    CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+    timestamps.setStoreByValue(false);
+    cacheManager.createCache(
+        RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+    return cacheManager;
+  }
+
+  @Bean
+  public HibernatePropertiesCustomizer jpaCacheCustomizer(
+      CacheManager jpaCacheManager, JpaCacheProperties properties) {
+    return hibernateProperties -> {
+      hibernateProperties.put(AvailableSettings.USE_SECOND_LEVEL_CACHE, true);
+      hibernateProperties.put(AvailableSettings.USE_QUERY_CACHE, properties.queryCache());
+      hibernateProperties.put(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+      hibernateProperties.put(ConfigSettings.CACHE_MANAGER, jpaCacheManager);
+      hibernateProperties.put(ConfigSettings.MISSING_CACHE_STRATEGY, "fail");
+    };
+  }
+
+  /** Hit ratio per region; raw hit/miss/put counts come from Hibernate's own metrics. */
+  @Bean
+  public MeterBinder jpaCacheHitRatio(EntityManagerFactory entityManagerFactory) {
+    return registry -> {
+      Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+      for (String region : List.of(Story.CACHE_REGION, Story.TAGS_CACHE_REGION)) {
+        Gauge.builder(
+                "obscura.jpa.cache.hit.ratio",
+                statistics,
+                s -> hitRatio(s.getDomainDataRegionStatistics(region)))
+            .tag("region", region)
+            .description("Hit ratio of a Hibernate second-level cache region")
+            .register(registry);
+      }
+      Gauge.builder(
+              "obscura.jpa.cache.hit.ratio",
+              statistics,
+              s -> hitRatio(s.getQueryRegionStatistics(StoryRepository.QUERY_CACHE_REGION)))
+          .tag("region", StoryRepository.QUERY_CACHE_REGION)
+          .description("Hit ratio of a Hibernate second-level cache region")
+          .register(registry);
+    };
+  }
+
+  private static CaffeineConfiguration<Object, Object> configuration(
+      JpaCacheProperties.Region region) {
+    CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+    configuration.setMaximumSize(OptionalLong.of(region.maxEntries()));
+    configuration.setExpireAfterWrite(OptionalLong.of(region.timeToLive().toNanos()));
+    // Hibernate caches immutable disassembled state, so copying on every access buys nothing
+    configuration.setStoreByValue(false);
+    return configuration;
+  }
+
+  private static double hitRatio(CacheRegionStatistics statistics) {
+    if (statistics == null) {
+      return 0;
+    }
+    long lookups = statistics.getHitCount() + statistics.getMissCount();
+    return lookups == 0 ? 0 : (double) statistics.getHitCount() / lookups;
+  }
+}
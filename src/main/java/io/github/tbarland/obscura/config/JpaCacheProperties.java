@@ -0,0 +1,30 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Hibernate second-level and query cache, bound from {@code obscura.jpa.cache}. Each region is
+ * bounded by entry count and expires entries {@code timeToLive} after they are written; regions
+ * missing from {@code regions} use {@code defaults}.
+ */
+@ConfigurationProperties(prefix = "obscura.jpa.cache")
+public record JpaCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("true") boolean queryCache,
+    @DefaultValue Region defaults,
+    Map<String, Region> regions) {
+
+  public JpaCacheProperties {
+    regions = regions == null ? Map.of() : Map.copyOf(regions);
+  }
+
+  public Region region(String name) {
+    return regions.getOrDefault(name, defaults);
+  }
+
+  public record Region(
+      @DefaultValue("10000") long maxEntries, @DefaultValue("1h") Duration timeToLive) {}
+}
@@ -0,0 +1,21 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Story change outbox relay and change feed settings, bound from {@code obscura.outbox}.
+ *
+ * <p>{@code retention} is how long published events stay available for subscribers to resume from;
+ * {@code subscriberBufferSize} is how many live events a slow feed subscriber may fall behind
+ * before it is disconnected (it can resume from its last sequence).
+ */
+@ConfigurationProperties(prefix = "obscura.outbox")
+public record OutboxProperties(
+    @DefaultValue("true") boolean relayEnabled,
+    @DefaultValue("500ms") Duration relayInterval,
+    @DefaultValue("200") int batchSize,
+    @DefaultValue("7d") Duration retention,
+    @DefaultValue("30m") Duration feedTimeout,
+    @DefaultValue("10000") int subscriberBufferSize) {}
@@ -0,0 +1,95 @@
+package io.github.tbarland.obscura.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import io.github.tbarland.obscura.web.ClientKeyResolver;
+import io.github.tbarland.obscura.web.ClientRateLimiter;
+import io.github.tbarland.obscura.web.LoadShedder;
+import io.github.tbarland.obscura.web.RateLimitFilter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.function.IntSupplier;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Registers the rate limiting / load shedding filter ahead of every other API filter, so rejected
+ * requests cost as little as possible. Pool saturation is read from Hikari when the primary
+ * datasource is a plain Hikari pool; otherwise only concurrency and latency are considered.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "obscura.rate-limit", name = "enabled", matchIfMissing = true)
+public class RateLimitConfig {
+
+  @Bean
+  public ClientRateLimiter clientRateLimiter(
+      RateLimitProperties properties, MeterRegistry meterRegistry) {
+    ClientRateLimiter limiter =
+        new ClientRateLimiter(
+            properties.burstCapacity(), properties.refillPerSecond(), properties.maxClients());
+    Gauge.builder("obscura.rate.limit.clients", limiter, ClientRateLimiter::trackedClients)
+        .description("Clients with a live token bucket")
+        .register(meterRegistry);
+    return limiter;
+  }
+
+  @Bean
+  public LoadShedder loadShedder(
+      RateLimitProperties properties, DataSource dataSource, MeterRegistry meterRegistry) {
+    RateLimitProperties.Shedding shedding = properties.shedding();
+    LoadShedder shedder =
+        shedding.enabled()
+            ? new LoadShedder(
+                shedding.maxConcurrentRequests(),
+                shedding.maxPendingConnections(),
+                shedding.latencyTarget(),
+                shedding.maxShedRatio(),
+                pendingConnections(dataSource))
+            : new LoadShedder(Integer.MAX_VALUE, Integer.MAX_VALUE, Duration.ofDays(1), 0, () -> 0);
+    Gauge.builder("obscura.http.in.flight", shedder, LoadShedder::inFlight)
+        .description("API requests currently being processed")
+        .register(meterRegistry);
+    Gauge.builder("obscura.http.latency.ewma", shedder, LoadShedder::latencyEwmaMillis)
+        .baseUnit("milliseconds")
+        .description("Moving average of API request latency used for load shedding")
+        .register(meterRegistry);
+    return shedder;
+  }
+
+  @Bean
+  public FilterRegistrationBean<RateLimitFilter> rateLimitFilter(
+      RateLimitProperties properties,
+      ClientRateLimiter rateLimiter,
+      LoadShedder loadShedder,
+      MeterRegistry meterRegistry) {
+    ClientKeyResolver clientKeyResolver = new ClientKeyResolver(properties.apiKeys());
+    FilterRegistrationBean<RateLimitFilter> registration =
+        new FilterRegistrationBean<>(
+            new RateLimitFilter(clientKeyResolver, rateLimiter, loadShedder, meterRegistry));
+    registration.addUrlPatterns("/api/*");
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 5);
+    return registration;
+  }
+
+  private static IntSupplier pendingConnections(DataSource dataSource) {
+    HikariDataSource hikari;
+    try {
+      if (!dataSource.isWrapperFor(HikariDataSource.class)) {
+        return () -> 0;
+      }
+      hikari = dataSource.unwrap(HikariDataSource.class);
+    } catch (SQLException ex) {
+      return () -> 0;
+    }
+    return () -> {
+      HikariPoolMXBean pool = hikari.getHikariPoolMXBean();
+      return pool != null ? pool.getThreadsAwaitingConnection() : 0;
+    };
+  }
+}
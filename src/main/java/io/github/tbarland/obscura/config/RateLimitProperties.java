@@ -0,0 +1,28 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-client rate limits and adaptive load shedding for {@code /api/**}, bound from {@code
+ * obscura.rate-limit}. Requests carrying one of {@code apiKeys} in {@code X-API-Key} get a bucket
+ * per key; all others get one per remote address.
+ */
+@ConfigurationProperties(prefix = "obscura.rate-limit")
+public record RateLimitProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("100") int burstCapacity,
+    @DefaultValue("50") double refillPerSecond,
+    @DefaultValue("10000") int maxClients,
+    @DefaultValue List<String> apiKeys,
+    @DefaultValue Shedding shedding) {
+
+  public record Shedding(
+      @DefaultValue("true") boolean enabled,
+      @DefaultValue("200") int maxConcurrentRequests,
+      @DefaultValue("10") int maxPendingConnections,
+      @DefaultValue("500ms") Duration latencyTarget,
+      @DefaultValue("0.9") double maxShedRatio) {}
+}
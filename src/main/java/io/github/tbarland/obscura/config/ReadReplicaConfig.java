@@ -0,0 +1,110 @@
+package io.github.tbarland.obscura.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.tbarland.obscura.datasource.ReadYourWritesFilter;
+import io.github.tbarland.obscura.datasource.ReadYourWritesTracker;
+import io.github.tbarland.obscura.datasource.ReplicaHealthChecker;
+import io.github.tbarland.obscura.datasource.ReplicaRoutingDataSource;
+import io.github.tbarland.obscura.datasource.ReplicaRoutingDataSource.ReplicaNode;
+import io.github.tbarland.obscura.web.ClientKeyResolver;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Read replica routing, active when {@code obscura.datasource.read-replicas.enabled} is true.
+ *
+ * <p>Replaces the auto-configured datasource with a lazy routing datasource: read-only transactions
+ * (everything in {@code StoryService} not explicitly marked writable) go to a healthy replica,
+ * writes and non-transactional work such as Flyway go to the primary. Replicas are probed on a
+ * fixed delay and skipped while unhealthy, and clients are pinned to the primary for a short window
+ * after their own writes.
+ *
+ * <p>The primary and replica pools are built here rather than by Boot, so {@code
+ * spring.datasource.hikari.*} is bound onto each of them explicitly, and the routing datasource
+ * closes them on shutdown.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "obscura.datasource.read-replicas", name = "enabled")
+public class ReadReplicaConfig {
+
+  private static final String HIKARI_PREFIX = "spring.datasource.hikari";
+
+  private final ReadReplicaProperties properties;
+
+  public ReadReplicaConfig(ReadReplicaProperties properties) {
+    this.properties = properties;
+  }
+
+  @Bean
+  public ReplicaRoutingDataSource replicaRoutingDataSource(
+      DataSourceProperties primary, Environment environment) {
+    Binder binder = Binder.get(environment);
+    // The same order as Boot's own pool: connection settings first, then the Hikari properties
+    HikariDataSource primaryPool =
+        primary.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    binder.bind(HIKARI_PREFIX, Bindable.ofInstance(primaryPool));
+    primaryPool.setPoolName("obscura-primary");
+
+    List<ReplicaNode> replicas = new ArrayList<>();
+    for (int i = 0; i < properties.nodes().size(); i++) {
+      ReadReplicaProperties.Node node = properties.nodes().get(i);
+      HikariDataSource replicaPool = new HikariDataSource();
+      binder.bind(HIKARI_PREFIX, Bindable.ofInstance(replicaPool));
+      replicaPool.setPoolName("obscura-replica-" + i);
+      replicaPool.setJdbcUrl(node.url());
+      replicaPool.setUsername(
+          node.username() != null ? node.username() : primary.determineUsername());
+      replicaPool.setPassword(
+          node.password() != null ? node.password() : primary.determinePassword());
+      replicaPool.setDriverClassName(primary.determineDriverClassName());
+      replicaPool.setReadOnly(true);
+      replicas.add(new ReplicaNode(replicaPool.getPoolName(), replicaPool));
+    }
+
+    return new ReplicaRoutingDataSource(primaryPool, replicas);
+  }
+
+  @Bean
+  @Primary
+  public DataSource dataSource(ReplicaRoutingDataSource replicaRoutingDataSource) {
+    return new LazyConnectionDataSourceProxy(replicaRoutingDataSource);
+  }
+
+  @Bean
+  public ReadYourWritesTracker readYourWritesTracker() {
+    return new ReadYourWritesTracker(properties.readYourWritesWindow());
+  }
+
+  @Bean
+  public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+      ReadYourWritesTracker tracker, RateLimitProperties rateLimitProperties) {
+    ClientKeyResolver clientKeyResolver = new ClientKeyResolver(rateLimitProperties.apiKeys());
+    FilterRegistrationBean<ReadYourWritesFilter> registration =
+        new FilterRegistrationBean<>(new ReadYourWritesFilter(tracker, clientKeyResolver));
+    registration.addUrlPatterns("/api/*");
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+    return registration;
+  }
+
+  @Bean
+  public ReplicaHealthChecker replicaHealthChecker(
+      ReplicaRoutingDataSource replicaRoutingDataSource, ReadYourWritesTracker tracker) {
+    return new ReplicaHealthChecker(
+        replicaRoutingDataSource,
+        tracker,
+        properties.healthCheckInterval(),
+        properties.healthCheckTimeout());
+  }
+}
@@ -0,0 +1,23 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import java.util.List;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Read replica settings, bound from {@code obscura.datasource.read-replicas}.
+ *
+ * <p>Replica credentials default to the primary's {@code spring.datasource} credentials when
+ * omitted.
+ */
+@ConfigurationProperties(prefix = "obscura.datasource.read-replicas")
+public record ReadReplicaProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue List<Node> nodes,
+    @DefaultValue("5s") Duration healthCheckInterval,
+    @DefaultValue("2s") Duration healthCheckTimeout,
+    @DefaultValue("5s") Duration readYourWritesWindow) {
+
+  public record Node(String url, String username, String password) {}
+}
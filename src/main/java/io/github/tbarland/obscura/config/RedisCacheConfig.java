@@ -0,0 +1,40 @@
+package io.github.tbarland.obscura.config;
+
+import io.github.tbarland.obscura.cache.RedisStoryCache;
+import io.github.tbarland.obscura.cache.RenderedStoryCache;
+import io.github.tbarland.obscura.cache.StoryEntityCache;
+import io.github.tbarland.obscura.cache.StoryInvalidationListener;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+/** Subscribes this node to story cache invalidations when the shared level is enabled. */
+@Configuration
+@ConditionalOnProperty(prefix = "obscura.cache.redis", name = "enabled")
+public class RedisCacheConfig {
+
+  @Bean
+  public StoryInvalidationListener storyInvalidationListener(
+      RenderedStoryCache renderedStoryCache,
+      StoryEntityCache storyEntityCache,
+      RedisStoryCache redisStoryCache,
+      MeterRegistry meterRegistry) {
+    return new StoryInvalidationListener(
+        renderedStoryCache, storyEntityCache, redisStoryCache.nodeId(), meterRegistry);
+  }
+
+  @Bean
+  public RedisMessageListenerContainer storyInvalidationContainer(
+      RedisConnectionFactory connectionFactory,
+      StoryInvalidationListener listener,
+      RedisCacheProperties properties) {
+    RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+    container.setConnectionFactory(connectionFactory);
+    container.addMessageListener(listener, new ChannelTopic(properties.channel()));
+    return container;
+  }
+}
@@ -0,0 +1,17 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Shared (Redis) level of the story cache, bound from {@code obscura.cache.redis}. Connection
+ * settings come from {@code spring.data.redis}. Entries live under {@code keyPrefix} + id and
+ * expire after {@code timeToLive}; invalidations are broadcast to every node on {@code channel}.
+ */
+@ConfigurationProperties(prefix = "obscura.cache.redis")
+public record RedisCacheProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("obscura:story:rendered:") String keyPrefix,
+    @DefaultValue("obscura:story:invalidations") String channel,
+    @DefaultValue("1h") Duration timeToLive) {}
@@ -0,0 +1,20 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Pre-rendered story response cache, bound from {@code obscura.cache.rendered}. {@code maxSize}
+ * bounds the total bytes held (JSON plus gzip copies), not the entry count. Bodies of at least
+ * {@code gzipMinSize} are also kept gzipped when {@code gzip} is on. {@code timeToLive} is a safety
+ * net only; entries are invalidated on every mutation.
+ */
+@ConfigurationProperties(prefix = "obscura.cache.rendered")
+public record RenderedCacheProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("64MB") DataSize maxSize,
+    @DefaultValue("true") boolean gzip,
+    @DefaultValue("1KB") DataSize gzipMinSize,
+    @DefaultValue("1h") Duration timeToLive) {}
@@ -0,0 +1,12 @@
+package io.github.tbarland.obscura.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables scheduled background work (replica health checks and similar maintenance tasks).
+ * Individual tasks register themselves and are switched on or off through their own properties.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {}
@@ -0,0 +1,24 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Similar-stories index, bound from {@code obscura.similar}. Signatures have {@code bands * rows}
+ * MinHash values over a story's tags (each counted {@code tagWeight} times) and the {@code
+ * shingleSize}-word shingles of its first {@code maxContentChars} characters. More rows per band
+ * make candidates stricter, more bands find weaker matches. Matches below {@code minSimilarity} are
+ * dropped, and the index is rebuilt from the database every {@code rebuildInterval}.
+ */
+@ConfigurationProperties(prefix = "obscura.similar")
+public record SimilarityProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("16") int bands,
+    @DefaultValue("4") int rows,
+    @DefaultValue("3") int shingleSize,
+    @DefaultValue("8") int tagWeight,
+    @DefaultValue("20000") int maxContentChars,
+    @DefaultValue("0.1") double minSimilarity,
+    @DefaultValue("50") int maxResults,
+    @DefaultValue("6h") Duration rebuildInterval) {}
@@ -0,0 +1,43 @@
+package io.github.tbarland.obscura.config;
+
+import io.github.tbarland.obscura.observability.LatencySloFilter;
+import io.github.tbarland.obscura.observability.SlowRequestLog;
+import io.github.tbarland.obscura.observability.SlowRequestsEndpoint;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+/**
+ * Latency objective tracking, active unless {@code obscura.slo.enabled} is false. Each request's
+ * SQL and connection waits come from the datasource wrapper of {@link SqlCaptureConfig}. The filter
+ * runs right after rate limiting, so only admitted requests are timed. Slow requests are served by
+ * the {@code slowrequests} actuator endpoint.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "obscura.slo", name = "enabled", matchIfMissing = true)
+public class SloConfig {
+
+  @Bean
+  public SlowRequestLog slowRequestLog(SloProperties properties) {
+    return new SlowRequestLog(properties.slowRequests());
+  }
+
+  @Bean
+  public SlowRequestsEndpoint slowRequestsEndpoint(SlowRequestLog slowRequestLog) {
+    return new SlowRequestsEndpoint(slowRequestLog);
+  }
+
+  @Bean
+  public FilterRegistrationBean<LatencySloFilter> latencySloFilter(
+      SloProperties properties, SlowRequestLog slowRequestLog, MeterRegistry meterRegistry) {
+    FilterRegistrationBean<LatencySloFilter> registration =
+        new FilterRegistrationBean<>(
+            new LatencySloFilter(properties, slowRequestLog, meterRegistry));
+    registration.addUrlPatterns("/api/*");
+    registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 6);
+    return registration;
+  }
+}
@@ -0,0 +1,22 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import java.util.Map;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Per-route latency objectives, bound from {@code obscura.slo}. Each API request is timed against
+ * the objective of its route in {@code routes}, keyed by route pattern such as {@code
+ * /api/stories/{id}}, or else {@code defaultObjective}. Requests that miss their objective are kept
+ * in a buffer of the last {@code slowRequests}, with up to {@code maxStatements} of their SQL
+ * statements, each cut to {@code maxSqlLength} characters.
+ */
+@ConfigurationProperties(prefix = "obscura.slo")
+public record SloProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("250ms") Duration defaultObjective,
+    @DefaultValue Map<String, Duration> routes,
+    @DefaultValue("100") int slowRequests,
+    @DefaultValue("50") int maxStatements,
+    @DefaultValue("1000") int maxSqlLength) {}
@@ -0,0 +1,45 @@
+package io.github.tbarland.obscura.config;
+
+import io.github.tbarland.obscura.observability.ConnectionTimingDataSource;
+import io.micrometer.observation.ObservationRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Wraps the application datasource in {@link ConnectionTimingDataSource}, so statements and
+ * connection waits are timed per thread and statements are traced. Active while latency objectives
+ * ({@code obscura.slo}), flight recorder events ({@code obscura.jfr}) or tracing ({@code
+ * management.tracing}) are enabled, since all of them report database time.
+ */
+@Configuration
+@ConditionalOnExpression(
+    "${obscura.slo.enabled:true} or ${obscura.jfr.enabled:true}"
+        + " or ${management.tracing.enabled:true}")
+public class SqlCaptureConfig {
+
+  /**
+   * The bean called dataSource is the one JPA and every JdbcTemplate use, routing or not. The
+   * observation registry is looked up on the first statement, not while the datasource is built.
+   */
+  @Bean
+  public static BeanPostProcessor sqlCapturingDataSourcePostProcessor(
+      ObjectProvider<ObservationRegistry> observationRegistry) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && "dataSource".equals(beanName)) {
+          return ConnectionTimingDataSource.wrap(
+              dataSource,
+              SingletonSupplier.of(
+                  () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP)));
+        }
+        return bean;
+      }
+    };
+  }
+}
@@ -0,0 +1,14 @@
+package io.github.tbarland.obscura.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Ranged story content reads, bound from {@code obscura.content}. Lengths are in characters. {@code
+ * chunkSize} fixes the chunk boundaries clients page through; {@code maxRangeLength} caps a single
+ * {@code Range} response, which is then shorter than requested (as its {@code Content-Range}
+ * shows).
+ */
+@ConfigurationProperties(prefix = "obscura.content")
+public record StoryContentProperties(
+    @DefaultValue("16384") int chunkSize, @DefaultValue("1048576") int maxRangeLength) {}
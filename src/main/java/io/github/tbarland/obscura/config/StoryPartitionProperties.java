@@ -0,0 +1,19 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Monthly partition maintenance for the PostgreSQL story table, bound from {@code
+ * obscura.partitioning}.
+ *
+ * <p>{@code retentionMonths} of zero keeps every partition; otherwise partitions whose whole month
+ * is older than that many months are dropped.
+ */
+@ConfigurationProperties(prefix = "obscura.partitioning")
+public record StoryPartitionProperties(
+    @DefaultValue("false") boolean enabled,
+    @DefaultValue("3") int monthsAhead,
+    @DefaultValue("0") int retentionMonths,
+    @DefaultValue("1h") Duration checkInterval) {}
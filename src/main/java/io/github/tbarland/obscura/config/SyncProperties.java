@@ -0,0 +1,21 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Incremental sync settings, bound from {@code obscura.sync}.
+ *
+ * <p>{@code settleDelay} holds back changes stamped within that window, so a transaction that
+ * commits after a later one cannot slip behind a client's watermark; it should exceed the longest
+ * expected write transaction. Tombstones older than {@code tombstoneRetention} are purged, and
+ * watermarks older than that are rejected so the client performs a full re-sync.
+ */
+@ConfigurationProperties(prefix = "obscura.sync")
+public record SyncProperties(
+    @DefaultValue("100") int defaultPageSize,
+    @DefaultValue("1000") int maxPageSize,
+    @DefaultValue("2s") Duration settleDelay,
+    @DefaultValue("90d") Duration tombstoneRetention,
+    @DefaultValue("1h") Duration purgeInterval) {}
@@ -0,0 +1,42 @@
+package io.github.tbarland.obscura.config;
+
+import io.github.tbarland.obscura.observability.StoryServiceObservation;
+import io.github.tbarland.obscura.observability.StoryServicePointcut;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.core.Ordered;
+import org.springframework.util.function.SingletonSupplier;
+
+/**
+ * Spans below the HTTP server span that Spring MVC already observes: every public {@code
+ * StoryService} method is observed by {@link StoryServiceObservation}, ahead of the transaction
+ * advice, and statements by the datasource wrapper of {@link SqlCaptureConfig}. Sampling, export
+ * and propagation are Spring Boot's {@code management.tracing} and {@code management.otlp}
+ * settings.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "management.tracing", name = "enabled", matchIfMissing = true)
+public class TracingConfig {
+
+  @Bean
+  @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+  public static Advisor storyServiceObservationAdvisor(
+      ObjectProvider<ObservationRegistry> observationRegistry) {
+    DefaultPointcutAdvisor advisor =
+        new DefaultPointcutAdvisor(
+            new StoryServicePointcut(),
+            new StoryServiceObservation(
+                SingletonSupplier.of(
+                    () -> observationRegistry.getIfAvailable(() -> ObservationRegistry.NOOP))));
+    // Inside the flight recorder advice, outside the transaction
+    advisor.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+    return advisor;
+  }
+}
@@ -0,0 +1,24 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Trending leaderboard, bound from {@code obscura.trending}. A view adds {@code viewWeight} and a
+ * new story {@code createWeight} to its score, and scores halve every {@code halfLife}. The top
+ * {@code size} stories are republished every {@code publishInterval}. Every {@code
+ * snapshotInterval} the {@code snapshotSize} highest scores are saved for warm restarts, and
+ * stories outside the top whose score fell below {@code minScore} are forgotten.
+ */
+@ConfigurationProperties(prefix = "obscura.trending")
+public record TrendingProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("1h") Duration halfLife,
+    @DefaultValue("100") int size,
+    @DefaultValue("1.0") double viewWeight,
+    @DefaultValue("5.0") double createWeight,
+    @DefaultValue("1s") Duration publishInterval,
+    @DefaultValue("1m") Duration snapshotInterval,
+    @DefaultValue("1000") int snapshotSize,
+    @DefaultValue("0.01") double minScore) {}
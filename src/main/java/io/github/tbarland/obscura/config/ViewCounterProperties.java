@@ -0,0 +1,17 @@
+package io.github.tbarland.obscura.config;
+
+import java.time.Duration;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Story view counting, bound from {@code obscura.views}. Views are counted in memory and merged
+ * into story_stats every {@code flushInterval}, {@code batchSize} rows per JDBC batch. After each
+ * flush the top {@code rankingSize} stories are read back to serve the most-viewed list.
+ */
+@ConfigurationProperties(prefix = "obscura.views")
+public record ViewCounterProperties(
+    @DefaultValue("true") boolean enabled,
+    @DefaultValue("10s") Duration flushInterval,
+    @DefaultValue("500") int batchSize,
+    @DefaultValue("100") int rankingSize) {}
@@ -0,0 +1,30 @@
+package io.github.tbarland.obscura.controller;
+
+import io.github.tbarland.obscura.dto.SimilarStoryDto;
+import io.github.tbarland.obscura.similar.SimilarStories;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stories")
+public class SimilarStoryController {
+
+  private final SimilarStories similarStories;
+
+  public SimilarStoryController(SimilarStories similarStories) {
+    this.similarStories = similarStories;
+  }
+
+  /** Stories sharing the most tags and phrases with story {@code id}, most similar first. */
+  @GetMapping("/{id}/similar")
+  public ResponseEntity<List<SimilarStoryDto>> getSimilar(
+      @PathVariable Long id, @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(
+        limit != null ? similarStories.similarTo(id, limit) : similarStories.similarTo(id));
+  }
+}
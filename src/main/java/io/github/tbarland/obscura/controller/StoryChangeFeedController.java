@@ -0,0 +1,33 @@
+package io.github.tbarland.obscura.controller;
+
+import io.github.tbarland.obscura.outbox.StoryChangeFeed;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@RequestMapping("/api/stories/changes")
+public class StoryChangeFeedController {
+
+  private final StoryChangeFeed changeFeed;
+
+  public StoryChangeFeedController(StoryChangeFeed changeFeed) {
+    this.changeFeed = changeFeed;
+  }
+
+  /**
+   * Streams story changes as Server-Sent Events. Resumes after the {@code Last-Event-ID} header
+   * (sent automatically by reconnecting EventSource clients) or the {@code after} sequence; with
+   * neither, only changes from now on are streamed.
+   */
+  @GetMapping(produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter streamChanges(
+      @RequestParam(required = false) Long after,
+      @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+    return changeFeed.subscribe(lastEventId != null ? lastEventId : after);
+  }
+}
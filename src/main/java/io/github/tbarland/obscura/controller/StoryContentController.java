@@ -0,0 +1,60 @@
+package io.github.tbarland.obscura.controller;
+
+import io.github.tbarland.obscura.dto.StoryContentChunkDto;
+import io.github.tbarland.obscura.dto.StoryContentSlice;
+import io.github.tbarland.obscura.service.StoryContentService;
+import io.github.tbarland.obscura.web.CharRange;
+import java.nio.charset.StandardCharsets;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stories/{id}/content")
+public class StoryContentController {
+
+  private static final MediaType TEXT_PLAIN_UTF8 =
+      new MediaType(MediaType.TEXT_PLAIN, StandardCharsets.UTF_8);
+
+  private final StoryContentService contentService;
+
+  public StoryContentController(StoryContentService contentService) {
+    this.contentService = contentService;
+  }
+
+  /**
+   * Story content as plain text. With {@code Range: chars=first-last} only that part is read and
+   * returned as 206 Partial Content; any other {@code Range} is ignored.
+   */
+  @GetMapping
+  public ResponseEntity<String> getContent(
+      @PathVariable Long id,
+      @RequestHeader(value = HttpHeaders.RANGE, required = false) String range) {
+    CharRange requested = CharRange.parse(range);
+    if (requested == null) {
+      return ResponseEntity.ok()
+          .header(HttpHeaders.ACCEPT_RANGES, CharRange.UNIT)
+          .contentType(TEXT_PLAIN_UTF8)
+          .body(contentService.getContent(id).text());
+    }
+    StoryContentSlice slice = contentService.getRange(id, requested);
+    return ResponseEntity.status(HttpStatus.PARTIAL_CONTENT)
+        .header(HttpHeaders.ACCEPT_RANGES, CharRange.UNIT)
+        .header(HttpHeaders.CONTENT_RANGE, slice.contentRange())
+        .contentType(TEXT_PLAIN_UTF8)
+        .body(slice.text());
+  }
+
+  /** Fixed-size chunk {@code chunk} (from 0) of the content, with the chunk count for paging. */
+  @GetMapping("/chunks/{chunk}")
+  public ResponseEntity<StoryContentChunkDto> getChunk(
+      @PathVariable Long id, @PathVariable int chunk) {
+    return ResponseEntity.ok(contentService.getChunk(id, chunk));
+  }
+}
@@ -1,10 +1,26 @@
 package io.github.tbarland.obscura.controller;
 
+import io.github.tbarland.obscura.cache.RenderedStory;
+import io.github.tbarland.obscura.cache.RenderedStoryCache;
+import io.github.tbarland.obscura.dto.StoryBatchDto;
 import io.github.tbarland.obscura.dto.StoryRequestDto;
 import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.service.CoalescingStoryReader;
+import io.github.tbarland.obscura.service.StoryListWriter;
 import io.github.tbarland.obscura.service.StoryService;
+import io.github.tbarland.obscura.stats.StoryViewCounter;
+import io.github.tbarland.obscura.web.StoryWireFormat;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -12,27 +28,137 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
 
 @RestController
 @RequestMapping("/api/stories")
 public class StoryController {
 
+  static final int MAX_BATCH_IDS = 100;
+
   private final StoryService storyService;
+  private final CoalescingStoryReader storyReader;
+  private final StoryListWriter storyListWriter;
+  private final RenderedStoryCache renderedStoryCache;
+  private final StoryViewCounter viewCounter;
 
-  public StoryController(StoryService storyService) {
+  public StoryController(
+      StoryService storyService,
+      CoalescingStoryReader storyReader,
+      StoryListWriter storyListWriter,
+      RenderedStoryCache renderedStoryCache,
+      StoryViewCounter viewCounter) {
     this.storyService = storyService;
+    this.storyReader = storyReader;
+    this.storyListWriter = storyListWriter;
+    this.renderedStoryCache = renderedStoryCache;
+    this.viewCounter = viewCounter;
   }
 
+  /**
+   * Streams the full list straight from the database in the negotiated format. Written on the
+   * request thread (not as an async body) so replica pinning and load-shedding accounting still
+   * apply while it runs.
+   */
   @GetMapping
-  public ResponseEntity<List<StoryResponseDto>> getAllStories() {
-    return ResponseEntity.ok(storyService.getAllStories());
+  public void getAllStories(
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+      HttpServletResponse response)
+      throws IOException {
+    StoryWireFormat format = StoryWireFormat.forAccept(accept);
+    response.setStatus(HttpServletResponse.SC_OK);
+    response.setContentType(format.mediaType().toString());
+    response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+    storyListWriter.writeAll(format, response.getOutputStream());
   }
 
+  /**
+   * Reads several stories at once ({@code ?ids=3,1,2}), in the order requested, listing unknown ids
+   * under {@code missing}. Duplicate ids are returned once. JSON responses are stitched together
+   * from the pre-rendered bodies; only cache misses reach the database.
+   */
+  @GetMapping(params = "ids")
+  public ResponseEntity<?> getStoriesByIds(
+      @RequestParam List<Long> ids,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+    StoryWireFormat format = StoryWireFormat.forAccept(accept);
+    List<Long> distinctIds = distinctIds(ids);
+    if (format != StoryWireFormat.JSON) {
+      List<StoryResponseDto> stories = storyService.getStoriesByIds(distinctIds);
+      List<Long> missing = new ArrayList<>(distinctIds);
+      stories.forEach(story -> missing.remove(story.id()));
+      return ResponseEntity.ok()
+          .varyBy(HttpHeaders.ACCEPT)
+          .contentType(format.mediaType())
+          .body(new StoryBatchDto(stories, missing));
+    }
+
+    Map<Long, RenderedStory> rendered = renderedStoryCache.getAll(distinctIds);
+    ByteArrayOutputStream body =
+        new ByteArrayOutputStream(
+            rendered.values().stream().mapToInt(story -> story.json().length + 1).sum() + 64);
+    body.writeBytes("{\"stories\":[".getBytes(StandardCharsets.US_ASCII));
+    String separator = "";
+    for (RenderedStory story : rendered.values()) {
+      body.writeBytes(separator.getBytes(StandardCharsets.US_ASCII));
+      body.writeBytes(story.json());
+      separator = ",";
+    }
+    StringBuilder missing = new StringBuilder("],\"missing\":[");
+    separator = "";
+    for (Long id : distinctIds) {
+      if (!rendered.containsKey(id)) {
+        missing.append(separator).append(id);
+        separator = ",";
+      }
+    }
+    body.writeBytes(missing.append("]}").toString().getBytes(StandardCharsets.US_ASCII));
+    return ResponseEntity.ok()
+        .varyBy(HttpHeaders.ACCEPT)
+        .contentType(format.mediaType())
+        .body(body.toByteArray());
+  }
+
+  /**
+   * JSON reads are served from pre-rendered bytes (gzipped when the client accepts it) with an
+   * ETag, so repeat reads of an unchanged story cost neither serialization nor a body. Binary
+   * formats go through the message converters. Every successful read, including a 304, counts as a
+   * view.
+   */
   @GetMapping("/{id}")
-  public ResponseEntity<StoryResponseDto> getStoryById(@PathVariable Long id) {
-    return ResponseEntity.ok(storyService.getStoryById(id));
+  public ResponseEntity<?> getStoryById(
+      @PathVariable Long id,
+      @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept,
+      @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+    StoryWireFormat format = StoryWireFormat.forAccept(accept);
+    if (format != StoryWireFormat.JSON) {
+      StoryResponseDto story = storyReader.getStoryById(id);
+      viewCounter.recordView(id);
+      return ResponseEntity.ok()
+          .varyBy(HttpHeaders.ACCEPT)
+          .contentType(format.mediaType())
+          .body(story);
+    }
+
+    RenderedStory rendered = renderedStoryCache.get(id);
+    viewCounter.recordView(id);
+    if (rendered.etag().equals(ifNoneMatch)) {
+      return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(rendered.etag()).build();
+    }
+    ResponseEntity.BodyBuilder response =
+        ResponseEntity.ok()
+            .eTag(rendered.etag())
+            .varyBy(HttpHeaders.ACCEPT, HttpHeaders.ACCEPT_ENCODING)
+            .contentType(format.mediaType());
+    if (rendered.gzip() != null && acceptsGzip(acceptEncoding)) {
+      return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(rendered.gzip());
+    }
+    return response.body(rendered.json());
   }
 
   @PostMapping()
@@ -51,4 +177,30 @@ public class StoryController {
     storyService.deleteStory(id);
     return ResponseEntity.noContent().build();
   }
+
+  private static List<Long> distinctIds(List<Long> ids) {
+    LinkedHashSet<Long> distinct = new LinkedHashSet<>(ids);
+    distinct.remove(null);
+    if (distinct.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "ids must not be empty");
+    }
+    if (distinct.size() > MAX_BATCH_IDS) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "At most " + MAX_BATCH_IDS + " ids may be requested at once");
+    }
+    return List.copyOf(distinct);
+  }
+
+  static boolean acceptsGzip(String acceptEncoding) {
+    if (acceptEncoding == null) {
+      return false;
+    }
+    for (String coding : acceptEncoding.split(",")) {
+      String[] parts = coding.trim().split(";");
+      if (parts[0].trim().equalsIgnoreCase("gzip")) {
+        return parts.length == 1 || !parts[1].trim().replace(" ", "").matches("q=0(\\.0*)?");
+      }
+    }
+    return false;
+  }
 }
@@ -0,0 +1,36 @@
+package io.github.tbarland.obscura.controller;
+
+import io.github.tbarland.obscura.dto.StoryImportDto;
+import io.github.tbarland.obscura.dto.StoryImportRequestDto;
+import io.github.tbarland.obscura.importer.StoryImporter;
+import jakarta.validation.Valid;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/admin/imports")
+public class StoryImportController {
+
+  private final StoryImporter storyImporter;
+
+  public StoryImportController(StoryImporter storyImporter) {
+    this.storyImporter = storyImporter;
+  }
+
+  /** Starts importing a file, or resumes its unfinished import; runs in the background. */
+  @PostMapping
+  public ResponseEntity<StoryImportDto> startImport(
+      @Valid @RequestBody StoryImportRequestDto request) {
+    return ResponseEntity.accepted().body(storyImporter.start(request));
+  }
+
+  @GetMapping("/{id}")
+  public ResponseEntity<StoryImportDto> getImport(@PathVariable Long id) {
+    return ResponseEntity.ok(storyImporter.getImport(id));
+  }
+}
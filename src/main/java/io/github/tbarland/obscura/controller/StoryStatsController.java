@@ -0,0 +1,39 @@
+package io.github.tbarland.obscura.controller;
+
+import io.github.tbarland.obscura.dto.StoryViewCountDto;
+import io.github.tbarland.obscura.dto.TrendingStoryDto;
+import io.github.tbarland.obscura.stats.StoryViewCounter;
+import io.github.tbarland.obscura.stats.TrendingLeaderboard;
+import java.util.List;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stories")
+public class StoryStatsController {
+
+  private final StoryViewCounter viewCounter;
+  private final TrendingLeaderboard trending;
+
+  public StoryStatsController(StoryViewCounter viewCounter, TrendingLeaderboard trending) {
+    this.viewCounter = viewCounter;
+    this.trending = trending;
+  }
+
+  /** Most viewed story ids with their view counts, refreshed every flush interval. */
+  @GetMapping("/most-viewed")
+  public ResponseEntity<List<StoryViewCountDto>> getMostViewed(
+      @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(viewCounter.mostViewed(limit));
+  }
+
+  /** Stories with the highest time-decayed activity, refreshed every second. */
+  @GetMapping("/trending")
+  public ResponseEntity<List<TrendingStoryDto>> getTrending(
+      @RequestParam(defaultValue = "10") int limit) {
+    return ResponseEntity.ok(trending.top(limit));
+  }
+}
@@ -0,0 +1,42 @@
+package io.github.tbarland.obscura.controller;
+
+import io.github.tbarland.obscura.dto.StoryArchivePageDto;
+import io.github.tbarland.obscura.dto.StorySyncPageDto;
+import io.github.tbarland.obscura.service.StorySyncService;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/api/stories/sync")
+public class StorySyncController {
+
+  private final StorySyncService syncService;
+
+  public StorySyncController(StorySyncService syncService) {
+    this.syncService = syncService;
+  }
+
+  /**
+   * Returns stories created, updated or deleted since {@code cursor}. Omit the cursor for an
+   * initial full sync, then pass back the returned cursor on every subsequent call.
+   */
+  @GetMapping
+  public ResponseEntity<StorySyncPageDto> getChangesSince(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(syncService.getChangesSince(cursor, limit));
+  }
+
+  /**
+   * Returns archived stories with ids above {@code after}, which a sync leaves out. Page through
+   * them after a full sync, passing back the returned {@code after}.
+   */
+  @GetMapping("/archived")
+  public ResponseEntity<StoryArchivePageDto> getArchived(
+      @RequestParam(required = false) Long after, @RequestParam(required = false) Integer limit) {
+    return ResponseEntity.ok(syncService.getArchived(after, limit));
+  }
+}
@@ -0,0 +1,57 @@
+package io.github.tbarland.obscura.datasource;
+
+import io.github.tbarland.obscura.web.ClientKeyResolver;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Set;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Records successful writes per client and pins that client's subsequent reads to the primary for
+ * the configured read-your-writes window.
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+  private static final Set<String> WRITE_METHODS = Set.of("POST", "PUT", "PATCH", "DELETE");
+
+  private final ReadYourWritesTracker tracker;
+  private final ClientKeyResolver clientKeyResolver;
+
+  public ReadYourWritesFilter(ReadYourWritesTracker tracker, ClientKeyResolver clientKeyResolver) {
+    this.tracker = tracker;
+    this.clientKeyResolver = clientKeyResolver;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    String clientKey = clientKeyResolver.resolve(request);
+
+    if (WRITE_METHODS.contains(request.getMethod())) {
+      filterChain.doFilter(request, response);
+      if (response.getStatus() < 400) {
+        tracker.recordWrite(clientKey);
+      }
+      return;
+    }
+
+    if (!tracker.isWithinWindow(clientKey)) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    ReplicaRoutingContext.forcePrimary();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      ReplicaRoutingContext.clear();
+    }
+  }
+}
@@ -0,0 +1,47 @@
+package io.github.tbarland.obscura.datasource;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Remembers when each client last wrote, so that its reads can be served from the primary until
+ * replicas have had a chance to catch up.
+ */
+public class ReadYourWritesTracker {
+
+  private final long windowNanos;
+  private final ConcurrentMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+
+  public ReadYourWritesTracker(Duration window) {
+    this.windowNanos = window.toNanos();
+  }
+
+  public void recordWrite(String clientKey) {
+    if (windowNanos > 0) {
+      lastWriteNanos.put(clientKey, System.nanoTime());
+    }
+  }
+
+  public boolean isWithinWindow(String clientKey) {
+    Long writtenAt = lastWriteNanos.get(clientKey);
+    if (writtenAt == null) {
+      return false;
+    }
+    if (System.nanoTime() - writtenAt < windowNanos) {
+      return true;
+    }
+    lastWriteNanos.remove(clientKey, writtenAt);
+    return false;
+  }
+
+  /** Drops clients whose window has elapsed; keeps the map from growing with one-off writers. */
+  public void evictExpired() {
+    long now = System.nanoTime();
+    lastWriteNanos.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+  }
+
+  int trackedClients() {
+    return lastWriteNanos.size();
+  }
+}
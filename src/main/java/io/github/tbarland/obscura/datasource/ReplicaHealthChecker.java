@@ -0,0 +1,38 @@
+package io.github.tbarland.obscura.datasource;
+
+import java.time.Duration;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+
+/**
+ * Periodically probes read replicas so routing can skip unhealthy ones, and sweeps expired
+ * read-your-writes entries on the same schedule.
+ */
+public class ReplicaHealthChecker implements SchedulingConfigurer {
+
+  private final ReplicaRoutingDataSource routingDataSource;
+  private final ReadYourWritesTracker tracker;
+  private final Duration interval;
+  private final int timeoutSeconds;
+
+  public ReplicaHealthChecker(
+      ReplicaRoutingDataSource routingDataSource,
+      ReadYourWritesTracker tracker,
+      Duration interval,
+      Duration timeout) {
+    this.routingDataSource = routingDataSource;
+    this.tracker = tracker;
+    this.interval = interval;
+    this.timeoutSeconds = (int) Math.max(1, timeout.toSeconds());
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar registrar) {
+    registrar.addFixedDelayTask(this::check, interval);
+  }
+
+  void check() {
+    routingDataSource.checkReplicaHealth(timeoutSeconds);
+    tracker.evictExpired();
+  }
+}
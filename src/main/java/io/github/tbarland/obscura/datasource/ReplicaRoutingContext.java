@@ -0,0 +1,25 @@
+package io.github.tbarland.obscura.datasource;
+
+/**
+ * Thread-bound override that pins the current thread to the primary datasource, even inside
+ * read-only transactions. Used to give clients read-your-writes consistency right after their own
+ * writes, while replicas may still be catching up.
+ */
+public final class ReplicaRoutingContext {
+
+  private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+  private ReplicaRoutingContext() {}
+
+  public static void forcePrimary() {
+    PRIMARY_FORCED.set(Boolean.TRUE);
+  }
+
+  public static boolean isPrimaryForced() {
+    return PRIMARY_FORCED.get() != null;
+  }
+
+  public static void clear() {
+    PRIMARY_FORCED.remove();
+  }
+}
@@ -0,0 +1,138 @@
+package io.github.tbarland.obscura.datasource;
+
+import java.sql.Connection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes read-only transactions to healthy read replicas and everything else to the primary.
+ *
+ * <p>Replicas are picked round-robin among those that passed their last health check. When no
+ * replica is healthy, or the current thread was pinned via {@link ReplicaRoutingContext}, reads
+ * fall back to the primary. Must be wrapped in a {@code LazyConnectionDataSourceProxy} so that the
+ * transaction's read-only flag is known by the time a physical connection is requested. Closing it
+ * closes the primary and replica pools.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+  static final String PRIMARY_KEY = "primary";
+
+  private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+  private final DataSource primary;
+  private final List<ReplicaNode> replicas;
+  private final AtomicInteger nextReplica = new AtomicInteger();
+
+  public ReplicaRoutingDataSource(DataSource primary, List<ReplicaNode> replicas) {
+    this.primary = primary;
+    this.replicas = List.copyOf(replicas);
+
+    Map<Object, Object> targets = new HashMap<>();
+    targets.put(PRIMARY_KEY, primary);
+    for (ReplicaNode replica : this.replicas) {
+      targets.put(replica.name(), replica.dataSource());
+    }
+    setTargetDataSources(targets);
+    setDefaultTargetDataSource(primary);
+  }
+
+  public List<ReplicaNode> getReplicas() {
+    return replicas;
+  }
+
+  @Override
+  protected Object determineCurrentLookupKey() {
+    if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+        || ReplicaRoutingContext.isPrimaryForced()) {
+      return PRIMARY_KEY;
+    }
+
+    int size = replicas.size();
+    int start = Math.floorMod(nextReplica.getAndIncrement(), Math.max(size, 1));
+    for (int i = 0; i < size; i++) {
+      ReplicaNode candidate = replicas.get((start + i) % size);
+      if (candidate.isHealthy()) {
+        return candidate.name();
+      }
+    }
+    return PRIMARY_KEY;
+  }
+
+  /** Probes every replica and updates its health flag. */
+  public void checkReplicaHealth(int timeoutSeconds) {
+    for (ReplicaNode replica : replicas) {
+      boolean healthy;
+      try (Connection connection = replica.dataSource().getConnection()) {
+        healthy = connection.isValid(timeoutSeconds);
+      } catch (Exception ex) {
+        healthy = false;
+      }
+
+      if (replica.markHealthy(healthy) != healthy) {
+        if (healthy) {
+          log.info("Read replica {} is healthy again", replica.name());
+        } else {
+          log.warn(
+              "Read replica {} failed its health check, routing reads to primary", replica.name());
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    close(PRIMARY_KEY, primary);
+    for (ReplicaNode replica : replicas) {
+      close(replica.name(), replica.dataSource());
+    }
+  }
+
+  private static void close(String name, DataSource dataSource) {
+    if (dataSource instanceof AutoCloseable closeable) {
+      try {
+        closeable.close();
+      } catch (Exception ex) {
+        log.warn("Could not close datasource {}: {}", name, ex.getMessage());
+      }
+    }
+  }
+
+  /** A replica target together with its last known health. */
+  public static final class ReplicaNode {
+
+    private final String name;
+    private final DataSource dataSource;
+    private volatile boolean healthy = true;
+
+    public ReplicaNode(String name, DataSource dataSource) {
+      this.name = name;
+      this.dataSource = dataSource;
+    }
+
+    public String name() {
+      return name;
+    }
+
+    public DataSource dataSource() {
+      return dataSource;
+    }
+
+    public boolean isHealthy() {
+      return healthy;
+    }
+
+    /** Sets the health flag and returns the previous value. */
+    boolean markHealthy(boolean healthy) {
+      boolean previous = this.healthy;
+      this.healthy = healthy;
+      return previous;
+    }
+  }
+}
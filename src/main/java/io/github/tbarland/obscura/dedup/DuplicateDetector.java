@@ -0,0 +1,216 @@
+package io.github.tbarland.obscura.dedup;
+
+import io.github.tbarland.obscura.config.DuplicateProperties;
+import io.github.tbarland.obscura.datasource.ReplicaRoutingContext;
+import io.github.tbarland.obscura.model.ContentFingerprint;
+import io.github.tbarland.obscura.model.Story;
+import io.github.tbarland.obscura.model.StoryChangeType;
+import io.github.tbarland.obscura.outbox.StoryChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Finds existing stories whose content a new story duplicates, exactly or nearly, from an in-memory
+ * {@link FingerprintIndex}, so ingestion never compares content in SQL. The index is loaded from
+ * the fingerprint columns on the first refresh, follows committed changes on this node, and every
+ * {@code refreshInterval} picks up stories changed and deleted on other nodes from {@code
+ * updated_at} and the tombstones. Stories stored before fingerprints existed are fingerprinted on
+ * the same refresh.
+ *
+ * <p>Stories created in the same transaction, or concurrently on another node, do not see each
+ * other; detection is a guard against resubmissions, not a uniqueness constraint.
+ */
+@Component
+public class DuplicateDetector implements SchedulingConfigurer {
+
+  /** An existing story that a new one duplicates, and the policy that applies to it. */
+  public record DuplicateMatch(long storyId, boolean exact, int distance, DuplicatePolicy policy) {}
+
+  private static final Logger log = LoggerFactory.getLogger(DuplicateDetector.class);
+
+  /** Re-read on each refresh, for transactions that commit late and clock skew between nodes. */
+  private static final Duration OVERLAP = Duration.ofMinutes(1);
+
+  private static final int FETCH_SIZE = 1000;
+  private static final int BACKFILL_BATCH = 500;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final EntityManagerFactory entityManagerFactory;
+  private final DuplicateProperties properties;
+  private final FingerprintIndex index;
+  private final MeterRegistry meterRegistry;
+  private LocalDateTime lastRefresh;
+
+  public DuplicateDetector(
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      EntityManagerFactory entityManagerFactory,
+      DuplicateProperties properties,
+      MeterRegistry meterRegistry) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.entityManagerFactory = entityManagerFactory;
+    this.properties = properties;
+    this.index = new FingerprintIndex(properties.nearDistance(), 1024);
+    this.meterRegistry = meterRegistry;
+    Gauge.builder("obscura.dedup.indexed", index, FingerprintIndex::size)
+        .description("Stories in the duplicate-detection fingerprint index")
+        .register(meterRegistry);
+  }
+
+  /** The existing story that {@code story} duplicates, unless its policy is to allow it. */
+  public Optional<DuplicateMatch> find(Story story) {
+    if (!properties.enabled() || story.getContentHash() == null) {
+      return Optional.empty();
+    }
+    FingerprintIndex.Match match = index.find(story.getContentHash(), story.getSimhash());
+    if (match == null) {
+      return Optional.empty();
+    }
+    DuplicatePolicy policy = match.exact() ? properties.exactPolicy() : properties.nearPolicy();
+    if (policy == DuplicatePolicy.ALLOW) {
+      return Optional.empty();
+    }
+    Counter.builder("obscura.dedup.matches")
+        .description("New stories found to duplicate an existing one")
+        .tag("kind", match.exact() ? "exact" : "near")
+        .tag("policy", policy.name().toLowerCase(Locale.ROOT))
+        .register(meterRegistry)
+        .increment();
+    return Optional.of(
+        new DuplicateMatch(match.storyId(), match.exact(), match.distance(), policy));
+  }
+
+  /** Drops a story the index still holds but that no longer exists. */
+  public void forget(long storyId) {
+    index.remove(storyId);
+  }
+
+  /** Loads or catches up the index from the database, and fingerprints unfingerprinted stories. */
+  public synchronized void refresh() {
+    LocalDateTime started = LocalDateTime.now();
+    boolean alreadyPinned = ReplicaRoutingContext.isPrimaryForced();
+    ReplicaRoutingContext.forcePrimary();
+    try {
+      if (lastRefresh == null) {
+        jdbcTemplate.query(
+            "SELECT id, content_hash, simhash FROM story WHERE content_hash IS NOT NULL",
+            rs -> {
+              index.put(rs.getLong(1), rs.getString(2), rs.getLong(3));
+            });
+        log.info("Duplicate detection loaded {} story fingerprints", index.size());
+      } else {
+        catchUp(Timestamp.valueOf(lastRefresh.minus(OVERLAP)));
+      }
+      backfill();
+      lastRefresh = started;
+    } finally {
+      if (!alreadyPinned) {
+        ReplicaRoutingContext.clear();
+      }
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStoryChanged(StoryChangedEvent event) {
+    if (!properties.enabled()) {
+      return;
+    }
+    if (event.type() == StoryChangeType.DELETED) {
+      index.remove(event.storyId());
+    } else {
+      String content = event.story().content();
+      index.put(
+          event.storyId(), ContentFingerprint.sha256(content), ContentFingerprint.simhash(content));
+    }
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar registrar) {
+    if (properties.enabled()) {
+      registrar.addFixedDelayTask(this::refreshSafely, properties.refreshInterval());
+    }
+  }
+
+  private void catchUp(Timestamp since) {
+    jdbcTemplate.query(
+        "SELECT id, content_hash, simhash FROM story "
+            + "WHERE updated_at >= ? AND content_hash IS NOT NULL",
+        rs -> {
+          index.put(rs.getLong(1), rs.getString(2), rs.getLong(3));
+        },
+        since);
+    jdbcTemplate.query(
+        "SELECT story_id FROM story_tombstone WHERE deleted_at >= ?",
+        rs -> {
+          index.remove(rs.getLong(1));
+        },
+        since);
+  }
+
+  /** Fingerprints stories stored without one, in batches, without touching {@code updated_at}. */
+  private void backfill() {
+    int total = 0;
+    List<Object[]> batch;
+    do {
+      batch =
+          jdbcTemplate.query(
+              "SELECT id, content FROM story WHERE content_hash IS NULL ORDER BY id LIMIT ?",
+              (rs, rowNum) -> {
+                String content = rs.getString(2);
+                return new Object[] {
+                  ContentFingerprint.sha256(content),
+                  ContentFingerprint.simhash(content),
+                  rs.getLong(1)
+                };
+              },
+              BACKFILL_BATCH);
+      if (batch.isEmpty()) {
+        break;
+      }
+      List<Object[]> rows = batch;
+      transactionTemplate.executeWithoutResult(
+          status ->
+              jdbcTemplate.batchUpdate(
+                  "UPDATE story SET content_hash = ?, simhash = ? WHERE id = ?", rows));
+      for (Object[] row : rows) {
+        index.put((Long) row[2], (String) row[0], (Long) row[1]);
+      }
+      total += rows.size();
+    } while (batch.size() == BACKFILL_BATCH);
+    if (total > 0) {
+      // Cached entities were read before their fingerprint columns were set
+      entityManagerFactory.getCache().evict(Story.class);
+      log.info("Fingerprinted {} existing stories", total);
+    }
+  }
+
+  private void refreshSafely() {
+    try {
+      refresh();
+    } catch (RuntimeException ex) {
+      log.warn("Duplicate fingerprint refresh failed, will retry: {}", ex.getMessage());
+    }
+  }
+}
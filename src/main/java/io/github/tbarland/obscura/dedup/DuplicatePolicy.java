@@ -0,0 +1,13 @@
+package io.github.tbarland.obscura.dedup;
+
+/** What creating a story does when its content duplicates an existing story. */
+public enum DuplicatePolicy {
+  /** Create it anyway; duplicates are not looked for. */
+  ALLOW,
+  /** Refuse with 409 Conflict. */
+  REJECT,
+  /** Create nothing; add the new tags to the existing story and return that one. */
+  MERGE,
+  /** Create it and record the existing story in {@code duplicate_of}. */
+  FLAG
+}
@@ -0,0 +1,219 @@
+package io.github.tbarland.obscura.dedup;
+
+import io.github.tbarland.obscura.model.ContentFingerprint;
+import io.github.tbarland.obscura.similar.LongIntMap;
+import io.github.tbarland.obscura.similar.MinHasher;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory index of content fingerprints for duplicate lookups. Each SimHash is split into {@code
+ * maxDistance + 1} blocks of bits; a SimHash within {@code maxDistance} bits of another equals it
+ * in at least one block, so a lookup only compares stories that share a block with the query.
+ * Identical content has an identical SimHash, so exact copies are found the same way and confirmed
+ * on the first 128 bits of their SHA-256.
+ *
+ * <p>Laid out like {@code LshIndex}: flat per-slot arrays, and per block a bucket table of chain
+ * heads with next and previous links per slot, so adds and removes are constant time.
+ */
+final class FingerprintIndex {
+
+  /** The closest indexed story, and whether its content is identical. */
+  record Match(long storyId, boolean exact, int distance) {}
+
+  private static final int NONE = -1;
+  private static final long FREE = -1L;
+  private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+
+  private final int maxDistance;
+  private final int blocks;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final LongIntMap slotsById;
+  private long[] ids;
+  private long[] hashHigh;
+  private long[] hashLow;
+  private long[] simhashes;
+  private int[] heads;
+  private int[] next;
+  private int[] previous;
+  private int capacity;
+  private int[] freeSlots = new int[16];
+  private int freeCount;
+  private int highWater;
+
+  FingerprintIndex(int maxDistance, int expectedStories) {
+    // Beyond 7 the blocks get so narrow that every lookup walks a large share of the index
+    if (maxDistance < 0 || maxDistance > 7) {
+      throw new IllegalArgumentException("maxDistance must be between 0 and 7");
+    }
+    this.maxDistance = maxDistance;
+    this.blocks = maxDistance + 1;
+    this.slotsById = new LongIntMap(expectedStories);
+    allocate(Integer.highestOneBit(Math.max(16, expectedStories - 1)) << 1);
+  }
+
+  int size() {
+    lock.readLock().lock();
+    try {
+      return slotsById.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Adds a story or replaces its fingerprints. */
+  void put(long id, String contentHash, long simhash) {
+    lock.writeLock().lock();
+    try {
+      int slot = slotsById.get(id);
+      if (slot != NONE) {
+        unlink(slot);
+      } else {
+        slot = allocateSlot();
+        ids[slot] = id;
+        slotsById.put(id, slot);
+      }
+      hashHigh[slot] = high(contentHash);
+      hashLow[slot] = low(contentHash);
+      simhashes[slot] = simhash;
+      link(slot);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  boolean remove(long id) {
+    lock.writeLock().lock();
+    try {
+      int slot = slotsById.remove(id);
+      if (slot == NONE) {
+        return false;
+      }
+      unlink(slot);
+      ids[slot] = FREE;
+      if (freeCount == freeSlots.length) {
+        freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+      }
+      freeSlots[freeCount++] = slot;
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /** An indexed story with identical content, else the nearest within the distance, or null. */
+  Match find(String contentHash, long simhash) {
+    long high = high(contentHash);
+    long low = low(contentHash);
+    lock.readLock().lock();
+    try {
+      int best = NONE;
+      int bestDistance = Integer.MAX_VALUE;
+      for (int block = 0; block < blocks; block++) {
+        int base = block * capacity;
+        int slot = heads[base + bucket(block, simhash)];
+        for (; slot != NONE; slot = next[base + slot]) {
+          int distance = ContentFingerprint.distance(simhash, simhashes[slot]);
+          if (distance == 0 && hashHigh[slot] == high && hashLow[slot] == low) {
+            return new Match(ids[slot], true, 0);
+          }
+          if (distance <= maxDistance && distance < bestDistance) {
+            best = slot;
+            bestDistance = distance;
+          }
+        }
+      }
+      return best == NONE ? null : new Match(ids[best], false, bestDistance);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private int allocateSlot() {
+    if (freeCount > 0) {
+      return freeSlots[--freeCount];
+    }
+    if (highWater == capacity) {
+      grow();
+    }
+    return highWater++;
+  }
+
+  private void link(int slot) {
+    for (int block = 0; block < blocks; block++) {
+      int base = block * capacity;
+      int head = base + bucket(block, simhashes[slot]);
+      int first = heads[head];
+      next[base + slot] = first;
+      previous[base + slot] = NONE;
+      if (first != NONE) {
+        previous[base + first] = slot;
+      }
+      heads[head] = slot;
+    }
+  }
+
+  private void unlink(int slot) {
+    for (int block = 0; block < blocks; block++) {
+      int base = block * capacity;
+      int after = next[base + slot];
+      int before = previous[base + slot];
+      if (before == NONE) {
+        heads[base + bucket(block, simhashes[slot])] = after;
+      } else {
+        next[base + before] = after;
+      }
+      if (after != NONE) {
+        previous[base + after] = before;
+      }
+    }
+  }
+
+  /** Bucket of the {@code block}-th run of bits; the table has one bucket per slot. */
+  private int bucket(int block, long simhash) {
+    int from = block * Long.SIZE / blocks;
+    int to = (block + 1) * Long.SIZE / blocks;
+    long bits = (simhash >>> from) & (-1L >>> (Long.SIZE - (to - from)));
+    return (int) MinHasher.mix(bits + block * GOLDEN) & (capacity - 1);
+  }
+
+  private void grow() {
+    long[] oldIds = ids;
+    long[] oldHigh = hashHigh;
+    long[] oldLow = hashLow;
+    long[] oldSimhashes = simhashes;
+    allocate(capacity * 2);
+    System.arraycopy(oldIds, 0, ids, 0, oldIds.length);
+    System.arraycopy(oldHigh, 0, hashHigh, 0, oldHigh.length);
+    System.arraycopy(oldLow, 0, hashLow, 0, oldLow.length);
+    System.arraycopy(oldSimhashes, 0, simhashes, 0, oldSimhashes.length);
+    // Bucket numbers depend on the table size, so every chain is rebuilt
+    for (int slot = 0; slot < highWater; slot++) {
+      if (ids[slot] != FREE) {
+        link(slot);
+      }
+    }
+  }
+
+  private void allocate(int newCapacity) {
+    capacity = newCapacity;
+    ids = new long[newCapacity];
+    Arrays.fill(ids, FREE);
+    hashHigh = new long[newCapacity];
+    hashLow = new long[newCapacity];
+    simhashes = new long[newCapacity];
+    heads = new int[blocks * newCapacity];
+    Arrays.fill(heads, NONE);
+    next = new int[blocks * newCapacity];
+    previous = new int[blocks * newCapacity];
+  }
+
+  private static long high(String contentHash) {
+    return Long.parseUnsignedLong(contentHash, 0, 16, 16);
+  }
+
+  private static long low(String contentHash) {
+    return Long.parseUnsignedLong(contentHash, 16, 32, 16);
+  }
+}
@@ -0,0 +1,4 @@
+package io.github.tbarland.obscura.dto;
+
+/** A story similar to the one asked about, with the estimated Jaccard similarity (0 to 1). */
+public record SimilarStoryDto(Long id, double similarity) {}
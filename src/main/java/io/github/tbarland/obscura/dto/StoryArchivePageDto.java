@@ -0,0 +1,9 @@
+package io.github.tbarland.obscura.dto;
+
+import java.util.List;
+
+/**
+ * One page of archived stories, in id order. Send {@code after} with the next request; keep
+ * requesting while {@code hasMore} is true.
+ */
+public record StoryArchivePageDto(List<StoryResponseDto> stories, long after, boolean hasMore) {}
@@ -0,0 +1,9 @@
+package io.github.tbarland.obscura.dto;
+
+import java.util.List;
+
+/**
+ * Result of a multi-id read: the stories that exist, in the order requested, and the requested ids
+ * that do not.
+ */
+public record StoryBatchDto(List<StoryResponseDto> stories, List<Long> missing) {}
@@ -0,0 +1,15 @@
+package io.github.tbarland.obscura.dto;
+
+import io.github.tbarland.obscura.model.StoryChangeType;
+import java.time.LocalDateTime;
+
+/**
+ * A published story mutation. {@code story} holds the state after the change and is null for
+ * deletions.
+ */
+public record StoryChangeEventDto(
+    long sequence,
+    Long storyId,
+    StoryChangeType type,
+    StoryResponseDto story,
+    LocalDateTime occurredAt) {}
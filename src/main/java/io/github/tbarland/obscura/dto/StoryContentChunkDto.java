@@ -0,0 +1,8 @@
+package io.github.tbarland.obscura.dto;
+
+/**
+ * One fixed-size chunk of a story's content. Chunks are numbered from 0 to {@code chunkCount - 1};
+ * {@code offset} and {@code totalLength} are in characters.
+ */
+public record StoryContentChunkDto(
+    Long id, int chunk, int chunkCount, int offset, int totalLength, String text) {}
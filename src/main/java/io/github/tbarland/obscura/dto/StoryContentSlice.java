@@ -0,0 +1,14 @@
+package io.github.tbarland.obscura.dto;
+
+/**
+ * Part of a story's content: {@code text} starts at character {@code offset} of {@code
+ * totalLength}.
+ */
+public record StoryContentSlice(Long id, int offset, int totalLength, String text) {
+
+  /** Value for a {@code Content-Range} header, e.g. {@code chars 0-99/2500}. */
+  public String contentRange() {
+    int length = text.codePointCount(0, text.length());
+    return "chars " + offset + "-" + (offset + length - 1) + "/" + totalLength;
+  }
+}
@@ -0,0 +1,25 @@
+package io.github.tbarland.obscura.dto;
+
+import io.github.tbarland.obscura.importer.ImportFormat;
+import io.github.tbarland.obscura.importer.ImportStatus;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Progress of a bulk import. {@code chunks} is null until the file has been cut into chunks; counts
+ * cover completed chunks only. {@code errors} lists the first rejected records.
+ */
+public record StoryImportDto(
+    Long id,
+    String file,
+    ImportFormat format,
+    ImportStatus status,
+    Integer chunks,
+    int completedChunks,
+    long imported,
+    long invalid,
+    long duplicates,
+    String error,
+    List<StoryImportErrorDto> errors,
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt) {}
@@ -0,0 +1,4 @@
+package io.github.tbarland.obscura.dto;
+
+/** A rejected record, by the byte offset where it starts in the imported file. */
+public record StoryImportErrorDto(long offset, String message) {}
@@ -0,0 +1,10 @@
+package io.github.tbarland.obscura.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * A file to import, relative to the import directory. {@code format} ({@code ndjson} or {@code
+ * csv}) defaults to the one the file's extension implies.
+ */
+public record StoryImportRequestDto(
+    @NotBlank(message = "File must not be blank") String file, String format) {}
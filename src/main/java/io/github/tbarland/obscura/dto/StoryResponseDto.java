@@ -9,4 +9,5 @@ public record StoryResponseDto(
     String content,
     String author,
     List<String> tags,
-    LocalDateTime createdAt) {}
+    LocalDateTime createdAt,
+    LocalDateTime updatedAt) {}
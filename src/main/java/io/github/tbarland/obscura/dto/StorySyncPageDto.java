@@ -0,0 +1,13 @@
+package io.github.tbarland.obscura.dto;
+
+import java.util.List;
+
+/**
+ * One page of changes since a sync watermark. {@code cursor} is the watermark to send with the next
+ * request; keep requesting while {@code hasMore} is true.
+ */
+public record StorySyncPageDto(
+    List<StoryResponseDto> changed,
+    List<StoryTombstoneDto> deleted,
+    String cursor,
+    boolean hasMore) {}
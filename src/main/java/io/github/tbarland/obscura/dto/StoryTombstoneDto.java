@@ -0,0 +1,5 @@
+package io.github.tbarland.obscura.dto;
+
+import java.time.LocalDateTime;
+
+public record StoryTombstoneDto(Long id, LocalDateTime deletedAt) {}
@@ -0,0 +1,3 @@
+package io.github.tbarland.obscura.dto;
+
+public record StoryViewCountDto(Long id, long views) {}
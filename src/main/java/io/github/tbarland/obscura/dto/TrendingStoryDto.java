@@ -0,0 +1,4 @@
+package io.github.tbarland.obscura.dto;
+
+/** A trending story and its time-decayed score (views and creation, weighted). */
+public record TrendingStoryDto(Long id, double score) {}
@@ -0,0 +1,99 @@
+package io.github.tbarland.obscura.grpc;
+
+import io.github.tbarland.obscura.config.GrpcProperties;
+import io.grpc.BindableService;
+import io.grpc.Grpc;
+import io.grpc.InsecureServerCredentials;
+import io.grpc.Server;
+import io.grpc.ServerBuilder;
+import io.grpc.health.v1.HealthCheckResponse.ServingStatus;
+import io.grpc.protobuf.services.HealthStatusManager;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs every {@link BindableService} bean on a Netty gRPC server on {@code obscura.grpc.port},
+ * alongside the servlet container. Calls run on virtual threads, since the services block on JDBC.
+ * The standard gRPC health service reports each service as serving while the server is up. Starts
+ * after, and stops before, the rest of the context.
+ */
+@Component
+@ConditionalOnProperty(prefix = "obscura.grpc", name = "enabled")
+public class GrpcServerLifecycle implements SmartLifecycle {
+
+  private static final Logger log = LoggerFactory.getLogger(GrpcServerLifecycle.class);
+
+  private final List<BindableService> services;
+  private final GrpcProperties properties;
+  private final HealthStatusManager health = new HealthStatusManager();
+  private volatile Server server;
+  private ExecutorService executor;
+
+  public GrpcServerLifecycle(List<BindableService> services, GrpcProperties properties) {
+    this.services = services;
+    this.properties = properties;
+  }
+
+  @Override
+  public void start() {
+    executor = Executors.newVirtualThreadPerTaskExecutor();
+    ServerBuilder<?> builder =
+        Grpc.newServerBuilderForPort(properties.port(), InsecureServerCredentials.create())
+            .executor(executor)
+            .maxInboundMessageSize((int) properties.maxInboundMessageSize().toBytes())
+            .addService(health.getHealthService());
+    services.forEach(builder::addService);
+    try {
+      server = builder.build().start();
+    } catch (IOException ex) {
+      executor.shutdownNow();
+      throw new IllegalStateException(
+          "Could not start gRPC server on port " + properties.port(), ex);
+    }
+    services.forEach(
+        service ->
+            health.setStatus(
+                service.bindService().getServiceDescriptor().getName(), ServingStatus.SERVING));
+    log.info("gRPC server started on port {}", server.getPort());
+  }
+
+  @Override
+  public void stop() {
+    Server running = server;
+    if (running == null) {
+      return;
+    }
+    health.enterTerminalState();
+    running.shutdown();
+    try {
+      if (!running.awaitTermination(
+          properties.shutdownGracePeriod().toMillis(), TimeUnit.MILLISECONDS)) {
+        running.shutdownNow();
+      }
+    } catch (InterruptedException ex) {
+      running.shutdownNow();
+      Thread.currentThread().interrupt();
+    } finally {
+      executor.shutdownNow();
+      server = null;
+    }
+  }
+
+  @Override
+  public boolean isRunning() {
+    return server != null;
+  }
+
+  public int getPort() {
+    Server running = server;
+    return running != null ? running.getPort() : -1;
+  }
+}
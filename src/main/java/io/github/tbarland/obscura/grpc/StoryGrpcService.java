@@ -0,0 +1,299 @@
+package io.github.tbarland.obscura.grpc;
+
+import static io.github.tbarland.obscura.grpc.StoryProtoMapper.toProto;
+import static io.github.tbarland.obscura.grpc.StoryProtoMapper.toRequestDto;
+
+import com.google.protobuf.Empty;
+import io.github.tbarland.obscura.config.GrpcProperties;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.grpc.v1.DeleteStoryRequest;
+import io.github.tbarland.obscura.grpc.v1.ExportStoriesRequest;
+import io.github.tbarland.obscura.grpc.v1.GetStoryRequest;
+import io.github.tbarland.obscura.grpc.v1.IngestError;
+import io.github.tbarland.obscura.grpc.v1.IngestSummary;
+import io.github.tbarland.obscura.grpc.v1.ListStoriesRequest;
+import io.github.tbarland.obscura.grpc.v1.Story;
+import io.github.tbarland.obscura.grpc.v1.StoryApiGrpc;
+import io.github.tbarland.obscura.grpc.v1.StoryInput;
+import io.github.tbarland.obscura.grpc.v1.UpdateStoryRequest;
+import io.github.tbarland.obscura.service.CoalescingStoryReader;
+import io.github.tbarland.obscura.service.StoryService;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.stub.ServerCallStreamObserver;
+import io.grpc.stub.StreamObserver;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * gRPC face of the story API. Delegates to the same {@link StoryService} (and single-flight reader)
+ * as the REST controller, with the same validation rules, and maps {@link ResponseStatusException}s
+ * onto gRPC status codes.
+ */
+@Component
+public class StoryGrpcService extends StoryApiGrpc.StoryApiImplBase {
+
+  private static final int MAX_REPORTED_ERRORS = 100;
+
+  private final StoryService storyService;
+  private final CoalescingStoryReader storyReader;
+  private final Validator validator;
+  private final GrpcProperties properties;
+
+  public StoryGrpcService(
+      StoryService storyService,
+      CoalescingStoryReader storyReader,
+      Validator validator,
+      GrpcProperties properties) {
+    this.storyService = storyService;
+    this.storyReader = storyReader;
+    this.validator = validator;
+    this.properties = properties;
+  }
+
+  @Override
+  public void getStory(GetStoryRequest request, StreamObserver<Story> responseObserver) {
+    unary(responseObserver, () -> toProto(storyReader.getStoryById(request.getId())));
+  }
+
+  @Override
+  public void createStory(StoryInput request, StreamObserver<Story> responseObserver) {
+    unary(
+        responseObserver,
+        () -> toProto(storyService.createStory(validated(toRequestDto(request)))));
+  }
+
+  @Override
+  public void updateStory(UpdateStoryRequest request, StreamObserver<Story> responseObserver) {
+    unary(
+        responseObserver,
+        () ->
+            toProto(
+                storyService.updateStory(
+                    request.getId(), validated(toRequestDto(request.getStory())))));
+  }
+
+  @Override
+  public void deleteStory(DeleteStoryRequest request, StreamObserver<Empty> responseObserver) {
+    unary(
+        responseObserver,
+        () -> {
+          storyService.deleteStory(request.getId());
+          return Empty.getDefaultInstance();
+        });
+  }
+
+  @Override
+  public void listStories(ListStoriesRequest request, StreamObserver<Story> responseObserver) {
+    List<StoryResponseDto> stories;
+    try {
+      stories = storyService.getAllStories();
+    } catch (RuntimeException ex) {
+      responseObserver.onError(toStatus(ex));
+      return;
+    }
+    stories.forEach(story -> responseObserver.onNext(toProto(story)));
+    responseObserver.onCompleted();
+  }
+
+  @Override
+  public void exportStories(ExportStoriesRequest request, StreamObserver<Story> responseObserver) {
+    // Clients may ask for smaller pages; the configured size is the ceiling
+    int batchSize =
+        request.getBatchSize() > 0
+            ? Math.min(request.getBatchSize(), properties.exportBatchSize())
+            : properties.exportBatchSize();
+    ServerCallStreamObserver<Story> call = (ServerCallStreamObserver<Story>) responseObserver;
+    ExportPump pump = new ExportPump(call, request.getAfterId(), batchSize);
+    call.setOnCancelHandler(pump::cancel);
+    call.setOnReadyHandler(pump);
+  }
+
+  @Override
+  public StreamObserver<StoryInput> ingestStories(StreamObserver<IngestSummary> responseObserver) {
+    return new IngestObserver(responseObserver);
+  }
+
+  private StoryRequestDto validated(StoryRequestDto dto) {
+    String violations = violations(dto);
+    if (violations != null) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, violations);
+    }
+    return dto;
+  }
+
+  private String violations(StoryRequestDto dto) {
+    var violations = validator.validate(dto);
+    if (violations.isEmpty()) {
+      return null;
+    }
+    return violations.stream()
+        .map(ConstraintViolation::getMessage)
+        .sorted()
+        .collect(Collectors.joining("; "));
+  }
+
+  private static <T> void unary(StreamObserver<T> responseObserver, Supplier<T> call) {
+    T result;
+    try {
+      result = call.get();
+    } catch (RuntimeException ex) {
+      responseObserver.onError(toStatus(ex));
+      return;
+    }
+    responseObserver.onNext(result);
+    responseObserver.onCompleted();
+  }
+
+  static StatusRuntimeException toStatus(RuntimeException ex) {
+    if (ex instanceof ResponseStatusException statusException) {
+      Status status =
+          switch (statusException.getStatusCode().value()) {
+            case 400 -> Status.INVALID_ARGUMENT;
+            case 404 -> Status.NOT_FOUND;
+            case 409 -> Status.ALREADY_EXISTS;
+            case 410 -> Status.OUT_OF_RANGE;
+            case 429 -> Status.RESOURCE_EXHAUSTED;
+            case 503 -> Status.UNAVAILABLE;
+            default -> Status.INTERNAL;
+          };
+      return status.withDescription(statusException.getReason()).asRuntimeException();
+    }
+    return Status.INTERNAL.withDescription(ex.getMessage()).withCause(ex).asRuntimeException();
+  }
+
+  /**
+   * Streams the catalog page by page, only reading the next page once the client has drained the
+   * previous one, so a slow consumer holds neither memory nor a database connection.
+   */
+  private final class ExportPump implements Runnable {
+    private final ServerCallStreamObserver<Story> call;
+    private final int batchSize;
+    private final Deque<StoryResponseDto> buffer = new ArrayDeque<>();
+    private long afterId;
+    private boolean exhausted;
+    private volatile boolean done;
+
+    private ExportPump(ServerCallStreamObserver<Story> call, long afterId, int batchSize) {
+      this.call = call;
+      this.afterId = afterId;
+      this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!done && call.isReady()) {
+          if (buffer.isEmpty()) {
+            if (exhausted) {
+              done = true;
+              call.onCompleted();
+              return;
+            }
+            List<StoryResponseDto> page = storyService.getStoriesAfter(afterId, batchSize);
+            buffer.addAll(page);
+            exhausted = page.size() < batchSize;
+            continue;
+          }
+          StoryResponseDto next = buffer.poll();
+          afterId = next.id();
+          call.onNext(toProto(next));
+        }
+      } catch (RuntimeException ex) {
+        done = true;
+        call.onError(toStatus(ex));
+      }
+    }
+
+    private void cancel() {
+      done = true;
+    }
+  }
+
+  /** Validates each streamed story and creates valid ones in batched transactions. */
+  private final class IngestObserver implements StreamObserver<StoryInput> {
+    private final StreamObserver<IngestSummary> responseObserver;
+    private final List<StoryRequestDto> batch = new ArrayList<>();
+    private final List<IngestError> errors = new ArrayList<>();
+    private long received;
+    private long created;
+    private long rejected;
+    private boolean failed;
+
+    private IngestObserver(StreamObserver<IngestSummary> responseObserver) {
+      this.responseObserver = responseObserver;
+    }
+
+    @Override
+    public void onNext(StoryInput input) {
+      if (failed) {
+        return;
+      }
+      long index = received++;
+      StoryRequestDto dto = toRequestDto(input);
+      String violations = violations(dto);
+      if (violations != null) {
+        rejected++;
+        if (errors.size() < MAX_REPORTED_ERRORS) {
+          errors.add(IngestError.newBuilder().setIndex(index).setMessage(violations).build());
+        }
+        return;
+      }
+      batch.add(dto);
+      if (batch.size() >= properties.ingestBatchSize()) {
+        flush();
+      }
+    }
+
+    @Override
+    public void onError(Throwable t) {
+      // Client went away; batches already flushed stay committed
+      batch.clear();
+    }
+
+    @Override
+    public void onCompleted() {
+      flush();
+      if (failed) {
+        return;
+      }
+      responseObserver.onNext(
+          IngestSummary.newBuilder()
+              .setReceived(received)
+              .setCreated(created)
+              .setRejected(rejected)
+              .addAllErrors(errors)
+              .build());
+      responseObserver.onCompleted();
+    }
+
+    private void flush() {
+      if (batch.isEmpty() || failed) {
+        return;
+      }
+      try {
+        created += storyService.createStories(batch).size();
+      } catch (RuntimeException ex) {
+        failed = true;
+        Status status = toStatus(ex).getStatus();
+        responseObserver.onError(
+            status
+                .withDescription(
+                    status.getDescription() + " (" + created + " stories created before failure)")
+                .asRuntimeException());
+      } finally {
+        batch.clear();
+      }
+    }
+  }
+}
@@ -0,0 +1,52 @@
+package io.github.tbarland.obscura.grpc;
+
+import com.google.protobuf.Timestamp;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.grpc.v1.Story;
+import io.github.tbarland.obscura.grpc.v1.StoryInput;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * Converts between the REST DTOs and the generated protobuf messages. Timestamps are stored as
+ * server-local {@link LocalDateTime}s and exposed as instants in the server's zone.
+ */
+final class StoryProtoMapper {
+
+  private StoryProtoMapper() {}
+
+  static Story toProto(StoryResponseDto dto) {
+    Story.Builder builder =
+        Story.newBuilder()
+            .setId(dto.id())
+            .setTitle(dto.title())
+            .setContent(dto.content())
+            .setAuthor(dto.author());
+    if (dto.tags() != null) {
+      builder.addAllTags(dto.tags());
+    }
+    if (dto.createdAt() != null) {
+      builder.setCreatedAt(toTimestamp(dto.createdAt()));
+    }
+    if (dto.updatedAt() != null) {
+      builder.setUpdatedAt(toTimestamp(dto.updatedAt()));
+    }
+    return builder.build();
+  }
+
+  static StoryRequestDto toRequestDto(StoryInput input) {
+    return new StoryRequestDto(
+        input.getTitle(), input.getContent(), input.getAuthor(), List.copyOf(input.getTagsList()));
+  }
+
+  static Timestamp toTimestamp(LocalDateTime dateTime) {
+    Instant instant = dateTime.atZone(ZoneId.systemDefault()).toInstant();
+    return Timestamp.newBuilder()
+        .setSeconds(instant.getEpochSecond())
+        .setNanos(instant.getNano())
+        .build();
+  }
+}
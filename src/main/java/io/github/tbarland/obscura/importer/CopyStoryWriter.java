@@ -0,0 +1,176 @@
+package io.github.tbarland.obscura.importer;
+
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.model.Story;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.PGCopyOutputStream;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link StoryBulkWriter} for PostgreSQL. Stories are streamed with {@code COPY ... FROM STDIN}
+ * (CSV) into a session-local staging table, then merged into story and story_tags with one
+ * set-based insert each. Ids are taken from {@code story_id_seq} in a single round trip before the
+ * copy, so every staged row carries its final id and its tags as an array.
+ *
+ * <p>Tags are merged by a statement of their own rather than a CTE of the story insert: the trigger
+ * that stands in for the story_tags foreign key on the partitioned table (V2) does not see rows
+ * inserted by a sibling CTE of the same statement.
+ */
+@Component
+@ConditionalOnProperty(prefix = "obscura.import", name = "copy", havingValue = "true")
+public class CopyStoryWriter implements StoryBulkWriter {
+
+  private static final String CREATE_STAGING =
+      "CREATE TEMPORARY TABLE IF NOT EXISTS story_import_staging (id BIGINT NOT NULL,"
+          + " title VARCHAR(100) NOT NULL, content TEXT NOT NULL, content_length INTEGER NOT NULL,"
+          + " content_hash VARCHAR(64), simhash BIGINT, duplicate_of BIGINT,"
+          + " author VARCHAR(100) NOT NULL, created_at TIMESTAMP NOT NULL,"
+          + " updated_at TIMESTAMP NOT NULL, tags TEXT[] NOT NULL)";
+
+  private static final String COLUMNS =
+      "id, title, content, content_length, content_hash, simhash, duplicate_of, author,"
+          + " created_at, updated_at";
+
+  private static final String COPY_STAGING =
+      "COPY story_import_staging (" + COLUMNS + ", tags) FROM STDIN (FORMAT csv)";
+
+  private static final String MERGE_STORIES =
+      "INSERT INTO story (" + COLUMNS + ") SELECT " + COLUMNS + " FROM story_import_staging";
+
+  private static final String MERGE_TAGS =
+      "INSERT INTO story_tags (story_id, tags) SELECT DISTINCT s.id, t.tag"
+          + " FROM story_import_staging s CROSS JOIN LATERAL unnest(s.tags) AS t(tag)";
+
+  private static final int COPY_BUFFER = 64 << 10;
+
+  private final JdbcTemplate jdbcTemplate;
+
+  public CopyStoryWriter(DataSource dataSource) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public List<StoryResponseDto> insert(List<Story> stories) {
+    if (stories.isEmpty()) {
+      return List.of();
+    }
+    List<Long> ids =
+        jdbcTemplate.queryForList(
+            "SELECT nextval('story_id_seq') FROM generate_series(1, ?)",
+            Long.class,
+            stories.size());
+    List<StoryResponseDto> created = new ArrayList<>(stories.size());
+    for (int i = 0; i < stories.size(); i++) {
+      stories.get(i).setId(ids.get(i));
+      created.add(StoryBulkWriter.toResponseDto(stories.get(i)));
+    }
+
+    jdbcTemplate.execute(CREATE_STAGING);
+    jdbcTemplate.execute((ConnectionCallback<Void>) connection -> copy(connection, stories));
+    jdbcTemplate.update(MERGE_STORIES);
+    jdbcTemplate.update(MERGE_TAGS);
+    // The staging table lives as long as the pooled connection; the next transaction starts empty
+    jdbcTemplate.execute("TRUNCATE story_import_staging");
+    return created;
+  }
+
+  private static Void copy(Connection connection, List<Story> stories) throws SQLException {
+    PGConnection pgConnection = connection.unwrap(PGConnection.class);
+    try (Writer out =
+        new BufferedWriter(
+            new OutputStreamWriter(
+                new PGCopyOutputStream(pgConnection, COPY_STAGING, COPY_BUFFER),
+                StandardCharsets.UTF_8),
+            COPY_BUFFER)) {
+      for (Story story : stories) {
+        writeRow(out, story);
+      }
+    } catch (IOException ex) {
+      throw new SQLException("Could not copy stories into the staging table", ex);
+    }
+    return null;
+  }
+
+  /** One CSV row; an unquoted empty field is NULL, a quoted one an empty string. */
+  private static void writeRow(Writer out, Story story) throws IOException {
+    out.write(Long.toString(story.getId()));
+    out.write(',');
+    quoted(out, story.getTitle());
+    out.write(',');
+    quoted(out, story.getContent());
+    out.write(',');
+    out.write(Integer.toString(story.getContentLength()));
+    out.write(',');
+    if (story.getContentHash() != null) {
+      quoted(out, story.getContentHash());
+    }
+    out.write(',');
+    if (story.getSimhash() != null) {
+      out.write(Long.toString(story.getSimhash()));
+    }
+    out.write(',');
+    if (story.getDuplicateOf() != null) {
+      out.write(Long.toString(story.getDuplicateOf()));
+    }
+    out.write(',');
+    quoted(out, story.getAuthor());
+    out.write(',');
+    out.write(story.getCreatedAt().toString());
+    out.write(',');
+    out.write(story.getUpdatedAt().toString());
+    out.write(',');
+    quoted(out, arrayLiteral(story.getTags()));
+    out.write('\n');
+  }
+
+  /** {@code value} in double quotes, with its own double quotes doubled. */
+  private static void quoted(Writer out, String value) throws IOException {
+    out.write('"');
+    int run = 0;
+    for (int quote = value.indexOf('"'); quote >= 0; quote = value.indexOf('"', quote + 1)) {
+      out.write(value, run, quote + 1 - run);
+      out.write('"');
+      run = quote + 1;
+    }
+    out.write(value, run, value.length() - run);
+    out.write('"');
+  }
+
+  /** A text[] literal such as {@code {"a","b \"c\""}}, every element quoted. */
+  static String arrayLiteral(List<String> values) {
+    StringBuilder literal = new StringBuilder("{");
+    if (values != null) {
+      for (String value : values) {
+        if (literal.length() > 1) {
+          literal.append(',');
+        }
+        literal.append('"');
+        for (int i = 0; i < value.length(); i++) {
+          char c = value.charAt(i);
+          if (c == '"' || c == '\\') {
+            literal.append('\\');
+          }
+          literal.append(c);
+        }
+        literal.append('"');
+      }
+    }
+    return literal.append('}').toString();
+  }
+}
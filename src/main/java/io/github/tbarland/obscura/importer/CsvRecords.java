@@ -0,0 +1,114 @@
+package io.github.tbarland.obscura.importer;
+
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Maps CSV records to story requests by the columns named in the header row. Fields follow RFC
+ * 4180: a quoted field may hold commas, newlines and {@code ""} for a quote. Tags are one field,
+ * separated by {@code |}.
+ */
+final class CsvRecords {
+
+  private static final String BOM = "\uFEFF";
+
+  private final int width;
+  private final int title;
+  private final int content;
+  private final int author;
+  private final int tags;
+
+  private CsvRecords(List<String> header) {
+    List<String> names =
+        header.stream().map(name -> name.replace(BOM, "").trim().toLowerCase(Locale.ROOT)).toList();
+    this.width = names.size();
+    this.title = names.indexOf("title");
+    this.content = names.indexOf("content");
+    this.author = names.indexOf("author");
+    this.tags = names.indexOf("tags");
+    if (title < 0 || content < 0 || author < 0) {
+      throw new IllegalArgumentException(
+          "CSV header must name title, content and author columns, found " + names);
+    }
+  }
+
+  static CsvRecords fromHeader(byte[] header) {
+    return new CsvRecords(fields(header, 0, header.length));
+  }
+
+  StoryRequestDto toRequest(byte[] data, int from, int to) {
+    List<String> fields = fields(data, from, to);
+    if (fields.size() != width) {
+      throw new IllegalArgumentException(
+          "Expected " + width + " fields but found " + fields.size());
+    }
+    List<String> storyTags =
+        tags < 0 || fields.get(tags).isBlank()
+            ? List.of()
+            : Arrays.stream(fields.get(tags).split("\\|"))
+                .map(String::trim)
+                .filter(tag -> !tag.isEmpty())
+                .toList();
+    return new StoryRequestDto(
+        fields.get(title), fields.get(content), fields.get(author), storyTags);
+  }
+
+  /** Fields of the record {@code data[from, to)}, without its line ending. */
+  static List<String> fields(byte[] data, int from, int to) {
+    int end = to;
+    if (end > from && data[end - 1] == '\n') {
+      end--;
+    }
+    if (end > from && data[end - 1] == '\r') {
+      end--;
+    }
+    List<String> fields = new ArrayList<>();
+    int i = from;
+    while (true) {
+      if (i < end && data[i] == '"') {
+        ByteArrayOutputStream field = new ByteArrayOutputStream();
+        int run = ++i;
+        while (true) {
+          if (i >= end) {
+            throw new IllegalArgumentException("Unterminated quoted field");
+          }
+          if (data[i] != '"') {
+            i++;
+          } else if (i + 1 < end && data[i + 1] == '"') {
+            // Keep the second quote of the pair as the start of the next run
+            field.write(data, run, i - run);
+            run = i + 1;
+            i += 2;
+          } else {
+            field.write(data, run, i - run);
+            i++;
+            break;
+          }
+        }
+        fields.add(field.toString(StandardCharsets.UTF_8));
+        if (i == end) {
+          return fields;
+        }
+        if (data[i] != ',') {
+          throw new IllegalArgumentException("Unexpected text after a quoted field");
+        }
+        i++;
+      } else {
+        int start = i;
+        while (i < end && data[i] != ',') {
+          i++;
+        }
+        fields.add(new String(data, start, i - start, StandardCharsets.UTF_8));
+        if (i == end) {
+          return fields;
+        }
+        i++;
+      }
+    }
+  }
+}
@@ -0,0 +1,122 @@
+package io.github.tbarland.obscura.importer;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cuts import files into chunks of whole records, and chunks into records. Records end at a newline
+ * outside double quotes; only CSV has quoted fields, so CSV boundaries need a sequential scan that
+ * tracks quotes, while NDJSON boundaries are found by seeking to each chunk's nominal end. Quote
+ * and newline bytes never occur inside a multi-byte UTF-8 character, so both work on raw bytes.
+ */
+final class ImportChunks {
+
+  /** Bytes {@code [start, end)} of the file, holding whole records. */
+  record Chunk(int index, long start, long end) {}
+
+  private static final int SCAN_WINDOW = 64 << 20;
+  private static final int SEEK_BUFFER = 64 << 10;
+
+  private ImportChunks() {}
+
+  /**
+   * Chunks covering {@code [from, size)}, each ending at the first record boundary at least {@code
+   * chunkSize} bytes after its start. The boundaries depend only on the file and the arguments, so
+   * a resumed import sees the same chunks.
+   */
+  static List<Chunk> split(FileChannel channel, long from, long chunkSize, boolean quoted)
+      throws IOException {
+    long size = channel.size();
+    List<Chunk> chunks = new ArrayList<>();
+    long start = from;
+    if (quoted) {
+      boolean inQuotes = false;
+      for (long window = from; window < size; window += SCAN_WINDOW) {
+        int length = (int) Math.min(SCAN_WINDOW, size - window);
+        MappedByteBuffer buffer = channel.map(MapMode.READ_ONLY, window, length);
+        for (int i = 0; i < length; i++) {
+          byte b = buffer.get(i);
+          if (b == '"') {
+            inQuotes = !inQuotes;
+          } else if (b == '\n' && !inQuotes && window + i + 1 - start >= chunkSize) {
+            chunks.add(new Chunk(chunks.size(), start, window + i + 1));
+            start = window + i + 1;
+          }
+        }
+      }
+      if (start < size) {
+        chunks.add(new Chunk(chunks.size(), start, size));
+      }
+    } else {
+      while (start < size) {
+        long end = size - start <= chunkSize ? size : lineEnd(channel, start + chunkSize - 1);
+        chunks.add(new Chunk(chunks.size(), start, end));
+        start = end;
+      }
+    }
+    return chunks;
+  }
+
+  /** Offset just past the record starting at {@code from}: past its newline, or the file size. */
+  static long recordEnd(FileChannel channel, long from, boolean quoted) throws IOException {
+    ByteBuffer buffer = ByteBuffer.allocate(SEEK_BUFFER);
+    boolean inQuotes = false;
+    long position = from;
+    int read;
+    while ((read = channel.read(buffer.clear(), position)) > 0) {
+      for (int i = 0; i < read; i++) {
+        byte b = buffer.get(i);
+        if (b == '"' && quoted) {
+          inQuotes = !inQuotes;
+        } else if (b == '\n' && !inQuotes) {
+          return position + i + 1;
+        }
+      }
+      position += read;
+    }
+    return position;
+  }
+
+  /** Index just past the record starting at {@code from} in {@code data}, or {@code to}. */
+  static int recordEnd(byte[] data, int from, int to, boolean quoted) {
+    boolean inQuotes = false;
+    for (int i = from; i < to; i++) {
+      byte b = data[i];
+      if (b == '"' && quoted) {
+        inQuotes = !inQuotes;
+      } else if (b == '\n' && !inQuotes) {
+        return i + 1;
+      }
+    }
+    return to;
+  }
+
+  /** Copies bytes {@code [start, end)} of the file out of a mapping of that range. */
+  static byte[] read(FileChannel channel, long start, long end) throws IOException {
+    if (end - start > Integer.MAX_VALUE - 8) {
+      throw new IOException("Record at offset " + start + " is too large to import");
+    }
+    byte[] data = new byte[(int) (end - start)];
+    channel.map(MapMode.READ_ONLY, start, data.length).get(data);
+    return data;
+  }
+
+  /** Whether {@code data[from, to)} holds only whitespace, like a trailing empty line. */
+  static boolean blank(byte[] data, int from, int to) {
+    for (int i = from; i < to; i++) {
+      if (data[i] != ' ' && data[i] != '\t' && data[i] != '\r' && data[i] != '\n') {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static long lineEnd(FileChannel channel, long from) throws IOException {
+    return recordEnd(channel, from, false);
+  }
+}
@@ -0,0 +1,38 @@
+package io.github.tbarland.obscura.importer;
+
+import java.util.Locale;
+
+/** File formats accepted by {@link StoryImporter}. */
+public enum ImportFormat {
+  /** One JSON object per line with the fields of a story request. */
+  NDJSON,
+  /**
+   * RFC 4180 CSV whose header row names {@code title}, {@code content}, {@code author} and
+   * optionally {@code tags}, separated by {@code |} within the field.
+   */
+  CSV;
+
+  /** Whether a record may span lines, inside double quotes. */
+  boolean quoted() {
+    return this == CSV;
+  }
+
+  /** The format named {@code name} in any case, or null if there is none. */
+  static ImportFormat named(String name) {
+    for (ImportFormat format : values()) {
+      if (format.name().equalsIgnoreCase(name)) {
+        return format;
+      }
+    }
+    return null;
+  }
+
+  /** The format a file name's extension implies, or null if it implies none. */
+  static ImportFormat forFile(String fileName) {
+    String name = fileName.toLowerCase(Locale.ROOT);
+    if (name.endsWith(".ndjson") || name.endsWith(".jsonl")) {
+      return NDJSON;
+    }
+    return name.endsWith(".csv") ? CSV : null;
+  }
+}
@@ -0,0 +1,8 @@
+package io.github.tbarland.obscura.importer;
+
+public enum ImportStatus {
+  RUNNING,
+  COMPLETED,
+  /** Stopped on an error; submitting the same file again resumes it. */
+  FAILED
+}
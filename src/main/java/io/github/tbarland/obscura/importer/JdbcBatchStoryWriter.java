@@ -0,0 +1,100 @@
+package io.github.tbarland.obscura.importer;
+
+import io.github.tbarland.obscura.config.ImportProperties;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.model.Story;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * {@link StoryBulkWriter} on plain JDBC batches, for any database; the default, and the one H2
+ * uses. With {@code reWriteBatchedInserts} on, PgJDBC sends each batch as multi-row inserts.
+ */
+@Component
+@ConditionalOnProperty(
+    prefix = "obscura.import",
+    name = "copy",
+    havingValue = "false",
+    matchIfMissing = true)
+public class JdbcBatchStoryWriter implements StoryBulkWriter {
+
+  private static final String INSERT_STORY =
+      "INSERT INTO story (title, content, content_length, content_hash, simhash, duplicate_of,"
+          + " author, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final int batchSize;
+
+  public JdbcBatchStoryWriter(DataSource dataSource, ImportProperties properties) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.batchSize = properties.batchSize();
+  }
+
+  @Override
+  @Transactional(propagation = Propagation.MANDATORY)
+  public List<StoryResponseDto> insert(List<Story> stories) {
+    List<StoryResponseDto> created = new ArrayList<>(stories.size());
+    for (int from = 0; from < stories.size(); from += batchSize) {
+      List<Story> batch = stories.subList(from, Math.min(stories.size(), from + batchSize));
+      KeyHolder keys = new GeneratedKeyHolder();
+      jdbcTemplate.batchUpdate(
+          connection -> connection.prepareStatement(INSERT_STORY, new String[] {"id"}),
+          new BatchPreparedStatementSetter() {
+            @Override
+            public void setValues(PreparedStatement statement, int i) throws SQLException {
+              Story story = batch.get(i);
+              statement.setString(1, story.getTitle());
+              statement.setString(2, story.getContent());
+              statement.setInt(3, story.getContentLength());
+              statement.setString(4, story.getContentHash());
+              statement.setLong(5, story.getSimhash());
+              if (story.getDuplicateOf() != null) {
+                statement.setLong(6, story.getDuplicateOf());
+              } else {
+                statement.setNull(6, Types.BIGINT);
+              }
+              statement.setString(7, story.getAuthor());
+              statement.setTimestamp(8, Timestamp.valueOf(story.getCreatedAt()));
+              statement.setTimestamp(9, Timestamp.valueOf(story.getUpdatedAt()));
+            }
+
+            @Override
+            public int getBatchSize() {
+              return batch.size();
+            }
+          },
+          keys);
+
+      List<Map<String, Object>> ids = keys.getKeyList();
+      if (ids.size() != batch.size()) {
+        throw new IllegalStateException(
+            "Expected " + batch.size() + " generated story ids but got " + ids.size());
+      }
+      List<Object[]> tags = new ArrayList<>();
+      for (int i = 0; i < batch.size(); i++) {
+        Story story = batch.get(i);
+        story.setId(((Number) ids.get(i).values().iterator().next()).longValue());
+        for (String tag : story.getTags()) {
+          tags.add(new Object[] {story.getId(), tag});
+        }
+        created.add(StoryBulkWriter.toResponseDto(story));
+      }
+      jdbcTemplate.batchUpdate("INSERT INTO story_tags (story_id, tags) VALUES (?, ?)", tags);
+    }
+    return created;
+  }
+}
@@ -0,0 +1,31 @@
+package io.github.tbarland.obscura.importer;
+
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.model.Story;
+import java.util.List;
+
+/**
+ * Inserts new stories and their tags past JPA, for bulk imports. Content length and fingerprints
+ * are taken from the {@link Story}, which computes them as it does for JPA writes. Writers run in
+ * the caller's transaction and bypass the persistence context, so callers record the changes in the
+ * outbox and evict the query cache themselves.
+ *
+ * <p>{@link JdbcBatchStoryWriter} is the default; {@link CopyStoryWriter} streams PostgreSQL {@code
+ * COPY} with {@code obscura.import.copy=true}.
+ */
+public interface StoryBulkWriter {
+
+  /** Inserts {@code stories} in order, setting their ids, and returns them as created. */
+  List<StoryResponseDto> insert(List<Story> stories);
+
+  static StoryResponseDto toResponseDto(Story story) {
+    return new StoryResponseDto(
+        story.getId(),
+        story.getTitle(),
+        story.getContent(),
+        story.getAuthor(),
+        story.getTags(),
+        story.getCreatedAt(),
+        story.getUpdatedAt());
+  }
+}
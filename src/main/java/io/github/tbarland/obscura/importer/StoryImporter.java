@@ -0,0 +1,462 @@
+package io.github.tbarland.obscura.importer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.tbarland.obscura.cache.StoryEntityCache;
+import io.github.tbarland.obscura.config.ImportProperties;
+import io.github.tbarland.obscura.dedup.DuplicateDetector;
+import io.github.tbarland.obscura.dedup.DuplicateDetector.DuplicateMatch;
+import io.github.tbarland.obscura.dedup.DuplicatePolicy;
+import io.github.tbarland.obscura.dto.StoryImportDto;
+import io.github.tbarland.obscura.dto.StoryImportErrorDto;
+import io.github.tbarland.obscura.dto.StoryImportRequestDto;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.importer.ImportChunks.Chunk;
+import io.github.tbarland.obscura.model.Story;
+import io.github.tbarland.obscura.model.StoryChangeType;
+import io.github.tbarland.obscura.outbox.StoryOutbox;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Imports stories in bulk from NDJSON or CSV files under the import directory. A file is cut into
+ * chunks of whole records ({@link ImportChunks}), and chunks are parsed, validated against the
+ * {@link StoryRequestDto} constraints, checked for duplicates and written in parallel on a
+ * fork-join pool. Each chunk's stories, outbox events and checkpoint row commit in one transaction,
+ * so a failed or interrupted import resumes, when the same unchanged file is submitted again, with
+ * exactly the chunks that did not commit.
+ *
+ * <p>Invalid records are skipped and counted. Duplicates follow the duplicate policy, except that
+ * {@code merge} skips the record without merging its tags.
+ */
+@Component
+public class StoryImporter implements DisposableBean {
+
+  /** The latest import of a file, as found when the file is submitted. */
+  private record Existing(long id, ImportStatus status, int chunkSize) {}
+
+  private static final Logger log = LoggerFactory.getLogger(StoryImporter.class);
+
+  private static final int MAX_ERRORS_SHOWN = 100;
+  private static final int MAX_MESSAGE_LENGTH = 500;
+  private static final int MAX_TAG_LENGTH = 255;
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final StoryBulkWriter writer;
+  private final StoryOutbox storyOutbox;
+  private final DuplicateDetector duplicateDetector;
+  private final StoryEntityCache storyEntityCache;
+  private final ObjectMapper objectMapper;
+  private final Validator validator;
+  private final ImportProperties properties;
+  private final ForkJoinPool pool;
+  private final ExecutorService coordinators = Executors.newVirtualThreadPerTaskExecutor();
+  private final Set<Long> running = ConcurrentHashMap.newKeySet();
+
+  public StoryImporter(
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      StoryBulkWriter writer,
+      StoryOutbox storyOutbox,
+      DuplicateDetector duplicateDetector,
+      StoryEntityCache storyEntityCache,
+      ObjectMapper objectMapper,
+      Validator validator,
+      ImportProperties properties) {
+    if (properties.enabled() && properties.directory() == null) {
+      throw new IllegalStateException("obscura.import.directory must be set to enable imports");
+    }
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.writer = writer;
+    this.storyOutbox = storyOutbox;
+    this.duplicateDetector = duplicateDetector;
+    this.storyEntityCache = storyEntityCache;
+    this.objectMapper = objectMapper;
+    this.validator = validator;
+    this.properties = properties;
+    this.pool = new ForkJoinPool(properties.parallelism());
+  }
+
+  /**
+   * Starts importing {@code request.file()}, or resumes the earlier import of the same unchanged
+   * file. Fails with 409 if that import already completed.
+   */
+  public StoryImportDto start(StoryImportRequestDto request) {
+    requireEnabled();
+    Path file = resolve(request.file());
+    ImportFormat format =
+        request.format() != null
+            ? ImportFormat.named(request.format())
+            : ImportFormat.forFile(file.getFileName().toString());
+    if (format == null) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Import format must be ndjson or csv: " + request.file());
+    }
+    long size;
+    long modified;
+    try {
+      size = Files.size(file);
+      modified = Files.getLastModifiedTime(file).toMillis();
+    } catch (IOException ex) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "Cannot read import file: " + request.file());
+    }
+
+    long id;
+    long chunkSize;
+    synchronized (this) {
+      List<Existing> existing =
+          jdbcTemplate.query(
+              "SELECT id, status, chunk_size FROM story_import"
+                  + " WHERE path = ? AND file_size = ? AND file_modified = ? AND format = ?"
+                  + " ORDER BY id DESC",
+              (rs, rowNum) ->
+                  new Existing(rs.getLong(1), ImportStatus.valueOf(rs.getString(2)), rs.getInt(3)),
+              request.file(),
+              size,
+              modified,
+              format.name());
+      if (existing.isEmpty()) {
+        chunkSize = properties.chunkSize().toBytes();
+        id = create(request.file(), format, size, modified, chunkSize);
+        running.add(id);
+      } else {
+        id = existing.getFirst().id();
+        chunkSize = existing.getFirst().chunkSize();
+        if (existing.getFirst().status() == ImportStatus.COMPLETED) {
+          throw new ResponseStatusException(
+              HttpStatus.CONFLICT, "File was already imported by import: " + id);
+        }
+        if (!running.add(id)) {
+          return getImport(id);
+        }
+        jdbcTemplate.update(
+            "UPDATE story_import SET status = ?, error = NULL, updated_at = ? WHERE id = ?",
+            ImportStatus.RUNNING.name(),
+            Timestamp.valueOf(LocalDateTime.now()),
+            id);
+      }
+    }
+    coordinators.execute(() -> run(id, file, format, chunkSize));
+    return getImport(id);
+  }
+
+  public StoryImportDto getImport(long id) {
+    requireEnabled();
+    List<StoryImportDto> found =
+        jdbcTemplate.query(
+            "SELECT i.id, i.path, i.format, i.status, i.chunk_count, i.error, i.created_at,"
+                + " i.updated_at, COUNT(c.chunk_index), COALESCE(SUM(c.imported), 0),"
+                + " COALESCE(SUM(c.invalid), 0), COALESCE(SUM(c.duplicates), 0)"
+                + " FROM story_import i LEFT JOIN story_import_chunk c ON c.import_id = i.id"
+                + " WHERE i.id = ?"
+                + " GROUP BY i.id, i.path, i.format, i.status, i.chunk_count, i.error,"
+                + " i.created_at, i.updated_at",
+            (rs, rowNum) ->
+                new StoryImportDto(
+                    rs.getLong(1),
+                    rs.getString(2),
+                    ImportFormat.valueOf(rs.getString(3)),
+                    ImportStatus.valueOf(rs.getString(4)),
+                    rs.getObject(5) != null ? rs.getInt(5) : null,
+                    rs.getInt(9),
+                    rs.getLong(10),
+                    rs.getLong(11),
+                    rs.getLong(12),
+                    rs.getString(6),
+                    errors(id),
+                    rs.getTimestamp(7).toLocalDateTime(),
+                    rs.getTimestamp(8).toLocalDateTime()),
+            id);
+    if (found.isEmpty()) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Import not found with id: " + id);
+    }
+    return found.getFirst();
+  }
+
+  @Override
+  public void destroy() {
+    coordinators.shutdownNow();
+    pool.shutdownNow();
+  }
+
+  private void run(long id, Path file, ImportFormat format, long chunkSize) {
+    long started = System.nanoTime();
+    String error = null;
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      long from = 0;
+      CsvRecords csv = null;
+      if (format == ImportFormat.CSV) {
+        from = ImportChunks.recordEnd(channel, 0, true);
+        csv = CsvRecords.fromHeader(ImportChunks.read(channel, 0, from));
+      }
+      List<Chunk> chunks = ImportChunks.split(channel, from, chunkSize, format.quoted());
+      jdbcTemplate.update(
+          "UPDATE story_import SET chunk_count = ?, updated_at = ? WHERE id = ?",
+          chunks.size(),
+          Timestamp.valueOf(LocalDateTime.now()),
+          id);
+      Set<Integer> done =
+          new HashSet<>(
+              jdbcTemplate.queryForList(
+                  "SELECT chunk_index FROM story_import_chunk WHERE import_id = ?",
+                  Integer.class,
+                  id));
+
+      CsvRecords columns = csv;
+      AtomicReference<Exception> failure = new AtomicReference<>();
+      List<Callable<Void>> tasks = new ArrayList<>();
+      for (Chunk chunk : chunks) {
+        if (done.contains(chunk.index())) {
+          continue;
+        }
+        tasks.add(
+            () -> {
+              // After the first failure the remaining chunks are left for the resumed import
+              if (failure.get() == null) {
+                try {
+                  importChunk(id, channel, chunk, format, columns);
+                } catch (IOException | RuntimeException ex) {
+                  failure.compareAndSet(null, ex);
+                }
+              }
+              return null;
+            });
+      }
+      pool.invokeAll(tasks);
+      if (failure.get() != null) {
+        error = "Chunk failed: " + failure.get().getMessage();
+      }
+    } catch (IOException | RuntimeException ex) {
+      error = ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName();
+    }
+
+    try {
+      jdbcTemplate.update(
+          "UPDATE story_import SET status = ?, error = ?, updated_at = ? WHERE id = ?",
+          (error == null ? ImportStatus.COMPLETED : ImportStatus.FAILED).name(),
+          error == null ? null : truncate(error, 1000),
+          Timestamp.valueOf(LocalDateTime.now()),
+          id);
+    } catch (RuntimeException ex) {
+      log.warn("Could not record the outcome of import {}: {}", id, ex.getMessage());
+    } finally {
+      running.remove(id);
+    }
+    long millis = (System.nanoTime() - started) / 1_000_000;
+    if (error == null) {
+      log.info("Import {} of {} completed in {} ms", id, file.getFileName(), millis);
+    } else {
+      log.warn("Import {} of {} failed after {} ms: {}", id, file.getFileName(), millis, error);
+    }
+  }
+
+  private void importChunk(
+      long id, FileChannel channel, Chunk chunk, ImportFormat format, CsvRecords csv)
+      throws IOException {
+    byte[] data = ImportChunks.read(channel, chunk.start(), chunk.end());
+    LocalDateTime now = LocalDateTime.now();
+    List<Story> stories = new ArrayList<>();
+    List<Object[]> errors = new ArrayList<>();
+    int invalid = 0;
+    int duplicates = 0;
+    int from = 0;
+    while (from < data.length) {
+      int to = ImportChunks.recordEnd(data, from, data.length, format.quoted());
+      if (!ImportChunks.blank(data, from, to)) {
+        try {
+          StoryRequestDto request =
+              format == ImportFormat.NDJSON
+                  ? readJson(data, from, to)
+                  : csv.toRequest(data, from, to);
+          Story story = toStory(validate(request), now);
+          Optional<DuplicateMatch> duplicate = duplicateDetector.find(story);
+          if (duplicate.isEmpty() || duplicate.get().policy() == DuplicatePolicy.FLAG) {
+            duplicate.ifPresent(match -> story.setDuplicateOf(match.storyId()));
+            stories.add(story);
+          } else {
+            duplicates++;
+          }
+        } catch (IllegalArgumentException ex) {
+          invalid++;
+          if (errors.size() < properties.maxErrorsPerChunk()) {
+            String message = truncate(ex.getMessage(), MAX_MESSAGE_LENGTH);
+            errors.add(new Object[] {id, chunk.start() + from, message});
+          }
+        }
+      }
+      from = to;
+    }
+
+    int rejected = invalid;
+    int skipped = duplicates;
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          storyOutbox.recordAll(StoryChangeType.CREATED, writer.insert(stories));
+          jdbcTemplate.update(
+              "INSERT INTO story_import_chunk (import_id, chunk_index, start_offset, end_offset,"
+                  + " imported, invalid, duplicates, completed_at)"
+                  + " VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+              id,
+              chunk.index(),
+              chunk.start(),
+              chunk.end(),
+              stories.size(),
+              rejected,
+              skipped,
+              Timestamp.valueOf(LocalDateTime.now()));
+          jdbcTemplate.batchUpdate(
+              "INSERT INTO story_import_error (import_id, record_offset, message) VALUES (?, ?, ?)",
+              errors);
+        });
+    if (!stories.isEmpty()) {
+      // Cached finder results cannot know about rows inserted past Hibernate; other nodes evict
+      // theirs when the created events are broadcast
+      storyEntityCache.evictQueries();
+    }
+  }
+
+  private StoryRequestDto readJson(byte[] data, int from, int to) {
+    StoryRequestDto request;
+    try {
+      request = objectMapper.readValue(data, from, to - from, StoryRequestDto.class);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalArgumentException("Malformed JSON: " + ex.getOriginalMessage());
+    } catch (IOException ex) {
+      throw new IllegalArgumentException("Unreadable record: " + ex.getMessage());
+    }
+    if (request == null) {
+      throw new IllegalArgumentException("Record is not a JSON object");
+    }
+    return request;
+  }
+
+  /** The request if it satisfies its constraints; otherwise fails with all violations. */
+  private StoryRequestDto validate(StoryRequestDto request) {
+    Set<ConstraintViolation<StoryRequestDto>> violations = validator.validate(request);
+    List<String> problems =
+        violations.stream()
+            .map(ConstraintViolation::getMessage)
+            .sorted()
+            .collect(Collectors.toCollection(ArrayList::new));
+    if (request.tags() != null
+        && request.tags().stream().anyMatch(tag -> tag != null && tag.length() > MAX_TAG_LENGTH)) {
+      problems.add("Tags must be at most " + MAX_TAG_LENGTH + " characters");
+    }
+    if (!problems.isEmpty()) {
+      throw new IllegalArgumentException(String.join("; ", problems));
+    }
+    return request;
+  }
+
+  private static Story toStory(StoryRequestDto request, LocalDateTime now) {
+    Set<String> tags = new LinkedHashSet<>();
+    if (request.tags() != null) {
+      request.tags().stream().filter(tag -> tag != null && !tag.isBlank()).forEach(tags::add);
+    }
+    Story story = new Story();
+    story.setTitle(request.title());
+    story.setContent(request.content());
+    story.setAuthor(request.author());
+    story.setTags(new ArrayList<>(tags));
+    story.setCreatedAt(now);
+    story.setUpdatedAt(now);
+    return story;
+  }
+
+  private long create(String path, ImportFormat format, long size, long modified, long chunkSize) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    KeyHolder key = new GeneratedKeyHolder();
+    jdbcTemplate.update(
+        connection -> {
+          PreparedStatement statement =
+              connection.prepareStatement(
+                  "INSERT INTO story_import (path, format, file_size, file_modified, chunk_size,"
+                      + " status, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?)",
+                  new String[] {"id"});
+          statement.setString(1, path);
+          statement.setString(2, format.name());
+          statement.setLong(3, size);
+          statement.setLong(4, modified);
+          statement.setInt(5, Math.toIntExact(chunkSize));
+          statement.setString(6, ImportStatus.RUNNING.name());
+          statement.setTimestamp(7, now);
+          statement.setTimestamp(8, now);
+          return statement;
+        },
+        key);
+    return key.getKeyAs(Number.class).longValue();
+  }
+
+  private List<StoryImportErrorDto> errors(long id) {
+    return jdbcTemplate.query(
+        "SELECT record_offset, message FROM story_import_error WHERE import_id = ?"
+            + " ORDER BY record_offset LIMIT ?",
+        (rs, rowNum) -> new StoryImportErrorDto(rs.getLong(1), rs.getString(2)),
+        id,
+        MAX_ERRORS_SHOWN);
+  }
+
+  /** {@code name} resolved under the import directory, which it must not escape. */
+  private Path resolve(String name) {
+    try {
+      Path directory = Path.of(properties.directory()).toRealPath();
+      Path file = directory.resolve(name).toRealPath();
+      if (file.startsWith(directory) && Files.isRegularFile(file)) {
+        return file;
+      }
+    } catch (IOException | RuntimeException ex) {
+      // Reported as not found below
+    }
+    throw new ResponseStatusException(
+        HttpStatus.BAD_REQUEST, "No such file in the import directory: " + name);
+  }
+
+  private void requireEnabled() {
+    if (!properties.enabled()) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Imports are disabled");
+    }
+  }
+
+  private static String truncate(String message, int length) {
+    if (message == null) {
+      return "Invalid record";
+    }
+    return message.length() <= length ? message : message.substring(0, length);
+  }
+}
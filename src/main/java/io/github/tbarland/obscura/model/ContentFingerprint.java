@@ -0,0 +1,74 @@
+package io.github.tbarland.obscura.model;
+
+import io.github.tbarland.obscura.similar.MinHasher;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Fingerprints of story content: a SHA-256 hash that matches only identical content, and a 64-bit
+ * SimHash of its two-word shingles whose Hamming distance to another SimHash grows with how much
+ * the texts differ. Case, punctuation and whitespace do not affect the SimHash.
+ */
+public final class ContentFingerprint {
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+
+  private ContentFingerprint() {}
+
+  /** Lowercase hex SHA-256 of the UTF-8 content. */
+  public static String sha256(String content) {
+    try {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      return HexFormat.of().formatHex(digest.digest(content.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException ex) {
+      throw new IllegalStateException("SHA-256 is not available", ex);
+    }
+  }
+
+  public static long simhash(String content) {
+    int[] votes = new int[Long.SIZE];
+    long previous = 0;
+    int words = 0;
+    long word = FNV_OFFSET;
+    boolean inWord = false;
+    for (int i = 0; i <= content.length(); i++) {
+      char c = i < content.length() ? content.charAt(i) : ' ';
+      if (Character.isLetterOrDigit(c)) {
+        word = (word ^ Character.toLowerCase(c)) * FNV_PRIME;
+        inWord = true;
+      } else if (inWord) {
+        if (words > 0) {
+          vote(votes, MinHasher.mix(previous * FNV_PRIME ^ word));
+        }
+        previous = word;
+        words++;
+        word = FNV_OFFSET;
+        inWord = false;
+      }
+    }
+    if (words == 1) {
+      vote(votes, MinHasher.mix(previous));
+    }
+    long simhash = 0;
+    for (int bit = 0; bit < Long.SIZE; bit++) {
+      if (votes[bit] > 0) {
+        simhash |= 1L << bit;
+      }
+    }
+    return simhash;
+  }
+
+  /** Number of differing bits between two SimHashes. */
+  public static int distance(long simhash, long other) {
+    return Long.bitCount(simhash ^ other);
+  }
+
+  private static void vote(int[] votes, long featureHash) {
+    for (int bit = 0; bit < Long.SIZE; bit++) {
+      votes[bit] += (featureHash >>> bit & 1) == 1 ? 1 : -1;
+    }
+  }
+}
@@ -1,17 +1,28 @@
 package io.github.tbarland.obscura.model;
 
+import jakarta.persistence.Cacheable;
 import jakarta.persistence.Column;
 import jakarta.persistence.ElementCollection;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.PrePersist;
 import java.time.LocalDateTime;
 import java.util.List;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Story.CACHE_REGION)
 public class Story {
 
+  /** Second-level cache regions, sized per region under {@code obscura.jpa.cache.regions}. */
+  public static final String CACHE_REGION = "story";
+
+  public static final String TAGS_CACHE_REGION = "story-tags";
+
   @Id
   @GeneratedValue(strategy = GenerationType.IDENTITY)
   private Long id;
@@ -22,14 +33,32 @@ public class Story {
   @Column(nullable = false, columnDefinition = "TEXT")
   private String content;
 
+  /** Length of {@code content} in characters (code points), kept in step by {@link #setContent}. */
+  @Column(nullable = false)
+  private int contentLength;
+
+  /** {@link ContentFingerprint}s of {@code content}, kept in step by {@link #setContent}. */
+  @Column(length = 64)
+  private String contentHash;
+
+  private Long simhash;
+
+  /** The earlier story this one was flagged as a duplicate of, if any. */
+  private Long duplicateOf;
+
   @Column(nullable = false, length = 100)
   private String author;
 
-  @ElementCollection private List<String> tags;
+  @ElementCollection
+  @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = TAGS_CACHE_REGION)
+  private List<String> tags;
 
   @Column(nullable = false, updatable = false)
   private LocalDateTime createdAt;
 
+  @Column(nullable = false)
+  private LocalDateTime updatedAt;
+
   public Story() {}
 
   // Getters and Setters
@@ -55,6 +84,8 @@ public class Story {
 
   public void setContent(String content) {
     this.content = content;
+    this.contentLength = lengthOf(content);
+    fingerprint();
   }
 
   public String getAuthor() {
@@ -81,6 +112,50 @@ public class Story {
     this.createdAt = createdAt;
   }
 
+  public LocalDateTime getUpdatedAt() {
+    return updatedAt;
+  }
+
+  public void setUpdatedAt(LocalDateTime updatedAt) {
+    this.updatedAt = updatedAt;
+  }
+
+  public int getContentLength() {
+    return contentLength;
+  }
+
+  public String getContentHash() {
+    return contentHash;
+  }
+
+  public Long getSimhash() {
+    return simhash;
+  }
+
+  public Long getDuplicateOf() {
+    return duplicateOf;
+  }
+
+  public void setDuplicateOf(Long duplicateOf) {
+    this.duplicateOf = duplicateOf;
+  }
+
+  public static int lengthOf(String content) {
+    return content == null ? 0 : content.codePointCount(0, content.length());
+  }
+
+  @PrePersist
+  void defaultUpdatedAt() {
+    if (updatedAt == null) {
+      updatedAt = createdAt;
+    }
+  }
+
+  private void fingerprint() {
+    contentHash = content == null ? null : ContentFingerprint.sha256(content);
+    simhash = content == null ? null : ContentFingerprint.simhash(content);
+  }
+
   public Story(
       Long id,
       String title,
@@ -91,9 +166,12 @@ public class Story {
     this.id = id;
     this.title = title;
     this.content = content;
+    this.contentLength = lengthOf(content);
+    fingerprint();
     this.author = author;
     this.tags = tags;
     this.createdAt = createdAt;
+    this.updatedAt = createdAt;
   }
 
   @Override
@@ -110,6 +188,8 @@ public class Story {
         + tags
         + ", createdAt="
         + createdAt
+        + ", updatedAt="
+        + updatedAt
         + "]";
   }
 }
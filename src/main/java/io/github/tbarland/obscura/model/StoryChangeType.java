@@ -0,0 +1,7 @@
+package io.github.tbarland.obscura.model;
+
+public enum StoryChangeType {
+  CREATED,
+  UPDATED,
+  DELETED
+}
@@ -0,0 +1,84 @@
+package io.github.tbarland.obscura.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "story_outbox")
+public class StoryOutboxEvent {
+
+  @Id
+  @GeneratedValue(strategy = GenerationType.IDENTITY)
+  private Long id;
+
+  @Column(nullable = false)
+  private Long storyId;
+
+  @Enumerated(EnumType.STRING)
+  @Column(nullable = false, length = 16)
+  private StoryChangeType eventType;
+
+  @Column(columnDefinition = "TEXT")
+  private String payload;
+
+  @Column(nullable = false, updatable = false)
+  private LocalDateTime createdAt;
+
+  private LocalDateTime publishedAt;
+
+  private Long sequenceNumber;
+
+  public StoryOutboxEvent() {}
+
+  public StoryOutboxEvent(
+      Long storyId, StoryChangeType eventType, String payload, LocalDateTime createdAt) {
+    this.storyId = storyId;
+    this.eventType = eventType;
+    this.payload = payload;
+    this.createdAt = createdAt;
+  }
+
+  // Getters and Setters
+  public Long getId() {
+    return id;
+  }
+
+  public Long getStoryId() {
+    return storyId;
+  }
+
+  public StoryChangeType getEventType() {
+    return eventType;
+  }
+
+  public String getPayload() {
+    return payload;
+  }
+
+  public LocalDateTime getCreatedAt() {
+    return createdAt;
+  }
+
+  public LocalDateTime getPublishedAt() {
+    return publishedAt;
+  }
+
+  public void setPublishedAt(LocalDateTime publishedAt) {
+    this.publishedAt = publishedAt;
+  }
+
+  public Long getSequenceNumber() {
+    return sequenceNumber;
+  }
+
+  public void setSequenceNumber(Long sequenceNumber) {
+    this.sequenceNumber = sequenceNumber;
+  }
+}
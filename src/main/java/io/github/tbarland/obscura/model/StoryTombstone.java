@@ -0,0 +1,33 @@
+package io.github.tbarland.obscura.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "story_tombstone")
+public class StoryTombstone {
+
+  @Id private Long storyId;
+
+  @Column(nullable = false)
+  private LocalDateTime deletedAt;
+
+  public StoryTombstone() {}
+
+  public StoryTombstone(Long storyId, LocalDateTime deletedAt) {
+    this.storyId = storyId;
+    this.deletedAt = deletedAt;
+  }
+
+  // Getters
+  public Long getStoryId() {
+    return storyId;
+  }
+
+  public LocalDateTime getDeletedAt() {
+    return deletedAt;
+  }
+}
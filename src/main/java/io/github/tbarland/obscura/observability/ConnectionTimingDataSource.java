@@ -0,0 +1,89 @@
+package io.github.tbarland.obscura.observability;
+
+import io.micrometer.observation.ObservationRegistry;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.function.Supplier;
+import javax.sql.DataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * The application datasource as profiled requests see it: statements go through a datasource-proxy
+ * {@link net.ttddyy.dsproxy.support.ProxyDataSource} reporting to {@link SqlCaptureListener} and
+ * {@link SqlTracingListener}, and time spent waiting for a pooled connection is added to the
+ * current {@link RequestProfile}. Unwrapping (for example to the Hikari pool) reaches the original
+ * datasource, and closing this one closes it.
+ */
+public class ConnectionTimingDataSource extends DelegatingDataSource implements AutoCloseable {
+
+  private final DataSource original;
+
+  private ConnectionTimingDataSource(DataSource proxied, DataSource original) {
+    super(proxied);
+    this.original = original;
+  }
+
+  public static ConnectionTimingDataSource wrap(
+      DataSource dataSource, Supplier<ObservationRegistry> observationRegistry) {
+    DataSource proxied =
+        ProxyDataSourceBuilder.create(dataSource)
+            .name("obscura")
+            .listener(new SqlCaptureListener())
+            .listener(new SqlTracingListener(observationRegistry))
+            .build();
+    return new ConnectionTimingDataSource(proxied, dataSource);
+  }
+
+  @Override
+  public Connection getConnection() throws SQLException {
+    RequestProfile profile = RequestProfile.current();
+    if (profile == null) {
+      return super.getConnection();
+    }
+    long start = System.nanoTime();
+    try {
+      return super.getConnection();
+    } finally {
+      profile.connectionAcquired(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  public Connection getConnection(String username, String password) throws SQLException {
+    RequestProfile profile = RequestProfile.current();
+    if (profile == null) {
+      return super.getConnection(username, password);
+    }
+    long start = System.nanoTime();
+    try {
+      return super.getConnection(username, password);
+    } finally {
+      profile.connectionAcquired(System.nanoTime() - start);
+    }
+  }
+
+  @Override
+  @SuppressWarnings("unchecked")
+  public <T> T unwrap(Class<T> iface) throws SQLException {
+    if (iface.isInstance(this)) {
+      return (T) this;
+    }
+    if (iface.isInstance(original)) {
+      return (T) original;
+    }
+    return original.unwrap(iface);
+  }
+
+  @Override
+  public boolean isWrapperFor(Class<?> iface) throws SQLException {
+    return iface.isInstance(this) || iface.isInstance(original) || original.isWrapperFor(iface);
+  }
+
+  @Override
+  public void close() throws Exception {
+    if (original instanceof AutoCloseable closeable) {
+      closeable.close();
+    }
+  }
+}
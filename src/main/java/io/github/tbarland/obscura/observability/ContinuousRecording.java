@@ -0,0 +1,52 @@
+package io.github.tbarland.obscura.observability;
+
+import java.io.IOException;
+import java.text.ParseException;
+import java.time.Duration;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The application's own flight recording, running from startup to shutdown and kept to a bounded
+ * window on disk so that {@link FlightRecordingEndpoint} always has recent data to dump.
+ */
+public class ContinuousRecording implements InitializingBean, DisposableBean {
+
+  static final String NAME = "obscura";
+
+  private final String settings;
+  private final Duration maxAge;
+  private final DataSize maxSize;
+  private final Duration threshold;
+  private Recording recording;
+
+  public ContinuousRecording(
+      String settings, Duration maxAge, DataSize maxSize, Duration threshold) {
+    this.settings = settings;
+    this.maxAge = maxAge;
+    this.maxSize = maxSize;
+    this.threshold = threshold;
+  }
+
+  @Override
+  public void afterPropertiesSet() throws IOException, ParseException {
+    recording = new Recording(Configuration.getConfiguration(settings));
+    recording.setName(NAME);
+    recording.setToDisk(true);
+    recording.setMaxAge(maxAge);
+    recording.setMaxSize(maxSize.toBytes());
+    recording.enable(StoryOperationEvent.NAME).withThreshold(threshold);
+    recording.enable(HttpRequestEvent.NAME).withThreshold(threshold);
+    recording.start();
+  }
+
+  @Override
+  public void destroy() {
+    if (recording != null) {
+      recording.close();
+    }
+  }
+}
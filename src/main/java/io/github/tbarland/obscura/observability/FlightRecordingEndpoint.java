@@ -0,0 +1,102 @@
+package io.github.tbarland.obscura.observability;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Recording;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.WriteOperation;
+import org.springframework.boot.actuate.endpoint.web.WebEndpointResponse;
+
+/**
+ * {@code /actuator/jfr}: lists the running flight recordings; a POST dumps what they hold to a new
+ * file in the dump directory and returns its path. The dump covers every running recording, the
+ * application's own continuous one as well as any started with {@code -XX:StartFlightRecording} or
+ * {@code jcmd}. Fails with 503 when there is nothing to dump. Only the newest {@code maxDumps}
+ * files are kept, so repeated dumps cannot fill the disk. Recordings hold stacks and thread names,
+ * so the endpoint is only exposed on the web by the {@code ops} profile, on the management port.
+ */
+@Endpoint(id = "jfr")
+public class FlightRecordingEndpoint {
+
+  public record RecordingInfo(
+      long id, String name, String state, long bytes, Duration maxAge, long maxBytes) {}
+
+  public record Dump(String file, long bytes) {}
+
+  private static final DateTimeFormatter FILE_TIME =
+      DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+
+  private static final String FILE_PREFIX = "obscura-";
+  private static final String FILE_SUFFIX = ".jfr";
+
+  private final Path directory;
+  private final int maxDumps;
+
+  public FlightRecordingEndpoint(Path directory, int maxDumps) {
+    this.directory = directory;
+    this.maxDumps = maxDumps;
+  }
+
+  @ReadOperation
+  public List<RecordingInfo> recordings() {
+    if (!FlightRecorder.isAvailable()) {
+      return List.of();
+    }
+    return FlightRecorder.getFlightRecorder().getRecordings().stream()
+        .map(
+            recording ->
+                new RecordingInfo(
+                    recording.getId(),
+                    recording.getName(),
+                    recording.getState().name(),
+                    recording.getSize(),
+                    recording.getMaxAge(),
+                    recording.getMaxSize()))
+        .toList();
+  }
+
+  @WriteOperation
+  public synchronized WebEndpointResponse<Dump> dump() {
+    if (!FlightRecorder.isAvailable()) {
+      return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+    }
+    try (Recording snapshot = FlightRecorder.getFlightRecorder().takeSnapshot()) {
+      if (snapshot.getSize() == 0) {
+        return new WebEndpointResponse<>(WebEndpointResponse.STATUS_SERVICE_UNAVAILABLE);
+      }
+      Files.createDirectories(directory);
+      Path file =
+          directory.resolve(FILE_PREFIX + FILE_TIME.format(LocalDateTime.now()) + FILE_SUFFIX);
+      snapshot.dump(file);
+      Dump dump = new Dump(file.toAbsolutePath().toString(), Files.size(file));
+      deleteOldDumps();
+      return new WebEndpointResponse<>(dump);
+    } catch (IOException ex) {
+      throw new UncheckedIOException("Could not dump flight recording to " + directory, ex);
+    }
+  }
+
+  /** Dump files are named by time, so name order is age order. */
+  private void deleteOldDumps() throws IOException {
+    List<Path> dumps = new ArrayList<>();
+    try (DirectoryStream<Path> files =
+        Files.newDirectoryStream(directory, FILE_PREFIX + "*" + FILE_SUFFIX)) {
+      files.forEach(dumps::add);
+    }
+    dumps.sort(Comparator.naturalOrder());
+    for (Path old : dumps.subList(0, Math.max(0, dumps.size() - maxDumps))) {
+      Files.deleteIfExists(old);
+    }
+  }
+}
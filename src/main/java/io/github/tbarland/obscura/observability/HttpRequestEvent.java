@@ -0,0 +1,34 @@
+package io.github.tbarland.obscura.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** Handling of one API request by a controller, emitted by {@link HttpRequestRecorder}. */
+@Name(HttpRequestEvent.NAME)
+@Label("HTTP Request")
+@Category({"Obscura", "HTTP"})
+@StackTrace(false)
+class HttpRequestEvent extends Event {
+
+  static final String NAME = "obscura.HttpRequest";
+
+  @Label("Method")
+  String method;
+
+  @Label("Route")
+  String route;
+
+  @Label("Status")
+  int status;
+
+  @Label("Database Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long dbDuration;
+
+  @Label("Statements")
+  int statements;
+}
@@ -0,0 +1,76 @@
+package io.github.tbarland.obscura.observability;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.lang.Nullable;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Emits an {@link HttpRequestEvent} for each API request, from the matched handler through the
+ * written response. Like {@link StoryOperationRecorder} it does nothing beyond one check unless a
+ * recording enables the event. For async requests (the change feed) the event ends when the handler
+ * returns.
+ */
+public class HttpRequestRecorder implements AsyncHandlerInterceptor {
+
+  private static final String EVENT = HttpRequestRecorder.class.getName() + ".event";
+
+  private record Started(HttpRequestEvent event, long nanos, int statements) {}
+
+  @Override
+  public boolean preHandle(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler) {
+    if (request.getDispatcherType() == DispatcherType.ASYNC) {
+      return true;
+    }
+    HttpRequestEvent event = new HttpRequestEvent();
+    if (event.isEnabled()) {
+      SqlClock clock = SqlClock.current();
+      request.setAttribute(EVENT, new Started(event, clock.nanos(), clock.statements()));
+      event.begin();
+    }
+    return true;
+  }
+
+  @Override
+  public void afterConcurrentHandlingStarted(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler) {
+    commit(request, response.getStatus());
+  }
+
+  @Override
+  public void afterCompletion(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull Object handler,
+      @Nullable Exception ex) {
+    commit(
+        request, ex != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus());
+  }
+
+  private static void commit(HttpServletRequest request, int status) {
+    if (!(request.getAttribute(EVENT) instanceof Started started)) {
+      return;
+    }
+    request.removeAttribute(EVENT);
+    HttpRequestEvent event = started.event();
+    event.end();
+    if (event.shouldCommit()) {
+      SqlClock clock = SqlClock.current();
+      Object route = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+      event.method = request.getMethod();
+      event.route = route != null ? route.toString() : null;
+      event.status = status;
+      event.dbDuration = clock.nanos() - started.nanos();
+      event.statements = clock.statements() - started.statements();
+      event.commit();
+    }
+  }
+}
@@ -0,0 +1,125 @@
+package io.github.tbarland.obscura.observability;
+
+import io.github.tbarland.obscura.config.SloProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Times each API request against the latency objective of its route. Latency is published as the
+ * {@code obscura.http.latency} histogram tagged with {@code method} and {@code route}, with the
+ * objective as a service level boundary. Requests over it count in {@code obscura.http.slo.misses}
+ * and are added to the {@link SlowRequestLog} with the SQL that ran on the request thread.
+ *
+ * <p>Routes are the matched handler patterns ({@code /api/stories/{id}}), so the number of series
+ * stays bounded; requests that match no handler share the route {@code UNMATCHED}. For async
+ * requests such as the change feed only the initial dispatch is timed.
+ */
+public class LatencySloFilter extends OncePerRequestFilter {
+
+  private static final String UNMATCHED = "UNMATCHED";
+
+  private final SloProperties properties;
+  private final SlowRequestLog slowRequestLog;
+  private final MeterRegistry meterRegistry;
+  private final Map<String, Meters> meters = new ConcurrentHashMap<>();
+
+  private record Meters(Timer latency, Counter misses, Duration objective) {}
+
+  public LatencySloFilter(
+      SloProperties properties, SlowRequestLog slowRequestLog, MeterRegistry meterRegistry) {
+    this.properties = properties;
+    this.slowRequestLog = slowRequestLog;
+    this.meterRegistry = meterRegistry;
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    Instant startedAt = Instant.now();
+    long start = System.nanoTime();
+    RequestProfile profile = RequestProfile.start(properties.maxStatements());
+    boolean failed = true;
+    try {
+      filterChain.doFilter(request, response);
+      failed = false;
+    } finally {
+      profile.end();
+      long elapsed = System.nanoTime() - start;
+      // Exceptions reach the container's error handling after this filter and end up as a 500
+      int status = failed ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : response.getStatus();
+      record(request, status, startedAt, elapsed, profile);
+    }
+  }
+
+  private void record(
+      HttpServletRequest request,
+      int status,
+      Instant startedAt,
+      long elapsed,
+      RequestProfile profile) {
+    String route = route(request);
+    Meters routeMeters =
+        meters.computeIfAbsent(request.getMethod() + " " + route, key -> meters(request, route));
+    routeMeters.latency().record(elapsed, TimeUnit.NANOSECONDS);
+    if (elapsed <= routeMeters.objective().toNanos()) {
+      return;
+    }
+    routeMeters.misses().increment();
+    slowRequestLog.add(
+        new SlowRequest(
+            startedAt,
+            request.getMethod(),
+            route,
+            request.getRequestURI(),
+            status,
+            RequestProfile.millis(elapsed),
+            RequestProfile.millis(routeMeters.objective().toNanos()),
+            RequestProfile.millis(profile.connectionNanos()),
+            RequestProfile.millis(profile.sqlNanos()),
+            profile.statementCount(),
+            profile.statements(properties.maxSqlLength())));
+  }
+
+  private Meters meters(HttpServletRequest request, String route) {
+    Duration objective = properties.routes().getOrDefault(route, properties.defaultObjective());
+    Timer.Builder latency =
+        Timer.builder("obscura.http.latency")
+            .tag("method", request.getMethod())
+            .tag("route", route)
+            .description("API request latency by route")
+            .publishPercentileHistogram();
+    if (objective.isPositive()) {
+      // A zero objective (every request is slow) is not a valid histogram boundary
+      latency.serviceLevelObjectives(objective);
+    }
+    Counter misses =
+        Counter.builder("obscura.http.slo.misses")
+            .tag("method", request.getMethod())
+            .tag("route", route)
+            .description("API requests slower than their route's latency objective")
+            .register(meterRegistry);
+    return new Meters(latency.register(meterRegistry), misses, objective);
+  }
+
+  private static String route(HttpServletRequest request) {
+    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+    return pattern != null ? pattern.toString() : UNMATCHED;
+  }
+}
@@ -0,0 +1,83 @@
+package io.github.tbarland.obscura.observability;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Database time of the request running on the current thread, recorded by {@link
+ * SqlCaptureListener} and {@link ConnectionTimingDataSource} between {@link #start} and {@link
+ * #end}. Every statement is counted and timed, but only the first {@code maxStatements} are kept.
+ * Work the request hands to other threads is not seen.
+ */
+final class RequestProfile {
+
+  private record Sql(String sql, long nanos, int batchSize) {}
+
+  private static final ThreadLocal<RequestProfile> CURRENT = new ThreadLocal<>();
+
+  private final int maxStatements;
+  private final List<Sql> statements = new ArrayList<>();
+  private int statementCount;
+  private long sqlNanos;
+  private long connectionNanos;
+
+  private RequestProfile(int maxStatements) {
+    this.maxStatements = maxStatements;
+  }
+
+  static RequestProfile start(int maxStatements) {
+    RequestProfile profile = new RequestProfile(maxStatements);
+    CURRENT.set(profile);
+    return profile;
+  }
+
+  /** The profile of the request on this thread, or null outside a profiled request. */
+  static RequestProfile current() {
+    return CURRENT.get();
+  }
+
+  void end() {
+    CURRENT.remove();
+  }
+
+  void queryFinished(String sql, long nanos, int batchSize) {
+    sqlNanos += nanos;
+    statementCount++;
+    if (statements.size() < maxStatements) {
+      statements.add(new Sql(sql, nanos, batchSize));
+    }
+  }
+
+  void connectionAcquired(long nanos) {
+    connectionNanos += nanos;
+  }
+
+  long sqlNanos() {
+    return sqlNanos;
+  }
+
+  long connectionNanos() {
+    return connectionNanos;
+  }
+
+  int statementCount() {
+    return statementCount;
+  }
+
+  /** The kept statements, with SQL cut to {@code maxSqlLength} characters. */
+  List<SlowRequest.Statement> statements(int maxSqlLength) {
+    List<SlowRequest.Statement> result = new ArrayList<>(statements.size());
+    for (Sql statement : statements) {
+      String sql =
+          statement.sql().length() > maxSqlLength
+              ? statement.sql().substring(0, maxSqlLength) + "..."
+              : statement.sql();
+      result.add(new SlowRequest.Statement(sql, millis(statement.nanos()), statement.batchSize()));
+    }
+    return result;
+  }
+
+  static double millis(long nanos) {
+    return nanos / 1_000_000.0;
+  }
+}
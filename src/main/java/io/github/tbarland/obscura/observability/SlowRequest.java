@@ -0,0 +1,27 @@
+package io.github.tbarland.obscura.observability;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * A request that missed its latency objective, as kept by {@link SlowRequestLog}. {@code
+ * connectionMs} is time spent waiting for pooled connections and {@code sqlMs} time spent running
+ * statements; the rest of {@code durationMs} went to everything else. SQL is recorded as prepared,
+ * with {@code ?} placeholders and no parameter values.
+ */
+public record SlowRequest(
+    Instant startedAt,
+    String method,
+    String route,
+    String path,
+    int status,
+    double durationMs,
+    double objectiveMs,
+    double connectionMs,
+    double sqlMs,
+    int statementCount,
+    List<Statement> statements) {
+
+  /** One statement or batch; {@code batchSize} is 0 for a statement run on its own. */
+  public record Statement(String sql, double durationMs, int batchSize) {}
+}
@@ -0,0 +1,56 @@
+package io.github.tbarland.obscura.observability;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Ring buffer of the last {@code capacity} slow requests; once full, each new request overwrites
+ * the oldest. Only requests that miss their objective are added, so a lock is cheap enough.
+ */
+public class SlowRequestLog {
+
+  private final SlowRequest[] requests;
+  private int next;
+  private long recorded;
+
+  public SlowRequestLog(int capacity) {
+    if (capacity < 1) {
+      throw new IllegalArgumentException("Slow request log capacity must be positive");
+    }
+    this.requests = new SlowRequest[capacity];
+  }
+
+  public synchronized void add(SlowRequest request) {
+    requests[next] = request;
+    next = (next + 1) % requests.length;
+    recorded++;
+  }
+
+  /** The buffered requests, slowest first. */
+  public synchronized List<SlowRequest> slowest() {
+    List<SlowRequest> buffered = new ArrayList<>(requests.length);
+    for (SlowRequest request : requests) {
+      if (request != null) {
+        buffered.add(request);
+      }
+    }
+    buffered.sort(Comparator.comparingDouble(SlowRequest::durationMs).reversed());
+    return buffered;
+  }
+
+  /** Slow requests added since startup, including those already overwritten. */
+  public synchronized long recorded() {
+    return recorded;
+  }
+
+  public int capacity() {
+    return requests.length;
+  }
+
+  public synchronized void clear() {
+    Arrays.fill(requests, null);
+    next = 0;
+  }
+}
@@ -0,0 +1,28 @@
+package io.github.tbarland.obscura.observability;
+
+import java.util.List;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+
+/**
+ * {@code /actuator/slowrequests}: the recent requests that missed their latency objective, slowest
+ * first, with their SQL. Read-only, so the buffer kept for incident diagnosis cannot be wiped
+ * remotely; since it shows SQL text and routes, it is only exposed on the web by the {@code ops}
+ * profile, on the management port.
+ */
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+  public record SlowRequests(long recorded, int capacity, List<SlowRequest> requests) {}
+
+  private final SlowRequestLog log;
+
+  public SlowRequestsEndpoint(SlowRequestLog log) {
+    this.log = log;
+  }
+
+  @ReadOperation
+  public SlowRequests slowRequests() {
+    return new SlowRequests(log.recorded(), log.capacity(), log.slowest());
+  }
+}
@@ -0,0 +1,33 @@
+package io.github.tbarland.obscura.observability;
+
+import java.util.List;
+import java.util.stream.Collectors;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Times statements run by the proxied datasource on the {@link SqlClock} of their thread and feeds
+ * them into the current {@link RequestProfile}, if any.
+ */
+class SqlCaptureListener implements QueryExecutionListener {
+
+  @Override
+  public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    SqlClock.current().queryStarted();
+  }
+
+  @Override
+  public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    long nanos = SqlClock.current().queryFinished();
+    RequestProfile profile = RequestProfile.current();
+    if (profile == null) {
+      return;
+    }
+    String sql =
+        queryInfoList.size() == 1
+            ? queryInfoList.getFirst().getQuery()
+            : queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; "));
+    profile.queryFinished(sql, nanos, execInfo.isBatch() ? execInfo.getBatchSize() : 0);
+  }
+}
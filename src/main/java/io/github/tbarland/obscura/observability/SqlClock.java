@@ -0,0 +1,40 @@
+package io.github.tbarland.obscura.observability;
+
+/**
+ * Running totals of the SQL run on the current thread through the proxied datasource. Callers read
+ * them before and after the work they measure and take the difference.
+ */
+final class SqlClock {
+
+  private static final ThreadLocal<SqlClock> CURRENT = ThreadLocal.withInitial(SqlClock::new);
+
+  private long queryStart;
+  private long nanos;
+  private int statements;
+
+  private SqlClock() {}
+
+  static SqlClock current() {
+    return CURRENT.get();
+  }
+
+  void queryStarted() {
+    queryStart = System.nanoTime();
+  }
+
+  /** Adds the statement that just finished and returns how long it took. */
+  long queryFinished() {
+    long elapsed = System.nanoTime() - queryStart;
+    nanos += elapsed;
+    statements++;
+    return elapsed;
+  }
+
+  long nanos() {
+    return nanos;
+  }
+
+  int statements() {
+    return statements;
+  }
+}
@@ -0,0 +1,62 @@
+package io.github.tbarland.obscura.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Observes each statement run by the proxied datasource as {@value #NAME}, a child span of whatever
+ * is being observed on its thread. Statements run outside any observation (migrations, scheduled
+ * jobs that are not traced) start no trace of their own. Spans carry the SQL as prepared, without
+ * parameter values.
+ */
+class SqlTracingListener implements QueryExecutionListener {
+
+  static final String NAME = "obscura.jdbc.query";
+
+  private static final String OBSERVATION = SqlTracingListener.class.getName();
+
+  private final Supplier<ObservationRegistry> observationRegistry;
+
+  SqlTracingListener(Supplier<ObservationRegistry> observationRegistry) {
+    this.observationRegistry = observationRegistry;
+  }
+
+  @Override
+  public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    ObservationRegistry registry = observationRegistry.get();
+    if (registry.getCurrentObservation() == null) {
+      return;
+    }
+    Observation observation =
+        Observation.createNotStarted(NAME, registry)
+            .contextualName(execInfo.isBatch() ? "jdbc batch" : "jdbc query")
+            .lowCardinalityKeyValue("batch", Boolean.toString(execInfo.isBatch()))
+            .highCardinalityKeyValue(
+                "db.statement",
+                queryInfoList.stream().map(QueryInfo::getQuery).collect(Collectors.joining("; ")))
+            .start();
+    execInfo.addCustomValue(OBSERVATION, observation);
+  }
+
+  @Override
+  public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    Observation observation = execInfo.getCustomValue(OBSERVATION, Observation.class);
+    if (observation == null) {
+      return;
+    }
+    if (execInfo.isBatch()) {
+      observation.highCardinalityKeyValue(
+          "db.batch.size", Integer.toString(execInfo.getBatchSize()));
+    }
+    if (execInfo.getThrowable() != null) {
+      observation.error(execInfo.getThrowable());
+    }
+    observation.stop();
+  }
+}
@@ -0,0 +1,52 @@
+package io.github.tbarland.obscura.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/** One call to a public {@code StoryService} method, emitted by {@link StoryOperationRecorder}. */
+@Name(StoryOperationEvent.NAME)
+@Label("Story Operation")
+@Category({"Obscura", "Story Service"})
+@Description("A call to a StoryService method, with the database time it took")
+@StackTrace(false)
+class StoryOperationEvent extends Event {
+
+  static final String NAME = "obscura.StoryOperation";
+
+  @Label("Operation")
+  String operation;
+
+  @Label("Story Id")
+  @Description("The story the operation addressed by id, or 0")
+  long storyId;
+
+  @Label("Stories")
+  @Description("Stories returned, or written when nothing is returned")
+  int stories;
+
+  @Label("Content Length")
+  @Description("Characters of story content read or written")
+  long contentLength;
+
+  @Label("Tags")
+  int tagCount;
+
+  @Label("Database Time")
+  @Timespan(Timespan.NANOSECONDS)
+  long dbDuration;
+
+  @Label("Statements")
+  int statements;
+
+  @Label("Cache Hit")
+  @Description("Completed without running SQL, so served from the second-level cache")
+  boolean cacheHit;
+
+  @Label("Failed")
+  boolean failed;
+}
@@ -0,0 +1,93 @@
+package io.github.tbarland.obscura.observability;
+
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import java.util.List;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Emits a {@link StoryOperationEvent} around each intercepted {@code StoryService} call. When no
+ * recording enables the event, a call costs one check of {@link jdk.jfr.Event#isEnabled()}; the
+ * fields are only filled in for events that will be committed.
+ *
+ * <p>Advises outside the transaction, so SQL flushed at commit counts towards the database time.
+ * Stories and content are counted from the returned stories, or from the requests when nothing is
+ * returned.
+ */
+public class StoryOperationRecorder implements MethodInterceptor {
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    StoryOperationEvent event = new StoryOperationEvent();
+    if (!event.isEnabled()) {
+      return invocation.proceed();
+    }
+    SqlClock clock = SqlClock.current();
+    long nanos = clock.nanos();
+    int statements = clock.statements();
+    Object result = null;
+    boolean failed = true;
+    event.begin();
+    try {
+      result = invocation.proceed();
+      failed = false;
+      return result;
+    } finally {
+      event.end();
+      if (event.shouldCommit()) {
+        event.operation = invocation.getMethod().getName();
+        event.dbDuration = clock.nanos() - nanos;
+        event.statements = clock.statements() - statements;
+        event.cacheHit = !failed && event.statements == 0;
+        event.failed = failed;
+        describe(event, invocation, result);
+        event.commit();
+      }
+    }
+  }
+
+  private static void describe(
+      StoryOperationEvent event, MethodInvocation invocation, Object result) {
+    Class<?>[] types = invocation.getMethod().getParameterTypes();
+    Object[] arguments = invocation.getArguments();
+    for (int i = 0; i < arguments.length; i++) {
+      // Boxed ids only: getStoriesAfter takes a primitive cursor, not a story id
+      if (types[i] == Long.class && arguments[i] != null) {
+        event.storyId = (Long) arguments[i];
+      }
+    }
+    if (count(event, result)) {
+      return;
+    }
+    for (Object argument : arguments) {
+      count(event, argument);
+    }
+  }
+
+  /** Adds the stories in {@code value} to the event; false if it holds none. */
+  private static boolean count(StoryOperationEvent event, Object value) {
+    if (value instanceof StoryResponseDto story) {
+      add(event, story.content(), story.tags());
+      return true;
+    }
+    if (value instanceof StoryRequestDto story) {
+      add(event, story.content(), story.tags());
+      return true;
+    }
+    if (value instanceof List<?> list) {
+      boolean counted = false;
+      for (Object element : list) {
+        counted |= count(event, element);
+      }
+      return counted;
+    }
+    return false;
+  }
+
+  private static void add(StoryOperationEvent event, String content, List<String> tags) {
+    event.stories++;
+    event.contentLength += content != null ? content.length() : 0;
+    event.tagCount += tags != null ? tags.size() : 0;
+  }
+}
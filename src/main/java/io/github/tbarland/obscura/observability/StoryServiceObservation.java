@@ -0,0 +1,32 @@
+package io.github.tbarland.obscura.observability;
+
+import io.micrometer.observation.Observation;
+import io.micrometer.observation.ObservationRegistry;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Observes each intercepted {@code StoryService} call as {@value #NAME}, which becomes a span named
+ * after the method (and a timer tagged with it). Statements the call runs, including those flushed
+ * at commit, are traced as its children by {@link SqlTracingListener}.
+ */
+public class StoryServiceObservation implements MethodInterceptor {
+
+  public static final String NAME = "obscura.story.service";
+
+  private final Supplier<ObservationRegistry> observationRegistry;
+
+  public StoryServiceObservation(Supplier<ObservationRegistry> observationRegistry) {
+    this.observationRegistry = observationRegistry;
+  }
+
+  @Override
+  public Object invoke(MethodInvocation invocation) throws Throwable {
+    String operation = invocation.getMethod().getName();
+    return Observation.createNotStarted(NAME, observationRegistry.get())
+        .contextualName("StoryService." + operation)
+        .lowCardinalityKeyValue("operation", operation)
+        .observeChecked(invocation::proceed);
+  }
+}
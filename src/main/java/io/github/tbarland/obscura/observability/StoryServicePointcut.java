@@ -0,0 +1,18 @@
+package io.github.tbarland.obscura.observability;
+
+import io.github.tbarland.obscura.service.StoryService;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import org.springframework.aop.support.StaticMethodMatcherPointcut;
+import org.springframework.lang.NonNull;
+
+/** The public methods of {@link StoryService}, the operations that events and spans describe. */
+public class StoryServicePointcut extends StaticMethodMatcherPointcut {
+
+  @Override
+  public boolean matches(@NonNull Method method, @NonNull Class<?> targetClass) {
+    return StoryService.class.isAssignableFrom(targetClass)
+        && method.getDeclaringClass() == StoryService.class
+        && Modifier.isPublic(method.getModifiers());
+  }
+}
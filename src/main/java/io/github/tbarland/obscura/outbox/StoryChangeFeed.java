@@ -0,0 +1,198 @@
+package io.github.tbarland.obscura.outbox;
+
+import io.github.tbarland.obscura.config.OutboxProperties;
+import io.github.tbarland.obscura.dto.StoryChangeEventDto;
+import io.github.tbarland.obscura.model.StoryOutboxEvent;
+import io.github.tbarland.obscura.repository.StoryOutboxRepository;
+import java.io.IOException;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * In-process change sink backing the Server-Sent Events change feed.
+ *
+ * <p>Each subscriber gets its own virtual thread that first replays published events after the
+ * requested sequence from the outbox table, then streams live events dispatched by the relay after
+ * commit. Live events are de-duplicated and gap-checked by sequence; any gap (or an idle second,
+ * which also covers events relayed by other nodes) is filled from the table, so subscribers see
+ * every event exactly once and in order. A subscriber that falls more than {@code
+ * subscriberBufferSize} events behind is disconnected and can resume with Last-Event-ID.
+ */
+@Component
+public class StoryChangeFeed implements StoryChangeSink, DisposableBean {
+
+  private static final long IDLE_POLL_MILLIS = 1_000;
+  private static final long KEEP_ALIVE_NANOS = TimeUnit.SECONDS.toNanos(15);
+
+  private final StoryOutboxRepository outboxRepository;
+  private final StoryOutbox storyOutbox;
+  private final OutboxProperties properties;
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+  public StoryChangeFeed(
+      StoryOutboxRepository outboxRepository,
+      StoryOutbox storyOutbox,
+      OutboxProperties properties) {
+    this.outboxRepository = outboxRepository;
+    this.storyOutbox = storyOutbox;
+    this.properties = properties;
+  }
+
+  /**
+   * Opens a feed resuming after {@code afterSequence}; null starts from the current end of the feed
+   * without replay.
+   */
+  public SseEmitter subscribe(Long afterSequence) {
+    SseEmitter emitter = new SseEmitter(properties.feedTimeout().toMillis());
+    long after =
+        afterSequence != null ? afterSequence : outboxRepository.findMaxSequenceNumber().orElse(0L);
+    Subscriber subscriber =
+        new Subscriber(emitter, new LinkedBlockingQueue<>(properties.subscriberBufferSize()));
+
+    subscribers.add(subscriber);
+    emitter.onCompletion(() -> close(subscriber));
+    emitter.onTimeout(() -> close(subscriber));
+    emitter.onError(ex -> close(subscriber));
+    subscriber.task = executor.submit(() -> stream(subscriber, after));
+    return emitter;
+  }
+
+  @Override
+  public void publish(List<StoryChangeEventDto> batch) {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.registerSynchronization(
+          new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+              dispatch(batch);
+            }
+          });
+    } else {
+      dispatch(batch);
+    }
+  }
+
+  public int subscriberCount() {
+    return subscribers.size();
+  }
+
+  @Override
+  public void destroy() {
+    subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    executor.shutdownNow();
+  }
+
+  private void dispatch(List<StoryChangeEventDto> batch) {
+    for (Subscriber subscriber : subscribers) {
+      for (StoryChangeEventDto event : batch) {
+        if (!subscriber.queue.offer(event)) {
+          subscriber.emitter.completeWithError(
+              new IllegalStateException("Change feed subscriber fell too far behind"));
+          break;
+        }
+      }
+    }
+  }
+
+  private void stream(Subscriber subscriber, long after) {
+    long last = after;
+    long lastSentNanos = System.nanoTime();
+    try {
+      Long oldest = outboxRepository.findMinSequenceNumber().orElse(null);
+      if (oldest != null && last + 1 < oldest) {
+        subscriber.emitter.send(SseEmitter.event().name("reset").data(Long.toString(oldest - 1)));
+      }
+      last = replay(subscriber, last);
+
+      while (!Thread.currentThread().isInterrupted()) {
+        StoryChangeEventDto event = subscriber.queue.poll(IDLE_POLL_MILLIS, TimeUnit.MILLISECONDS);
+        if (event == null || event.sequence() > last + 1) {
+          long caughtUp = replay(subscriber, last);
+          if (caughtUp != last) {
+            last = caughtUp;
+            lastSentNanos = System.nanoTime();
+          } else if (System.nanoTime() - lastSentNanos > KEEP_ALIVE_NANOS) {
+            subscriber.emitter.send(SseEmitter.event().comment("keep-alive"));
+            lastSentNanos = System.nanoTime();
+          }
+        }
+        if (event != null && event.sequence() == last + 1) {
+          send(subscriber, event);
+          last = event.sequence();
+          lastSentNanos = System.nanoTime();
+        }
+      }
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    } catch (IOException | IllegalStateException ex) {
+      subscriber.emitter.completeWithError(ex);
+    } finally {
+      subscribers.remove(subscriber);
+    }
+  }
+
+  private long replay(Subscriber subscriber, long after) throws IOException {
+    long last = after;
+    List<StoryOutboxEvent> page;
+    do {
+      page =
+          outboxRepository.findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(
+              last, Limit.of(properties.batchSize()));
+      for (StoryOutboxEvent row : page) {
+        send(
+            subscriber,
+            new StoryChangeEventDto(
+                row.getSequenceNumber(),
+                row.getStoryId(),
+                row.getEventType(),
+                storyOutbox.readPayload(row),
+                row.getCreatedAt()));
+        last = row.getSequenceNumber();
+      }
+    } while (page.size() == properties.batchSize());
+    return last;
+  }
+
+  private static void send(Subscriber subscriber, StoryChangeEventDto event) throws IOException {
+    subscriber.emitter.send(
+        SseEmitter.event()
+            .id(Long.toString(event.sequence()))
+            .name(event.type().name().toLowerCase(Locale.ROOT))
+            .data(event, MediaType.APPLICATION_JSON));
+  }
+
+  private void close(Subscriber subscriber) {
+    subscribers.remove(subscriber);
+    Future<?> task = subscriber.task;
+    if (task != null) {
+      task.cancel(true);
+    }
+  }
+
+  private static final class Subscriber {
+    private final SseEmitter emitter;
+    private final BlockingQueue<StoryChangeEventDto> queue;
+    private volatile Future<?> task;
+
+    private Subscriber(SseEmitter emitter, BlockingQueue<StoryChangeEventDto> queue) {
+      this.emitter = emitter;
+      this.queue = queue;
+    }
+  }
+}
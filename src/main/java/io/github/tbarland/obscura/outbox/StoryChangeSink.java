@@ -0,0 +1,15 @@
+package io.github.tbarland.obscura.outbox;
+
+import io.github.tbarland.obscura.dto.StoryChangeEventDto;
+import java.util.List;
+
+/**
+ * Destination for published story changes. Every sink bean receives every batch, in sequence order,
+ * from inside the relay's transaction: throwing rolls the batch back so it is redelivered to all
+ * sinks on the next run. Delivery is therefore at-least-once and consumers should de-duplicate on
+ * {@link StoryChangeEventDto#sequence()}.
+ */
+public interface StoryChangeSink {
+
+  void publish(List<StoryChangeEventDto> batch);
+}
@@ -0,0 +1,12 @@
+package io.github.tbarland.obscura.outbox;
+
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.model.StoryChangeType;
+
+/**
+ * In-process notification of a story mutation, published by {@link StoryOutbox#record} inside the
+ * mutating transaction. Listeners that must only see committed changes (cache invalidation, derived
+ * indexes) use {@code @TransactionalEventListener(phase = AFTER_COMMIT)}. {@code story} is null for
+ * deletes.
+ */
+public record StoryChangedEvent(StoryChangeType type, Long storyId, StoryResponseDto story) {}
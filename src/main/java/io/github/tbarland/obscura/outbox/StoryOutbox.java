@@ -0,0 +1,117 @@
+package io.github.tbarland.obscura.outbox;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.model.StoryChangeType;
+import io.github.tbarland.obscura.model.StoryOutboxEvent;
+import io.github.tbarland.obscura.repository.StoryOutboxRepository;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Records story mutations in the outbox table. Must run inside the mutation's transaction so the
+ * change and its event commit or roll back together. Also publishes a {@link StoryChangedEvent} for
+ * in-process listeners.
+ */
+@Component
+public class StoryOutbox {
+
+  private final StoryOutboxRepository outboxRepository;
+  private final ObjectMapper objectMapper;
+  private final ApplicationEventPublisher eventPublisher;
+  private final JdbcTemplate jdbcTemplate;
+
+  public StoryOutbox(
+      StoryOutboxRepository outboxRepository,
+      ObjectMapper objectMapper,
+      ApplicationEventPublisher eventPublisher,
+      DataSource dataSource) {
+    this.outboxRepository = outboxRepository;
+    this.objectMapper = objectMapper;
+    this.eventPublisher = eventPublisher;
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+  }
+
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void record(StoryChangeType type, Long storyId, StoryResponseDto story) {
+    outboxRepository.save(new StoryOutboxEvent(storyId, type, toJson(story), LocalDateTime.now()));
+    eventPublisher.publishEvent(new StoryChangedEvent(type, storyId, story));
+  }
+
+  /**
+   * Records the same kind of change for many stories with one JDBC batch, for bulk writers that
+   * bypass JPA. Joins the caller's transaction like {@link #record}.
+   */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordAll(StoryChangeType type, List<StoryResponseDto> stories) {
+    if (stories.isEmpty()) {
+      return;
+    }
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO story_outbox (story_id, event_type, payload, created_at) VALUES (?, ?, ?, ?)",
+        stories,
+        stories.size(),
+        (statement, story) -> {
+          statement.setLong(1, story.id());
+          statement.setString(2, type.name());
+          statement.setString(3, toJson(story));
+          statement.setTimestamp(4, now);
+        });
+    for (StoryResponseDto story : stories) {
+      eventPublisher.publishEvent(new StoryChangedEvent(type, story.id(), story));
+    }
+  }
+
+  /** Records deletes of many stories with one JDBC batch, like {@link #recordAll}. */
+  @Transactional(propagation = Propagation.MANDATORY)
+  public void recordDeleted(List<Long> storyIds) {
+    if (storyIds.isEmpty()) {
+      return;
+    }
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.batchUpdate(
+        "INSERT INTO story_outbox (story_id, event_type, payload, created_at)"
+            + " VALUES (?, ?, NULL, ?)",
+        storyIds,
+        storyIds.size(),
+        (statement, storyId) -> {
+          statement.setLong(1, storyId);
+          statement.setString(2, StoryChangeType.DELETED.name());
+          statement.setTimestamp(3, now);
+        });
+    for (Long storyId : storyIds) {
+      eventPublisher.publishEvent(new StoryChangedEvent(StoryChangeType.DELETED, storyId, null));
+    }
+  }
+
+  StoryResponseDto readPayload(StoryOutboxEvent event) {
+    if (event.getPayload() == null) {
+      return null;
+    }
+    try {
+      return objectMapper.readValue(event.getPayload(), StoryResponseDto.class);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Unreadable outbox payload for event " + event.getId(), ex);
+    }
+  }
+
+  private String toJson(StoryResponseDto story) {
+    if (story == null) {
+      return null;
+    }
+    try {
+      return objectMapper.writeValueAsString(story);
+    } catch (JsonProcessingException ex) {
+      throw new IllegalStateException("Could not serialize story " + story.id(), ex);
+    }
+  }
+}
@@ -0,0 +1,123 @@
+package io.github.tbarland.obscura.outbox;
+
+import io.github.tbarland.obscura.config.OutboxProperties;
+import io.github.tbarland.obscura.dto.StoryChangeEventDto;
+import io.github.tbarland.obscura.model.StoryOutboxEvent;
+import io.github.tbarland.obscura.repository.StoryOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Publishes unpublished outbox rows to every {@link StoryChangeSink} in batches.
+ *
+ * <p>Each batch is locked, stamped with consecutive sequence numbers, flushed and handed to the
+ * sinks in one transaction. Concurrent relays on other nodes block on the row locks and then skip
+ * the rows already published, and the unique constraint on sequence_number rejects any race on the
+ * numbering. Published rows are purged once older than {@code obscura.outbox.retention}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "obscura.outbox", name = "relay-enabled", matchIfMissing = true)
+public class StoryOutboxRelay implements SchedulingConfigurer {
+
+  private static final Logger log = LoggerFactory.getLogger(StoryOutboxRelay.class);
+
+  private final StoryOutboxRepository outboxRepository;
+  private final StoryOutbox storyOutbox;
+  private final List<StoryChangeSink> sinks;
+  private final OutboxProperties properties;
+  private final TransactionTemplate transactionTemplate;
+  private final Counter publishedCounter;
+  private volatile long lastPurgeNanos = System.nanoTime();
+
+  public StoryOutboxRelay(
+      StoryOutboxRepository outboxRepository,
+      StoryOutbox storyOutbox,
+      List<StoryChangeSink> sinks,
+      OutboxProperties properties,
+      PlatformTransactionManager transactionManager,
+      MeterRegistry meterRegistry) {
+    this.outboxRepository = outboxRepository;
+    this.storyOutbox = storyOutbox;
+    this.sinks = sinks;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.publishedCounter =
+        Counter.builder("obscura.outbox.published")
+            .description("Story change events published to sinks")
+            .register(meterRegistry);
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar registrar) {
+    registrar.addFixedDelayTask(this::runSafely, properties.relayInterval());
+  }
+
+  /** Publishes everything pending and returns the number of events published. */
+  public int relay() {
+    int total = 0;
+    Integer published;
+    do {
+      published = transactionTemplate.execute(status -> publishBatch());
+      total += published != null ? published : 0;
+    } while (published != null && published == properties.batchSize());
+
+    if (System.nanoTime() - lastPurgeNanos > 60_000_000_000L) {
+      lastPurgeNanos = System.nanoTime();
+      transactionTemplate.executeWithoutResult(
+          status ->
+              outboxRepository.deletePublishedBefore(
+                  LocalDateTime.now().minus(properties.retention())));
+    }
+    return total;
+  }
+
+  private int publishBatch() {
+    List<StoryOutboxEvent> pending =
+        outboxRepository.findByPublishedAtIsNullOrderByIdAsc(Limit.of(properties.batchSize()));
+    if (pending.isEmpty()) {
+      return 0;
+    }
+
+    long sequence = outboxRepository.findMaxSequenceNumber().orElse(0L);
+    LocalDateTime now = LocalDateTime.now();
+    List<StoryChangeEventDto> batch = new ArrayList<>(pending.size());
+    for (StoryOutboxEvent event : pending) {
+      event.setSequenceNumber(++sequence);
+      event.setPublishedAt(now);
+      batch.add(
+          new StoryChangeEventDto(
+              sequence,
+              event.getStoryId(),
+              event.getEventType(),
+              storyOutbox.readPayload(event),
+              event.getCreatedAt()));
+    }
+    outboxRepository.saveAllAndFlush(pending);
+
+    for (StoryChangeSink sink : sinks) {
+      sink.publish(batch);
+    }
+    publishedCounter.increment(batch.size());
+    return batch.size();
+  }
+
+  private void runSafely() {
+    try {
+      relay();
+    } catch (RuntimeException ex) {
+      log.warn("Story outbox relay failed, will retry: {}", ex.getMessage());
+    }
+  }
+}
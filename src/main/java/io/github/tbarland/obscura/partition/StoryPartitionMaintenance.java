@@ -0,0 +1,97 @@
+package io.github.tbarland.obscura.partition;
+
+import io.github.tbarland.obscura.config.StoryPartitionProperties;
+import java.time.Clock;
+import java.time.YearMonth;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/**
+ * Keeps monthly story partitions created ahead of time and, when retention is configured, drops
+ * partitions that have aged out. Retention is a metadata-only DROP TABLE rather than a large
+ * DELETE. Runs once at startup and then on {@code obscura.partitioning.check-interval}.
+ */
+@Component
+@ConditionalOnProperty(prefix = "obscura.partitioning", name = "enabled")
+public class StoryPartitionMaintenance implements SchedulingConfigurer {
+
+  private static final Logger log = LoggerFactory.getLogger(StoryPartitionMaintenance.class);
+
+  private final StoryPartitionManager partitionManager;
+  private final StoryPartitionProperties properties;
+  private final Clock clock;
+
+  @Autowired
+  public StoryPartitionMaintenance(
+      StoryPartitionManager partitionManager, StoryPartitionProperties properties) {
+    this(partitionManager, properties, Clock.systemDefaultZone());
+  }
+
+  StoryPartitionMaintenance(
+      StoryPartitionManager partitionManager, StoryPartitionProperties properties, Clock clock) {
+    this.partitionManager = partitionManager;
+    this.properties = properties;
+    this.clock = clock;
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar registrar) {
+    registrar.addFixedDelayTask(this::runSafely, properties.checkInterval());
+  }
+
+  public void maintain() {
+    if (!partitionManager.isPartitioned()) {
+      log.warn("Partition maintenance is enabled but the story table is not partitioned");
+      return;
+    }
+
+    YearMonth current = YearMonth.now(clock);
+    List<YearMonth> existing = partitionManager.listMonthlyPartitions();
+    Set<YearMonth> present = new HashSet<>(existing);
+
+    for (int i = 0; i <= properties.monthsAhead(); i++) {
+      YearMonth month = current.plusMonths(i);
+      if (!present.contains(month)) {
+        partitionManager.createPartition(month);
+        log.info("Created story partition for {}", month);
+      }
+    }
+
+    if (properties.retentionMonths() > 0) {
+      YearMonth oldestKept = current.minusMonths(properties.retentionMonths());
+      for (YearMonth month : existing) {
+        if (month.isBefore(oldestKept)) {
+          partitionManager.dropPartition(month);
+          log.info(
+              "Dropped story partition for {} (retention {} months)",
+              month,
+              properties.retentionMonths());
+        }
+      }
+    }
+
+    long strays = partitionManager.countDefaultPartitionRows();
+    if (strays > 0) {
+      log.warn(
+          "{} stories landed in the default partition; they will block creating a partition for"
+              + " their month until moved",
+          strays);
+    }
+  }
+
+  private void runSafely() {
+    try {
+      maintain();
+    } catch (RuntimeException ex) {
+      log.error("Story partition maintenance failed", ex);
+    }
+  }
+}
@@ -0,0 +1,121 @@
+package io.github.tbarland.obscura.partition;
+
+import io.github.tbarland.obscura.cache.StoryEntityCache;
+import io.github.tbarland.obscura.outbox.StoryOutbox;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * DDL access to the monthly partitions of the PostgreSQL story table. Partitions are named {@code
+ * story_pYYYYMM} and cover {@code [first day of month, first day of next month)} of created_at.
+ */
+@Repository
+public class StoryPartitionManager {
+
+  private static final Pattern PARTITION_NAME = Pattern.compile("story_p(\\d{4})(\\d{2})");
+  private static final DateTimeFormatter SUFFIX = DateTimeFormatter.ofPattern("yyyyMM");
+
+  private final JdbcTemplate jdbcTemplate;
+  private final StoryEntityCache storyEntityCache;
+  private final StoryOutbox storyOutbox;
+
+  public StoryPartitionManager(
+      JdbcTemplate jdbcTemplate, StoryEntityCache storyEntityCache, StoryOutbox storyOutbox) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.storyEntityCache = storyEntityCache;
+    this.storyOutbox = storyOutbox;
+  }
+
+  public boolean isPartitioned() {
+    Integer count =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_partitioned_table pt "
+                + "JOIN pg_class c ON c.oid = pt.partrelid "
+                + "WHERE c.relname = 'story' AND c.relnamespace = current_schema()::regnamespace",
+            Integer.class);
+    return count != null && count > 0;
+  }
+
+  public List<YearMonth> listMonthlyPartitions() {
+    return jdbcTemplate
+        .queryForList(
+            "SELECT child.relname FROM pg_inherits i "
+                + "JOIN pg_class parent ON parent.oid = i.inhparent "
+                + "JOIN pg_class child ON child.oid = i.inhrelid "
+                + "WHERE parent.relname = 'story' "
+                + "AND parent.relnamespace = current_schema()::regnamespace",
+            String.class)
+        .stream()
+        .map(StoryPartitionManager::parseMonth)
+        .filter(Objects::nonNull)
+        .sorted()
+        .toList();
+  }
+
+  public void createPartition(YearMonth month) {
+    jdbcTemplate.execute(
+        "CREATE TABLE IF NOT EXISTS "
+            + partitionName(month)
+            + " PARTITION OF story FOR VALUES FROM ('"
+            + month.atDay(1)
+            + "') TO ('"
+            + month.plusMonths(1).atDay(1)
+            + "')");
+  }
+
+  /**
+   * Drops a whole month of stories. Tags are removed first because dropping a partition bypasses
+   * the row-level delete trigger that normally cascades to story_tags. Hibernate does not see these
+   * deletes, so its second-level and query caches are cleared once they commit. Each dropped story
+   * is recorded in the outbox as deleted, so the change feed and the listeners keeping the rendered
+   * cache, view counts, trending and similar/duplicate indexes see it like any delete, and other
+   * nodes evict it from their caches when the rendered cache broadcasts the delete.
+   */
+  @Transactional
+  public void dropPartition(YearMonth month) {
+    String partition = partitionName(month);
+    storyOutbox.recordDeleted(
+        jdbcTemplate.queryForList("SELECT id FROM " + partition + " ORDER BY id", Long.class));
+    // Syncing clients learn about expired stories through tombstones like any other delete
+    jdbcTemplate.update(
+        "INSERT INTO story_tombstone (story_id, deleted_at) SELECT id, LOCALTIMESTAMP FROM "
+            + partition
+            + " ON CONFLICT (story_id) DO NOTHING");
+    jdbcTemplate.update(
+        "DELETE FROM story_tags t USING " + partition + " p WHERE t.story_id = p.id");
+    jdbcTemplate.execute("DROP TABLE IF EXISTS " + partition);
+    TransactionSynchronizationManager.registerSynchronization(
+        new TransactionSynchronization() {
+          @Override
+          public void afterCommit() {
+            storyEntityCache.evictAll();
+          }
+        });
+  }
+
+  public long countDefaultPartitionRows() {
+    Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM story_default", Long.class);
+    return count != null ? count : 0;
+  }
+
+  static String partitionName(YearMonth month) {
+    return "story_p" + month.format(SUFFIX);
+  }
+
+  static YearMonth parseMonth(String partitionName) {
+    Matcher matcher = PARTITION_NAME.matcher(partitionName);
+    if (!matcher.matches()) {
+      return null;
+    }
+    return YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2)));
+  }
+}
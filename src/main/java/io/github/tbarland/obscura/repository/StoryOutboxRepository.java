@@ -0,0 +1,34 @@
+package io.github.tbarland.obscura.repository;
+
+import io.github.tbarland.obscura.model.StoryOutboxEvent;
+import jakarta.persistence.LockModeType;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StoryOutboxRepository extends JpaRepository<StoryOutboxEvent, Long> {
+
+  @Lock(LockModeType.PESSIMISTIC_WRITE)
+  List<StoryOutboxEvent> findByPublishedAtIsNullOrderByIdAsc(Limit limit);
+
+  List<StoryOutboxEvent> findBySequenceNumberGreaterThanOrderBySequenceNumberAsc(
+      Long sequenceNumber, Limit limit);
+
+  @Query("select max(e.sequenceNumber) from StoryOutboxEvent e")
+  Optional<Long> findMaxSequenceNumber();
+
+  @Query("select min(e.sequenceNumber) from StoryOutboxEvent e")
+  Optional<Long> findMinSequenceNumber();
+
+  @Modifying
+  @Query("delete from StoryOutboxEvent e where e.publishedAt < :cutoff")
+  int deletePublishedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
@@ -1,8 +1,67 @@
 package io.github.tbarland.obscura.repository;
 
 import io.github.tbarland.obscura.model.Story;
+import jakarta.persistence.QueryHint;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface StoryRepository extends JpaRepository<Story, Long> {}
+public interface StoryRepository extends JpaRepository<Story, Long> {
+
+  /** Query cache region for finder results; invalidated by any write to the story table. */
+  String QUERY_CACHE_REGION = "story-queries";
+
+  @Override
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+  })
+  List<Story> findAll();
+
+  @QueryHints({
+    @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+    @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+  })
+  List<Story> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+  /** Part of a story's content, cut in SQL so only the requested characters are transferred. */
+  interface ContentSlice {
+    int getTotalLength();
+
+    String getText();
+  }
+
+  /** {@code length} characters of content from 1-based position {@code start}. */
+  @Query(
+      """
+      select s.contentLength as totalLength, substring(s.content, :start, :length) as text
+      from Story s where s.id = :id
+      """)
+  Optional<ContentSlice> findContentSlice(
+      @Param("id") Long id, @Param("start") int start, @Param("length") int length);
+
+  @Query("select s.contentLength from Story s where s.id = :id")
+  Optional<Integer> findContentLength(@Param("id") Long id);
+
+  /** Keyset page of stories changed after ({@code updatedAt}, {@code id}), up to the horizon. */
+  @Query(
+      """
+      select s from Story s
+      where s.updatedAt >= :updatedAt and s.updatedAt <= :horizon
+        and (s.updatedAt > :updatedAt or s.id > :id)
+      order by s.updatedAt, s.id
+      """)
+  List<Story> findChangedAfter(
+      @Param("updatedAt") LocalDateTime updatedAt,
+      @Param("id") Long id,
+      @Param("horizon") LocalDateTime horizon,
+      Limit limit);
+}
@@ -0,0 +1,34 @@
+package io.github.tbarland.obscura.repository;
+
+import io.github.tbarland.obscura.model.StoryTombstone;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+@Repository
+public interface StoryTombstoneRepository extends JpaRepository<StoryTombstone, Long> {
+
+  @Query(
+      """
+      select t from StoryTombstone t
+      where t.deletedAt >= :deletedAt and t.deletedAt <= :horizon
+        and (t.deletedAt > :deletedAt or t.storyId > :storyId)
+      order by t.deletedAt, t.storyId
+      """)
+  List<StoryTombstone> findDeletedAfter(
+      @Param("deletedAt") LocalDateTime deletedAt,
+      @Param("storyId") Long storyId,
+      @Param("horizon") LocalDateTime horizon,
+      Limit limit);
+
+  @Transactional
+  @Modifying
+  @Query("delete from StoryTombstone t where t.deletedAt < :cutoff")
+  int deleteDeletedBefore(@Param("cutoff") LocalDateTime cutoff);
+}
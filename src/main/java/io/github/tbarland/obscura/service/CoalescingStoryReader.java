@@ -0,0 +1,73 @@
+package io.github.tbarland.obscura.service;
+
+import io.github.tbarland.obscura.config.CoalescingProperties;
+import io.github.tbarland.obscura.datasource.ReplicaRoutingContext;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Single-flight front for {@link StoryService#getStoryById}: concurrent requests for the same id
+ * share one database load. Sits outside the service's transaction so waiting requests do not hold a
+ * connection. Requests pinned to the primary by {@link ReplicaRoutingContext} (a client that just
+ * wrote) only join loads that also read the primary, never one that may have read a lagging
+ * replica.
+ *
+ * <p>Publishes {@code obscura.story.reads} counters tagged {@code outcome=load|coalesced|timeout}.
+ */
+@Service
+public class CoalescingStoryReader {
+
+  private final StoryService storyService;
+  private final Duration maxWait;
+  private final SingleFlight<Read, StoryResponseDto> singleFlight = new SingleFlight<>();
+
+  /** What a load is shared on: the story and whether it reads the primary. */
+  record Read(long id, boolean primary) {}
+
+  public CoalescingStoryReader(
+      StoryService storyService, CoalescingProperties properties, MeterRegistry meterRegistry) {
+    this.storyService = storyService;
+    this.maxWait = properties.maxWait();
+
+    FunctionCounter.builder("obscura.story.reads", singleFlight, SingleFlight::loads)
+        .tag("outcome", "load")
+        .description("Story reads that hit the database")
+        .register(meterRegistry);
+    FunctionCounter.builder("obscura.story.reads", singleFlight, SingleFlight::coalesced)
+        .tag("outcome", "coalesced")
+        .description("Story reads that joined another request's in-flight load")
+        .register(meterRegistry);
+    FunctionCounter.builder("obscura.story.reads", singleFlight, SingleFlight::timeouts)
+        .tag("outcome", "timeout")
+        .description("Coalesced story reads that gave up waiting")
+        .register(meterRegistry);
+    Gauge.builder("obscura.story.reads.in.flight", singleFlight, SingleFlight::inFlight)
+        .description("Distinct story ids currently being loaded")
+        .register(meterRegistry);
+  }
+
+  public StoryResponseDto getStoryById(Long id) {
+    try {
+      Read read = new Read(id, ReplicaRoutingContext.isPrimaryForced());
+      return singleFlight.execute(read, () -> storyService.getStoryById(id), maxWait);
+    } catch (TimeoutException ex) {
+      throw new ResponseStatusException(
+          HttpStatus.SERVICE_UNAVAILABLE, "Timed out waiting for story with id: " + id);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+      throw new ResponseStatusException(
+          HttpStatus.SERVICE_UNAVAILABLE, "Interrupted while loading story with id: " + id);
+    }
+  }
+
+  SingleFlight<Read, StoryResponseDto> singleFlight() {
+    return singleFlight;
+  }
+}
@@ -0,0 +1,87 @@
+package io.github.tbarland.obscura.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent loads of the same key into one.
+ *
+ * <p>The first caller for a key runs the loader on its own thread; callers arriving while that load
+ * is in flight wait on the same future instead of loading again. Waiters are bounded by a timeout
+ * and never cancel the shared future, so a waiter giving up cannot fail the load for the others.
+ * Failures are propagated to every waiter and are not cached: the next call loads again.
+ */
+public class SingleFlight<K, V> {
+
+  private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+  private final LongAdder loads = new LongAdder();
+  private final LongAdder coalesced = new LongAdder();
+  private final LongAdder timeouts = new LongAdder();
+
+  public V execute(K key, Supplier<V> loader, Duration maxWait)
+      throws TimeoutException, InterruptedException {
+    CompletableFuture<V> created = new CompletableFuture<>();
+    CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+    if (existing == null) {
+      return load(key, created, loader);
+    }
+
+    coalesced.increment();
+    try {
+      return existing.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+    } catch (TimeoutException ex) {
+      timeouts.increment();
+      throw ex;
+    } catch (ExecutionException ex) {
+      throw propagate(ex.getCause());
+    }
+  }
+
+  private V load(K key, CompletableFuture<V> future, Supplier<V> loader) {
+    loads.increment();
+    try {
+      V value = loader.get();
+      future.complete(value);
+      return value;
+    } catch (RuntimeException | Error ex) {
+      future.completeExceptionally(ex);
+      throw ex;
+    } finally {
+      inFlight.remove(key, future);
+    }
+  }
+
+  private static RuntimeException propagate(Throwable cause) {
+    if (cause instanceof RuntimeException runtimeException) {
+      return runtimeException;
+    }
+    if (cause instanceof Error error) {
+      throw error;
+    }
+    return new CompletionException(cause);
+  }
+
+  public long loads() {
+    return loads.sum();
+  }
+
+  public long coalesced() {
+    return coalesced.sum();
+  }
+
+  public long timeouts() {
+    return timeouts.sum();
+  }
+
+  public int inFlight() {
+    return inFlight.size();
+  }
+}
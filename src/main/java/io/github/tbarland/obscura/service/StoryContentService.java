@@ -0,0 +1,120 @@
+package io.github.tbarland.obscura.service;
+
+import io.github.tbarland.obscura.archive.StoryArchive;
+import io.github.tbarland.obscura.config.StoryContentProperties;
+import io.github.tbarland.obscura.dto.StoryContentChunkDto;
+import io.github.tbarland.obscura.dto.StoryContentSlice;
+import io.github.tbarland.obscura.model.Story;
+import io.github.tbarland.obscura.repository.StoryRepository;
+import io.github.tbarland.obscura.web.CharRange;
+import io.github.tbarland.obscura.web.RangeNotSatisfiableException;
+import java.util.Optional;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Reads story content in pieces for clients that render long stories progressively. Slices are cut
+ * with SQL {@code SUBSTRING}, so neither the database response nor this service's memory grows with
+ * the length of the story. Offsets and lengths are in characters. Archived stories are the
+ * exception: their segment returns them whole and they are sliced here.
+ */
+@Service
+@Transactional(readOnly = true)
+public class StoryContentService {
+
+  private final StoryRepository storyRepository;
+  private final StoryArchive storyArchive;
+  private final StoryContentProperties properties;
+
+  public StoryContentService(
+      StoryRepository storyRepository,
+      StoryArchive storyArchive,
+      StoryContentProperties properties) {
+    this.storyRepository = storyRepository;
+    this.storyArchive = storyArchive;
+    this.properties = properties;
+  }
+
+  public StoryContentSlice getContent(Long id) {
+    return read(id, 0, Integer.MAX_VALUE);
+  }
+
+  /**
+   * Returns the requested range, shortened to {@code maxRangeLength} and to the end of the content;
+   * 416 when it starts at or beyond the end.
+   */
+  public StoryContentSlice getRange(Long id, CharRange range) {
+    long start;
+    long length;
+    if (range.isSuffix()) {
+      int total =
+          storyRepository
+              .findContentLength(id)
+              .or(() -> storyArchive.find(id).map(story -> Story.lengthOf(story.content())))
+              .orElseThrow(() -> notFound(id));
+      start = Math.max(0, total - range.last());
+      length = total - start;
+    } else {
+      start = range.first();
+      length = range.last() == null ? Long.MAX_VALUE : range.last() - range.first() + 1;
+    }
+    length = Math.min(length, properties.maxRangeLength());
+
+    StoryContentSlice slice = read(id, (int) Math.min(start, Integer.MAX_VALUE - 1), (int) length);
+    if (start >= slice.totalLength() || length == 0) {
+      throw new RangeNotSatisfiableException(slice.totalLength());
+    }
+    return slice;
+  }
+
+  public StoryContentChunkDto getChunk(Long id, int chunk) {
+    if (chunk < 0) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "chunk must not be negative");
+    }
+    int chunkSize = properties.chunkSize();
+    long start = (long) chunk * chunkSize;
+    StoryContentSlice slice = read(id, (int) Math.min(start, Integer.MAX_VALUE - 1), chunkSize);
+    int chunkCount = (int) ((slice.totalLength() + (long) chunkSize - 1) / chunkSize);
+    if (chunk >= chunkCount) {
+      throw new ResponseStatusException(
+          HttpStatus.NOT_FOUND,
+          "Story " + id + " has " + chunkCount + " content chunks; requested " + chunk);
+    }
+    return new StoryContentChunkDto(
+        id, chunk, chunkCount, slice.offset(), slice.totalLength(), slice.text());
+  }
+
+  private StoryContentSlice read(Long id, int offset, int length) {
+    // Keep the SQL end position (start + length) within int, or H2 returns an empty substring
+    int sqlLength = Math.min(length, Integer.MAX_VALUE - offset - 1);
+    Optional<StoryRepository.ContentSlice> slice =
+        storyRepository.findContentSlice(id, offset + 1, sqlLength);
+    if (slice.isEmpty()) {
+      return storyArchive
+          .find(id)
+          .map(story -> slice(id, story.content(), offset, length))
+          .orElseThrow(() -> notFound(id));
+    }
+    String text = slice.get().getText() != null ? slice.get().getText() : "";
+    return new StoryContentSlice(id, offset, slice.get().getTotalLength(), text);
+  }
+
+  /**
+   * Cuts an archived story, which its segment returns whole, the way SQL {@code SUBSTRING} would:
+   * in code points, shortened to the end of the content.
+   */
+  private static StoryContentSlice slice(Long id, String content, int offset, int length) {
+    String text = content != null ? content : "";
+    int total = Story.lengthOf(text);
+    int first = Math.min(offset, total);
+    int start = text.offsetByCodePoints(0, first);
+    int end = text.offsetByCodePoints(start, Math.min(length, total - first));
+    return new StoryContentSlice(id, offset, total, text.substring(start, end));
+  }
+
+  private static ResponseStatusException notFound(Long id) {
+    return new ResponseStatusException(HttpStatus.NOT_FOUND, "Story not found with id: " + id);
+  }
+}
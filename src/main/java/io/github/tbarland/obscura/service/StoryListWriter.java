@@ -0,0 +1,176 @@
+package io.github.tbarland.obscura.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import io.github.tbarland.obscura.web.StoryWireFormat;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.sql.Array;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import javax.sql.DataSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Writes the story list straight from the JDBC result set to the response through a streaming
+ * {@link JsonGenerator}, producing the same document as serializing {@link
+ * StoryService#getAllStories()} but without entities, DTOs, an intermediate list or a Jackson tree.
+ * Rows are fetched in pages (a server-side cursor on PostgreSQL, which is why this runs in a
+ * read-only transaction), so memory stays flat however large the catalog is.
+ *
+ * <p>Per row, the only garbage left is what the driver hands out (column strings, timestamps and
+ * the tags array); field names are pre-encoded and timestamps are formatted into a reused buffer.
+ */
+@Component
+public class StoryListWriter {
+
+  static final String SQL =
+      """
+      SELECT s.id, s.title, s.content, s.author, s.created_at, s.updated_at,
+             (SELECT ARRAY_AGG(t.tags) FROM story_tags t WHERE t.story_id = s.id) AS tags
+      FROM story s
+      ORDER BY s.id
+      """;
+
+  private static final int FETCH_SIZE = 500;
+
+  private static final SerializableString ID = new SerializedString("id");
+  private static final SerializableString TITLE = new SerializedString("title");
+  private static final SerializableString CONTENT = new SerializedString("content");
+  private static final SerializableString AUTHOR = new SerializedString("author");
+  private static final SerializableString TAGS = new SerializedString("tags");
+  private static final SerializableString CREATED_AT = new SerializedString("createdAt");
+  private static final SerializableString UPDATED_AT = new SerializedString("updatedAt");
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+
+  public StoryListWriter(DataSource dataSource, PlatformTransactionManager transactionManager) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+  }
+
+  /** Writes every story as an array in {@code format}; does not close {@code out}. */
+  public void writeAll(StoryWireFormat format, OutputStream out) throws IOException {
+    try (JsonGenerator generator = format.factory().createGenerator(out)) {
+      generator.writeStartArray();
+      try {
+        transactionTemplate.executeWithoutResult(
+            status -> jdbcTemplate.query(SQL, new RowWriter(generator)));
+      } catch (UncheckedIOException ex) {
+        throw ex.getCause();
+      }
+      generator.writeEndArray();
+    }
+  }
+
+  private static final class RowWriter implements RowCallbackHandler {
+    private final JsonGenerator generator;
+    private final char[] timestamp = new char[32];
+
+    private RowWriter(JsonGenerator generator) {
+      this.generator = generator;
+    }
+
+    @Override
+    public void processRow(ResultSet rs) throws SQLException {
+      try {
+        generator.writeStartObject();
+        generator.writeFieldName(ID);
+        generator.writeNumber(rs.getLong(1));
+        writeString(TITLE, rs.getString(2));
+        writeString(CONTENT, rs.getString(3));
+        writeString(AUTHOR, rs.getString(4));
+        generator.writeFieldName(TAGS);
+        writeTags(rs.getArray(7));
+        writeTimestamp(CREATED_AT, rs.getObject(5, LocalDateTime.class));
+        writeTimestamp(UPDATED_AT, rs.getObject(6, LocalDateTime.class));
+        generator.writeEndObject();
+      } catch (IOException ex) {
+        throw new UncheckedIOException(ex);
+      }
+    }
+
+    private void writeString(SerializableString name, String value) throws IOException {
+      generator.writeFieldName(name);
+      generator.writeString(value);
+    }
+
+    private void writeTags(Array tags) throws IOException, SQLException {
+      generator.writeStartArray();
+      if (tags != null) {
+        for (Object tag : (Object[]) tags.getArray()) {
+          generator.writeString((String) tag);
+        }
+        tags.free();
+      }
+      generator.writeEndArray();
+    }
+
+    private void writeTimestamp(SerializableString name, LocalDateTime value) throws IOException {
+      generator.writeFieldName(name);
+      if (value == null) {
+        generator.writeNull();
+        return;
+      }
+      int length = formatIsoLocalDateTime(value, timestamp);
+      if (length < 0) {
+        generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+      } else {
+        generator.writeString(timestamp, 0, length);
+      }
+    }
+  }
+
+  /**
+   * Formats like {@link DateTimeFormatter#ISO_LOCAL_DATE_TIME} (and therefore Jackson's default
+   * {@code LocalDateTime} serializer) into {@code buffer}, returning the length, or -1 for years
+   * outside 0000-9999 which that format renders with a sign.
+   */
+  static int formatIsoLocalDateTime(LocalDateTime value, char[] buffer) {
+    int year = value.getYear();
+    if (year < 0 || year > 9999) {
+      return -1;
+    }
+    int p = writeDigits(buffer, 0, year, 4);
+    buffer[p++] = '-';
+    p = writeDigits(buffer, p, value.getMonthValue(), 2);
+    buffer[p++] = '-';
+    p = writeDigits(buffer, p, value.getDayOfMonth(), 2);
+    buffer[p++] = 'T';
+    p = writeDigits(buffer, p, value.getHour(), 2);
+    buffer[p++] = ':';
+    p = writeDigits(buffer, p, value.getMinute(), 2);
+    buffer[p++] = ':';
+    p = writeDigits(buffer, p, value.getSecond(), 2);
+    int nanos = value.getNano();
+    if (nanos != 0) {
+      int digits = 9;
+      while (nanos % 10 == 0) {
+        nanos /= 10;
+        digits--;
+      }
+      buffer[p++] = '.';
+      p = writeDigits(buffer, p, nanos, digits);
+    }
+    return p;
+  }
+
+  private static int writeDigits(char[] buffer, int offset, int value, int width) {
+    for (int i = offset + width - 1; i >= offset; i--) {
+      buffer[i] = (char) ('0' + value % 10);
+      value /= 10;
+    }
+    return offset + width;
+  }
+}
@@ -1,11 +1,25 @@
 package io.github.tbarland.obscura.service;
 
+import io.github.tbarland.obscura.archive.StoryArchive;
+import io.github.tbarland.obscura.dedup.DuplicateDetector;
+import io.github.tbarland.obscura.dedup.DuplicateDetector.DuplicateMatch;
 import io.github.tbarland.obscura.dto.StoryRequestDto;
 import io.github.tbarland.obscura.dto.StoryResponseDto;
 import io.github.tbarland.obscura.model.Story;
+import io.github.tbarland.obscura.model.StoryChangeType;
+import io.github.tbarland.obscura.model.StoryTombstone;
+import io.github.tbarland.obscura.outbox.StoryOutbox;
 import io.github.tbarland.obscura.repository.StoryRepository;
+import io.github.tbarland.obscura.repository.StoryTombstoneRepository;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.data.domain.Limit;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -15,27 +29,71 @@ import org.springframework.web.server.ResponseStatusException;
 @Transactional(readOnly = true)
 public class StoryService {
   private final StoryRepository storyRepository;
+  private final StoryTombstoneRepository tombstoneRepository;
+  private final StoryOutbox storyOutbox;
+  private final DuplicateDetector duplicateDetector;
+  private final StoryArchive storyArchive;
 
-  public StoryService(StoryRepository storyRepository) {
+  public StoryService(
+      StoryRepository storyRepository,
+      StoryTombstoneRepository tombstoneRepository,
+      StoryOutbox storyOutbox,
+      DuplicateDetector duplicateDetector,
+      StoryArchive storyArchive) {
     this.storyRepository = storyRepository;
+    this.tombstoneRepository = tombstoneRepository;
+    this.storyOutbox = storyOutbox;
+    this.duplicateDetector = duplicateDetector;
+    this.storyArchive = storyArchive;
   }
 
   public List<StoryResponseDto> getAllStories() {
     return storyRepository.findAll().stream().map(this::toResponseDto).toList();
   }
 
+  /** Keyset page of stories in id order, for exports that walk the whole catalog. */
+  public List<StoryResponseDto> getStoriesAfter(long afterId, int limit) {
+    return storyRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(limit)).stream()
+        .map(this::toResponseDto)
+        .toList();
+  }
+
+  /** Story {@code id}, from the story table or, once it has been archived, from the archive. */
   public StoryResponseDto getStoryById(Long id) {
-    Story story =
-        storyRepository
-            .findById(id)
-            .orElseThrow(
-                () ->
-                    new ResponseStatusException(
-                        HttpStatus.NOT_FOUND, "Story not found with id: " + id));
+    return storyRepository
+        .findById(id)
+        .map(this::toResponseDto)
+        .or(() -> storyArchive.find(id))
+        .orElseThrow(
+            () ->
+                new ResponseStatusException(
+                    HttpStatus.NOT_FOUND, "Story not found with id: " + id));
+  }
 
-    return toResponseDto(story);
+  /**
+   * Stories for {@code ids} from a single id-IN query (tags are batch-fetched), in the order of
+   * {@code ids}. Ids missing from the story table are looked up in the archive; unknown ids are
+   * skipped rather than reported as errors.
+   */
+  public List<StoryResponseDto> getStoriesByIds(Collection<Long> ids) {
+    Map<Long, Story> found =
+        storyRepository.findAllById(ids).stream()
+            .collect(Collectors.toMap(Story::getId, Function.identity()));
+    return ids.stream()
+        .map(
+            id ->
+                Optional.ofNullable(found.get(id))
+                    .map(this::toResponseDto)
+                    .or(() -> storyArchive.find(id)))
+        .flatMap(Optional::stream)
+        .toList();
   }
 
+  /**
+   * Creates a story, unless its content duplicates an existing story and the duplicate policy says
+   * otherwise: {@code REJECT} fails with 409, {@code MERGE} adds the new tags to the existing story
+   * and returns it, and {@code FLAG} creates the story with {@code duplicateOf} set.
+   */
   @Transactional
   public StoryResponseDto createStory(StoryRequestDto dto) {
     Story story = new Story();
@@ -43,26 +101,62 @@ public class StoryService {
     story.setContent(dto.content());
     story.setAuthor(dto.author());
     story.setTags(dto.tags());
-    story.setCreatedAt(LocalDateTime.now());
+    LocalDateTime now = LocalDateTime.now();
+    story.setCreatedAt(now);
+    story.setUpdatedAt(now);
+
+    Optional<DuplicateMatch> duplicate = duplicateDetector.find(story);
+    if (duplicate.isPresent()) {
+      Optional<Story> original = storyRepository.findById(duplicate.get().storyId());
+      if (original.isEmpty()) {
+        // Deleted on another node since the index last caught up
+        duplicateDetector.forget(duplicate.get().storyId());
+      } else {
+        switch (duplicate.get().policy()) {
+          case REJECT ->
+              throw new ResponseStatusException(
+                  HttpStatus.CONFLICT,
+                  "Story duplicates existing story with id: " + original.get().getId());
+          case MERGE -> {
+            return merge(original.get(), dto.tags());
+          }
+          case FLAG -> story.setDuplicateOf(original.get().getId());
+          case ALLOW -> {}
+        }
+      }
+    }
 
     Story saved = storyRepository.save(story);
+    StoryResponseDto response = toResponseDto(saved);
+    storyOutbox.record(StoryChangeType.CREATED, saved.getId(), response);
 
-    return toResponseDto(saved);
+    return response;
+  }
+
+  /** Creates all stories in one transaction: either every story is created or none is. */
+  @Transactional
+  public List<StoryResponseDto> createStories(List<StoryRequestDto> dtos) {
+    return dtos.stream().map(this::createStory).toList();
   }
 
+  /** Deletes story {@code id}; an archived story is restored first, then deleted as usual. */
   @Transactional
   public void deleteStory(Long id) {
-    if (!storyRepository.existsById(id)) {
+    if (!storyRepository.existsById(id) && !storyArchive.restore(id)) {
       throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Story not found with id: " + id);
     }
     storyRepository.deleteById(id);
+    tombstoneRepository.save(new StoryTombstone(id, LocalDateTime.now()));
+    storyOutbox.record(StoryChangeType.DELETED, id, null);
   }
 
+  /** Updates story {@code id}; an archived story is restored to the story table first. */
   @Transactional
   public StoryResponseDto updateStory(Long id, StoryRequestDto dto) {
     Story story =
         storyRepository
             .findById(id)
+            .or(() -> storyArchive.restore(id) ? storyRepository.findById(id) : Optional.empty())
             .orElseThrow(
                 () ->
                     new ResponseStatusException(
@@ -72,17 +166,40 @@ public class StoryService {
     story.setContent(dto.content());
     story.setAuthor(dto.author());
     story.setTags(dto.tags());
+    story.setUpdatedAt(LocalDateTime.now());
+    StoryResponseDto response = toResponseDto(story);
+    storyOutbox.record(StoryChangeType.UPDATED, id, response);
 
-    return toResponseDto(story);
+    return response;
+  }
+
+  /** Adds the tags {@code existing} lacks, recording an update only if there were any. */
+  private StoryResponseDto merge(Story existing, List<String> tags) {
+    List<String> merged = new ArrayList<>(existing.getTags());
+    if (tags != null) {
+      tags.stream().filter(tag -> !merged.contains(tag)).forEach(merged::add);
+    }
+    if (merged.size() == existing.getTags().size()) {
+      return toResponseDto(existing);
+    }
+    existing.setTags(merged);
+    existing.setUpdatedAt(LocalDateTime.now());
+    StoryResponseDto response = toResponseDto(existing);
+    storyOutbox.record(StoryChangeType.UPDATED, existing.getId(), response);
+    return response;
   }
 
-  private StoryResponseDto toResponseDto(Story story) {
+  StoryResponseDto toResponseDto(Story story) {
+    // Copied while the session is open: callers outside a web request (gRPC, caches) have no
+    // open-in-view session to load the lazy collection later
+    List<String> tags = story.getTags() != null ? List.copyOf(story.getTags()) : null;
     return new StoryResponseDto(
         story.getId(),
         story.getTitle(),
         story.getContent(),
         story.getAuthor(),
-        story.getTags(),
-        story.getCreatedAt());
+        tags,
+        story.getCreatedAt(),
+        story.getUpdatedAt());
   }
 }
@@ -0,0 +1,172 @@
+package io.github.tbarland.obscura.service;
+
+import io.github.tbarland.obscura.archive.StoryArchive;
+import io.github.tbarland.obscura.config.SyncProperties;
+import io.github.tbarland.obscura.datasource.ReplicaRoutingContext;
+import io.github.tbarland.obscura.dto.StoryArchivePageDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.dto.StorySyncPageDto;
+import io.github.tbarland.obscura.dto.StoryTombstoneDto;
+import io.github.tbarland.obscura.model.Story;
+import io.github.tbarland.obscura.model.StoryTombstone;
+import io.github.tbarland.obscura.repository.StoryRepository;
+import io.github.tbarland.obscura.repository.StoryTombstoneRepository;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Serves stories created, updated or deleted since a client's watermark.
+ *
+ * <p>Changed stories and tombstones are both read by keyset over their (timestamp, id) indexes and
+ * merged into one ordering, so each page costs O(page size) regardless of catalog size. Reads are
+ * pinned to the primary: a lagging replica could otherwise let the watermark move past changes it
+ * has not applied yet, and those would never be returned.
+ *
+ * <p>Archived stories are not changes and are left out, so a full sync from no cursor is completed
+ * by paging through {@link #getArchived} afterwards.
+ */
+@Service
+public class StorySyncService {
+
+  private final StoryRepository storyRepository;
+  private final StoryTombstoneRepository tombstoneRepository;
+  private final StoryService storyService;
+  private final StoryArchive storyArchive;
+  private final SyncProperties properties;
+  private final TransactionTemplate transactionTemplate;
+
+  public StorySyncService(
+      StoryRepository storyRepository,
+      StoryTombstoneRepository tombstoneRepository,
+      StoryService storyService,
+      StoryArchive storyArchive,
+      SyncProperties properties,
+      PlatformTransactionManager transactionManager) {
+    this.storyRepository = storyRepository;
+    this.tombstoneRepository = tombstoneRepository;
+    this.storyService = storyService;
+    this.storyArchive = storyArchive;
+    this.properties = properties;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+  }
+
+  public StorySyncPageDto getChangesSince(String cursorToken, Integer pageSize) {
+    int limit = validLimit(pageSize);
+
+    SyncCursor cursor = parseCursor(cursorToken);
+    LocalDateTime now = LocalDateTime.now();
+    if (cursor != SyncCursor.START
+        && cursor.timestamp().isBefore(now.minus(properties.tombstoneRetention()))) {
+      throw new ResponseStatusException(
+          HttpStatus.GONE,
+          "Sync cursor is older than the tombstone retention; perform a full sync without a"
+              + " cursor, then list archived stories from /api/stories/sync/archived");
+    }
+    // Cursors carry microseconds, so a cursor moved to the horizon must not round below it
+    LocalDateTime horizon = now.minus(properties.settleDelay()).truncatedTo(ChronoUnit.MICROS);
+
+    return onPrimary(() -> transactionTemplate.execute(status -> readPage(cursor, horizon, limit)));
+  }
+
+  /**
+   * Returns archived stories with ids above {@code after}. Read after the full sync, so that a
+   * story archived while it ran is found in one or the other.
+   */
+  public StoryArchivePageDto getArchived(Long after, Integer pageSize) {
+    int limit = validLimit(pageSize);
+    long afterId = after != null ? after : 0;
+    // One extra story tells us whether another page follows
+    List<StoryResponseDto> stories = onPrimary(() -> storyArchive.list(afterId, limit + 1));
+    boolean hasMore = stories.size() > limit;
+    if (hasMore) {
+      stories = stories.subList(0, limit);
+    }
+    long last = stories.isEmpty() ? afterId : stories.getLast().id();
+    return new StoryArchivePageDto(stories, last, hasMore);
+  }
+
+  private int validLimit(Integer pageSize) {
+    int limit = pageSize != null ? pageSize : properties.defaultPageSize();
+    if (limit < 1 || limit > properties.maxPageSize()) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "limit must be between 1 and " + properties.maxPageSize());
+    }
+    return limit;
+  }
+
+  private static <T> T onPrimary(Supplier<T> read) {
+    boolean alreadyPinned = ReplicaRoutingContext.isPrimaryForced();
+    ReplicaRoutingContext.forcePrimary();
+    try {
+      return read.get();
+    } finally {
+      if (!alreadyPinned) {
+        ReplicaRoutingContext.clear();
+      }
+    }
+  }
+
+  private StorySyncPageDto readPage(SyncCursor cursor, LocalDateTime horizon, int limit) {
+    // One extra row from each source tells us whether another page follows
+    List<Story> stories =
+        storyRepository.findChangedAfter(
+            cursor.timestamp(), cursor.storyId(), horizon, Limit.of(limit + 1));
+    List<StoryTombstone> tombstones =
+        tombstoneRepository.findDeletedAfter(
+            cursor.timestamp(), cursor.storyId(), horizon, Limit.of(limit + 1));
+
+    List<StoryResponseDto> changed = new ArrayList<>();
+    List<StoryTombstoneDto> deleted = new ArrayList<>();
+    SyncCursor last = cursor;
+    int s = 0;
+    int t = 0;
+    while (changed.size() + deleted.size() < limit
+        && (s < stories.size() || t < tombstones.size())) {
+      Story story = s < stories.size() ? stories.get(s) : null;
+      StoryTombstone tombstone = t < tombstones.size() ? tombstones.get(t) : null;
+      boolean takeStory =
+          tombstone == null
+              || (story != null
+                  && new SyncCursor(tombstone.getDeletedAt(), tombstone.getStoryId())
+                      .isAfter(story.getUpdatedAt(), story.getId()));
+      if (takeStory) {
+        changed.add(storyService.toResponseDto(story));
+        last = new SyncCursor(story.getUpdatedAt(), story.getId());
+        s++;
+      } else {
+        deleted.add(new StoryTombstoneDto(tombstone.getStoryId(), tombstone.getDeletedAt()));
+        last = new SyncCursor(tombstone.getDeletedAt(), tombstone.getStoryId());
+        t++;
+      }
+    }
+
+    boolean hasMore = s < stories.size() || t < tombstones.size();
+    if (!hasMore && changed.isEmpty() && deleted.isEmpty() && !cursor.isAfter(horizon, 0)) {
+      // Nothing changed up to the horizon: move the cursor there, so a client that keeps polling
+      // a quiet catalog does not age past the tombstone retention and get 410
+      last = new SyncCursor(horizon, Long.MAX_VALUE);
+    }
+    return new StorySyncPageDto(changed, deleted, last.encode(), hasMore);
+  }
+
+  private static SyncCursor parseCursor(String token) {
+    if (token == null || token.isBlank()) {
+      return SyncCursor.START;
+    }
+    try {
+      return SyncCursor.decode(token);
+    } catch (IllegalArgumentException ex) {
+      throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid sync cursor");
+    }
+  }
+}
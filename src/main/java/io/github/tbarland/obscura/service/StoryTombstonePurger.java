@@ -0,0 +1,44 @@
+package io.github.tbarland.obscura.service;
+
+import io.github.tbarland.obscura.config.SyncProperties;
+import io.github.tbarland.obscura.repository.StoryTombstoneRepository;
+import java.time.LocalDateTime;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+
+/** Drops tombstones older than {@code obscura.sync.tombstone-retention}. */
+@Component
+public class StoryTombstonePurger implements SchedulingConfigurer {
+
+  private static final Logger log = LoggerFactory.getLogger(StoryTombstonePurger.class);
+
+  private final StoryTombstoneRepository tombstoneRepository;
+  private final SyncProperties properties;
+
+  public StoryTombstonePurger(
+      StoryTombstoneRepository tombstoneRepository, SyncProperties properties) {
+    this.tombstoneRepository = tombstoneRepository;
+    this.properties = properties;
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar registrar) {
+    registrar.addFixedDelayTask(this::runSafely, properties.purgeInterval());
+  }
+
+  private void runSafely() {
+    try {
+      int purged =
+          tombstoneRepository.deleteDeletedBefore(
+              LocalDateTime.now().minus(properties.tombstoneRetention()));
+      if (purged > 0) {
+        log.info("Purged {} story tombstones", purged);
+      }
+    } catch (RuntimeException ex) {
+      log.warn("Story tombstone purge failed, will retry: {}", ex.getMessage());
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package io.github.tbarland.obscura.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+/**
+ * Sync watermark: the (timestamp, story id) of the last change a client has seen. Serialized as an
+ * opaque URL-safe token so the encoding can evolve without breaking clients.
+ */
+record SyncCursor(LocalDateTime timestamp, long storyId) {
+
+  static final SyncCursor START = new SyncCursor(LocalDateTime.of(1970, 1, 1, 0, 0), 0);
+
+  private static final String VERSION = "v1";
+
+  String encode() {
+    long micros = timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000 + timestamp.getNano() / 1_000;
+    String raw = VERSION + ":" + micros + ":" + storyId;
+    return Base64.getUrlEncoder()
+        .withoutPadding()
+        .encodeToString(raw.getBytes(StandardCharsets.US_ASCII));
+  }
+
+  /** Decodes a token, throwing {@link IllegalArgumentException} if it is malformed. */
+  static SyncCursor decode(String token) {
+    String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.US_ASCII);
+    String[] parts = raw.split(":");
+    if (parts.length != 3 || !VERSION.equals(parts[0])) {
+      throw new IllegalArgumentException("Unsupported sync cursor");
+    }
+    long micros = Long.parseLong(parts[1]);
+    LocalDateTime timestamp =
+        LocalDateTime.ofEpochSecond(
+            Math.floorDiv(micros, 1_000_000),
+            (int) Math.floorMod(micros, 1_000_000) * 1_000,
+            ZoneOffset.UTC);
+    return new SyncCursor(timestamp, Long.parseLong(parts[2]));
+  }
+
+  boolean isAfter(LocalDateTime otherTimestamp, long otherId) {
+    int byTime = timestamp.compareTo(otherTimestamp);
+    return byTime > 0 || (byTime == 0 && storyId > otherId);
+  }
+}
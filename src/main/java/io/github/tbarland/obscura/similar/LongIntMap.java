@@ -0,0 +1,120 @@
+package io.github.tbarland.obscura.similar;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map from non-negative {@code long} keys to {@code int} values, with linear
+ * probing and backward-shift deletion. Twelve bytes per slot instead of a boxed {@code HashMap}
+ * entry's ~60, which matters at a million stories. Not thread-safe.
+ */
+public final class LongIntMap {
+
+  private static final long EMPTY = -1L;
+
+  private long[] keys;
+  private int[] values;
+  private int mask;
+  private int size;
+
+  public LongIntMap(int expected) {
+    int capacity = Integer.highestOneBit(Math.max(8, expected * 2 - 1)) << 1;
+    allocate(capacity);
+  }
+
+  public int size() {
+    return size;
+  }
+
+  /** The value for {@code key}, or -1. */
+  public int get(long key) {
+    for (int i = index(key); ; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == EMPTY) {
+        return -1;
+      }
+      if (k == key) {
+        return values[i];
+      }
+    }
+  }
+
+  public void put(long key, int value) {
+    if (key < 0) {
+      throw new IllegalArgumentException("negative key " + key);
+    }
+    for (int i = index(key); ; i = (i + 1) & mask) {
+      long k = keys[i];
+      if (k == key) {
+        values[i] = value;
+        return;
+      }
+      if (k == EMPTY) {
+        keys[i] = key;
+        values[i] = value;
+        if (++size * 2 > keys.length) {
+          grow();
+        }
+        return;
+      }
+    }
+  }
+
+  /** Removes {@code key}, returning its value or -1. */
+  public int remove(long key) {
+    if (key < 0) {
+      return -1;
+    }
+    int i = index(key);
+    while (keys[i] != key) {
+      if (keys[i] == EMPTY) {
+        return -1;
+      }
+      i = (i + 1) & mask;
+    }
+    int removed = values[i];
+    // Shift later entries of the probe run back so lookups never stop at the hole
+    int hole = i;
+    for (int j = (hole + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+      int home = index(keys[j]);
+      if (((j - home) & mask) >= ((j - hole) & mask)) {
+        keys[hole] = keys[j];
+        values[hole] = values[j];
+        hole = j;
+      }
+    }
+    keys[hole] = EMPTY;
+    size--;
+    return removed;
+  }
+
+  public long memoryBytes() {
+    return (long) keys.length * (Long.BYTES + Integer.BYTES);
+  }
+
+  private int index(long key) {
+    return (int) MinHasher.mix(key) & mask;
+  }
+
+  private void grow() {
+    long[] oldKeys = keys;
+    int[] oldValues = values;
+    allocate(oldKeys.length * 2);
+    for (int i = 0; i < oldKeys.length; i++) {
+      if (oldKeys[i] != EMPTY) {
+        int j = index(oldKeys[i]);
+        while (keys[j] != EMPTY) {
+          j = (j + 1) & mask;
+        }
+        keys[j] = oldKeys[i];
+        values[j] = oldValues[i];
+      }
+    }
+  }
+
+  private void allocate(int capacity) {
+    keys = new long[capacity];
+    Arrays.fill(keys, EMPTY);
+    values = new int[capacity];
+    mask = capacity - 1;
+  }
+}
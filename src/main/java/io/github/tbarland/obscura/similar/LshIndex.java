@@ -0,0 +1,276 @@
+package io.github.tbarland.obscura.similar;
+
+import io.github.tbarland.obscura.dto.SimilarStoryDto;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Locality-sensitive hashing index over MinHash signatures. Each signature is cut into {@code
+ * bands} bands of {@code rows} values; two stories become candidates when any band is identical,
+ * and candidates are then ranked by the fraction of equal signature values.
+ *
+ * <p>Everything lives in flat primitive arrays indexed by a dense slot number: the signatures
+ * ({@code hashes} ints per slot), the story id per slot, and per band a bucket table of chain heads
+ * plus next and previous links per slot. Adding or removing a story relinks one chain entry per
+ * band in constant time, so the index is maintained incrementally even when many stories share a
+ * bucket; freed slots are reused. Reads share a read lock and writes take the write lock.
+ */
+public final class LshIndex {
+
+  /** Upper bound on candidates examined per query, so a crowded bucket cannot blow up latency. */
+  static final int MAX_CANDIDATES = 10_000;
+
+  private static final int NONE = -1;
+  private static final long FREE = -1L;
+
+  private final int bands;
+  private final int rows;
+  private final int hashes;
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  private final LongIntMap slotsById;
+  private long[] ids;
+  private int[] signatures;
+  private int[] heads;
+  private int[] next;
+  private int[] previous;
+  private int capacity;
+  private int[] freeSlots = new int[16];
+  private int freeCount;
+  private int highWater;
+
+  public LshIndex(int bands, int rows, int expectedStories) {
+    if (bands < 1 || rows < 1) {
+      throw new IllegalArgumentException("bands and rows must be positive");
+    }
+    this.bands = bands;
+    this.rows = rows;
+    this.hashes = bands * rows;
+    this.slotsById = new LongIntMap(expectedStories);
+    allocate(Integer.highestOneBit(Math.max(16, expectedStories - 1)) << 1);
+  }
+
+  public int hashes() {
+    return hashes;
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return slotsById.size();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Adds a story or replaces its signature. */
+  public void put(long id, int[] signature) {
+    if (signature.length != hashes) {
+      throw new IllegalArgumentException("signature must have " + hashes + " values");
+    }
+    lock.writeLock().lock();
+    try {
+      int slot = slotsById.get(id);
+      if (slot != NONE) {
+        unlink(slot);
+      } else {
+        slot = allocateSlot();
+        ids[slot] = id;
+        slotsById.put(id, slot);
+      }
+      System.arraycopy(signature, 0, signatures, slot * hashes, hashes);
+      link(slot);
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public boolean remove(long id) {
+    lock.writeLock().lock();
+    try {
+      int slot = slotsById.remove(id);
+      if (slot == NONE) {
+        return false;
+      }
+      unlink(slot);
+      ids[slot] = FREE;
+      if (freeCount == freeSlots.length) {
+        freeSlots = Arrays.copyOf(freeSlots, freeCount * 2);
+      }
+      freeSlots[freeCount++] = slot;
+      return true;
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  /**
+   * Up to {@code limit} indexed stories most similar to story {@code id}, best first, or null when
+   * the story is not indexed.
+   */
+  public List<SimilarStoryDto> nearest(long id, int limit, double minSimilarity) {
+    lock.readLock().lock();
+    try {
+      int slot = slotsById.get(id);
+      if (slot == NONE) {
+        return null;
+      }
+      int[] signature = Arrays.copyOfRange(signatures, slot * hashes, (slot + 1) * hashes);
+      return query(signature, id, limit, minSimilarity);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Up to {@code limit} indexed stories most similar to {@code signature}, except {@code id}. */
+  public List<SimilarStoryDto> nearest(
+      int[] signature, long excludeId, int limit, double minSimilarity) {
+    lock.readLock().lock();
+    try {
+      return query(signature, excludeId, limit, minSimilarity);
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /** Approximate heap held by the index arrays. */
+  public long memoryBytes() {
+    lock.readLock().lock();
+    try {
+      return (long) ids.length * Long.BYTES
+          + (long) signatures.length * Integer.BYTES
+          + (long) heads.length * Integer.BYTES
+          + (long) next.length * Integer.BYTES
+          + (long) previous.length * Integer.BYTES
+          + (long) freeSlots.length * Integer.BYTES
+          + slotsById.memoryBytes();
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private List<SimilarStoryDto> query(
+      int[] signature, long excludeId, int limit, double minSimilarity) {
+    int[] candidates = new int[64];
+    int count = 0;
+    for (int band = 0; band < bands && count < MAX_CANDIDATES; band++) {
+      int offset = band * rows;
+      int chain = heads[band * capacity + bucket(signature, offset)];
+      for (; chain != NONE && count < MAX_CANDIDATES; chain = next[band * capacity + chain]) {
+        if (ids[chain] != excludeId
+            && Arrays.equals(
+                signature,
+                offset,
+                offset + rows,
+                signatures,
+                chain * hashes + offset,
+                chain * hashes + offset + rows)) {
+          if (count == candidates.length) {
+            candidates = Arrays.copyOf(candidates, count * 2);
+          }
+          candidates[count++] = chain;
+        }
+      }
+    }
+    Arrays.sort(candidates, 0, count);
+    List<SimilarStoryDto> matches = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      int slot = candidates[i];
+      if (i > 0 && slot == candidates[i - 1]) {
+        continue;
+      }
+      int equal = 0;
+      for (int j = 0, base = slot * hashes; j < hashes; j++) {
+        if (signatures[base + j] == signature[j]) {
+          equal++;
+        }
+      }
+      double similarity = (double) equal / hashes;
+      if (similarity >= minSimilarity) {
+        matches.add(new SimilarStoryDto(ids[slot], similarity));
+      }
+    }
+    matches.sort(
+        Comparator.comparingDouble(SimilarStoryDto::similarity)
+            .reversed()
+            .thenComparing(SimilarStoryDto::id));
+    return matches.size() > limit ? List.copyOf(matches.subList(0, limit)) : matches;
+  }
+
+  private int allocateSlot() {
+    if (freeCount > 0) {
+      return freeSlots[--freeCount];
+    }
+    if (highWater == capacity) {
+      grow();
+    }
+    return highWater++;
+  }
+
+  private void link(int slot) {
+    for (int band = 0; band < bands; band++) {
+      int base = band * capacity;
+      int head = base + bucket(signatures, slot * hashes + band * rows);
+      int first = heads[head];
+      next[base + slot] = first;
+      previous[base + slot] = NONE;
+      if (first != NONE) {
+        previous[base + first] = slot;
+      }
+      heads[head] = slot;
+    }
+  }
+
+  private void unlink(int slot) {
+    for (int band = 0; band < bands; band++) {
+      int base = band * capacity;
+      int after = next[base + slot];
+      int before = previous[base + slot];
+      if (before == NONE) {
+        heads[base + bucket(signatures, slot * hashes + band * rows)] = after;
+      } else {
+        next[base + before] = after;
+      }
+      if (after != NONE) {
+        previous[base + after] = before;
+      }
+    }
+  }
+
+  /** Bucket of the band starting at {@code offset}; the table has one bucket per slot. */
+  private int bucket(int[] values, int offset) {
+    long h = 0;
+    for (int i = offset; i < offset + rows; i++) {
+      h = (h + values[i]) * 0x9e3779b97f4a7c15L;
+    }
+    return (int) MinHasher.mix(h) & (capacity - 1);
+  }
+
+  private void grow() {
+    long[] oldIds = ids;
+    int[] oldSignatures = signatures;
+    allocate(capacity * 2);
+    System.arraycopy(oldIds, 0, ids, 0, oldIds.length);
+    System.arraycopy(oldSignatures, 0, signatures, 0, oldSignatures.length);
+    // Bucket numbers depend on the table size, so every chain is rebuilt
+    for (int slot = 0; slot < highWater; slot++) {
+      if (ids[slot] != FREE) {
+        link(slot);
+      }
+    }
+  }
+
+  private void allocate(int newCapacity) {
+    capacity = newCapacity;
+    ids = new long[newCapacity];
+    Arrays.fill(ids, FREE);
+    signatures = new int[newCapacity * hashes];
+    heads = new int[bands * newCapacity];
+    Arrays.fill(heads, NONE);
+    next = new int[bands * newCapacity];
+    previous = new int[bands * newCapacity];
+  }
+}
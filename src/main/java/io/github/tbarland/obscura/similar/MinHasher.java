@@ -0,0 +1,129 @@
+package io.github.tbarland.obscura.similar;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Locale;
+
+/**
+ * Computes MinHash signatures of a story's feature set: each tag (repeated {@code tagWeight} times
+ * so a shared tag counts like that many shared phrases) plus the {@code shingleSize}-word shingles
+ * of the first {@code maxContentChars} characters of content. The fraction of equal positions in
+ * two signatures estimates the Jaccard similarity of the two sets.
+ *
+ * <p>Shingles are hashed while tokenizing, so no word or shingle strings are allocated. Row {@code
+ * i} of the signature uses the hash {@code h1 + i * h2} of each feature (double hashing), which
+ * costs one multiply-add per feature and row.
+ */
+public final class MinHasher {
+
+  private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+  private static final long FNV_PRIME = 0x100000001b3L;
+  private static final long GOLDEN = 0x9e3779b97f4a7c15L;
+
+  private final int hashes;
+  private final int shingleSize;
+  private final int tagWeight;
+  private final int maxContentChars;
+
+  public MinHasher(int hashes, int shingleSize, int tagWeight, int maxContentChars) {
+    if (hashes < 1 || shingleSize < 1 || tagWeight < 0 || maxContentChars < 0) {
+      throw new IllegalArgumentException("invalid MinHash parameters");
+    }
+    this.hashes = hashes;
+    this.shingleSize = shingleSize;
+    this.tagWeight = tagWeight;
+    this.maxContentChars = maxContentChars;
+  }
+
+  public int hashes() {
+    return hashes;
+  }
+
+  /** The signature of a story; stories with neither tags nor words get all-max rows. */
+  public int[] signature(Collection<String> tags, CharSequence content) {
+    long[] minima = new long[hashes];
+    Arrays.fill(minima, Long.MAX_VALUE);
+    if (tags != null) {
+      for (String tag : tags) {
+        long tagHash = hash(tag.toLowerCase(Locale.ROOT), FNV_OFFSET ^ 't');
+        for (int copy = 0; copy < tagWeight; copy++) {
+          update(minima, mix(tagHash + copy * GOLDEN));
+        }
+      }
+    }
+    if (content != null) {
+      addShingles(minima, content);
+    }
+    int[] signature = new int[hashes];
+    for (int i = 0; i < hashes; i++) {
+      signature[i] = (int) minima[i];
+    }
+    return signature;
+  }
+
+  private void addShingles(long[] minima, CharSequence content) {
+    long[] window = new long[shingleSize];
+    int words = 0;
+    long word = FNV_OFFSET;
+    boolean inWord = false;
+    int end = Math.min(content.length(), maxContentChars);
+    for (int i = 0; i <= end; i++) {
+      char c = i < end ? content.charAt(i) : ' ';
+      if (Character.isLetterOrDigit(c)) {
+        word = (word ^ Character.toLowerCase(c)) * FNV_PRIME;
+        inWord = true;
+      } else if (inWord) {
+        window[words % shingleSize] = word;
+        words++;
+        if (words >= shingleSize) {
+          update(minima, shingle(window, words));
+        }
+        word = FNV_OFFSET;
+        inWord = false;
+      }
+    }
+    if (words > 0 && words < shingleSize) {
+      // Too short for a full shingle: the words seen form the only one
+      update(minima, shingle(window, words));
+    }
+  }
+
+  /** Hash of the last {@code min(words, shingleSize)} words in order. */
+  private long shingle(long[] window, int words) {
+    int count = Math.min(words, shingleSize);
+    long h = FNV_OFFSET;
+    for (int j = words - count; j < words; j++) {
+      h = (h ^ window[j % shingleSize]) * FNV_PRIME;
+    }
+    return mix(h);
+  }
+
+  private void update(long[] minima, long featureHash) {
+    long h2 = mix(featureHash ^ GOLDEN) | 1;
+    long h = featureHash;
+    for (int i = 0; i < hashes; i++) {
+      long value = h >>> 32;
+      if (value < minima[i]) {
+        minima[i] = value;
+      }
+      h += h2;
+    }
+  }
+
+  private static long hash(String value, long seed) {
+    long h = seed;
+    for (int i = 0; i < value.length(); i++) {
+      h = (h ^ value.charAt(i)) * FNV_PRIME;
+    }
+    return mix(h);
+  }
+
+  /** MurmurHash3's 64-bit finalizer. */
+  public static long mix(long h) {
+    h ^= h >>> 33;
+    h *= 0xff51afd7ed558ccdL;
+    h ^= h >>> 33;
+    h *= 0xc4ceb93fe53e87c4L;
+    return h ^ (h >>> 33);
+  }
+}
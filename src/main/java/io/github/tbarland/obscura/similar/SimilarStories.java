@@ -0,0 +1,220 @@
+package io.github.tbarland.obscura.similar;
+
+import io.github.tbarland.obscura.config.SimilarityProperties;
+import io.github.tbarland.obscura.dto.SimilarStoryDto;
+import io.github.tbarland.obscura.model.StoryChangeType;
+import io.github.tbarland.obscura.outbox.StoryChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Array;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import javax.sql.DataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * "More like this" for stories: an in-memory {@link LshIndex} of {@link MinHasher} signatures,
+ * built from a streaming scan of the story table at startup and kept current from committed story
+ * changes. A query looks up the story's signature and its LSH buckets, so it never touches the
+ * database.
+ *
+ * <p>The index is per node and only sees changes made on this node, so it is rebuilt from the
+ * database every {@code rebuildInterval}. A rebuild fills a fresh index off to the side, replays
+ * the changes committed meanwhile, then swaps it in; queries keep using the old index until then.
+ */
+@Component
+public class SimilarStories implements SchedulingConfigurer {
+
+  private static final Logger log = LoggerFactory.getLogger(SimilarStories.class);
+
+  static final String SQL =
+      """
+      SELECT s.id, SUBSTRING(s.content, 1, ?) AS content,
+             (SELECT ARRAY_AGG(t.tags) FROM story_tags t WHERE t.story_id = s.id) AS tags
+      FROM story s
+      """;
+
+  private static final int FETCH_SIZE = 500;
+
+  /** Results when the caller gives no limit, or {@code maxResults} if that is lower. */
+  private static final int DEFAULT_RESULTS = 10;
+
+  /** How often a due or failed rebuild is looked for. */
+  private static final Duration CHECK_INTERVAL = Duration.ofMinutes(1);
+
+  /** A committed change to apply to the index; a null signature removes the story. */
+  private record Change(long id, int[] signature) {
+    void applyTo(LshIndex index) {
+      if (signature == null) {
+        index.remove(id);
+      } else {
+        index.put(id, signature);
+      }
+    }
+  }
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final SimilarityProperties properties;
+  private final MinHasher hasher;
+  private final Object rebuildLock = new Object();
+  private volatile LshIndex index;
+  private volatile boolean built;
+  private long nextRebuildNanos = System.nanoTime();
+  private List<Change> replay;
+
+  public SimilarStories(
+      DataSource dataSource,
+      PlatformTransactionManager transactionManager,
+      SimilarityProperties properties,
+      MeterRegistry meterRegistry) {
+    this.jdbcTemplate = new JdbcTemplate(dataSource);
+    this.jdbcTemplate.setFetchSize(FETCH_SIZE);
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.transactionTemplate.setReadOnly(true);
+    this.properties = properties;
+    this.hasher =
+        new MinHasher(
+            properties.bands() * properties.rows(),
+            properties.shingleSize(),
+            properties.tagWeight(),
+            properties.maxContentChars());
+    this.index = newIndex(0);
+    Gauge.builder("obscura.similar.indexed", this, stories -> stories.index.size())
+        .description("Stories in the similar-stories index")
+        .register(meterRegistry);
+    Gauge.builder("obscura.similar.memory", this, stories -> stories.index.memoryBytes())
+        .description("Heap held by the similar-stories index")
+        .baseUnit("bytes")
+        .register(meterRegistry);
+  }
+
+  /** The stories most similar to story {@code id}, up to the default number of results. */
+  public List<SimilarStoryDto> similarTo(Long id) {
+    return similarTo(id, Math.min(DEFAULT_RESULTS, properties.maxResults()));
+  }
+
+  /** Up to {@code limit} stories most similar to story {@code id}, best first. */
+  public List<SimilarStoryDto> similarTo(Long id, int limit) {
+    if (!properties.enabled()) {
+      throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Similar stories are disabled");
+    }
+    if (limit < 1 || limit > properties.maxResults()) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "limit must be between 1 and " + properties.maxResults());
+    }
+    List<SimilarStoryDto> similar = index.nearest(id, limit, properties.minSimilarity());
+    if (similar != null) {
+      return similar;
+    }
+    if (!built) {
+      throw new ResponseStatusException(
+          HttpStatus.SERVICE_UNAVAILABLE, "Similar stories index is still building");
+    }
+    throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Story not found with id: " + id);
+  }
+
+  /** Rebuilds the index from the story table and swaps it in. */
+  public void rebuild() {
+    synchronized (rebuildLock) {
+      rebuildIndex();
+      nextRebuildNanos = System.nanoTime() + properties.rebuildInterval().toNanos();
+    }
+  }
+
+  private void rebuildIndex() {
+    LshIndex fresh = newIndex(index.size());
+    synchronized (this) {
+      replay = new ArrayList<>();
+    }
+    try {
+      transactionTemplate.executeWithoutResult(
+          status ->
+              jdbcTemplate.query(
+                  SQL,
+                  rs -> {
+                    int[] signature = hasher.signature(tags(rs.getArray(3)), rs.getString(2));
+                    fresh.put(rs.getLong(1), signature);
+                  },
+                  properties.maxContentChars()));
+      synchronized (this) {
+        // Changes committed during the scan may be missing from it or older in it
+        replay.forEach(change -> change.applyTo(fresh));
+        index = fresh;
+      }
+      built = true;
+      log.info("Similar-stories index rebuilt with {} stories", fresh.size());
+    } finally {
+      synchronized (this) {
+        replay = null;
+      }
+    }
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStoryChanged(StoryChangedEvent event) {
+    if (!properties.enabled()) {
+      return;
+    }
+    int[] signature =
+        event.type() == StoryChangeType.DELETED
+            ? null
+            : hasher.signature(event.story().tags(), event.story().content());
+    Change change = new Change(event.storyId(), signature);
+    synchronized (this) {
+      if (replay != null) {
+        replay.add(change);
+      }
+      change.applyTo(index);
+    }
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar registrar) {
+    if (properties.enabled()) {
+      registrar.addFixedDelayTask(this::rebuildSafely, CHECK_INTERVAL);
+    }
+  }
+
+  private LshIndex newIndex(int expectedStories) {
+    return new LshIndex(properties.bands(), properties.rows(), expectedStories);
+  }
+
+  private static List<String> tags(Array tags) throws SQLException {
+    if (tags == null) {
+      return List.of();
+    }
+    try {
+      return Arrays.stream((Object[]) tags.getArray()).map(String.class::cast).toList();
+    } finally {
+      tags.free();
+    }
+  }
+
+  /** Builds on startup, then every rebuild interval; a failed build is retried a minute later. */
+  private void rebuildSafely() {
+    try {
+      synchronized (rebuildLock) {
+        if (System.nanoTime() - nextRebuildNanos >= 0) {
+          rebuild();
+        }
+      }
+    } catch (RuntimeException ex) {
+      log.warn("Similar-stories rebuild failed, will retry: {}", ex.getMessage());
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package io.github.tbarland.obscura.stats;
+
+import io.github.tbarland.obscura.dto.TrendingStoryDto;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.function.LongSupplier;
+
+/**
+ * Exponentially decayed scores per story, with the top {@code size} kept in a {@link TopKHeap}.
+ *
+ * <p>Uses forward decay: an event of weight w at time t adds {@code w * e^(λ(t - landmark))}, so
+ * stored scores never need to be decayed in place and relative order only changes when events
+ * arrive. The actual score at time now is the stored one times {@code e^(-λ(now - landmark))}. The
+ * landmark moves forward (rescaling every score) before the exponent can overflow. Thread-safe
+ * through synchronization; callers batch their updates.
+ */
+public class DecayedScores {
+
+  // e^40 is ~2e17: far below double overflow, far above any realistic raw score
+  private static final double MAX_EXPONENT = 40;
+
+  private final double lambdaPerMilli;
+  private final LongSupplier millisClock;
+  private final Map<Long, Double> scores = new HashMap<>();
+  private final TopKHeap top;
+  private long landmark;
+
+  public DecayedScores(Duration halfLife, int size) {
+    this(halfLife, size, System::currentTimeMillis);
+  }
+
+  DecayedScores(Duration halfLife, int size, LongSupplier millisClock) {
+    this.lambdaPerMilli = Math.log(2) / halfLife.toMillis();
+    this.millisClock = millisClock;
+    this.top = new TopKHeap(size);
+    this.landmark = millisClock.getAsLong();
+  }
+
+  public synchronized void add(long storyId, double weight) {
+    addAt(storyId, weight, millisClock.getAsLong());
+  }
+
+  /** Adds an event that happened at {@code atMillis}, e.g. a score restored from a snapshot. */
+  public synchronized void addAt(long storyId, double weight, long atMillis) {
+    rescaleIfNeeded(millisClock.getAsLong());
+    double score = scores.merge(storyId, weight * Math.exp(exponent(atMillis)), Double::sum);
+    top.offer(storyId, score);
+  }
+
+  public synchronized void remove(long storyId) {
+    scores.remove(storyId);
+    if (top.remove(storyId)) {
+      // Promote the best story outside the top into the freed slot
+      scores.entrySet().stream()
+          .filter(entry -> !top.contains(entry.getKey()))
+          .max(Map.Entry.comparingByValue())
+          .ifPresent(entry -> top.offer(entry.getKey(), entry.getValue()));
+    }
+  }
+
+  /** The top stories, highest first, with their scores decayed to now. */
+  public synchronized List<TrendingStoryDto> top() {
+    double decay = Math.exp(-exponent(millisClock.getAsLong()));
+    return top.sortedDescending().stream()
+        .map(entry -> new TrendingStoryDto(entry.id(), entry.score() * decay))
+        .toList();
+  }
+
+  /** Up to {@code limit} highest scores, decayed to now, for persisting a snapshot. */
+  public synchronized List<TrendingStoryDto> highest(int limit) {
+    PriorityQueue<Map.Entry<Long, Double>> best = new PriorityQueue<>(Map.Entry.comparingByValue());
+    for (Map.Entry<Long, Double> entry : scores.entrySet()) {
+      best.offer(entry);
+      if (best.size() > limit) {
+        best.poll();
+      }
+    }
+    double decay = Math.exp(-exponent(millisClock.getAsLong()));
+    List<TrendingStoryDto> highest = new ArrayList<>(best.size());
+    for (Map.Entry<Long, Double> entry : best) {
+      highest.add(new TrendingStoryDto(entry.getKey(), entry.getValue() * decay));
+    }
+    highest.sort(Comparator.comparingDouble(TrendingStoryDto::score).reversed());
+    return highest;
+  }
+
+  /**
+   * Forgets stories outside the top whose decayed score has fallen below {@code minScore}, so the
+   * map only holds recently active stories. Returns how many were dropped.
+   */
+  public synchronized int prune(double minScore) {
+    double threshold = minScore * Math.exp(exponent(millisClock.getAsLong()));
+    int pruned = 0;
+    for (Iterator<Map.Entry<Long, Double>> it = scores.entrySet().iterator(); it.hasNext(); ) {
+      Map.Entry<Long, Double> entry = it.next();
+      if (entry.getValue() < threshold && !top.contains(entry.getKey())) {
+        it.remove();
+        pruned++;
+      }
+    }
+    return pruned;
+  }
+
+  public synchronized int trackedStories() {
+    return scores.size();
+  }
+
+  private double exponent(long atMillis) {
+    return lambdaPerMilli * (atMillis - landmark);
+  }
+
+  private void rescaleIfNeeded(long now) {
+    double exponent = exponent(now);
+    if (exponent < MAX_EXPONENT) {
+      return;
+    }
+    double factor = Math.exp(-exponent);
+    scores.replaceAll((id, score) -> score * factor);
+    top.scale(factor);
+    landmark = now;
+  }
+}
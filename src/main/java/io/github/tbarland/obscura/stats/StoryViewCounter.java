@@ -0,0 +1,209 @@
+package io.github.tbarland.obscura.stats;
+
+import io.github.tbarland.obscura.config.ViewCounterProperties;
+import io.github.tbarland.obscura.dto.StoryViewCountDto;
+import io.github.tbarland.obscura.model.StoryChangeType;
+import io.github.tbarland.obscura.outbox.StoryChangedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Counts story views without writing on the read path. Each view increments a per-story {@link
+ * LongAdder}, whose striped cells keep concurrent readers of a hot story from contending. A
+ * scheduled flush merges the increments since the previous flush into story_stats in JDBC batches,
+ * then reads the top of the table back, so the most-viewed list is served from memory and includes
+ * views counted on every node.
+ *
+ * <p>Adders are never reset: a flush records how much of each sum it has written and only advances
+ * that mark once the batch commits, so a view counted while flushing, or a failed flush, is carried
+ * into the next one. Stories not viewed since the previous flush have their adder removed, so
+ * memory follows the recently viewed stories rather than every story ever viewed; a view that raced
+ * the removal is still written by the next flush. The final flush runs when the context shuts down,
+ * after the web server has stopped taking requests.
+ */
+@Component
+public class StoryViewCounter implements SchedulingConfigurer, DisposableBean {
+
+  private static final Logger log = LoggerFactory.getLogger(StoryViewCounter.class);
+
+  private static final String MERGE_SQL =
+      """
+      MERGE INTO story_stats s
+      USING (SELECT CAST(? AS BIGINT) AS story_id, CAST(? AS BIGINT) AS views,
+                    CAST(? AS TIMESTAMP) AS viewed_at) v
+      ON s.story_id = v.story_id
+      WHEN MATCHED THEN
+        UPDATE SET view_count = s.view_count + v.views, last_viewed_at = v.viewed_at
+      WHEN NOT MATCHED THEN
+        INSERT (story_id, view_count, last_viewed_at) VALUES (v.story_id, v.views, v.viewed_at)
+      """;
+
+  private static final String TOP_SQL =
+      "SELECT story_id, view_count FROM story_stats ORDER BY view_count DESC, story_id LIMIT ?";
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final ViewCounterProperties properties;
+  private final TrendingLeaderboard trending;
+  private final Map<Long, StoryViews> views = new ConcurrentHashMap<>();
+  private final Counter flushedViews;
+  // Adders removed by the last flush, checked once more for views that raced the removal
+  private Map<Long, StoryViews> retired = new HashMap<>();
+  private volatile List<StoryViewCountDto> ranking = List.of();
+
+  public StoryViewCounter(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      ViewCounterProperties properties,
+      TrendingLeaderboard trending,
+      MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = properties;
+    this.trending = trending;
+    this.flushedViews =
+        Counter.builder("obscura.views.flushed")
+            .description("Story views written to story_stats")
+            .register(meterRegistry);
+    Gauge.builder("obscura.views.tracked", views, Map::size)
+        .description("Stories with an in-memory view counter")
+        .register(meterRegistry);
+  }
+
+  /** Counts a view towards the story's total and its {@link TrendingLeaderboard} score. */
+  public void recordView(Long storyId) {
+    if (properties.enabled()) {
+      views.computeIfAbsent(storyId, id -> new StoryViews()).adder.increment();
+    }
+    trending.recordView(storyId);
+  }
+
+  /** The {@code limit} most viewed stories as of the last flush. */
+  public List<StoryViewCountDto> mostViewed(int limit) {
+    if (limit < 1 || limit > properties.rankingSize()) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "limit must be between 1 and " + properties.rankingSize());
+    }
+    List<StoryViewCountDto> current = ranking;
+    return current.subList(0, Math.min(limit, current.size()));
+  }
+
+  /** Writes pending views and refreshes the ranking; returns the number of views written. */
+  public synchronized long flush() {
+    List<Object[]> rows = new ArrayList<>();
+    List<Runnable> marks = new ArrayList<>();
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Long> idle = new ArrayList<>();
+    long total = 0;
+    for (Map<Long, StoryViews> counters : List.of(views, retired)) {
+      for (Map.Entry<Long, StoryViews> entry : counters.entrySet()) {
+        StoryViews story = entry.getValue();
+        long sum = story.adder.sum();
+        long delta = sum - story.flushed;
+        if (delta > 0) {
+          rows.add(new Object[] {entry.getKey(), delta, now});
+          marks.add(() -> story.flushed = sum);
+          total += delta;
+        } else if (counters == views) {
+          idle.add(entry.getKey());
+        }
+      }
+    }
+    if (!rows.isEmpty()) {
+      transactionTemplate.executeWithoutResult(
+          status -> {
+            for (int from = 0; from < rows.size(); from += properties.batchSize()) {
+              int to = Math.min(rows.size(), from + properties.batchSize());
+              jdbcTemplate.batchUpdate(MERGE_SQL, rows.subList(from, to));
+            }
+          });
+      marks.forEach(Runnable::run);
+      flushedViews.increment(total);
+    }
+    retired = retire(idle);
+    ranking =
+        jdbcTemplate.query(
+            TOP_SQL,
+            (rs, rowNum) -> new StoryViewCountDto(rs.getLong(1), rs.getLong(2)),
+            properties.rankingSize());
+    return total;
+  }
+
+  /**
+   * Drops the counts of a deleted story. Holds the flush lock, so a flush that already read the
+   * story's adder cannot merge its row back into story_stats after the delete.
+   */
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public synchronized void onStoryChanged(StoryChangedEvent event) {
+    if (event.type() != StoryChangeType.DELETED) {
+      return;
+    }
+    views.remove(event.storyId());
+    retired.remove(event.storyId());
+    jdbcTemplate.update("DELETE FROM story_stats WHERE story_id = ?", event.storyId());
+    ranking = ranking.stream().filter(entry -> !entry.id().equals(event.storyId())).toList();
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar registrar) {
+    if (properties.enabled()) {
+      registrar.addFixedDelayTask(this::runSafely, properties.flushInterval());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    if (properties.enabled()) {
+      long written = flush();
+      log.info("Flushed {} story views on shutdown", written);
+    }
+  }
+
+  /** Removes the adders of stories with no views since the previous flush. */
+  private Map<Long, StoryViews> retire(List<Long> idle) {
+    Map<Long, StoryViews> removed = new HashMap<>();
+    for (Long storyId : idle) {
+      StoryViews story = views.get(storyId);
+      if (story != null && story.adder.sum() == story.flushed && views.remove(storyId, story)) {
+        removed.put(storyId, story);
+      }
+    }
+    return removed;
+  }
+
+  private void runSafely() {
+    try {
+      flush();
+    } catch (RuntimeException ex) {
+      log.warn("Story view flush failed, will retry: {}", ex.getMessage());
+    }
+  }
+
+  private static final class StoryViews {
+    final LongAdder adder = new LongAdder();
+    // Only read and written by flush(), which is synchronized
+    long flushed;
+  }
+}
@@ -0,0 +1,145 @@
+package io.github.tbarland.obscura.stats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The {@code capacity} highest-scoring ids: a binary min-heap over parallel arrays, so the weakest
+ * member is always at the root, plus an id-to-slot index so a member's score can be changed or the
+ * member removed in O(log K). Not thread-safe.
+ */
+final class TopKHeap {
+
+  record Entry(long id, double score) {}
+
+  private final int capacity;
+  private final long[] ids;
+  private final double[] scores;
+  private final Map<Long, Integer> slots;
+  private int size;
+
+  TopKHeap(int capacity) {
+    this.capacity = capacity;
+    this.ids = new long[capacity];
+    this.scores = new double[capacity];
+    this.slots = new HashMap<>(capacity * 2);
+  }
+
+  /**
+   * Sets {@code id}'s score if it is a member, otherwise admits it when there is room or it beats
+   * the weakest member (which is then dropped). Returns whether {@code id} is a member afterwards.
+   */
+  boolean offer(long id, double score) {
+    Integer slot = slots.get(id);
+    if (slot != null) {
+      double previous = scores[slot];
+      scores[slot] = score;
+      if (score > previous) {
+        siftDown(slot);
+      } else {
+        siftUp(slot);
+      }
+      return true;
+    }
+    if (size < capacity) {
+      place(size, id, score);
+      siftUp(size++);
+      return true;
+    }
+    if (capacity == 0 || score <= scores[0]) {
+      return false;
+    }
+    slots.remove(ids[0]);
+    place(0, id, score);
+    siftDown(0);
+    return true;
+  }
+
+  boolean remove(long id) {
+    Integer slot = slots.remove(id);
+    if (slot == null) {
+      return false;
+    }
+    size--;
+    if (slot != size) {
+      place(slot, ids[size], scores[size]);
+      siftDown(slot);
+      siftUp(slot);
+    }
+    return true;
+  }
+
+  boolean contains(long id) {
+    return slots.containsKey(id);
+  }
+
+  boolean isFull() {
+    return size == capacity;
+  }
+
+  int size() {
+    return size;
+  }
+
+  /** Multiplies every score by {@code factor} (positive), which keeps the heap order. */
+  void scale(double factor) {
+    for (int i = 0; i < size; i++) {
+      scores[i] *= factor;
+    }
+  }
+
+  List<Entry> sortedDescending() {
+    List<Entry> entries = new ArrayList<>(size);
+    for (int i = 0; i < size; i++) {
+      entries.add(new Entry(ids[i], scores[i]));
+    }
+    entries.sort(Comparator.comparingDouble(Entry::score).reversed());
+    return entries;
+  }
+
+  private void siftUp(int slot) {
+    while (slot > 0) {
+      int parent = (slot - 1) / 2;
+      if (scores[parent] <= scores[slot]) {
+        return;
+      }
+      swap(slot, parent);
+      slot = parent;
+    }
+  }
+
+  private void siftDown(int slot) {
+    while (true) {
+      int smallest = slot;
+      int left = 2 * slot + 1;
+      int right = left + 1;
+      if (left < size && scores[left] < scores[smallest]) {
+        smallest = left;
+      }
+      if (right < size && scores[right] < scores[smallest]) {
+        smallest = right;
+      }
+      if (smallest == slot) {
+        return;
+      }
+      swap(slot, smallest);
+      slot = smallest;
+    }
+  }
+
+  private void swap(int a, int b) {
+    long id = ids[a];
+    double score = scores[a];
+    place(a, ids[b], scores[b]);
+    place(b, id, score);
+  }
+
+  private void place(int slot, long id, double score) {
+    ids[slot] = id;
+    scores[slot] = score;
+    slots.put(id, slot);
+  }
+}
@@ -0,0 +1,174 @@
+package io.github.tbarland.obscura.stats;
+
+import io.github.tbarland.obscura.config.TrendingProperties;
+import io.github.tbarland.obscura.dto.TrendingStoryDto;
+import io.github.tbarland.obscura.model.StoryChangeType;
+import io.github.tbarland.obscura.outbox.StoryChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.SchedulingConfigurer;
+import org.springframework.scheduling.config.ScheduledTaskRegistrar;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * In-process "trending now" list from story views and creations, with time-decayed scores (see
+ * {@link DecayedScores}). Views are only counted on the request path; a scheduled tick applies them
+ * in one batch and publishes an immutable, sorted top list, so reading the top N is a sublist of
+ * that list and never touches the database or a lock.
+ *
+ * <p>The leaderboard is per node. A snapshot of the highest scores is saved periodically and on
+ * shutdown, and loaded on the first tick, so a restart keeps the current trends instead of starting
+ * cold.
+ */
+@Component
+public class TrendingLeaderboard implements SchedulingConfigurer, DisposableBean {
+
+  private static final Logger log = LoggerFactory.getLogger(TrendingLeaderboard.class);
+
+  private final JdbcTemplate jdbcTemplate;
+  private final TransactionTemplate transactionTemplate;
+  private final TrendingProperties properties;
+  private final DecayedScores scores;
+  private final Map<Long, LongAdder> pendingViews = new ConcurrentHashMap<>();
+  private volatile List<TrendingStoryDto> published = List.of();
+  private volatile boolean restored;
+
+  public TrendingLeaderboard(
+      JdbcTemplate jdbcTemplate,
+      PlatformTransactionManager transactionManager,
+      TrendingProperties properties,
+      MeterRegistry meterRegistry) {
+    this.jdbcTemplate = jdbcTemplate;
+    this.transactionTemplate = new TransactionTemplate(transactionManager);
+    this.properties = properties;
+    this.scores = new DecayedScores(properties.halfLife(), properties.size());
+    Gauge.builder("obscura.trending.tracked", scores, DecayedScores::trackedStories)
+        .description("Stories with a trending score")
+        .register(meterRegistry);
+  }
+
+  public void recordView(Long storyId) {
+    if (properties.enabled()) {
+      pendingViews.computeIfAbsent(storyId, id -> new LongAdder()).increment();
+    }
+  }
+
+  /** The {@code limit} top trending stories as of the last tick. */
+  public List<TrendingStoryDto> top(int limit) {
+    if (limit < 1 || limit > properties.size()) {
+      throw new ResponseStatusException(
+          HttpStatus.BAD_REQUEST, "limit must be between 1 and " + properties.size());
+    }
+    List<TrendingStoryDto> current = published;
+    return current.subList(0, Math.min(limit, current.size()));
+  }
+
+  /**
+   * Applies the views counted since the last tick and republishes the top list. A view that races
+   * the drain of its story may be dropped, which a decayed trend score can afford.
+   */
+  public synchronized void tick() {
+    if (!restored) {
+      restore();
+    }
+    for (Long storyId : pendingViews.keySet()) {
+      LongAdder views = pendingViews.remove(storyId);
+      if (views != null) {
+        scores.add(storyId, views.sum() * properties.viewWeight());
+      }
+    }
+    published = scores.top();
+  }
+
+  /** Replaces the saved snapshot with the current highest scores and forgets faded stories. */
+  public synchronized void save() {
+    if (!restored) {
+      // Never overwrite a snapshot that has not been loaded yet
+      return;
+    }
+    List<TrendingStoryDto> highest = scores.highest(properties.snapshotSize());
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    List<Object[]> rows =
+        highest.stream().map(entry -> new Object[] {entry.id(), entry.score(), now}).toList();
+    transactionTemplate.executeWithoutResult(
+        status -> {
+          jdbcTemplate.update("DELETE FROM story_trending");
+          jdbcTemplate.batchUpdate(
+              "INSERT INTO story_trending (story_id, score, scored_at) VALUES (?, ?, ?)", rows);
+        });
+    scores.prune(properties.minScore());
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onStoryChanged(StoryChangedEvent event) {
+    if (!properties.enabled()) {
+      return;
+    }
+    if (event.type() == StoryChangeType.CREATED) {
+      scores.add(event.storyId(), properties.createWeight());
+    } else if (event.type() == StoryChangeType.DELETED) {
+      pendingViews.remove(event.storyId());
+      scores.remove(event.storyId());
+      published = published.stream().filter(entry -> !entry.id().equals(event.storyId())).toList();
+    }
+  }
+
+  @Override
+  public void configureTasks(ScheduledTaskRegistrar registrar) {
+    if (properties.enabled()) {
+      registrar.addFixedDelayTask(this::tickSafely, properties.publishInterval());
+      registrar.addFixedDelayTask(this::saveSafely, properties.snapshotInterval());
+    }
+  }
+
+  @Override
+  public void destroy() {
+    if (properties.enabled()) {
+      tick();
+      save();
+    }
+  }
+
+  private void restore() {
+    // Stories deleted while this node was down are skipped
+    jdbcTemplate.query(
+        "SELECT t.story_id, t.score, t.scored_at FROM story_trending t "
+            + "WHERE EXISTS (SELECT 1 FROM story s WHERE s.id = t.story_id)",
+        (RowCallbackHandler)
+            rs -> scores.addAt(rs.getLong(1), rs.getDouble(2), rs.getTimestamp(3).getTime()));
+    restored = true;
+  }
+
+  private void tickSafely() {
+    try {
+      tick();
+    } catch (RuntimeException ex) {
+      log.warn("Trending leaderboard tick failed, will retry: {}", ex.getMessage());
+    }
+  }
+
+  private void saveSafely() {
+    try {
+      save();
+    } catch (RuntimeException ex) {
+      log.warn("Trending snapshot save failed, will retry: {}", ex.getMessage());
+    }
+  }
+}
@@ -0,0 +1,44 @@
+package io.github.tbarland.obscura.web;
+
+/**
+ * A single {@code Range: chars=first-last} request (RFC 9110 permits custom range units). Either
+ * bound may be absent: {@code chars=100-} reads from 100 to the end and {@code chars=-100} (no
+ * {@code first}) reads the last 100 characters. Both bounds are inclusive.
+ */
+public record CharRange(Long first, Long last) {
+
+  public static final String UNIT = "chars";
+
+  /**
+   * Parses a {@code Range} header. Returns null when the header is absent, uses another unit, asks
+   * for several ranges or is malformed: such a header is ignored and the full content is served.
+   */
+  public static CharRange parse(String header) {
+    if (header == null || !header.startsWith(UNIT + "=")) {
+      return null;
+    }
+    String spec = header.substring(UNIT.length() + 1).trim();
+    int dash = spec.indexOf('-');
+    if (dash < 0 || spec.indexOf(',') >= 0) {
+      return null;
+    }
+    try {
+      Long first = dash == 0 ? null : Long.valueOf(spec.substring(0, dash).trim());
+      String lastPart = spec.substring(dash + 1).trim();
+      Long last = lastPart.isEmpty() ? null : Long.valueOf(lastPart);
+      if ((first == null && last == null)
+          || (first != null && first < 0)
+          || (last != null && last < 0)
+          || (first != null && last != null && last < first)) {
+        return null;
+      }
+      return new CharRange(first, last);
+    } catch (NumberFormatException ex) {
+      return null;
+    }
+  }
+
+  public boolean isSuffix() {
+    return first == null;
+  }
+}
@@ -0,0 +1,33 @@
+package io.github.tbarland.obscura.web;
+
+import jakarta.servlet.http.HttpServletRequest;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Resolves a stable key identifying the client behind a request.
+ *
+ * <p>Clients that send one of the configured API keys in the {@code X-API-Key} header are keyed by
+ * that key; everyone else, including clients sending an unknown key, is keyed by remote address. An
+ * unchecked header would let a client claim a fresh rate-limit bucket on every request. Behind a
+ * reverse proxy, enable {@code server.forward-headers-strategy} so the remote address reflects the
+ * real client rather than the proxy.
+ */
+public final class ClientKeyResolver {
+
+  public static final String API_KEY_HEADER = "X-API-Key";
+
+  private final Set<String> apiKeys;
+
+  public ClientKeyResolver(Collection<String> apiKeys) {
+    this.apiKeys = Set.copyOf(apiKeys);
+  }
+
+  public String resolve(HttpServletRequest request) {
+    String apiKey = request.getHeader(API_KEY_HEADER);
+    if (apiKey != null && apiKeys.contains(apiKey.strip())) {
+      return "key:" + apiKey.strip();
+    }
+    return "ip:" + request.getRemoteAddr();
+  }
+}
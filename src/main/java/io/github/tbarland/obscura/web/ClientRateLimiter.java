@@ -0,0 +1,72 @@
+package io.github.tbarland.obscura.web;
+
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.LongSupplier;
+
+/**
+ * Per-client token buckets held in a bounded map.
+ *
+ * <p>When the map reaches {@code maxClients}, full (idle) buckets are evicted first since they can
+ * be recreated without changing behaviour; if that is not enough, arbitrary buckets are dropped
+ * down to 90% of the limit. Evicting an active bucket only ever grants that client a fresh burst,
+ * so memory stays bounded no matter how many distinct clients (or spoofed keys) show up.
+ */
+public class ClientRateLimiter {
+
+  private final int capacity;
+  private final double refillPerSecond;
+  private final int maxClients;
+  private final LongSupplier nanoClock;
+  private final ConcurrentMap<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+
+  public ClientRateLimiter(int capacity, double refillPerSecond, int maxClients) {
+    this(capacity, refillPerSecond, maxClients, System::nanoTime);
+  }
+
+  ClientRateLimiter(int capacity, double refillPerSecond, int maxClients, LongSupplier nanoClock) {
+    this.capacity = capacity;
+    this.refillPerSecond = refillPerSecond;
+    this.maxClients = maxClients;
+    this.nanoClock = nanoClock;
+  }
+
+  public boolean tryAcquire(String clientKey) {
+    long now = nanoClock.getAsLong();
+    TokenBucket bucket = buckets.get(clientKey);
+    if (bucket == null) {
+      if (buckets.size() >= maxClients) {
+        evict(now);
+      }
+      bucket =
+          buckets.computeIfAbsent(
+              clientKey, key -> new TokenBucket(capacity, refillPerSecond, now));
+    }
+    return bucket.tryAcquire(now);
+  }
+
+  public long secondsUntilAvailable(String clientKey) {
+    TokenBucket bucket = buckets.get(clientKey);
+    if (bucket == null) {
+      return 0;
+    }
+    long nanos = bucket.nanosUntilAvailable(nanoClock.getAsLong());
+    return Math.max(1, (nanos + 999_999_999L) / 1_000_000_000L);
+  }
+
+  public int trackedClients() {
+    return buckets.size();
+  }
+
+  private void evict(long now) {
+    buckets.values().removeIf(bucket -> bucket.isFull(now));
+
+    int target = maxClients - Math.max(1, maxClients / 10);
+    Iterator<String> keys = buckets.keySet().iterator();
+    while (buckets.size() > target && keys.hasNext()) {
+      keys.next();
+      keys.remove();
+    }
+  }
+}
@@ -0,0 +1,90 @@
+package io.github.tbarland.obscura.web;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Decides whether to reject a request before any work starts, based on how overloaded the service
+ * currently is.
+ *
+ * <p>Three signals are checked: requests in flight against a hard concurrency cap, threads queued
+ * for a database connection, and an exponentially weighted moving average of request latency. The
+ * first two shed outright; latency above target sheds a fraction of requests proportional to the
+ * overshoot (capped at {@code maxShedRatio}) so the service degrades gradually and keeps measuring
+ * the latency it needs in order to recover.
+ */
+public class LoadShedder {
+
+  /** Why a request was shed, or {@code NONE}. */
+  public enum Decision {
+    NONE,
+    CONCURRENCY,
+    POOL_SATURATION,
+    LATENCY
+  }
+
+  private static final double EWMA_WEIGHT = 0.1;
+
+  private final int maxConcurrentRequests;
+  private final int maxPendingConnections;
+  private final long latencyTargetNanos;
+  private final double maxShedRatio;
+  private final IntSupplier pendingConnections;
+
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong latencyEwmaNanos = new AtomicLong();
+
+  public LoadShedder(
+      int maxConcurrentRequests,
+      int maxPendingConnections,
+      Duration latencyTarget,
+      double maxShedRatio,
+      IntSupplier pendingConnections) {
+    this.maxConcurrentRequests = maxConcurrentRequests;
+    this.maxPendingConnections = maxPendingConnections;
+    this.latencyTargetNanos = latencyTarget.toNanos();
+    this.maxShedRatio = maxShedRatio;
+    this.pendingConnections = pendingConnections;
+  }
+
+  public Decision evaluate() {
+    if (inFlight.get() >= maxConcurrentRequests) {
+      return Decision.CONCURRENCY;
+    }
+    if (pendingConnections.getAsInt() > maxPendingConnections) {
+      return Decision.POOL_SATURATION;
+    }
+
+    long latency = latencyEwmaNanos.get();
+    if (latency > latencyTargetNanos) {
+      double overshoot = (double) (latency - latencyTargetNanos) / latencyTargetNanos;
+      if (ThreadLocalRandom.current().nextDouble() < Math.min(maxShedRatio, overshoot)) {
+        return Decision.LATENCY;
+      }
+    }
+    return Decision.NONE;
+  }
+
+  public void requestStarted() {
+    inFlight.incrementAndGet();
+  }
+
+  public void requestFinished(long latencyNanos) {
+    inFlight.decrementAndGet();
+    // Starts from zero rather than the first sample, so one cold request after startup cannot
+    // shed the ones that follow
+    latencyEwmaNanos.accumulateAndGet(
+        latencyNanos, (current, sample) -> (long) (current + EWMA_WEIGHT * (sample - current)));
+  }
+
+  public int inFlight() {
+    return inFlight.get();
+  }
+
+  public double latencyEwmaMillis() {
+    return latencyEwmaNanos.get() / 1_000_000.0;
+  }
+}
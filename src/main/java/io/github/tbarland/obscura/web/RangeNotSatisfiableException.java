@@ -0,0 +1,25 @@
+package io.github.tbarland.obscura.web;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/** 416 response whose {@code Content-Range} header tells the client the content length. */
+public class RangeNotSatisfiableException extends ResponseStatusException {
+
+  private final int totalLength;
+
+  public RangeNotSatisfiableException(int totalLength) {
+    super(
+        HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE,
+        "Range starts beyond the content length of " + totalLength);
+    this.totalLength = totalLength;
+  }
+
+  @Override
+  public HttpHeaders getHeaders() {
+    HttpHeaders headers = new HttpHeaders();
+    headers.set(HttpHeaders.CONTENT_RANGE, CharRange.UNIT + " */" + totalLength);
+    return headers;
+  }
+}
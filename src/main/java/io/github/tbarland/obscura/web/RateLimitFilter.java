@@ -0,0 +1,99 @@
+package io.github.tbarland.obscura.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Rejects API requests early: 429 when the client has exhausted its token bucket, 503 when the
+ * {@link LoadShedder} reports overload. Either way the request is turned away before it reaches a
+ * controller or borrows a database connection. CORS preflight requests are never limited.
+ *
+ * <p>Rejections are counted in {@code obscura.http.rejected} tagged with the reason.
+ */
+public class RateLimitFilter extends OncePerRequestFilter {
+
+  private final ClientKeyResolver clientKeyResolver;
+  private final ClientRateLimiter rateLimiter;
+  private final LoadShedder loadShedder;
+  private final Counter rateLimited;
+  private final Map<LoadShedder.Decision, Counter> shed = new EnumMap<>(LoadShedder.Decision.class);
+
+  public RateLimitFilter(
+      ClientKeyResolver clientKeyResolver,
+      ClientRateLimiter rateLimiter,
+      LoadShedder loadShedder,
+      MeterRegistry meterRegistry) {
+    this.clientKeyResolver = clientKeyResolver;
+    this.rateLimiter = rateLimiter;
+    this.loadShedder = loadShedder;
+    this.rateLimited = rejectedCounter(meterRegistry, "rate_limit");
+    for (LoadShedder.Decision decision : LoadShedder.Decision.values()) {
+      if (decision != LoadShedder.Decision.NONE) {
+        shed.put(decision, rejectedCounter(meterRegistry, decision.name().toLowerCase()));
+      }
+    }
+  }
+
+  @Override
+  protected void doFilterInternal(
+      @NonNull HttpServletRequest request,
+      @NonNull HttpServletResponse response,
+      @NonNull FilterChain filterChain)
+      throws ServletException, IOException {
+    if ("OPTIONS".equals(request.getMethod())) {
+      filterChain.doFilter(request, response);
+      return;
+    }
+
+    String clientKey = clientKeyResolver.resolve(request);
+    if (!rateLimiter.tryAcquire(clientKey)) {
+      rateLimited.increment();
+      reject(
+          response,
+          HttpStatus.TOO_MANY_REQUESTS,
+          rateLimiter.secondsUntilAvailable(clientKey),
+          "Rate limit exceeded");
+      return;
+    }
+
+    LoadShedder.Decision decision = loadShedder.evaluate();
+    if (decision != LoadShedder.Decision.NONE) {
+      shed.get(decision).increment();
+      reject(response, HttpStatus.SERVICE_UNAVAILABLE, 1, "Service overloaded, retry shortly");
+      return;
+    }
+
+    long start = System.nanoTime();
+    loadShedder.requestStarted();
+    try {
+      filterChain.doFilter(request, response);
+    } finally {
+      loadShedder.requestFinished(System.nanoTime() - start);
+    }
+  }
+
+  private static void reject(
+      HttpServletResponse response, HttpStatus status, long retryAfterSeconds, String message)
+      throws IOException {
+    response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+    response.sendError(status.value(), message);
+  }
+
+  private static Counter rejectedCounter(MeterRegistry meterRegistry, String reason) {
+    return Counter.builder("obscura.http.rejected")
+        .tag("reason", reason)
+        .description("API requests rejected before reaching a controller")
+        .register(meterRegistry);
+  }
+}
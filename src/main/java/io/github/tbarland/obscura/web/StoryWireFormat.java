@@ -0,0 +1,84 @@
+package io.github.tbarland.obscura.web;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import com.fasterxml.jackson.core.TSFBuilder;
+import com.fasterxml.jackson.core.util.JsonRecyclerPools;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import java.util.Comparator;
+import java.util.List;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * Wire formats for endpoints that write Jackson output directly instead of going through the
+ * message converters. Factories share a concurrent buffer pool, so generator buffers are reused
+ * across requests on any thread (including virtual threads, where thread-local pools never hit).
+ */
+public enum StoryWireFormat {
+  JSON(
+      MediaType.APPLICATION_JSON,
+      JsonFactory.builder().recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())),
+  SMILE(
+      MediaType.parseMediaType("application/x-jackson-smile"),
+      SmileFactory.builder().recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool())),
+  CBOR(
+      MediaType.parseMediaType("application/cbor"),
+      CBORFactory.builder().recyclerPool(JsonRecyclerPools.sharedConcurrentDequePool()));
+
+  private final MediaType mediaType;
+  private final JsonFactory factory;
+
+  StoryWireFormat(MediaType mediaType, TSFBuilder<?, ?> builder) {
+    this.mediaType = mediaType;
+    this.factory = builder.disable(StreamWriteFeature.AUTO_CLOSE_TARGET).build();
+  }
+
+  public MediaType mediaType() {
+    return mediaType;
+  }
+
+  public JsonFactory factory() {
+    return factory;
+  }
+
+  /**
+   * Picks the format for an Accept header, honouring quality values; a missing header means JSON.
+   *
+   * @throws ResponseStatusException 406 if no supported format is acceptable
+   */
+  public static StoryWireFormat forAccept(String accept) {
+    if (accept == null || accept.isBlank()) {
+      return JSON;
+    }
+    List<MediaType> accepted;
+    try {
+      accepted =
+          MediaType.parseMediaTypes(accept).stream()
+              .sorted(Comparator.comparingDouble(MediaType::getQualityValue).reversed())
+              .toList();
+    } catch (InvalidMediaTypeException ex) {
+      throw new ResponseStatusException(HttpStatus.NOT_ACCEPTABLE, "Invalid Accept header");
+    }
+    for (MediaType candidate : accepted) {
+      if (candidate.getQualityValue() == 0) {
+        continue;
+      }
+      for (StoryWireFormat format : values()) {
+        if (candidate.includes(format.mediaType)) {
+          return format;
+        }
+      }
+    }
+    throw new ResponseStatusException(
+        HttpStatus.NOT_ACCEPTABLE, "Supported media types: " + List.of(JSON, SMILE, CBOR));
+  }
+
+  @Override
+  public String toString() {
+    return mediaType.toString();
+  }
+}
@@ -0,0 +1,52 @@
+package io.github.tbarland.obscura.web;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket.
+ *
+ * <p>Implemented as a generic cell rate algorithm: instead of a token count and a refill timestamp,
+ * the bucket keeps a single "theoretical arrival time" in an {@link AtomicLong}. Each permit pushes
+ * it forward by one emission interval; a permit is refused when that would put it more than {@code
+ * capacity} intervals ahead of now. This is equivalent to a bucket of {@code capacity} tokens
+ * refilled at {@code refillPerSecond}, but needs only one CAS per request.
+ */
+public class TokenBucket {
+
+  private final long emissionIntervalNanos;
+  private final long burstNanos;
+  private final AtomicLong theoreticalArrivalNanos;
+
+  public TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+    if (capacity < 1 || refillPerSecond <= 0) {
+      throw new IllegalArgumentException("Capacity and refill rate must be positive");
+    }
+    this.emissionIntervalNanos = Math.max(1, (long) (1_000_000_000L / refillPerSecond));
+    this.burstNanos = emissionIntervalNanos * capacity;
+    this.theoreticalArrivalNanos = new AtomicLong(nowNanos);
+  }
+
+  public boolean tryAcquire(long nowNanos) {
+    while (true) {
+      long current = theoreticalArrivalNanos.get();
+      long next = Math.max(current, nowNanos) + emissionIntervalNanos;
+      if (next - nowNanos > burstNanos) {
+        return false;
+      }
+      if (theoreticalArrivalNanos.compareAndSet(current, next)) {
+        return true;
+      }
+    }
+  }
+
+  /** Nanoseconds until the next permit becomes available; zero if one is available now. */
+  public long nanosUntilAvailable(long nowNanos) {
+    long wait = theoreticalArrivalNanos.get() + emissionIntervalNanos - burstNanos - nowNanos;
+    return Math.max(0, wait);
+  }
+
+  /** A full bucket carries no state worth keeping and can be evicted and recreated on demand. */
+  public boolean isFull(long nowNanos) {
+    return theoreticalArrivalNanos.get() <= nowNanos;
+  }
+}
@@ -0,0 +1,20 @@
+-- Archive tier (StoryArchiver). Stories not updated for a while move out of story into immutable,
+-- compressed segment files under obscura.archive.directory; archived_story records which segment
+-- holds each one, so a miss on story costs one primary-key lookup here before the 404.
+CREATE TABLE story_archive_segment (
+    id BIGSERIAL PRIMARY KEY,
+    file_name VARCHAR(255) NOT NULL UNIQUE,
+    story_count INTEGER NOT NULL,
+    size_bytes BIGINT NOT NULL,
+    created_at TIMESTAMP NOT NULL
+);
+
+CREATE TABLE archived_story (
+    story_id BIGINT PRIMARY KEY,
+    segment_id BIGINT NOT NULL,
+    archived_at TIMESTAMP NOT NULL,
+    CONSTRAINT fk_archived_story_segment FOREIGN KEY (segment_id)
+        REFERENCES story_archive_segment(id)
+);
+
+CREATE INDEX idx_archived_story_segment ON archived_story(segment_id);
@@ -0,0 +1,18 @@
+-- Transactional outbox: one row per story mutation, written in the mutation's own transaction.
+-- sequence_number is assigned when the relay publishes the row; it orders the change feed and is
+-- what subscribers resume from. Ids alone cannot do that because they are handed out at insert
+-- time, not in commit order.
+CREATE TABLE story_outbox (
+    id BIGSERIAL PRIMARY KEY,
+    story_id BIGINT NOT NULL,
+    event_type VARCHAR(16) NOT NULL,
+    payload TEXT,
+    created_at TIMESTAMP NOT NULL,
+    published_at TIMESTAMP,
+    sequence_number BIGINT
+);
+
+ALTER TABLE story_outbox ADD CONSTRAINT uk_story_outbox_sequence_number
+    UNIQUE (sequence_number);
+
+CREATE INDEX idx_story_outbox_published_at ON story_outbox(published_at, id);
@@ -0,0 +1,16 @@
+ALTER TABLE story ADD COLUMN updated_at TIMESTAMP;
+
+UPDATE story SET updated_at = created_at;
+
+ALTER TABLE story ALTER COLUMN updated_at SET NOT NULL;
+
+-- Keyset index for the incremental sync endpoint: (updated_at, id) > watermark
+CREATE INDEX idx_story_updated_at_id ON story(updated_at, id);
+
+-- Deleted story ids, kept for obscura.sync.tombstone-retention so syncing clients see deletes
+CREATE TABLE story_tombstone (
+    story_id BIGINT PRIMARY KEY,
+    deleted_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_story_tombstone_deleted_at_id ON story_tombstone(deleted_at, story_id);
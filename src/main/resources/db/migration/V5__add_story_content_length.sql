@@ -0,0 +1,7 @@
+-- Content length in characters, so ranged content reads can report the total without scanning
+-- the whole value
+ALTER TABLE story ADD COLUMN content_length INTEGER;
+
+UPDATE story SET content_length = CHAR_LENGTH(content);
+
+ALTER TABLE story ALTER COLUMN content_length SET NOT NULL;
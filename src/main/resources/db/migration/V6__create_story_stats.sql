@@ -0,0 +1,10 @@
+-- Per-story view counts, accumulated in memory and merged in batches (StoryViewCounter).
+-- No foreign key: story is partitioned on PostgreSQL; rows are removed when a story is deleted.
+CREATE TABLE story_stats (
+    story_id BIGINT PRIMARY KEY,
+    view_count BIGINT NOT NULL,
+    last_viewed_at TIMESTAMP NOT NULL
+);
+
+-- Most-viewed ranking
+CREATE INDEX idx_story_stats_view_count ON story_stats(view_count DESC, story_id);
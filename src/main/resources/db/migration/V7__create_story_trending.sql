@@ -0,0 +1,7 @@
+-- Latest trending leaderboard snapshot, reloaded on startup (TrendingLeaderboard). Scores are
+-- decayed to scored_at; the whole table is replaced on every save.
+CREATE TABLE story_trending (
+    story_id BIGINT PRIMARY KEY,
+    score DOUBLE PRECISION NOT NULL,
+    scored_at TIMESTAMP NOT NULL
+);
@@ -0,0 +1,11 @@
+-- Content fingerprints for duplicate detection on ingest: SHA-256 (hex) for exact copies and a
+-- 64-bit SimHash for near copies. Near matching runs in memory (DuplicateDetector); the hash
+-- index serves exact lookups and audits. Existing rows are fingerprinted by the application
+-- on startup.
+ALTER TABLE story ADD COLUMN content_hash VARCHAR(64);
+ALTER TABLE story ADD COLUMN simhash BIGINT;
+
+-- Set when a story was kept although it duplicates an earlier one (policy "flag")
+ALTER TABLE story ADD COLUMN duplicate_of BIGINT;
+
+CREATE INDEX idx_story_content_hash ON story(content_hash);
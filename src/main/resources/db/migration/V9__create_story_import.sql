@@ -0,0 +1,44 @@
+-- Bulk imports from local NDJSON/CSV files (StoryImporter). A file is cut into chunks at record
+-- boundaries; each chunk's stories and its story_import_chunk row commit in one transaction, so
+-- an interrupted import resumes with the chunks that have no row yet. file_size, file_modified
+-- and chunk_size pin the chunk boundaries: a changed file starts a new import.
+CREATE TABLE story_import (
+    id BIGSERIAL PRIMARY KEY,
+    path VARCHAR(1024) NOT NULL,
+    format VARCHAR(8) NOT NULL,
+    file_size BIGINT NOT NULL,
+    file_modified BIGINT NOT NULL,
+    chunk_size INTEGER NOT NULL,
+    chunk_count INTEGER,
+    status VARCHAR(16) NOT NULL,
+    error VARCHAR(1000),
+    created_at TIMESTAMP NOT NULL,
+    updated_at TIMESTAMP NOT NULL
+);
+
+CREATE INDEX idx_story_import_path ON story_import(path, file_size, file_modified);
+
+CREATE TABLE story_import_chunk (
+    import_id BIGINT NOT NULL,
+    chunk_index INTEGER NOT NULL,
+    start_offset BIGINT NOT NULL,
+    end_offset BIGINT NOT NULL,
+    imported INTEGER NOT NULL,
+    invalid INTEGER NOT NULL,
+    duplicates INTEGER NOT NULL,
+    completed_at TIMESTAMP NOT NULL,
+    CONSTRAINT story_import_chunk_pkey PRIMARY KEY (import_id, chunk_index),
+    CONSTRAINT fk_story_import_chunk_import FOREIGN KEY (import_id)
+        REFERENCES story_import(id) ON DELETE CASCADE
+);
+
+-- Rejected records, by byte offset in the file; at most a few per chunk are kept
+CREATE TABLE story_import_error (
+    import_id BIGINT NOT NULL,
+    record_offset BIGINT NOT NULL,
+    message VARCHAR(500) NOT NULL,
+    CONSTRAINT fk_story_import_error_import FOREIGN KEY (import_id)
+        REFERENCES story_import(id) ON DELETE CASCADE
+);
+
+CREATE INDEX idx_story_import_error_import ON story_import_error(import_id, record_offset);
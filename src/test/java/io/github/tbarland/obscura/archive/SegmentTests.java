@@ -0,0 +1,91 @@
+package io.github.tbarland.obscura.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class SegmentTests {
+
+  @TempDir Path directory;
+
+  @Test
+  void testFindsEveryStoryAcrossBlocks() throws IOException {
+    Random random = new Random(42);
+    List<ArchivedStory> stories = new ArrayList<>();
+    long id = 10;
+    for (int i = 0; i < 500; i++) {
+      id += 1 + random.nextInt(3);
+      stories.add(story(id, "Story " + i + " ".repeat(random.nextInt(400)) + "ü", i % 7 == 0));
+    }
+    Path file = directory.resolve("stories.seg");
+    long size;
+    try (SegmentWriter writer = new SegmentWriter(file, 1024)) {
+      for (ArchivedStory story : stories) {
+        writer.add(story);
+      }
+      size = writer.finish();
+    }
+
+    assertEquals(Files.size(file), size);
+    assertFalse(Files.exists(directory.resolve("stories.seg.tmp")));
+    try (Segment segment = Segment.open(file)) {
+      for (ArchivedStory story : stories) {
+        assertEquals(story, segment.find(story.id()));
+      }
+      assertNull(segment.find(1));
+      assertNull(segment.find(stories.getLast().id() + 1));
+      for (int i = 1; i < stories.size(); i++) {
+        if (stories.get(i).id() - stories.get(i - 1).id() > 1) {
+          assertNull(segment.find(stories.get(i).id() - 1));
+        }
+      }
+    }
+  }
+
+  @Test
+  void testRejectsIdsOutOfOrder() throws IOException {
+    Path file = directory.resolve("unordered.seg");
+    try (SegmentWriter writer = new SegmentWriter(file, 1024)) {
+      writer.add(story(2, "Second", false));
+      assertThrows(IllegalArgumentException.class, () -> writer.add(story(1, "First", false)));
+    }
+    // An unfinished segment leaves nothing behind
+    try (var files = Files.list(directory)) {
+      assertEquals(0, files.count());
+    }
+  }
+
+  @Test
+  void testRejectsFilesThatAreNotSegments() throws IOException {
+    Path file = directory.resolve("garbage.seg");
+    Files.writeString(file, "Not a segment, but long enough to have a footer");
+
+    IOException ex = assertThrows(IOException.class, () -> Segment.open(file));
+    assertTrue(ex.getMessage().startsWith("Not an archive segment"));
+  }
+
+  private static ArchivedStory story(long id, String content, boolean duplicate) {
+    LocalDateTime created = LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(id);
+    return new ArchivedStory(
+        id,
+        "Title " + id,
+        content,
+        "Author",
+        id % 2 == 0 ? List.of("even", "tag" + id) : List.of(),
+        created,
+        created.plusNanos(123_456_000),
+        duplicate ? id - 1 : null);
+  }
+}
@@ -0,0 +1,173 @@
+package io.github.tbarland.obscura.archive;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.tbarland.obscura.dto.StoryArchivePageDto;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.dto.StorySyncPageDto;
+import io.github.tbarland.obscura.service.StoryService;
+import io.github.tbarland.obscura.service.StorySyncService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest(
+    properties = {
+      "obscura.archive.enabled=true",
+      "obscura.archive.archiver=false",
+      "obscura.archive.archive-after=30d",
+      "obscura.archive.segment-stories=5",
+      "obscura.archive.block-size=512B",
+      "obscura.archive.batch-size=2"
+    })
+class StoryArchiverTests {
+
+  private static final Path DIRECTORY = createDirectory();
+
+  @Autowired private StoryArchiver storyArchiver;
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private StorySyncService syncService;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @DynamicPropertySource
+  static void archiveDirectory(DynamicPropertyRegistry registry) {
+    registry.add("obscura.archive.directory", DIRECTORY::toString);
+  }
+
+  @Test
+  void testArchivedStoriesAreStillServedById() throws IOException {
+    List<StoryResponseDto> old = new ArrayList<>();
+    for (int i = 0; i < 12; i++) {
+      old.add(create("Archived " + i, "Told long ago, part " + i + ". ".repeat(40)));
+    }
+    StoryResponseDto recent = create("Recent", "Told just now");
+    backdate(old);
+    int segments = count("SELECT COUNT(*) FROM story_archive_segment");
+    long files = segmentFiles();
+
+    assertEquals(12, storyArchiver.archive());
+
+    for (StoryResponseDto story : old) {
+      assertEquals(0, count("SELECT COUNT(*) FROM story WHERE id = ?", story.id()));
+      assertEquals(0, count("SELECT COUNT(*) FROM story_tags WHERE story_id = ?", story.id()));
+      StoryResponseDto archived = storyService.getStoryById(story.id());
+      assertEquals(story.title(), archived.title());
+      assertEquals(story.content(), archived.content());
+      assertEquals(Set.copyOf(story.tags()), Set.copyOf(archived.tags()));
+    }
+    assertEquals(1, count("SELECT COUNT(*) FROM story WHERE id = ?", recent.id()));
+    assertEquals(segments + 3, count("SELECT COUNT(*) FROM story_archive_segment"));
+    assertEquals(files + 3, segmentFiles());
+    assertEquals(0, storyArchiver.archive());
+  }
+
+  @Test
+  void testUpdatesAndDeletesRestoreArchivedStories() {
+    StoryResponseDto updated = create("To be updated", "Archived, then edited");
+    StoryResponseDto deleted = create("To be deleted", "Archived, then removed");
+    backdate(List.of(updated, deleted));
+    assertEquals(2, storyArchiver.archive());
+    LocalDateTime createdAt = storyService.getStoryById(updated.id()).createdAt();
+
+    storyService.updateStory(
+        updated.id(),
+        new StoryRequestDto("Updated", "Edited after archiving", "Author", List.of("restored")));
+    storyService.deleteStory(deleted.id());
+
+    StoryResponseDto restored = storyService.getStoryById(updated.id());
+    assertEquals("Edited after archiving", restored.content());
+    assertEquals(List.of("restored"), restored.tags());
+    assertEquals(createdAt, restored.createdAt());
+    assertEquals(1, count("SELECT COUNT(*) FROM story WHERE id = ?", updated.id()));
+    assertEquals(
+        0,
+        count(
+            "SELECT COUNT(*) FROM archived_story WHERE story_id IN (?, ?)",
+            updated.id(),
+            deleted.id()));
+    ResponseStatusException ex =
+        assertThrows(ResponseStatusException.class, () -> storyService.getStoryById(deleted.id()));
+    assertEquals(404, ex.getStatusCode().value());
+    assertEquals(1, count("SELECT COUNT(*) FROM story_tombstone WHERE story_id = ?", deleted.id()));
+  }
+
+  @Test
+  void testFullSyncIsCompletedByTheArchiveListing() {
+    List<StoryResponseDto> old = new ArrayList<>();
+    for (int i = 0; i < 3; i++) {
+      old.add(create("Listed " + i, "Archived and listed"));
+    }
+    backdate(old);
+    storyArchiver.archive();
+
+    Set<Long> synced = new HashSet<>();
+    StorySyncPageDto page = syncService.getChangesSince(null, 1000);
+    page.changed().forEach(story -> synced.add(story.id()));
+    List<StoryResponseDto> listed = new ArrayList<>();
+    StoryArchivePageDto archived = syncService.getArchived(old.getFirst().id() - 1, 2);
+    listed.addAll(archived.stories());
+    assertTrue(archived.hasMore());
+    archived = syncService.getArchived(archived.after(), 2);
+    listed.addAll(archived.stories());
+    assertFalse(archived.hasMore());
+
+    for (StoryResponseDto story : old) {
+      assertFalse(synced.contains(story.id()));
+    }
+    assertEquals(
+        old.stream().map(StoryResponseDto::id).toList(),
+        listed.stream().map(StoryResponseDto::id).toList());
+    assertEquals("Archived and listed", listed.getLast().content());
+  }
+
+  private StoryResponseDto create(String title, String content) {
+    return storyService.createStory(
+        new StoryRequestDto(title, content, "Author", List.of("archive", title.toLowerCase())));
+  }
+
+  private void backdate(List<StoryResponseDto> stories) {
+    Timestamp longAgo = Timestamp.valueOf(LocalDateTime.now().minusDays(60));
+    for (StoryResponseDto story : stories) {
+      jdbcTemplate.update("UPDATE story SET updated_at = ? WHERE id = ?", longAgo, story.id());
+    }
+  }
+
+  private int count(String sql, Object... args) {
+    return jdbcTemplate.queryForObject(sql, Integer.class, args);
+  }
+
+  private static long segmentFiles() throws IOException {
+    try (var files = Files.list(DIRECTORY)) {
+      return files.filter(file -> file.toString().endsWith(".seg")).count();
+    }
+  }
+
+  private static Path createDirectory() {
+    try {
+      return Files.createTempDirectory("obscura-archive");
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package io.github.tbarland.obscura.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.tbarland.obscura.ObscuraApplication;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.repository.StoryRepository;
+import io.github.tbarland.obscura.service.StoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.redis.connection.DefaultMessage;
+
+/**
+ * Two nodes on one database, each with its own rendered and Hibernate caches. The writer's shared
+ * level hands its invalidation broadcasts straight to the reader's listener, as Redis would.
+ */
+class CrossNodeInvalidationTests {
+
+  private static ConfigurableApplicationContext reader;
+  private static ConfigurableApplicationContext writer;
+
+  @BeforeAll
+  static void startNodes() {
+    reader = node(null);
+    StoryInvalidationListener listener =
+        new StoryInvalidationListener(
+            reader.getBean(RenderedStoryCache.class),
+            reader.getBean(StoryEntityCache.class),
+            "reader",
+            reader.getBean(MeterRegistry.class));
+    writer = node(new BroadcastOnlyCache(listener));
+  }
+
+  @AfterAll
+  static void stopNodes() {
+    writer.close();
+    reader.close();
+  }
+
+  @Test
+  void testUpdateOnOneNodeIsNotServedStaleOnAnother() {
+    StoryResponseDto created = writer.getBean(StoryService.class).createStory(request("Before"));
+    RenderedStoryCache readerCache = reader.getBean(RenderedStoryCache.class);
+    assertTrue(json(readerCache.get(created.id())).contains("Before"));
+
+    writer.getBean(StoryService.class).updateStory(created.id(), request("After"));
+
+    assertTrue(json(readerCache.get(created.id())).contains("After"));
+    assertEquals("After", reader.getBean(StoryService.class).getStoryById(created.id()).title());
+  }
+
+  @Test
+  void testCreateOnOneNodeIsListedOnAnother() {
+    StoryRepository readerRepository = reader.getBean(StoryRepository.class);
+    readerRepository.findAll();
+
+    StoryResponseDto created = writer.getBean(StoryService.class).createStory(request("New"));
+
+    assertTrue(
+        readerRepository.findAll().stream().anyMatch(story -> story.getId().equals(created.id())));
+  }
+
+  private static ConfigurableApplicationContext node(SharedStoryCache sharedCache) {
+    SpringApplicationBuilder builder =
+        new SpringApplicationBuilder(ObscuraApplication.class)
+            .web(WebApplicationType.NONE)
+            .properties(
+                "spring.datasource.url=jdbc:h2:mem:cross-node;DB_CLOSE_DELAY=-1",
+                "spring.jmx.enabled=false");
+    if (sharedCache != null) {
+      builder.initializers(
+          context -> context.getBeanFactory().registerSingleton("sharedStoryCache", sharedCache));
+    }
+    return builder.run();
+  }
+
+  private static String json(RenderedStory story) {
+    return new String(story.json(), StandardCharsets.UTF_8);
+  }
+
+  private static StoryRequestDto request(String title) {
+    return new StoryRequestDto(title, "Content", "Author", List.of("nodes"));
+  }
+
+  /** A shared level that stores nothing and only delivers broadcasts. */
+  private record BroadcastOnlyCache(StoryInvalidationListener listener)
+      implements SharedStoryCache {
+
+    @Override
+    public RenderedStory get(long id) {
+      return null;
+    }
+
+    @Override
+    public void putIfNewer(RenderedStory story) {}
+
+    @Override
+    public void invalidate(long id, long version) {
+      String message = id + ":" + version + ":" + System.currentTimeMillis() + ":writer";
+      listener.onMessage(
+          new DefaultMessage(
+              "invalidations".getBytes(StandardCharsets.UTF_8),
+              message.getBytes(StandardCharsets.UTF_8)),
+          null);
+    }
+  }
+}
@@ -0,0 +1,116 @@
+package io.github.tbarland.obscura.cache;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.service.StoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest
+class RenderedStoryCacheTests {
+
+  @Autowired private RenderedStoryCache renderedStoryCache;
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Test
+  void testRendersOnceUntilUpdated() throws Exception {
+    StoryResponseDto created = storyService.createStory(request("Cached", "Short content"));
+
+    RenderedStory first = renderedStoryCache.get(created.id());
+    assertSame(first, renderedStoryCache.get(created.id()));
+    assertEquals("Cached", objectMapper.readValue(first.json(), StoryResponseDto.class).title());
+    assertNull(first.gzip());
+
+    storyService.updateStory(created.id(), request("Cached v2", "Short content"));
+
+    RenderedStory second = renderedStoryCache.get(created.id());
+    assertEquals(
+        "Cached v2", objectMapper.readValue(second.json(), StoryResponseDto.class).title());
+    assertNotEquals(first.etag(), second.etag());
+  }
+
+  @Test
+  void testMissesLoadThroughTheCoalescingReader() {
+    StoryResponseDto created = storyService.createStory(request("Coalesced", "Content"));
+    double loads = storyReads("load");
+
+    renderedStoryCache.get(created.id());
+    renderedStoryCache.get(created.id());
+
+    assertEquals(loads + 1, storyReads("load"));
+  }
+
+  @Test
+  void testDeleteInvalidatesEntry() {
+    StoryResponseDto created = storyService.createStory(request("Doomed", "Content"));
+    renderedStoryCache.get(created.id());
+
+    storyService.deleteStory(created.id());
+
+    assertThrows(ResponseStatusException.class, () -> renderedStoryCache.get(created.id()));
+  }
+
+  @Test
+  void testLargeBodiesArePreGzipped() throws Exception {
+    StoryResponseDto created =
+        storyService.createStory(request("Long", "A dark and stormy night. ".repeat(200)));
+
+    RenderedStory rendered = renderedStoryCache.get(created.id());
+
+    assertNotNull(rendered.gzip());
+    try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(rendered.gzip()))) {
+      assertArrayEquals(rendered.json(), in.readAllBytes());
+    }
+  }
+
+  @Test
+  void testGetAllKeepsRequestedOrderAndReusesHits() throws Exception {
+    StoryResponseDto first = storyService.createStory(request("First", "Content"));
+    StoryResponseDto second = storyService.createStory(request("Second", "Content"));
+    RenderedStory cached = renderedStoryCache.get(second.id());
+    long unknownId = second.id() + 1_000;
+
+    Map<Long, RenderedStory> batch =
+        renderedStoryCache.getAll(List.of(second.id(), unknownId, first.id()));
+
+    assertEquals(List.of(second.id(), first.id()), List.copyOf(batch.keySet()));
+    assertSame(cached, batch.get(second.id()));
+    assertEquals(
+        "First",
+        objectMapper.readValue(batch.get(first.id()).json(), StoryResponseDto.class).title());
+    assertSame(batch.get(first.id()), renderedStoryCache.get(first.id()));
+  }
+
+  private static StoryRequestDto request(String title, String content) {
+    return new StoryRequestDto(title, content, "Author", List.of("cache"));
+  }
+
+  private double storyReads(String outcome) {
+    return meterRegistry
+        .get("obscura.story.reads")
+        .tag("outcome", outcome)
+        .functionCounter()
+        .count();
+  }
+}
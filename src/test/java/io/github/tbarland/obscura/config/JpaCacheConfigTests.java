@@ -0,0 +1,90 @@
+package io.github.tbarland.obscura.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.model.Story;
+import io.github.tbarland.obscura.repository.StoryRepository;
+import io.github.tbarland.obscura.service.StoryService;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.List;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest
+class JpaCacheConfigTests {
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private StoryRepository storyRepository;
+
+  @Autowired private EntityManagerFactory entityManagerFactory;
+
+  @Test
+  void testRepeatedReadsHitSecondLevelCache() {
+    StoryResponseDto created = storyService.createStory(request("Cached", List.of("a")));
+    storyService.getStoryById(created.id());
+    long hitsBefore = statistics().getDomainDataRegionStatistics(Story.CACHE_REGION).getHitCount();
+
+    storyService.getStoryById(created.id());
+
+    assertTrue(entityManagerFactory.getCache().contains(Story.class, created.id()));
+    assertTrue(
+        statistics().getDomainDataRegionStatistics(Story.CACHE_REGION).getHitCount() > hitsBefore);
+  }
+
+  @Test
+  void testUpdateReplacesCachedStoryAndTags() {
+    StoryResponseDto created = storyService.createStory(request("Before", List.of("old")));
+    storyService.getStoryById(created.id());
+
+    storyService.updateStory(created.id(), request("After", List.of("new", "tags")));
+    StoryResponseDto read = storyService.getStoryById(created.id());
+
+    assertEquals("After", read.title());
+    assertEquals(List.of("new", "tags"), read.tags());
+  }
+
+  @Test
+  void testDeleteEvictsCachedStory() {
+    StoryResponseDto created = storyService.createStory(request("Doomed", List.of("a")));
+    storyService.getStoryById(created.id());
+
+    storyService.deleteStory(created.id());
+    // READ_WRITE leaves a soft lock in place of the entry, so check it is no longer served
+    long hitsBefore = statistics().getDomainDataRegionStatistics(Story.CACHE_REGION).getHitCount();
+
+    assertThrows(ResponseStatusException.class, () -> storyService.getStoryById(created.id()));
+    assertEquals(
+        hitsBefore, statistics().getDomainDataRegionStatistics(Story.CACHE_REGION).getHitCount());
+  }
+
+  @Test
+  void testQueryCacheIsInvalidatedByWrites() {
+    storyService.createStory(request("First", List.of()));
+    storyRepository.findAll();
+    long hitsBefore = statistics().getQueryCacheHitCount();
+
+    storyRepository.findAll();
+    assertTrue(statistics().getQueryCacheHitCount() > hitsBefore);
+
+    StoryResponseDto created = storyService.createStory(request("Second", List.of()));
+    assertTrue(
+        storyRepository.findAll().stream().anyMatch(story -> story.getId().equals(created.id())));
+  }
+
+  private Statistics statistics() {
+    return entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+  }
+
+  private static StoryRequestDto request(String title, List<String> tags) {
+    return new StoryRequestDto(title, "Content", "Author", tags);
+  }
+}
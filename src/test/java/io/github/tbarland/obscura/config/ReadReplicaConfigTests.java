@@ -0,0 +1,55 @@
+package io.github.tbarland.obscura.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.github.tbarland.obscura.datasource.ReplicaRoutingDataSource;
+import java.time.Duration;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.mock.env.MockEnvironment;
+
+class ReadReplicaConfigTests {
+
+  @Test
+  void testPoolsUseHikariPropertiesAndCloseWithTheRouter() throws Exception {
+    ReadReplicaConfig config =
+        new ReadReplicaConfig(
+            new ReadReplicaProperties(
+                true,
+                List.of(new ReadReplicaProperties.Node("jdbc:h2:mem:replica", null, null)),
+                Duration.ofSeconds(5),
+                Duration.ofSeconds(2),
+                Duration.ofSeconds(5)));
+    DataSourceProperties primary = new DataSourceProperties();
+    primary.setUrl("jdbc:h2:mem:primary");
+    primary.setUsername("sa");
+    primary.afterPropertiesSet();
+    MockEnvironment environment =
+        new MockEnvironment()
+            .withProperty("spring.datasource.hikari.maximum-pool-size", "7")
+            .withProperty("spring.datasource.hikari.connection-timeout", "1500");
+
+    ReplicaRoutingDataSource router = config.replicaRoutingDataSource(primary, environment);
+    router.afterPropertiesSet();
+    HikariDataSource primaryPool = (HikariDataSource) router.getResolvedDefaultDataSource();
+    HikariDataSource replicaPool = (HikariDataSource) router.getReplicas().getFirst().dataSource();
+
+    for (HikariDataSource pool : List.of(primaryPool, replicaPool)) {
+      assertEquals(7, pool.getMaximumPoolSize());
+      assertEquals(1500, pool.getConnectionTimeout());
+      assertFalse(pool.isClosed());
+    }
+    assertEquals("jdbc:h2:mem:primary", primaryPool.getJdbcUrl());
+    assertEquals("jdbc:h2:mem:replica", replicaPool.getJdbcUrl());
+    assertTrue(replicaPool.isReadOnly());
+
+    router.close();
+
+    assertTrue(primaryPool.isClosed());
+    assertTrue(replicaPool.isClosed());
+  }
+}
@@ -0,0 +1,103 @@
+package io.github.tbarland.obscura.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class WireFormatConfigTests {
+
+  private static final MediaType SMILE = MediaType.parseMediaType("application/x-jackson-smile");
+  private static final MediaType CBOR = MediaType.parseMediaType("application/cbor");
+
+  private final ObjectMapper smileMapper =
+      new ObjectMapper(new SmileFactory()).findAndRegisterModules();
+  private final ObjectMapper cborMapper =
+      new ObjectMapper(new CBORFactory()).findAndRegisterModules();
+
+  @Autowired private MockMvc mockMvc;
+
+  @Test
+  void testSmileRoundTripForSingleStory() throws Exception {
+    StoryRequestDto request =
+        new StoryRequestDto("Smile Story", "Binary content", "Author", List.of("smile"));
+
+    byte[] created =
+        mockMvc
+            .perform(
+                post("/api/stories")
+                    .contentType(SMILE)
+                    .accept(SMILE)
+                    .content(smileMapper.writeValueAsBytes(request)))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(SMILE))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+    StoryResponseDto story = smileMapper.readValue(created, StoryResponseDto.class);
+
+    byte[] fetched =
+        mockMvc
+            .perform(get("/api/stories/" + story.id()).accept(SMILE))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(SMILE))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+
+    StoryResponseDto loaded = smileMapper.readValue(fetched, StoryResponseDto.class);
+    assertEquals(story.id(), loaded.id());
+    assertEquals("Smile Story", loaded.title());
+    assertEquals("Binary content", loaded.content());
+    assertEquals(List.of("smile"), loaded.tags());
+  }
+
+  @Test
+  void testCborListMatchesJsonList() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/stories")
+                .contentType(CBOR)
+                .content(
+                    cborMapper.writeValueAsBytes(
+                        new StoryRequestDto("CBOR Story", "Content", "Author", List.of()))))
+        .andExpect(status().isOk());
+
+    byte[] cbor =
+        mockMvc
+            .perform(get("/api/stories").accept(CBOR))
+            .andExpect(status().isOk())
+            .andExpect(content().contentType(CBOR))
+            .andReturn()
+            .getResponse()
+            .getContentAsByteArray();
+    String json =
+        mockMvc
+            .perform(get("/api/stories").accept(MediaType.APPLICATION_JSON))
+            .andExpect(status().isOk())
+            .andReturn()
+            .getResponse()
+            .getContentAsString();
+
+    ObjectMapper jsonMapper = new ObjectMapper().findAndRegisterModules();
+    StoryResponseDto[] fromCbor = cborMapper.readValue(cbor, StoryResponseDto[].class);
+    StoryResponseDto[] fromJson = jsonMapper.readValue(json, StoryResponseDto[].class);
+    assertEquals(List.of(fromJson), List.of(fromCbor));
+  }
+}
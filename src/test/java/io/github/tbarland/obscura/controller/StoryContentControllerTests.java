@@ -0,0 +1,171 @@
+package io.github.tbarland.obscura.controller;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.github.tbarland.obscura.archive.StoryArchiver;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.service.StoryService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(
+    properties = {
+      "obscura.content.chunk-size=10",
+      "obscura.content.max-range-length=8",
+      "obscura.archive.enabled=true",
+      "obscura.archive.archiver=false",
+      "obscura.archive.archive-after=30d"
+    })
+@AutoConfigureMockMvc
+class StoryContentControllerTests {
+
+  private static final String CONTENT = "0123456789abcdefghijKLMNO";
+
+  private static final Path ARCHIVE_DIRECTORY = createArchiveDirectory();
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private StoryArchiver storyArchiver;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  private Long storyId;
+
+  @DynamicPropertySource
+  static void archiveDirectory(DynamicPropertyRegistry registry) {
+    registry.add("obscura.archive.directory", ARCHIVE_DIRECTORY::toString);
+  }
+
+  @BeforeEach
+  void createStory() {
+    storyId =
+        storyService
+            .createStory(new StoryRequestDto("Long", CONTENT, "Author", List.of("long")))
+            .id();
+  }
+
+  @Test
+  void testFullContentWithoutRange() throws Exception {
+    mockMvc
+        .perform(get("/api/stories/{id}/content", storyId))
+        .andExpect(status().isOk())
+        .andExpect(header().string(HttpHeaders.ACCEPT_RANGES, "chars"))
+        .andExpect(content().string(CONTENT));
+  }
+
+  @Test
+  void testRangeReturnsPartialContent() throws Exception {
+    mockMvc
+        .perform(get("/api/stories/{id}/content", storyId).header(HttpHeaders.RANGE, "chars=3-6"))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "chars 3-6/25"))
+        .andExpect(content().string("3456"));
+  }
+
+  @Test
+  void testSuffixAndOpenRangesAreCappedAtMaxLength() throws Exception {
+    mockMvc
+        .perform(get("/api/stories/{id}/content", storyId).header(HttpHeaders.RANGE, "chars=-5"))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "chars 20-24/25"))
+        .andExpect(content().string("KLMNO"));
+
+    mockMvc
+        .perform(get("/api/stories/{id}/content", storyId).header(HttpHeaders.RANGE, "chars=10-"))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "chars 10-17/25"))
+        .andExpect(content().string("abcdefgh"));
+  }
+
+  @Test
+  void testRangeBeyondEndIsNotSatisfiable() throws Exception {
+    mockMvc
+        .perform(get("/api/stories/{id}/content", storyId).header(HttpHeaders.RANGE, "chars=25-30"))
+        .andExpect(status().isRequestedRangeNotSatisfiable())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "chars */25"));
+  }
+
+  @Test
+  void testOtherRangeUnitsAreIgnored() throws Exception {
+    mockMvc
+        .perform(get("/api/stories/{id}/content", storyId).header(HttpHeaders.RANGE, "bytes=0-1"))
+        .andExpect(status().isOk())
+        .andExpect(content().string(CONTENT));
+  }
+
+  @Test
+  void testChunks() throws Exception {
+    mockMvc
+        .perform(get("/api/stories/{id}/content/chunks/2", storyId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.chunkCount").value(3))
+        .andExpect(jsonPath("$.offset").value(20))
+        .andExpect(jsonPath("$.totalLength").value(25))
+        .andExpect(jsonPath("$.text").value("KLMNO"));
+
+    mockMvc
+        .perform(get("/api/stories/{id}/content/chunks/3", storyId))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void testUnknownStory() throws Exception {
+    mockMvc
+        .perform(get("/api/stories/{id}/content", storyId + 1_000))
+        .andExpect(status().isNotFound());
+  }
+
+  @Test
+  void testArchivedStoryIsServed() throws Exception {
+    jdbcTemplate.update(
+        "UPDATE story SET updated_at = ? WHERE id = ?",
+        Timestamp.valueOf(LocalDateTime.now().minusDays(60)),
+        storyId);
+    assertEquals(1, storyArchiver.archive());
+
+    mockMvc
+        .perform(get("/api/stories/{id}/content", storyId))
+        .andExpect(status().isOk())
+        .andExpect(content().string(CONTENT));
+    mockMvc
+        .perform(get("/api/stories/{id}/content", storyId).header(HttpHeaders.RANGE, "chars=-5"))
+        .andExpect(status().isPartialContent())
+        .andExpect(header().string(HttpHeaders.CONTENT_RANGE, "chars 20-24/25"))
+        .andExpect(content().string("KLMNO"));
+    mockMvc
+        .perform(get("/api/stories/{id}/content/chunks/1", storyId))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.chunkCount").value(3))
+        .andExpect(jsonPath("$.text").value("abcdefghij"));
+  }
+
+  private static Path createArchiveDirectory() {
+    try {
+      return Files.createTempDirectory("obscura-archive");
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
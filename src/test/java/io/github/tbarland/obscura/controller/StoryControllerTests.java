@@ -1,22 +1,41 @@
 package io.github.tbarland.obscura.controller;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.github.tbarland.obscura.cache.RenderedStory;
+import io.github.tbarland.obscura.cache.RenderedStoryCache;
+import io.github.tbarland.obscura.dto.StoryBatchDto;
 import io.github.tbarland.obscura.dto.StoryRequestDto;
 import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.service.CoalescingStoryReader;
+import io.github.tbarland.obscura.service.StoryListWriter;
 import io.github.tbarland.obscura.service.StoryService;
+import io.github.tbarland.obscura.stats.StoryViewCounter;
+import io.github.tbarland.obscura.web.StoryWireFormat;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletResponse;
 import org.springframework.web.server.ResponseStatusException;
 
 @ExtendWith(MockitoExtension.class)
@@ -26,25 +45,90 @@ class StoryControllerTests {
 
   @Mock private StoryService storyService;
 
+  @Mock private CoalescingStoryReader storyReader;
+
+  @Mock private StoryListWriter storyListWriter;
+
+  @Mock private RenderedStoryCache renderedStoryCache;
+
+  @Mock private StoryViewCounter viewCounter;
+
   @Test
-  void testGetAllStories() {
-    List<StoryResponseDto> mockStories =
-        List.of(
-            new StoryResponseDto(
-                1L, "Title1", "Content1", "Author1", List.of("tag1", "tag2"), LocalDateTime.now()),
-            new StoryResponseDto(
-                2L, "Title2", "Content2", "Author2", List.of("tag3"), LocalDateTime.now()));
+  void testGetAllStories() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
 
-    when(storyService.getAllStories()).thenReturn(mockStories);
+    storyController.getAllStories(null, response);
 
-    var response = storyController.getAllStories();
+    assertEquals(200, response.getStatus());
+    assertEquals("application/json", response.getContentType());
+    verify(storyListWriter).writeAll(StoryWireFormat.JSON, response.getOutputStream());
+  }
 
-    assertEquals(200, response.getStatusCode().value());
-    assertEquals(mockStories, response.getBody());
+  @Test
+  void testGetAllStoriesNegotiatesBinaryFormat() throws Exception {
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    storyController.getAllStories("application/cbor, application/json;q=0.5", response);
+
+    assertEquals("application/cbor", response.getContentType());
+    assertEquals(HttpHeaders.ACCEPT, response.getHeader(HttpHeaders.VARY));
+    verify(storyListWriter).writeAll(StoryWireFormat.CBOR, response.getOutputStream());
+  }
+
+  @Test
+  void testGetAllStoriesRejectsUnsupportedFormat() {
+    ResponseStatusException ex =
+        assertThrows(
+            ResponseStatusException.class,
+            () -> storyController.getAllStories("text/csv", new MockHttpServletResponse()));
+
+    assertEquals(HttpStatus.NOT_ACCEPTABLE, ex.getStatusCode());
   }
 
   @Test
   void testGetStoryById() {
+    long storyId = 1L;
+    byte[] json = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+    RenderedStory rendered = new RenderedStory(storyId, 42L, json, null);
+
+    when(renderedStoryCache.get(storyId)).thenReturn(rendered);
+
+    var response = storyController.getStoryById(storyId, null, "gzip", null);
+
+    assertEquals(200, response.getStatusCode().value());
+    assertArrayEquals(json, (byte[]) response.getBody());
+    assertEquals("\"1-42\"", response.getHeaders().getETag());
+    assertNull(response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+    verify(viewCounter).recordView(storyId);
+  }
+
+  @Test
+  void testGetStoryByIdServesPreGzippedBody() {
+    long storyId = 1L;
+    byte[] gzip = {31, -117, 8};
+    when(renderedStoryCache.get(storyId))
+        .thenReturn(new RenderedStory(storyId, 42L, new byte[] {'{', '}'}, gzip));
+
+    var response = storyController.getStoryById(storyId, "application/json", "br, gzip", null);
+
+    assertArrayEquals(gzip, (byte[]) response.getBody());
+    assertEquals("gzip", response.getHeaders().getFirst(HttpHeaders.CONTENT_ENCODING));
+  }
+
+  @Test
+  void testGetStoryByIdNotModified() {
+    long storyId = 1L;
+    when(renderedStoryCache.get(storyId))
+        .thenReturn(new RenderedStory(storyId, 42L, new byte[] {'{', '}'}, null));
+
+    var response = storyController.getStoryById(storyId, null, null, "\"1-42\"");
+
+    assertEquals(304, response.getStatusCode().value());
+    assertNull(response.getBody());
+  }
+
+  @Test
+  void testGetStoryByIdInBinaryFormatUsesReader() {
     long storyId = 1L;
     StoryResponseDto mockStory =
         new StoryResponseDto(
@@ -53,27 +137,88 @@ class StoryControllerTests {
             "Test Content",
             "Test Author",
             List.of("tag1", "tag2"),
+            LocalDateTime.now(),
             LocalDateTime.now());
 
-    when(storyService.getStoryById(storyId)).thenReturn(mockStory);
+    when(storyReader.getStoryById(storyId)).thenReturn(mockStory);
 
-    var response = storyController.getStoryById(storyId);
+    var response = storyController.getStoryById(storyId, "application/cbor", null, null);
 
     assertEquals(200, response.getStatusCode().value());
     assertEquals(mockStory, response.getBody());
-    assertEquals("Test Title", response.getBody().title());
+    assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
   }
 
   @Test
   void testGetStoryByIdNotFound() {
     long storyId = 999L;
 
-    when(storyService.getStoryById(storyId))
+    when(renderedStoryCache.get(storyId))
         .thenThrow(
             new ResponseStatusException(
                 HttpStatus.NOT_FOUND, "Story not found with id: " + storyId));
 
-    assertThrows(ResponseStatusException.class, () -> storyController.getStoryById(storyId));
+    assertThrows(
+        ResponseStatusException.class,
+        () -> storyController.getStoryById(storyId, null, null, null));
+    verify(viewCounter, never()).recordView(storyId);
+  }
+
+  @Test
+  void testGetStoriesByIdsStitchesRenderedBodies() {
+    Map<Long, RenderedStory> rendered = new LinkedHashMap<>();
+    rendered.put(3L, rendered(3L));
+    rendered.put(1L, rendered(1L));
+    when(renderedStoryCache.getAll(List.of(3L, 1L, 2L))).thenReturn(rendered);
+
+    var response = storyController.getStoriesByIds(List.of(3L, 1L, 3L, 2L), null);
+
+    assertEquals(200, response.getStatusCode().value());
+    assertEquals(
+        "{\"stories\":[{\"id\":3},{\"id\":1}],\"missing\":[2]}",
+        new String((byte[]) response.getBody(), StandardCharsets.UTF_8));
+  }
+
+  @Test
+  void testGetStoriesByIdsInBinaryFormatUsesService() {
+    StoryResponseDto story =
+        new StoryResponseDto(
+            2L, "Title", "Content", "Author", List.of(), LocalDateTime.now(), LocalDateTime.now());
+    when(storyService.getStoriesByIds(List.of(2L, 5L))).thenReturn(List.of(story));
+
+    var response = storyController.getStoriesByIds(List.of(2L, 5L), "application/x-jackson-smile");
+
+    assertEquals(new StoryBatchDto(List.of(story), List.of(5L)), response.getBody());
+    assertEquals(List.of(HttpHeaders.ACCEPT), response.getHeaders().getVary());
+  }
+
+  @Test
+  void testGetStoriesByIdsRejectsEmptyAndOversizedBatches() {
+    ResponseStatusException empty =
+        assertThrows(
+            ResponseStatusException.class, () -> storyController.getStoriesByIds(List.of(), null));
+    assertEquals(HttpStatus.BAD_REQUEST, empty.getStatusCode());
+
+    List<Long> tooMany =
+        LongStream.rangeClosed(1, StoryController.MAX_BATCH_IDS + 1).boxed().toList();
+    ResponseStatusException oversized =
+        assertThrows(
+            ResponseStatusException.class, () -> storyController.getStoriesByIds(tooMany, null));
+    assertEquals(HttpStatus.BAD_REQUEST, oversized.getStatusCode());
+  }
+
+  private static RenderedStory rendered(long id) {
+    byte[] json = ("{\"id\":" + id + "}").getBytes(StandardCharsets.UTF_8);
+    return new RenderedStory(id, 1L, json, null);
+  }
+
+  @Test
+  void testAcceptsGzip() {
+    assertTrue(StoryController.acceptsGzip("gzip, deflate, br"));
+    assertTrue(StoryController.acceptsGzip("br;q=1.0, gzip;q=0.8"));
+    assertFalse(StoryController.acceptsGzip("gzip;q=0"));
+    assertFalse(StoryController.acceptsGzip("identity"));
+    assertFalse(StoryController.acceptsGzip(null));
   }
 
   @Test
@@ -84,7 +229,13 @@ class StoryControllerTests {
 
     StoryResponseDto mockStory =
         new StoryResponseDto(
-            1L, "New Title", "New Content", "New Author", List.of("newtag"), LocalDateTime.now());
+            1L,
+            "New Title",
+            "New Content",
+            "New Author",
+            List.of("newtag"),
+            LocalDateTime.now(),
+            LocalDateTime.now());
 
     when(storyService.createStory(mockRequest)).thenReturn(mockStory);
 
@@ -131,6 +282,7 @@ class StoryControllerTests {
             "Updated Content",
             "Updated Author",
             List.of("tag1"),
+            LocalDateTime.now(),
             LocalDateTime.now());
 
     when(storyService.updateStory(storyId, mockRequest)).thenReturn(mockStory);
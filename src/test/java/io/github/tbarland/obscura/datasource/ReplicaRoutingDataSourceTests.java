@@ -0,0 +1,115 @@
+package io.github.tbarland.obscura.datasource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.tbarland.obscura.datasource.ReplicaRoutingDataSource.ReplicaNode;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+class ReplicaRoutingDataSourceTests {
+
+  private DataSource replicaOne;
+  private DataSource replicaTwo;
+  private ReplicaRoutingDataSource routingDataSource;
+
+  @BeforeEach
+  void setUp() {
+    replicaOne = mock(DataSource.class);
+    replicaTwo = mock(DataSource.class);
+    routingDataSource =
+        new ReplicaRoutingDataSource(
+            mock(DataSource.class),
+            List.of(
+                new ReplicaNode("replica-0", replicaOne),
+                new ReplicaNode("replica-1", replicaTwo)));
+  }
+
+  @AfterEach
+  void tearDown() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    ReplicaRoutingContext.clear();
+  }
+
+  @Test
+  void testWritesRouteToPrimary() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+
+    assertEquals(
+        ReplicaRoutingDataSource.PRIMARY_KEY, routingDataSource.determineCurrentLookupKey());
+  }
+
+  @Test
+  void testReadOnlyTransactionsRoundRobinAcrossReplicas() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    Object first = routingDataSource.determineCurrentLookupKey();
+    Object second = routingDataSource.determineCurrentLookupKey();
+
+    assertTrue(List.of("replica-0", "replica-1").contains(first));
+    assertTrue(List.of("replica-0", "replica-1").contains(second));
+    assertFalse(first.equals(second), "Consecutive reads should use different replicas");
+  }
+
+  @Test
+  void testUnhealthyReplicasAreSkipped() throws SQLException {
+    Connection healthy = mock(Connection.class);
+    when(healthy.isValid(anyInt())).thenReturn(true);
+    when(replicaOne.getConnection()).thenThrow(new SQLException("connection refused"));
+    when(replicaTwo.getConnection()).thenReturn(healthy);
+
+    routingDataSource.checkReplicaHealth(1);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+    assertEquals("replica-1", routingDataSource.determineCurrentLookupKey());
+  }
+
+  @Test
+  void testFallsBackToPrimaryWhenNoReplicaIsHealthy() throws SQLException {
+    when(replicaOne.getConnection()).thenThrow(new SQLException("connection refused"));
+    when(replicaTwo.getConnection()).thenThrow(new SQLException("connection refused"));
+
+    routingDataSource.checkReplicaHealth(1);
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+    assertEquals(
+        ReplicaRoutingDataSource.PRIMARY_KEY, routingDataSource.determineCurrentLookupKey());
+  }
+
+  @Test
+  void testForcedPrimaryOverridesReadOnlyRouting() {
+    TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+    ReplicaRoutingContext.forcePrimary();
+
+    assertEquals(
+        ReplicaRoutingDataSource.PRIMARY_KEY, routingDataSource.determineCurrentLookupKey());
+  }
+
+  @Test
+  void testReadYourWritesWindow() throws InterruptedException {
+    ReadYourWritesTracker tracker = new ReadYourWritesTracker(Duration.ofMillis(50));
+
+    tracker.recordWrite("ip:10.0.0.1");
+
+    assertTrue(tracker.isWithinWindow("ip:10.0.0.1"));
+    assertFalse(tracker.isWithinWindow("ip:10.0.0.2"));
+
+    Thread.sleep(60);
+    tracker.evictExpired();
+
+    assertFalse(tracker.isWithinWindow("ip:10.0.0.1"));
+    assertEquals(0, tracker.trackedClients());
+  }
+}
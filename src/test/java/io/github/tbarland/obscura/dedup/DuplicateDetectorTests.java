@@ -0,0 +1,145 @@
+package io.github.tbarland.obscura.dedup;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.model.ContentFingerprint;
+import io.github.tbarland.obscura.model.Story;
+import io.github.tbarland.obscura.service.StoryService;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest(
+    properties = {
+      "obscura.dedup.exact-policy=reject",
+      "obscura.dedup.near-policy=merge",
+      "obscura.dedup.refresh-interval=1h"
+    })
+class DuplicateDetectorTests {
+
+  private static final String[] WORDS = {
+    "fog", "cellar", "lantern", "midnight", "shadow", "hollow", "moon", "candle", "footsteps",
+    "abandoned", "whisper", "creaked", "door", "village", "road", "gate", "roses", "shutters"
+  };
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private DuplicateDetector duplicateDetector;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void testRejectsExactCopy() {
+    String content = prose(1);
+    storyService.createStory(request(content, List.of("ghost")));
+
+    var ex =
+        assertThrows(
+            ResponseStatusException.class,
+            () -> storyService.createStory(request(content, List.of("ghost"))));
+    assertEquals(409, ex.getStatusCode().value());
+  }
+
+  @Test
+  void testMergesNearCopyIntoOriginal() {
+    String content = prose(2);
+    StoryResponseDto original = storyService.createStory(request(content, List.of("ghost")));
+
+    StoryResponseDto merged =
+        storyService.createStory(request(content.toUpperCase(), List.of("ghost", "resubmitted")));
+
+    assertEquals(original.id(), merged.id());
+    assertEquals(List.of("ghost", "resubmitted"), merged.tags());
+    assertEquals(content, merged.content());
+  }
+
+  @Test
+  void testUnrelatedStoriesAreCreated() {
+    StoryResponseDto first = storyService.createStory(request(prose(3), List.of()));
+    StoryResponseDto second = storyService.createStory(request(prose(4), List.of()));
+
+    assertNotEquals(first.id(), second.id());
+  }
+
+  @Test
+  void testRefreshFingerprintsStoriesStoredWithoutOne() {
+    String content = prose(5);
+    Long id = insertStory(content, null);
+
+    duplicateDetector.refresh();
+
+    assertEquals(
+        ContentFingerprint.sha256(content),
+        jdbcTemplate.queryForObject(
+            "SELECT content_hash FROM story WHERE id = ?", String.class, id));
+    assertThrows(
+        ResponseStatusException.class, () -> storyService.createStory(request(content, List.of())));
+  }
+
+  @Test
+  void testRefreshPicksUpStoriesAndDeletesFromOtherNodes() {
+    duplicateDetector.refresh();
+    String content = prose(6);
+    Long id = insertStory(content, ContentFingerprint.sha256(content));
+
+    duplicateDetector.refresh();
+    assertTrue(duplicateDetector.find(story(content)).isPresent());
+
+    jdbcTemplate.update("DELETE FROM story WHERE id = ?", id);
+    jdbcTemplate.update(
+        "INSERT INTO story_tombstone (story_id, deleted_at) VALUES (?, ?)",
+        id,
+        Timestamp.valueOf(LocalDateTime.now()));
+    duplicateDetector.refresh();
+    assertTrue(duplicateDetector.find(story(content)).isEmpty());
+    assertNotNull(storyService.createStory(request(content, List.of())).id());
+  }
+
+  /** Inserts a story the way another node (or an older version) would, bypassing this node. */
+  private Long insertStory(String content, String contentHash) {
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.update(
+        "INSERT INTO story (title, content, content_length, author, created_at, updated_at,"
+            + " content_hash, simhash) VALUES ('Elsewhere', ?, ?, 'Author', ?, ?, ?, ?)",
+        content,
+        content.length(),
+        now,
+        now,
+        contentHash,
+        contentHash == null ? null : ContentFingerprint.simhash(content));
+    return jdbcTemplate.queryForObject(
+        "SELECT MAX(id) FROM story WHERE title = 'Elsewhere'", Long.class);
+  }
+
+  private static Story story(String content) {
+    Story story = new Story();
+    story.setContent(content);
+    return story;
+  }
+
+  private static StoryRequestDto request(String content, List<String> tags) {
+    return new StoryRequestDto("Story", content, "Author", tags);
+  }
+
+  /** Eighty random words, so stories from different seeds are far apart. */
+  private static String prose(long seed) {
+    Random random = new Random(seed);
+    StringBuilder out = new StringBuilder();
+    for (int i = 0; i < 80; i++) {
+      out.append(WORDS[random.nextInt(WORDS.length)]).append(' ');
+    }
+    return out.toString().trim();
+  }
+}
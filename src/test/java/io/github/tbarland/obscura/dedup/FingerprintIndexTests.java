@@ -0,0 +1,84 @@
+package io.github.tbarland.obscura.dedup;
+
+import static io.github.tbarland.obscura.model.ContentFingerprint.sha256;
+import static io.github.tbarland.obscura.model.ContentFingerprint.simhash;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class FingerprintIndexTests {
+
+  static final String HAUNTING =
+      "The fog rolled over the cellar door while the lantern flickered and footsteps echoed"
+          + " through the abandoned hall at midnight. Nobody in the village spoke of the house"
+          + " after that night, and the children learned to cross the road rather than pass its"
+          + " gate. Years later a stranger bought the place for almost nothing, painted the"
+          + " shutters green and planted roses along the path. For one whole summer the windows"
+          + " stayed dark and quiet, until the evening the lantern was lit again in the cellar"
+          + " and the old footsteps returned to the hall, slow and patient, as if they had only"
+          + " been waiting for someone to listen.";
+
+  @Test
+  void testFindsExactCopy() {
+    FingerprintIndex index = new FingerprintIndex(6, 4);
+    index.put(1, sha256(HAUNTING), simhash(HAUNTING));
+
+    assertEquals(new FingerprintIndex.Match(1, true, 0), find(index, HAUNTING));
+  }
+
+  @Test
+  void testFindsNearCopyWithinDistance() {
+    FingerprintIndex index = new FingerprintIndex(6, 4);
+    index.put(1, sha256(HAUNTING), simhash(HAUNTING));
+
+    // Case and punctuation do not change the SimHash, a one-word edit barely does
+    FingerprintIndex.Match reformatted = find(index, HAUNTING.toUpperCase().replace(",", ""));
+    FingerprintIndex.Match edited = find(index, HAUNTING.replace("stranger", "widow"));
+
+    assertEquals(new FingerprintIndex.Match(1, false, 0), reformatted);
+    assertFalse(edited.exact());
+    assertTrue(edited.distance() <= 6);
+    assertNull(find(index, "Rockets launched toward a distant red planet at dawn"));
+  }
+
+  @Test
+  void testPrefersExactCopyAndForgetsRemovedStories() {
+    FingerprintIndex index = new FingerprintIndex(6, 4);
+    String edited = HAUNTING.replace("stranger", "widow");
+    index.put(1, sha256(edited), simhash(edited));
+    index.put(2, sha256(HAUNTING), simhash(HAUNTING));
+
+    assertEquals(2, find(index, HAUNTING).storyId());
+
+    assertTrue(index.remove(2));
+    assertFalse(index.remove(2));
+    assertEquals(1, find(index, HAUNTING).storyId());
+    assertEquals(1, index.size());
+  }
+
+  @Test
+  void testGrowsAndMatchesBitFlipsUpToDistance() {
+    FingerprintIndex index = new FingerprintIndex(3, 1);
+    Random random = new Random(42);
+    long[] simhashes = new long[5_000];
+    for (int id = 0; id < simhashes.length; id++) {
+      simhashes[id] = random.nextLong();
+      index.put(id, sha256("story " + id), simhashes[id]);
+    }
+
+    for (int id = 0; id < simhashes.length; id += 7) {
+      long flipped = simhashes[id] ^ (1L << random.nextInt(64)) ^ (1L << random.nextInt(64));
+      FingerprintIndex.Match match = index.find(sha256("other"), flipped ^ (1L << 63));
+      assertEquals(id, match.storyId());
+    }
+    assertNull(index.find(sha256("other"), simhashes[0] ^ 0xFFL));
+  }
+
+  private static FingerprintIndex.Match find(FingerprintIndex index, String content) {
+    return index.find(sha256(content), simhash(content));
+  }
+}
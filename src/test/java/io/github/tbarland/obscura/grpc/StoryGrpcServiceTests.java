@@ -0,0 +1,168 @@
+package io.github.tbarland.obscura.grpc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.tbarland.obscura.grpc.v1.DeleteStoryRequest;
+import io.github.tbarland.obscura.grpc.v1.ExportStoriesRequest;
+import io.github.tbarland.obscura.grpc.v1.GetStoryRequest;
+import io.github.tbarland.obscura.grpc.v1.IngestSummary;
+import io.github.tbarland.obscura.grpc.v1.ListStoriesRequest;
+import io.github.tbarland.obscura.grpc.v1.Story;
+import io.github.tbarland.obscura.grpc.v1.StoryApiGrpc;
+import io.github.tbarland.obscura.grpc.v1.StoryInput;
+import io.github.tbarland.obscura.grpc.v1.UpdateStoryRequest;
+import io.grpc.ManagedChannel;
+import io.grpc.Server;
+import io.grpc.Status;
+import io.grpc.StatusRuntimeException;
+import io.grpc.inprocess.InProcessChannelBuilder;
+import io.grpc.inprocess.InProcessServerBuilder;
+import io.grpc.stub.StreamObserver;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class StoryGrpcServiceTests {
+
+  @Autowired private StoryGrpcService storyGrpcService;
+
+  private Server server;
+  private ManagedChannel channel;
+  private StoryApiGrpc.StoryApiBlockingStub blockingStub;
+  private StoryApiGrpc.StoryApiStub asyncStub;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    String name = InProcessServerBuilder.generateName();
+    server =
+        InProcessServerBuilder.forName(name)
+            .directExecutor()
+            .addService(storyGrpcService)
+            .build()
+            .start();
+    channel = InProcessChannelBuilder.forName(name).directExecutor().build();
+    blockingStub = StoryApiGrpc.newBlockingStub(channel);
+    asyncStub = StoryApiGrpc.newStub(channel);
+  }
+
+  @AfterEach
+  void tearDown() throws Exception {
+    channel.shutdownNow();
+    server.shutdownNow().awaitTermination(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void testUnaryCrudRoundTrip() {
+    Story created = blockingStub.createStory(input("gRPC Story", "Author"));
+    assertTrue(created.getId() > 0);
+    assertEquals(List.of("grpc"), created.getTagsList());
+    assertTrue(created.hasCreatedAt());
+
+    Story fetched =
+        blockingStub.getStory(GetStoryRequest.newBuilder().setId(created.getId()).build());
+    assertEquals("gRPC Story", fetched.getTitle());
+
+    Story updated =
+        blockingStub.updateStory(
+            UpdateStoryRequest.newBuilder()
+                .setId(created.getId())
+                .setStory(input("gRPC Story v2", "Author"))
+                .build());
+    assertEquals("gRPC Story v2", updated.getTitle());
+
+    blockingStub.deleteStory(DeleteStoryRequest.newBuilder().setId(created.getId()).build());
+    StatusRuntimeException ex =
+        assertThrows(
+            StatusRuntimeException.class,
+            () ->
+                blockingStub.getStory(GetStoryRequest.newBuilder().setId(created.getId()).build()));
+    assertEquals(Status.Code.NOT_FOUND, ex.getStatus().getCode());
+  }
+
+  @Test
+  void testCreateRejectsInvalidStory() {
+    StatusRuntimeException ex =
+        assertThrows(StatusRuntimeException.class, () -> blockingStub.createStory(input("", "")));
+
+    assertEquals(Status.Code.INVALID_ARGUMENT, ex.getStatus().getCode());
+    assertTrue(ex.getStatus().getDescription().contains("Title must not be blank"));
+  }
+
+  @Test
+  void testIngestThenExportStreamsInIdOrder() throws Exception {
+    Story before = blockingStub.createStory(input("Export marker", "Author"));
+
+    CompletableFuture<IngestSummary> summary = new CompletableFuture<>();
+    StreamObserver<StoryInput> requests =
+        asyncStub.ingestStories(
+            new StreamObserver<>() {
+              @Override
+              public void onNext(IngestSummary value) {
+                summary.complete(value);
+              }
+
+              @Override
+              public void onError(Throwable t) {
+                summary.completeExceptionally(t);
+              }
+
+              @Override
+              public void onCompleted() {}
+            });
+    for (int i = 0; i < 250; i++) {
+      requests.onNext(input("Bulk " + i, "Author"));
+    }
+    requests.onNext(input("Missing author", ""));
+    requests.onCompleted();
+
+    IngestSummary result = summary.get(10, TimeUnit.SECONDS);
+    assertEquals(251, result.getReceived());
+    assertEquals(250, result.getCreated());
+    assertEquals(1, result.getRejected());
+    assertEquals(250, result.getErrors(0).getIndex());
+
+    List<Story> exported = new ArrayList<>();
+    blockingStub
+        .exportStories(
+            ExportStoriesRequest.newBuilder().setAfterId(before.getId()).setBatchSize(40).build())
+        .forEachRemaining(exported::add);
+
+    assertEquals(250, exported.size());
+    for (int i = 0; i < exported.size(); i++) {
+      assertEquals("Bulk " + i, exported.get(i).getTitle());
+      if (i > 0) {
+        assertTrue(exported.get(i).getId() > exported.get(i - 1).getId());
+      }
+    }
+  }
+
+  @Test
+  void testListStreamsEveryStory() {
+    Story created = blockingStub.createStory(input("Listed", "Author"));
+
+    List<Long> ids = new ArrayList<>();
+    blockingStub
+        .listStories(ListStoriesRequest.getDefaultInstance())
+        .forEachRemaining(story -> ids.add(story.getId()));
+
+    assertTrue(ids.contains(created.getId()));
+  }
+
+  private static StoryInput input(String title, String author) {
+    return StoryInput.newBuilder()
+        .setTitle(title)
+        .setContent("Streamed content")
+        .setAuthor(author)
+        .addTags("grpc")
+        .build();
+  }
+}
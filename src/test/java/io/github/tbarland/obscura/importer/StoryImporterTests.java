@@ -0,0 +1,201 @@
+package io.github.tbarland.obscura.importer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.github.tbarland.obscura.dto.StoryImportDto;
+import io.github.tbarland.obscura.dto.StoryImportRequestDto;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(
+    properties = {
+      "obscura.import.enabled=true",
+      "obscura.import.chunk-size=1KB",
+      "obscura.import.parallelism=2",
+      "obscura.import.batch-size=7"
+    })
+@AutoConfigureMockMvc
+class StoryImporterTests {
+
+  private static final Path DIRECTORY = createDirectory();
+
+  @Autowired private StoryImporter storyImporter;
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @DynamicPropertySource
+  static void importDirectory(DynamicPropertyRegistry registry) {
+    registry.add("obscura.import.directory", DIRECTORY::toString);
+  }
+
+  @Test
+  void testImportsNdjsonAndReportsInvalidRecords() throws Exception {
+    StringBuilder file = new StringBuilder();
+    for (int i = 0; i < 40; i++) {
+      file.append(json("Ndjson story " + i, "Told for the " + i + "th time", "ndjson"));
+    }
+    file.append("{\"title\": \"\", \"content\": \"No title\", \"author\": \"Author\"}\n");
+    file.append("{not json}\n\n");
+    Files.writeString(DIRECTORY.resolve("stories.ndjson"), file);
+
+    StoryImportDto result =
+        awaitFinished(storyImporter.start(new StoryImportRequestDto("stories.ndjson", null)));
+
+    assertEquals(ImportStatus.COMPLETED, result.status());
+    assertTrue(result.chunks() > 1);
+    assertEquals(result.chunks(), result.completedChunks());
+    assertEquals(40, result.imported());
+    assertEquals(2, result.invalid());
+    assertEquals("Title must not be blank", result.errors().get(0).message());
+    assertTrue(result.errors().get(1).message().startsWith("Malformed JSON"));
+    assertEquals(List.of("ndjson", "story"), tagsOf("Ndjson story 39"));
+    assertEquals(
+        "Told for the 7th time",
+        jdbcTemplate.queryForObject(
+            "SELECT content FROM story WHERE title = ?", String.class, "Ndjson story 7"));
+  }
+
+  @Test
+  void testImportsCsvWithQuotedFields() throws Exception {
+    Files.writeString(
+        DIRECTORY.resolve("stories.csv"),
+        "author,title,content,tags\r\n"
+            + "Author,Csv story,\"First line,\nsecond \"\"quoted\"\" line\",csv|quoted\r\n"
+            + "Author,Too few fields\r\n");
+
+    StoryImportDto result =
+        awaitFinished(storyImporter.start(new StoryImportRequestDto("stories.csv", null)));
+
+    assertEquals(ImportStatus.COMPLETED, result.status());
+    assertEquals(1, result.imported());
+    assertEquals(1, result.invalid());
+    assertEquals(
+        "First line,\nsecond \"quoted\" line",
+        jdbcTemplate.queryForObject(
+            "SELECT content FROM story WHERE title = ?", String.class, "Csv story"));
+    assertEquals(List.of("csv", "quoted"), tagsOf("Csv story"));
+  }
+
+  @Test
+  void testResumesWithChunksThatDidNotCommit() throws Exception {
+    StringBuilder file = new StringBuilder();
+    for (int i = 0; i < 40; i++) {
+      file.append(json("Resumed story " + i, "Resumed content " + i, "resumed"));
+    }
+    Path path = DIRECTORY.resolve("resumed.ndjson");
+    Files.writeString(path, file);
+    // An earlier run that committed chunk 0 and then failed
+    Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+    jdbcTemplate.update(
+        "INSERT INTO story_import (path, format, file_size, file_modified, chunk_size, status,"
+            + " error, created_at, updated_at) VALUES (?, 'NDJSON', ?, ?, 1024, 'FAILED', ?, ?, ?)",
+        "resumed.ndjson",
+        Files.size(path),
+        Files.getLastModifiedTime(path).toMillis(),
+        "Connection refused",
+        now,
+        now);
+    Long id =
+        jdbcTemplate.queryForObject(
+            "SELECT id FROM story_import WHERE path = 'resumed.ndjson'", Long.class);
+    jdbcTemplate.update(
+        "INSERT INTO story_import_chunk VALUES (?, 0, 0, 1024, 10, 0, 0, ?)", id, now);
+
+    StoryImportDto result =
+        awaitFinished(storyImporter.start(new StoryImportRequestDto("resumed.ndjson", null)));
+
+    assertEquals(id, result.id());
+    assertEquals(ImportStatus.COMPLETED, result.status());
+    assertNull(result.error());
+    assertEquals(result.chunks(), result.completedChunks());
+    assertEquals(0, countStories("Resumed story 0"));
+    assertEquals(1, countStories("Resumed story 39"));
+  }
+
+  @Test
+  void testRejectsCompletedFilesAndPathsOutsideTheDirectory() throws Exception {
+    Files.writeString(DIRECTORY.resolve("once.ndjson"), json("Once", "Only once", "once"));
+    awaitFinished(storyImporter.start(new StoryImportRequestDto("once.ndjson", null)));
+
+    mockMvc
+        .perform(
+            post("/api/admin/imports")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"file\": \"once.ndjson\"}"))
+        .andExpect(status().isConflict());
+    mockMvc
+        .perform(
+            post("/api/admin/imports")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"file\": \"../outside.ndjson\"}"))
+        .andExpect(status().isBadRequest());
+    mockMvc
+        .perform(
+            post("/api/admin/imports")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"file\": \"once.ndjson\", \"format\": \"xml\"}"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private StoryImportDto awaitFinished(StoryImportDto started) throws InterruptedException {
+    for (int i = 0; i < 200; i++) {
+      StoryImportDto current = storyImporter.getImport(started.id());
+      if (current.status() != ImportStatus.RUNNING) {
+        return current;
+      }
+      Thread.sleep(50);
+    }
+    throw new AssertionError("Import " + started.id() + " did not finish");
+  }
+
+  private List<String> tagsOf(String title) {
+    return jdbcTemplate.queryForList(
+        "SELECT t.tags FROM story_tags t JOIN story s ON s.id = t.story_id WHERE s.title = ?"
+            + " ORDER BY t.tags",
+        String.class,
+        title);
+  }
+
+  private int countStories(String title) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM story WHERE title = ?", Integer.class, title);
+  }
+
+  private static String json(String title, String content, String tag) {
+    return "{\"title\": \""
+        + title
+        + "\", \"content\": \""
+        + content
+        + "\", \"author\": \"Importer\", \"tags\": [\""
+        + tag
+        + "\", \"story\"]}\n";
+  }
+
+  private static Path createDirectory() {
+    try {
+      return Files.createTempDirectory("obscura-import");
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+package io.github.tbarland.obscura.integration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.importer.CopyStoryWriter;
+import io.github.tbarland.obscura.importer.StoryBulkWriter;
+import io.github.tbarland.obscura.model.ContentFingerprint;
+import io.github.tbarland.obscura.model.Story;
+import io.github.tbarland.obscura.service.StoryService;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest(properties = "obscura.import.copy=true")
+@Testcontainers
+@Tag("integration")
+class CopyStoryWriterIntegrationTests {
+
+  @Container
+  static PostgreSQLContainer<?> postgres =
+      new PostgreSQLContainer<>("postgres:17-alpine")
+          .withDatabaseName("obscura_test")
+          .withUsername("test_user")
+          .withPassword("test_password");
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.datasource.url", postgres::getJdbcUrl);
+    registry.add("spring.datasource.username", postgres::getUsername);
+    registry.add("spring.datasource.password", postgres::getPassword);
+  }
+
+  @Autowired private StoryBulkWriter writer;
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private TransactionTemplate transactionTemplate;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Test
+  void testCopiesStoriesWithTagsAndFingerprints() {
+    assertInstanceOf(CopyStoryWriter.class, writer);
+    String awkward = "Quotes \"inside\", commas, a \\ backslash,\nnew lines\r\nand ünïcødé";
+    List<Story> stories = new ArrayList<>();
+    for (int i = 0; i < 250; i++) {
+      stories.add(story("Copied " + i, awkward + " " + i, List.of("copy", "{brace}", "\"q\"")));
+    }
+    stories.add(story("Untagged", "No tags at all", List.of()));
+
+    List<StoryResponseDto> created = transactionTemplate.execute(status -> writer.insert(stories));
+
+    assertEquals(251, created.size());
+    StoryResponseDto first = storyService.getStoryById(created.getFirst().id());
+    assertEquals("Copied 0", first.title());
+    assertEquals(awkward + " 0", first.content());
+    assertEquals(Set.of("copy", "{brace}", "\"q\""), Set.copyOf(first.tags()));
+    assertEquals(List.of(), storyService.getStoryById(created.getLast().id()).tags());
+    assertEquals(
+        ContentFingerprint.sha256(awkward + " 7"),
+        jdbcTemplate.queryForObject(
+            "SELECT content_hash FROM story WHERE id = ?", String.class, created.get(7).id()));
+
+    // Ids came from the story sequence, so JPA inserts carry on after them
+    StoryResponseDto next =
+        storyService.createStory(
+            new StoryRequestDto("After copy", "Created through JPA", "Author", List.of()));
+    assertTrue(next.id() > created.getLast().id());
+  }
+
+  private static Story story(String title, String content, List<String> tags) {
+    LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+    Story story = new Story();
+    story.setTitle(title);
+    story.setContent(content);
+    story.setAuthor("Importer");
+    story.setTags(tags);
+    story.setCreatedAt(now);
+    story.setUpdatedAt(now);
+    return story;
+  }
+}
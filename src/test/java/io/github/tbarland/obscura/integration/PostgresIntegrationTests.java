@@ -7,6 +7,7 @@ import io.github.tbarland.obscura.dto.StoryResponseDto;
 import io.github.tbarland.obscura.model.Story;
 import io.github.tbarland.obscura.repository.StoryRepository;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
 import java.util.Arrays;
 import java.util.List;
 import org.flywaydb.core.Flyway;
@@ -145,14 +146,54 @@ class PostgresIntegrationTests {
         checkConstraints.stream().anyMatch(c -> c.contains("content")),
         "Content check constraint should exist");
 
-    // Verify foreign key constraint on story_tags
-    List<String> foreignKeys =
+    // Verify story_tags integrity triggers (a foreign key cannot target the partitioned story)
+    List<String> tagTriggers =
         jdbcTemplate.queryForList(
-            "SELECT constraint_name FROM information_schema.table_constraints "
-                + "WHERE table_schema = 'public' AND table_name = 'story_tags' AND constraint_type = 'FOREIGN KEY'",
+            "SELECT DISTINCT trigger_name FROM information_schema.triggers "
+                + "WHERE trigger_schema = 'public' "
+                + "AND event_object_table IN ('story', 'story_tags')",
             String.class);
 
-    assertFalse(foreignKeys.isEmpty(), "Story_tags should have foreign key constraint");
+    assertTrue(
+        tagTriggers.containsAll(List.of("trg_story_tags_check_story", "trg_story_delete_tags")),
+        "Story_tags integrity triggers should exist");
+  }
+
+  @Test
+  void testStoryTableIsPartitionedByMonth() {
+    Integer partitionedCount =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_partitioned_table pt JOIN pg_class c ON c.oid = pt.partrelid "
+                + "WHERE c.relname = 'story'",
+            Integer.class);
+    assertEquals(1, partitionedCount, "Story should be a partitioned table on PostgreSQL");
+
+    String currentPartition =
+        "story_p" + DateTimeFormatter.ofPattern("yyyyMM").format(LocalDateTime.now());
+    Integer partitionCount =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM pg_class WHERE relname = ?", Integer.class, currentPartition);
+    assertEquals(1, partitionCount, "A partition for the current month should exist");
+  }
+
+  @Test
+  void testDeletingStoryCascadesToTagsOnPartitionedTable() {
+    Story story = new Story();
+    story.setTitle("Cascade Story");
+    story.setContent("Tags should follow their story into the grave");
+    story.setAuthor("Integration Test");
+    story.setTags(Arrays.asList("cascade", "partition"));
+    story.setCreatedAt(LocalDateTime.now());
+    Story savedStory = storyRepository.save(story);
+
+    jdbcTemplate.update("DELETE FROM story WHERE id = ?", savedStory.getId());
+
+    Integer tagCount =
+        jdbcTemplate.queryForObject(
+            "SELECT COUNT(*) FROM story_tags WHERE story_id = ?",
+            Integer.class,
+            savedStory.getId());
+    assertEquals(0, tagCount, "Deleting a story should delete its tags");
   }
 
   @Test
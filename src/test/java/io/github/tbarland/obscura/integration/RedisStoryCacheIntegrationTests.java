@@ -0,0 +1,131 @@
+package io.github.tbarland.obscura.integration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import io.github.tbarland.obscura.cache.RedisStoryCache;
+import io.github.tbarland.obscura.cache.RenderedStory;
+import io.github.tbarland.obscura.cache.RenderedStoryCache;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.service.StoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.GenericContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+
+@SpringBootTest(properties = "obscura.cache.redis.enabled=true")
+@Testcontainers
+@Tag("integration")
+class RedisStoryCacheIntegrationTests {
+
+  @Container
+  static GenericContainer<?> redis =
+      new GenericContainer<>("redis:7-alpine").withExposedPorts(6379);
+
+  @DynamicPropertySource
+  static void configureProperties(DynamicPropertyRegistry registry) {
+    registry.add("spring.data.redis.host", redis::getHost);
+    registry.add("spring.data.redis.port", () -> redis.getMappedPort(6379));
+  }
+
+  @Autowired private RenderedStoryCache renderedStoryCache;
+
+  @Autowired private RedisStoryCache redisStoryCache;
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private RedisConnectionFactory connectionFactory;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Test
+  void testSharedLevelServesLocalMiss() {
+    StoryResponseDto created = storyService.createStory(request("Shared", "Content"));
+    RenderedStory first = renderedStoryCache.get(created.id());
+
+    renderedStoryCache.invalidateLocal(created.id());
+    double hitsBefore = sharedRequests("hit");
+    RenderedStory second = renderedStoryCache.get(created.id());
+
+    assertNotSame(first, second);
+    assertEquals(first.etag(), second.etag());
+    assertArrayEquals(first.json(), second.json());
+    assertEquals(hitsBefore + 1, sharedRequests("hit"));
+  }
+
+  @Test
+  void testStaleWriteCannotReplaceNewerVersion() {
+    StoryResponseDto created = storyService.createStory(request("Before", "Content"));
+    RenderedStory stale = renderedStoryCache.get(created.id());
+
+    storyService.updateStory(created.id(), request("After", "Content"));
+    redisStoryCache.putIfNewer(stale);
+    assertNull(redisStoryCache.get(created.id()), "invalidation marker must reject old version");
+
+    RenderedStory fresh = renderedStoryCache.get(created.id());
+    assertTrue(fresh.version() > stale.version());
+    redisStoryCache.putIfNewer(stale);
+    assertEquals(fresh.etag(), redisStoryCache.get(created.id()).etag());
+  }
+
+  @Test
+  void testDeleteInvalidatesSharedLevel() {
+    StoryResponseDto created = storyService.createStory(request("Doomed", "Content"));
+    RenderedStory rendered = renderedStoryCache.get(created.id());
+
+    storyService.deleteStory(created.id());
+    redisStoryCache.putIfNewer(rendered);
+
+    assertNull(redisStoryCache.get(created.id()));
+  }
+
+  @Test
+  void testRemoteInvalidationEvictsLocalCopy() throws InterruptedException {
+    StoryResponseDto created = storyService.createStory(request("Remote", "Content"));
+    RenderedStory first = renderedStoryCache.get(created.id());
+    long lagBefore = lagTimer().count();
+
+    String message =
+        created.id() + ":" + first.version() + ":" + System.currentTimeMillis() + ":other-node";
+    try (var connection = connectionFactory.getConnection()) {
+      connection.publish(
+          "obscura:story:invalidations".getBytes(StandardCharsets.UTF_8),
+          message.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // The lag is recorded once the local copy has been evicted
+    long deadline = System.currentTimeMillis() + 5_000;
+    while (lagTimer().count() == lagBefore && System.currentTimeMillis() < deadline) {
+      Thread.sleep(20);
+    }
+    assertEquals(lagBefore + 1, lagTimer().count());
+    assertNotSame(first, renderedStoryCache.get(created.id()));
+  }
+
+  private double sharedRequests(String result) {
+    return meterRegistry
+        .get("obscura.cache.requests")
+        .tag("level", "shared")
+        .tag("result", result)
+        .counter()
+        .count();
+  }
+
+  private Timer lagTimer() {
+    return meterRegistry.get("obscura.cache.invalidation.lag").timer();
+  }
+
+  private static StoryRequestDto request(String title, String content) {
+    return new StoryRequestDto(title, content, "Author", List.of("redis"));
+  }
+}
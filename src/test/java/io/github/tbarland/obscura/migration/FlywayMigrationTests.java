@@ -76,7 +76,18 @@ class FlywayMigrationTests {
   @Test
   void testStoryTableHasExpectedColumns() {
     // Arrange - Expected columns
-    List<String> expectedColumns = Arrays.asList("ID", "TITLE", "CONTENT", "AUTHOR", "CREATED_AT");
+    List<String> expectedColumns =
+        Arrays.asList(
+            "ID",
+            "TITLE",
+            "CONTENT",
+            "CONTENT_LENGTH",
+            "CONTENT_HASH",
+            "SIMHASH",
+            "DUPLICATE_OF",
+            "AUTHOR",
+            "CREATED_AT",
+            "UPDATED_AT");
 
     // Act - Query for actual columns
     List<String> actualColumns =
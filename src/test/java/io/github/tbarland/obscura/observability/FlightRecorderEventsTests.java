@@ -0,0 +1,160 @@
+package io.github.tbarland.obscura.observability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.service.StoryService;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Stream;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(
+    properties = {"management.endpoints.web.exposure.include=jfr", "obscura.jfr.max-dumps=2"})
+@AutoConfigureMockMvc
+class FlightRecorderEventsTests {
+
+  private static final Path DIRECTORY = createDirectory();
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private StoryService storyService;
+
+  @DynamicPropertySource
+  static void dumpDirectory(DynamicPropertyRegistry registry) {
+    registry.add("obscura.jfr.directory", DIRECTORY::toString);
+  }
+
+  @Test
+  void testStoryOperationsAndRequestsAreRecorded() throws Exception {
+    try (Recording recording = new Recording()) {
+      recording.enable(StoryOperationEvent.NAME);
+      recording.enable(HttpRequestEvent.NAME);
+      recording.start();
+
+      String body =
+          mockMvc
+              .perform(
+                  post("/api/stories")
+                      .contentType(MediaType.APPLICATION_JSON)
+                      .content(
+                          "{\"title\": \"Recorded\", \"content\": \"Flight recorded story\","
+                              + " \"author\": \"Author\", \"tags\": [\"jfr\", \"events\"]}"))
+              .andExpect(status().isOk())
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+      long id = ((Number) JsonPath.read(body, "$.id")).longValue();
+      StoryResponseDto story = storyService.getStoryById(id);
+
+      recording.stop();
+      Path file = DIRECTORY.resolve("test.jfr");
+      recording.dump(file);
+      List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+
+      RecordedEvent created = operation(events, "createStory");
+      assertTrue(created.getInt("statements") > 0);
+      assertTrue(created.getLong("dbDuration") > 0);
+      assertFalse(created.getBoolean("cacheHit"));
+      assertEquals(2, created.getInt("tagCount"));
+
+      RecordedEvent read = operation(events, "getStoryById");
+      assertEquals(id, read.getLong("storyId"));
+      assertEquals(1, read.getInt("stories"));
+      assertEquals(story.content().length(), read.getLong("contentLength"));
+      assertEquals(2, read.getInt("tagCount"));
+      assertFalse(read.getBoolean("failed"));
+
+      RecordedEvent request =
+          events.stream()
+              .filter(event -> event.getEventType().getName().equals(HttpRequestEvent.NAME))
+              .findFirst()
+              .orElseThrow();
+      assertEquals("POST", request.getString("method"));
+      assertEquals("/api/stories", request.getString("route"));
+      assertEquals(200, request.getInt("status"));
+      assertTrue(request.getInt("statements") >= created.getInt("statements"));
+    }
+  }
+
+  @Test
+  void testActuatorDumpsRunningRecordings() throws Exception {
+    try (Recording recording = new Recording()) {
+      recording.enable(StoryOperationEvent.NAME);
+      recording.start();
+      storyService.getAllStories();
+
+      String body =
+          mockMvc
+              .perform(post("/actuator/jfr"))
+              .andExpect(status().isOk())
+              .andReturn()
+              .getResponse()
+              .getContentAsString();
+
+      Path file = Path.of(JsonPath.<String>read(body, "$.file"));
+      assertTrue(file.startsWith(DIRECTORY.toAbsolutePath()));
+      assertTrue(Files.size(file) > 0);
+    }
+  }
+
+  @Test
+  void testOnlyNewestDumpsAreKept() throws Exception {
+    try (Recording recording = new Recording()) {
+      recording.enable(StoryOperationEvent.NAME);
+      recording.start();
+      storyService.getAllStories();
+
+      String last = null;
+      for (int i = 0; i < 3; i++) {
+        last =
+            mockMvc
+                .perform(post("/actuator/jfr"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+      }
+
+      try (Stream<Path> files = Files.list(DIRECTORY)) {
+        assertEquals(
+            2, files.filter(file -> file.getFileName().toString().startsWith("obscura-")).count());
+      }
+      assertTrue(Files.exists(Path.of(JsonPath.<String>read(last, "$.file"))));
+    }
+  }
+
+  private static RecordedEvent operation(List<RecordedEvent> events, String name) {
+    return events.stream()
+        .filter(event -> event.getEventType().getName().equals(StoryOperationEvent.NAME))
+        .filter(event -> name.equals(event.getString("operation")))
+        .findFirst()
+        .orElseThrow(() -> new AssertionError("No " + name + " event recorded"));
+  }
+
+  private static Path createDirectory() {
+    try {
+      return Files.createTempDirectory("obscura-jfr");
+    } catch (IOException ex) {
+      throw new UncheckedIOException(ex);
+    }
+  }
+}
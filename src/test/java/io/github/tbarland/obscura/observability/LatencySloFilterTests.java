@@ -0,0 +1,100 @@
+package io.github.tbarland.obscura.observability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import com.jayway.jsonpath.JsonPath;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(
+    properties = {
+      "obscura.slo.default-objective=0ms",
+      "obscura.slo.routes[/api/stories/{id}]=1h",
+      "obscura.slo.max-statements=2",
+      "management.endpoints.web.exposure.include=slowrequests"
+    })
+@AutoConfigureMockMvc
+class LatencySloFilterTests {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private SlowRequestLog slowRequestLog;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @BeforeEach
+  void clearLog() {
+    slowRequestLog.clear();
+  }
+
+  @Test
+  void testSlowRequestsAreKeptWithTheirSql() throws Exception {
+    createStory("Timed");
+
+    List<SlowRequest> slow = slowRequestLog.slowest();
+    assertEquals(1, slow.size());
+    SlowRequest request = slow.getFirst();
+    assertEquals("POST", request.method());
+    assertEquals("/api/stories", request.route());
+    assertEquals(200, request.status());
+    assertTrue(request.statementCount() > 2);
+    assertEquals(2, request.statements().size());
+    assertTrue(request.sqlMs() <= request.durationMs());
+    assertTrue(
+        meterRegistry.get("obscura.http.slo.misses").tag("route", "/api/stories").counter().count()
+            >= 1);
+
+    mockMvc
+        .perform(get("/actuator/slowrequests"))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$.requests[0].route").value("/api/stories"))
+        .andExpect(jsonPath("$.requests[0].statements.length()").value(2));
+  }
+
+  @Test
+  void testRequestsWithinTheirRouteObjectiveAreOnlyTimed() throws Exception {
+    String created = createStory("Read back");
+    Number id = JsonPath.read(created, "$.id");
+    slowRequestLog.clear();
+
+    mockMvc.perform(get("/api/stories/{id}", id)).andExpect(status().isOk());
+
+    assertEquals(List.of(), slowRequestLog.slowest());
+    assertTrue(
+        meterRegistry
+                .get("obscura.http.latency")
+                .tag("method", "GET")
+                .tag("route", "/api/stories/{id}")
+                .timer()
+                .count()
+            >= 1);
+  }
+
+  private String createStory(String title) throws Exception {
+    return mockMvc
+        .perform(
+            post("/api/stories")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"title\": \""
+                        + title
+                        + "\", \"content\": \"Profiled\", \"author\": \"Author\","
+                        + " \"tags\": [\"a\", \"b\"]}"))
+        .andExpect(status().isOk())
+        .andReturn()
+        .getResponse()
+        .getContentAsString();
+  }
+}
@@ -0,0 +1,54 @@
+package io.github.tbarland.obscura.observability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Instant;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class SlowRequestLogTests {
+
+  @Test
+  void testKeepsTheLastRequestsSlowestFirst() {
+    SlowRequestLog log = new SlowRequestLog(3);
+    for (double duration : new double[] {500, 100, 300, 200, 400}) {
+      log.add(request(duration));
+    }
+
+    assertEquals(
+        List.of(400.0, 300.0, 200.0), log.slowest().stream().map(SlowRequest::durationMs).toList());
+    assertEquals(5, log.recorded());
+  }
+
+  @Test
+  void testClearEmptiesTheBuffer() {
+    SlowRequestLog log = new SlowRequestLog(2);
+    log.add(request(100));
+    log.clear();
+    log.add(request(50));
+
+    assertEquals(List.of(50.0), log.slowest().stream().map(SlowRequest::durationMs).toList());
+    assertEquals(2, log.recorded());
+  }
+
+  @Test
+  void testRejectsEmptyCapacity() {
+    assertThrows(IllegalArgumentException.class, () -> new SlowRequestLog(0));
+  }
+
+  private static SlowRequest request(double durationMs) {
+    return new SlowRequest(
+        Instant.now(),
+        "GET",
+        "/api/stories",
+        "/api/stories",
+        200,
+        durationMs,
+        10,
+        0,
+        0,
+        0,
+        List.of());
+  }
+}
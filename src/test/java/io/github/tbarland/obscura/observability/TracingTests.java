@@ -0,0 +1,97 @@
+package io.github.tbarland.obscura.observability;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.opentelemetry.api.common.AttributeKey;
+import io.opentelemetry.api.trace.SpanKind;
+import io.opentelemetry.sdk.testing.exporter.InMemorySpanExporter;
+import io.opentelemetry.sdk.trace.SdkTracerProvider;
+import io.opentelemetry.sdk.trace.data.SpanData;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "management.tracing.sampling.probability=1.0")
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+class TracingTests {
+
+  private static final String TRACE_ID = "4bf92f3577b34da6a3ce929d0e0e4736";
+
+  private static final String CALLER_SPAN_ID = "00f067aa0ba902b7";
+
+  private static final AttributeKey<String> STATEMENT = AttributeKey.stringKey("db.statement");
+
+  @TestConfiguration
+  static class InMemoryExport {
+
+    @Bean
+    InMemorySpanExporter inMemorySpanExporter() {
+      return InMemorySpanExporter.create();
+    }
+  }
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private InMemorySpanExporter spanExporter;
+
+  @Autowired private SdkTracerProvider tracerProvider;
+
+  @BeforeEach
+  void resetSpans() {
+    spanExporter.reset();
+  }
+
+  @Test
+  void testRequestIsTracedThroughServiceAndStatements() throws Exception {
+    mockMvc
+        .perform(
+            post("/api/stories")
+                .header("traceparent", "00-" + TRACE_ID + "-" + CALLER_SPAN_ID + "-01")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(
+                    "{\"title\": \"Traced\", \"content\": \"A story followed end to end\","
+                        + " \"author\": \"Author\", \"tags\": [\"trace\"]}"))
+        .andExpect(status().isOk());
+
+    List<SpanData> spans = finishedSpans();
+    SpanData server =
+        spans.stream().filter(span -> span.getKind() == SpanKind.SERVER).findFirst().orElseThrow();
+    assertEquals(CALLER_SPAN_ID, server.getParentSpanId());
+
+    SpanData service = named(spans, "story-service.create-story").getFirst();
+    assertEquals(server.getSpanId(), service.getParentSpanId());
+
+    List<SpanData> statements = named(spans, "jdbc query");
+    assertFalse(statements.isEmpty());
+    assertTrue(
+        statements.stream()
+            .filter(span -> span.getParentSpanId().equals(service.getSpanId()))
+            .map(span -> span.getAttributes().get(STATEMENT))
+            .anyMatch(sql -> sql.toLowerCase().startsWith("insert into story ")));
+  }
+
+  private List<SpanData> finishedSpans() {
+    tracerProvider.forceFlush().join(10, TimeUnit.SECONDS);
+    return spanExporter.getFinishedSpanItems().stream()
+        .filter(span -> span.getTraceId().equals(TRACE_ID))
+        .toList();
+  }
+
+  private static List<SpanData> named(List<SpanData> spans, String name) {
+    return spans.stream().filter(span -> span.getName().equals(name)).toList();
+  }
+}
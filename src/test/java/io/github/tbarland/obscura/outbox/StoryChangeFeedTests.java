@@ -0,0 +1,127 @@
+package io.github.tbarland.obscura.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+import io.github.tbarland.obscura.dto.StoryChangeEventDto;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.model.StoryChangeType;
+import io.github.tbarland.obscura.repository.StoryOutboxRepository;
+import io.github.tbarland.obscura.service.StoryService;
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+import java.util.stream.LongStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+@SpringBootTest(
+    properties = {"obscura.outbox.relay-interval=1h", "obscura.outbox.subscriber-buffer-size=4"})
+@AutoConfigureMockMvc
+class StoryChangeFeedTests {
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private StoryOutboxRelay relay;
+
+  @Autowired private StoryOutboxRepository outboxRepository;
+
+  @Autowired private StoryChangeFeed changeFeed;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @BeforeEach
+  void setUp() {
+    relay.relay();
+  }
+
+  @Test
+  void testResumesAfterLastEventId() throws Exception {
+    long first = publish("First");
+    long second = publish("Second");
+    long third = publish("Third");
+
+    MvcResult result = subscribe(first);
+
+    waitUntil(() -> content(result).contains("id:" + third + "\n"));
+    String content = content(result);
+    assertFalse(content.contains("id:" + first + "\n"));
+    assertTrue(content.indexOf("id:" + second + "\n") < content.indexOf("id:" + third + "\n"));
+    assertTrue(content.contains("event:created\n"));
+  }
+
+  @Test
+  void testResetsWhenLastEventIdIsOlderThanRetention() throws Exception {
+    long purged = publish("Purged");
+    long kept = publish("Kept");
+    // What the retention purge would have done to the older event
+    jdbcTemplate.update("DELETE FROM story_outbox WHERE sequence_number <= ?", purged);
+
+    MvcResult result = subscribe(purged - 1);
+
+    waitUntil(() -> content(result).contains("id:" + kept + "\n"));
+    String content = content(result);
+    assertTrue(content.startsWith("event:reset\ndata:" + (kept - 1) + "\n"));
+    assertFalse(content.contains("id:" + purged + "\n"));
+  }
+
+  @Test
+  void testSlowSubscriberIsDisconnected() throws Exception {
+    long last = outboxRepository.findMaxSequenceNumber().orElse(0L);
+    subscribe(last);
+    waitUntil(() -> changeFeed.subscriberCount() > 0);
+
+    // More live events at once than the subscriber buffer holds
+    changeFeed.publish(
+        LongStream.rangeClosed(last + 1, last + 100)
+            .mapToObj(
+                sequence ->
+                    new StoryChangeEventDto(
+                        sequence, 1L, StoryChangeType.DELETED, null, LocalDateTime.now()))
+            .toList());
+
+    waitUntil(() -> changeFeed.subscriberCount() == 0);
+  }
+
+  /** Creates a story and relays its event; returns the event's sequence number. */
+  private long publish(String title) {
+    storyService.createStory(new StoryRequestDto(title, "Content", "Author", List.of("feed")));
+    relay.relay();
+    return outboxRepository.findMaxSequenceNumber().orElseThrow();
+  }
+
+  private MvcResult subscribe(long lastEventId) throws Exception {
+    return mockMvc
+        .perform(get("/api/stories/changes").header("Last-Event-ID", lastEventId))
+        .andExpect(request().asyncStarted())
+        .andReturn();
+  }
+
+  private static String content(MvcResult result) {
+    try {
+      return result.getResponse().getContentAsString();
+    } catch (UnsupportedEncodingException ex) {
+      throw new IllegalStateException(ex);
+    }
+  }
+
+  private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(10);
+    }
+    assertTrue(condition.getAsBoolean(), "Condition not met in time");
+  }
+}
@@ -0,0 +1,98 @@
+package io.github.tbarland.obscura.outbox;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.tbarland.obscura.dto.StoryChangeEventDto;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.model.StoryChangeType;
+import io.github.tbarland.obscura.repository.StoryOutboxRepository;
+import io.github.tbarland.obscura.service.StoryService;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+@SpringBootTest(properties = "obscura.outbox.relay-interval=1h")
+class StoryOutboxRelayTests {
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private StoryOutboxRelay relay;
+
+  @Autowired private StoryOutboxRepository outboxRepository;
+
+  @Autowired private RecordingSink sink;
+
+  @BeforeEach
+  void setUp() {
+    relay.relay();
+    sink.events.clear();
+  }
+
+  @Test
+  void testMutationsArePublishedInOrderWithConsecutiveSequences() {
+    StoryResponseDto created =
+        storyService.createStory(
+            new StoryRequestDto("Outbox", "Created content", "Author", List.of("outbox")));
+    storyService.updateStory(
+        created.id(), new StoryRequestDto("Outbox 2", "Updated content", "Author", List.of()));
+    storyService.deleteStory(created.id());
+
+    int published = relay.relay();
+
+    assertEquals(3, published);
+    List<StoryChangeEventDto> events = sink.events;
+    assertEquals(3, events.size());
+    assertEquals(StoryChangeType.CREATED, events.get(0).type());
+    assertEquals("Outbox", events.get(0).story().title());
+    assertEquals(StoryChangeType.UPDATED, events.get(1).type());
+    assertEquals("Outbox 2", events.get(1).story().title());
+    assertEquals(StoryChangeType.DELETED, events.get(2).type());
+    assertNull(events.get(2).story());
+    for (int i = 0; i < events.size(); i++) {
+      assertEquals(created.id(), events.get(i).storyId());
+      if (i > 0) {
+        assertEquals(events.get(i - 1).sequence() + 1, events.get(i).sequence());
+      }
+    }
+  }
+
+  @Test
+  void testRelayMarksEventsPublishedAndDoesNotRepublish() {
+    storyService.createStory(new StoryRequestDto("Once", "Content", "Author", List.of()));
+
+    assertEquals(1, relay.relay());
+    assertEquals(0, relay.relay());
+    assertEquals(1, sink.events.size());
+
+    Long sequence = sink.events.get(0).sequence();
+    assertEquals(sequence, outboxRepository.findMaxSequenceNumber().orElseThrow());
+    assertTrue(outboxRepository.findAll().stream().allMatch(e -> e.getPublishedAt() != null));
+    assertNotNull(sink.events.get(0).occurredAt());
+  }
+
+  @TestConfiguration
+  static class SinkConfig {
+    @Bean
+    RecordingSink recordingSink() {
+      return new RecordingSink();
+    }
+  }
+
+  static class RecordingSink implements StoryChangeSink {
+    private final List<StoryChangeEventDto> events = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(List<StoryChangeEventDto> batch) {
+      events.addAll(batch);
+    }
+  }
+}
@@ -0,0 +1,87 @@
+package io.github.tbarland.obscura.partition;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.github.tbarland.obscura.config.StoryPartitionProperties;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+@ExtendWith(MockitoExtension.class)
+class StoryPartitionMaintenanceTests {
+
+  private static final Clock OCTOBER_2026 =
+      Clock.fixed(Instant.parse("2026-10-19T12:00:00Z"), ZoneOffset.UTC);
+
+  @Mock private StoryPartitionManager partitionManager;
+
+  @Test
+  void testCreatesMissingFuturePartitions() {
+    when(partitionManager.isPartitioned()).thenReturn(true);
+    when(partitionManager.listMonthlyPartitions())
+        .thenReturn(List.of(YearMonth.of(2026, 10), YearMonth.of(2026, 11)));
+
+    maintenance(2, 0).maintain();
+
+    verify(partitionManager, never()).createPartition(YearMonth.of(2026, 10));
+    verify(partitionManager, never()).createPartition(YearMonth.of(2026, 11));
+    verify(partitionManager).createPartition(YearMonth.of(2026, 12));
+    verify(partitionManager, never()).dropPartition(any());
+  }
+
+  @Test
+  void testDropsPartitionsOutsideRetention() {
+    when(partitionManager.isPartitioned()).thenReturn(true);
+    when(partitionManager.listMonthlyPartitions())
+        .thenReturn(
+            List.of(
+                YearMonth.of(2026, 3),
+                YearMonth.of(2026, 4),
+                YearMonth.of(2026, 10),
+                YearMonth.of(2026, 11)));
+
+    maintenance(1, 6).maintain();
+
+    verify(partitionManager).dropPartition(YearMonth.of(2026, 3));
+    verify(partitionManager, never()).dropPartition(YearMonth.of(2026, 4));
+    verify(partitionManager, never()).dropPartition(YearMonth.of(2026, 10));
+  }
+
+  @Test
+  void testSkipsWhenStoryTableIsNotPartitioned() {
+    when(partitionManager.isPartitioned()).thenReturn(false);
+
+    maintenance(3, 6).maintain();
+
+    verify(partitionManager, never()).listMonthlyPartitions();
+    verify(partitionManager, never()).createPartition(any());
+  }
+
+  @Test
+  void testPartitionNamesRoundTrip() {
+    YearMonth month = YearMonth.of(2026, 2);
+
+    assertEquals("story_p202602", StoryPartitionManager.partitionName(month));
+    assertEquals(month, StoryPartitionManager.parseMonth("story_p202602"));
+    assertNull(StoryPartitionManager.parseMonth("story_default"));
+  }
+
+  private StoryPartitionMaintenance maintenance(int monthsAhead, int retentionMonths) {
+    return new StoryPartitionMaintenance(
+        partitionManager,
+        new StoryPartitionProperties(true, monthsAhead, retentionMonths, Duration.ofHours(1)),
+        OCTOBER_2026);
+  }
+}
@@ -0,0 +1,72 @@
+package io.github.tbarland.obscura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import io.github.tbarland.obscura.config.CoalescingProperties;
+import io.github.tbarland.obscura.datasource.ReplicaRoutingContext;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+class CoalescingStoryReaderTests {
+
+  private final StoryService storyService = mock(StoryService.class);
+  private final CoalescingStoryReader reader =
+      new CoalescingStoryReader(
+          storyService, new CoalescingProperties(Duration.ofSeconds(5)), new SimpleMeterRegistry());
+  private final ExecutorService executor = Executors.newFixedThreadPool(2);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testPrimaryPinnedReadDoesNotJoinReplicaLoad() throws Exception {
+    CountDownLatch replicaLoadStarted = new CountDownLatch(1);
+    CountDownLatch releaseReplicaLoad = new CountDownLatch(1);
+    when(storyService.getStoryById(1L))
+        .thenAnswer(
+            invocation -> {
+              if (ReplicaRoutingContext.isPrimaryForced()) {
+                return story("primary");
+              }
+              replicaLoadStarted.countDown();
+              releaseReplicaLoad.await(5, TimeUnit.SECONDS);
+              return story("replica");
+            });
+
+    Future<StoryResponseDto> replicaRead = executor.submit(() -> reader.getStoryById(1L));
+    assertTrue(replicaLoadStarted.await(5, TimeUnit.SECONDS));
+    Future<StoryResponseDto> primaryRead =
+        executor.submit(
+            () -> {
+              ReplicaRoutingContext.forcePrimary();
+              try {
+                return reader.getStoryById(1L);
+              } finally {
+                ReplicaRoutingContext.clear();
+              }
+            });
+
+    assertEquals("primary", primaryRead.get(5, TimeUnit.SECONDS).title());
+    releaseReplicaLoad.countDown();
+    assertEquals("replica", replicaRead.get(5, TimeUnit.SECONDS).title());
+    assertEquals(2, reader.singleFlight().loads());
+  }
+
+  private static StoryResponseDto story(String title) {
+    return new StoryResponseDto(1L, title, "Content", "Author", List.of(), null, null);
+  }
+}
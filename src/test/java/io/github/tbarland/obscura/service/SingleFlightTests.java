@@ -0,0 +1,153 @@
+package io.github.tbarland.obscura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+class SingleFlightTests {
+
+  private static final Duration MAX_WAIT = Duration.ofSeconds(5);
+
+  private final SingleFlight<Long, String> singleFlight = new SingleFlight<>();
+  private final ExecutorService executor = Executors.newFixedThreadPool(8);
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  void testConcurrentCallersShareOneLoad() throws Exception {
+    CountDownLatch loaderStarted = new CountDownLatch(1);
+    CountDownLatch releaseLoader = new CountDownLatch(1);
+    AtomicInteger loaderCalls = new AtomicInteger();
+
+    Future<String> leader =
+        executor.submit(
+            () ->
+                singleFlight.execute(
+                    1L,
+                    () -> {
+                      loaderCalls.incrementAndGet();
+                      loaderStarted.countDown();
+                      await(releaseLoader);
+                      return "story-1";
+                    },
+                    MAX_WAIT));
+    assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+    List<Future<String>> followers = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      followers.add(
+          executor.submit(
+              () ->
+                  singleFlight.execute(
+                      1L,
+                      () -> {
+                        loaderCalls.incrementAndGet();
+                        return "unexpected";
+                      },
+                      MAX_WAIT)));
+    }
+    waitUntil(() -> singleFlight.coalesced() == 5);
+    releaseLoader.countDown();
+
+    assertEquals("story-1", leader.get(5, TimeUnit.SECONDS));
+    for (Future<String> follower : followers) {
+      assertEquals("story-1", follower.get(5, TimeUnit.SECONDS));
+    }
+    assertEquals(1, loaderCalls.get());
+    assertEquals(1, singleFlight.loads());
+    assertEquals(5, singleFlight.coalesced());
+    assertEquals(0, singleFlight.inFlight());
+  }
+
+  @Test
+  void testFailuresReachWaitersAndAreNotCached() throws Exception {
+    CountDownLatch loaderStarted = new CountDownLatch(1);
+    CountDownLatch releaseLoader = new CountDownLatch(1);
+    ResponseStatusException notFound = new ResponseStatusException(HttpStatus.NOT_FOUND);
+
+    Future<String> leader =
+        executor.submit(
+            () ->
+                singleFlight.execute(
+                    2L,
+                    () -> {
+                      loaderStarted.countDown();
+                      await(releaseLoader);
+                      throw notFound;
+                    },
+                    MAX_WAIT));
+    assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+    Future<String> follower = executor.submit(() -> singleFlight.execute(2L, () -> "x", MAX_WAIT));
+    waitUntil(() -> singleFlight.coalesced() == 1);
+    releaseLoader.countDown();
+
+    var leaderFailure = assertThrows(Exception.class, () -> leader.get(5, TimeUnit.SECONDS));
+    var followerFailure = assertThrows(Exception.class, () -> follower.get(5, TimeUnit.SECONDS));
+    assertSame(notFound, leaderFailure.getCause());
+    assertSame(notFound, followerFailure.getCause());
+
+    assertEquals("fresh", singleFlight.execute(2L, () -> "fresh", MAX_WAIT));
+  }
+
+  @Test
+  void testWaiterTimeoutDoesNotCancelSharedLoad() throws Exception {
+    CountDownLatch loaderStarted = new CountDownLatch(1);
+    CountDownLatch releaseLoader = new CountDownLatch(1);
+
+    Future<String> leader =
+        executor.submit(
+            () ->
+                singleFlight.execute(
+                    3L,
+                    () -> {
+                      loaderStarted.countDown();
+                      await(releaseLoader);
+                      return "slow-story";
+                    },
+                    MAX_WAIT));
+    assertTrue(loaderStarted.await(5, TimeUnit.SECONDS));
+
+    assertThrows(
+        TimeoutException.class, () -> singleFlight.execute(3L, () -> "x", Duration.ofMillis(20)));
+    releaseLoader.countDown();
+
+    assertEquals("slow-story", leader.get(5, TimeUnit.SECONDS));
+    assertEquals(1, singleFlight.timeouts());
+  }
+
+  private static void await(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException ex) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static void waitUntil(BooleanSupplier condition) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (!condition.getAsBoolean() && System.nanoTime() < deadline) {
+      Thread.sleep(1);
+    }
+    assertTrue(condition.getAsBoolean(), "Condition not met in time");
+  }
+}
@@ -0,0 +1,77 @@
+package io.github.tbarland.obscura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.web.StoryWireFormat;
+import java.io.ByteArrayOutputStream;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+@SpringBootTest
+class StoryListWriterTests {
+
+  @Autowired private StoryListWriter storyListWriter;
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private ObjectMapper objectMapper;
+
+  @Test
+  void testJsonMatchesDtoSerialization() throws Exception {
+    storyService.createStory(
+        new StoryRequestDto(
+            "Streamed \"quoted\"", "Line one\nline two", "Author", List.of("a", "b")));
+    storyService.createStory(new StoryRequestDto("No tags", "Content", "Author", List.of()));
+
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    storyListWriter.writeAll(StoryWireFormat.JSON, out);
+
+    List<StoryResponseDto> expected =
+        storyService.getAllStories().stream()
+            .sorted(Comparator.comparing(StoryResponseDto::id))
+            .toList();
+    // Both sides parsed from text, so ids compare as the same numeric node type
+    assertEquals(
+        objectMapper.readTree(objectMapper.writeValueAsBytes(expected)),
+        objectMapper.readTree(out.toByteArray()));
+  }
+
+  @Test
+  void testSmileDecodesToSameTree() throws Exception {
+    storyService.createStory(new StoryRequestDto("Smile", "Content", "Author", List.of("s")));
+
+    ByteArrayOutputStream json = new ByteArrayOutputStream();
+    ByteArrayOutputStream smile = new ByteArrayOutputStream();
+    storyListWriter.writeAll(StoryWireFormat.JSON, json);
+    storyListWriter.writeAll(StoryWireFormat.SMILE, smile);
+
+    JsonNode fromSmile = new ObjectMapper(new SmileFactory()).readTree(smile.toByteArray());
+    assertEquals(objectMapper.readTree(json.toByteArray()), fromSmile);
+  }
+
+  @Test
+  void testTimestampFormatMatchesIsoLocalDateTime() {
+    char[] buffer = new char[32];
+    for (LocalDateTime value :
+        List.of(
+            LocalDateTime.of(2025, 1, 2, 3, 4, 5),
+            LocalDateTime.of(2025, 11, 11, 10, 30, 0, 500_000_000),
+            LocalDateTime.of(999, 12, 31, 23, 59, 59, 123_456_000),
+            LocalDateTime.of(2025, 6, 1, 0, 0, 0, 1))) {
+      int length = StoryListWriter.formatIsoLocalDateTime(value, buffer);
+
+      assertEquals(
+          DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value), new String(buffer, 0, length));
+    }
+  }
+}
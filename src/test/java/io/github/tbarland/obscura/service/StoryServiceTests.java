@@ -2,13 +2,28 @@ package io.github.tbarland.obscura.service;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import io.github.tbarland.obscura.archive.StoryArchive;
+import io.github.tbarland.obscura.dedup.DuplicateDetector;
+import io.github.tbarland.obscura.dedup.DuplicateDetector.DuplicateMatch;
+import io.github.tbarland.obscura.dedup.DuplicatePolicy;
 import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
 import io.github.tbarland.obscura.model.Story;
+import io.github.tbarland.obscura.model.StoryChangeType;
+import io.github.tbarland.obscura.outbox.StoryOutbox;
 import io.github.tbarland.obscura.repository.StoryRepository;
+import io.github.tbarland.obscura.repository.StoryTombstoneRepository;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import org.junit.jupiter.api.Test;
@@ -24,6 +39,14 @@ class StoryServiceTests {
 
   @Mock private StoryRepository storyRepository;
 
+  @Mock private StoryTombstoneRepository tombstoneRepository;
+
+  @Mock private StoryOutbox storyOutbox;
+
+  @Mock private DuplicateDetector duplicateDetector;
+
+  @Mock private StoryArchive storyArchive;
+
   @Test
   void testGetAllStories() {
 
@@ -42,6 +65,32 @@ class StoryServiceTests {
     assertEquals("Title2", response.get(1).title());
   }
 
+  @Test
+  void testGetStoriesByIdsKeepsRequestedOrder() {
+    Story first = new Story(1L, "First", "Content", "Author", List.of(), LocalDateTime.now());
+    Story third = new Story(3L, "Third", "Content", "Author", List.of(), LocalDateTime.now());
+    when(storyRepository.findAllById(List.of(3L, 2L, 1L))).thenReturn(List.of(first, third));
+
+    var response = storyService.getStoriesByIds(List.of(3L, 2L, 1L));
+
+    assertEquals(List.of(3L, 1L), response.stream().map(StoryResponseDto::id).toList());
+  }
+
+  @Test
+  void testGetStoriesByIdsFallsBackToArchive() {
+    Story first = new Story(1L, "First", "Content", "Author", List.of(), LocalDateTime.now());
+    StoryResponseDto archived =
+        new StoryResponseDto(
+            2L, "Old", "Archived content", "Author", List.of(), LocalDateTime.now(), null);
+    when(storyRepository.findAllById(List.of(2L, 1L))).thenReturn(List.of(first));
+    when(storyArchive.find(2L)).thenReturn(Optional.of(archived));
+
+    var response = storyService.getStoriesByIds(List.of(2L, 1L));
+
+    assertEquals(List.of(2L, 1L), response.stream().map(StoryResponseDto::id).toList());
+    assertEquals(archived, response.getFirst());
+  }
+
   @Test
   void testGetStoryById() {
     Long storyId = 1L;
@@ -74,6 +123,17 @@ class StoryServiceTests {
     assertThrows(ResponseStatusException.class, () -> storyService.getStoryById(storyId));
   }
 
+  @Test
+  void testGetStoryByIdFallsBackToArchive() {
+    StoryResponseDto archived =
+        new StoryResponseDto(
+            5L, "Old", "Archived content", "Author", List.of(), LocalDateTime.now(), null);
+    when(storyRepository.findById(5L)).thenReturn(Optional.empty());
+    when(storyArchive.find(5L)).thenReturn(Optional.of(archived));
+
+    assertEquals(archived, storyService.getStoryById(5L));
+  }
+
   @Test
   void testCreateStory() {
 
@@ -93,6 +153,64 @@ class StoryServiceTests {
     assertEquals("New Content", response.content());
     assertEquals("New Author", response.author());
     assertEquals(List.of("newtag"), response.tags());
+    verify(storyOutbox).record(StoryChangeType.CREATED, 1L, response);
+  }
+
+  @Test
+  void testCreateStoryRejectsDuplicate() {
+    Story original = new Story(7L, "Old", "Same", "Author", List.of("tag"), LocalDateTime.now());
+    when(duplicateDetector.find(any()))
+        .thenReturn(Optional.of(new DuplicateMatch(7L, true, 0, DuplicatePolicy.REJECT)));
+    when(storyRepository.findById(7L)).thenReturn(Optional.of(original));
+
+    var request = new StoryRequestDto("New", "Same", "Author", List.of("tag"));
+
+    var ex = assertThrows(ResponseStatusException.class, () -> storyService.createStory(request));
+    assertEquals(409, ex.getStatusCode().value());
+    verify(storyRepository, never()).save(any());
+  }
+
+  @Test
+  void testCreateStoryMergesTagsIntoDuplicate() {
+    Story original =
+        new Story(7L, "Old", "Same", "Author", new ArrayList<>(List.of("a")), LocalDateTime.now());
+    when(duplicateDetector.find(any()))
+        .thenReturn(Optional.of(new DuplicateMatch(7L, false, 2, DuplicatePolicy.MERGE)));
+    when(storyRepository.findById(7L)).thenReturn(Optional.of(original));
+
+    var response =
+        storyService.createStory(new StoryRequestDto("New", "Same!", "Author", List.of("a", "b")));
+
+    assertEquals(7L, response.id());
+    assertEquals(List.of("a", "b"), response.tags());
+    verify(storyRepository, never()).save(any());
+    verify(storyOutbox).record(StoryChangeType.UPDATED, 7L, response);
+  }
+
+  @Test
+  void testCreateStoryFlagsDuplicate() {
+    Story original = new Story(7L, "Old", "Same", "Author", List.of(), LocalDateTime.now());
+    when(duplicateDetector.find(any()))
+        .thenReturn(Optional.of(new DuplicateMatch(7L, true, 0, DuplicatePolicy.FLAG)));
+    when(storyRepository.findById(7L)).thenReturn(Optional.of(original));
+    when(storyRepository.save(argThat(story -> Long.valueOf(7L).equals(story.getDuplicateOf()))))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+
+    storyService.createStory(new StoryRequestDto("New", "Same", "Author", List.of()));
+
+    verify(storyRepository).save(any());
+  }
+
+  @Test
+  void testCreateStoryForgetsDuplicateThatNoLongerExists() {
+    when(duplicateDetector.find(any()))
+        .thenReturn(Optional.of(new DuplicateMatch(7L, true, 0, DuplicatePolicy.REJECT)));
+    when(storyRepository.findById(7L)).thenReturn(Optional.empty());
+    when(storyRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+    storyService.createStory(new StoryRequestDto("New", "Same", "Author", List.of()));
+
+    verify(duplicateDetector).forget(7L);
   }
 
   @Test
@@ -104,6 +222,8 @@ class StoryServiceTests {
     storyService.deleteStory(storyId);
 
     verify(storyRepository).deleteById(storyId);
+    verify(storyOutbox).record(eq(StoryChangeType.DELETED), eq(storyId), isNull());
+    verify(tombstoneRepository).save(argThat(tombstone -> tombstone.getStoryId().equals(storyId)));
   }
 
   @Test
@@ -113,6 +233,7 @@ class StoryServiceTests {
     when(storyRepository.existsById(storyId)).thenReturn(false);
 
     assertThrows(ResponseStatusException.class, () -> storyService.deleteStory(storyId));
+    verify(storyOutbox, never()).record(any(), any(), any());
   }
 
   @Test
@@ -128,7 +249,7 @@ class StoryServiceTests {
             "Old Content",
             "Old Author",
             List.of("oldtag"),
-            LocalDateTime.now());
+            LocalDateTime.now().minusDays(1));
 
     when(storyRepository.findById(storyId)).thenReturn(Optional.of(existingStory));
 
@@ -138,6 +259,8 @@ class StoryServiceTests {
     assertEquals("Updated Content", response.content());
     assertEquals("Updated Author", response.author());
     assertEquals(List.of("tag1"), response.tags());
+    verify(storyOutbox).record(StoryChangeType.UPDATED, storyId, response);
+    assertTrue(response.updatedAt().isAfter(existingStory.getCreatedAt()));
   }
 
   @Test
@@ -0,0 +1,127 @@
+package io.github.tbarland.obscura.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryResponseDto;
+import io.github.tbarland.obscura.dto.StorySyncPageDto;
+import io.github.tbarland.obscura.dto.StoryTombstoneDto;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest(properties = "obscura.sync.settle-delay=0s")
+class StorySyncServiceTests {
+
+  @Autowired private StorySyncService syncService;
+
+  @Autowired private StoryService storyService;
+
+  private String baseline;
+
+  @BeforeEach
+  void setUp() {
+    StorySyncPageDto page;
+    String cursor = null;
+    do {
+      page = syncService.getChangesSince(cursor, 1000);
+      cursor = page.cursor();
+    } while (page.hasMore());
+    baseline = cursor;
+  }
+
+  @Test
+  void testSyncReturnsOnlyChangesSinceCursor() {
+    StoryResponseDto kept = storyService.createStory(request("Kept"));
+    StoryResponseDto removed = storyService.createStory(request("Removed"));
+    storyService.updateStory(kept.id(), request("Kept v2"));
+    storyService.deleteStory(removed.id());
+
+    StorySyncPageDto page = syncService.getChangesSince(baseline, 100);
+
+    assertEquals(1, page.changed().size());
+    assertEquals(kept.id(), page.changed().get(0).id());
+    assertEquals("Kept v2", page.changed().get(0).title());
+    assertEquals(
+        List.of(removed.id()), page.deleted().stream().map(StoryTombstoneDto::id).toList());
+    assertFalse(page.hasMore());
+
+    StorySyncPageDto next = syncService.getChangesSince(page.cursor(), 100);
+    assertTrue(next.changed().isEmpty());
+    assertTrue(next.deleted().isEmpty());
+    SyncCursor advanced = SyncCursor.decode(next.cursor());
+    assertFalse(SyncCursor.decode(page.cursor()).isAfter(advanced.timestamp(), advanced.storyId()));
+  }
+
+  @Test
+  void testQuietSyncMovesCursorToHorizon() {
+    LocalDateTime before = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+
+    StorySyncPageDto page = syncService.getChangesSince(baseline, 100);
+
+    assertTrue(page.changed().isEmpty());
+    assertTrue(page.deleted().isEmpty());
+    assertFalse(page.hasMore());
+    assertFalse(SyncCursor.decode(page.cursor()).timestamp().isBefore(before));
+  }
+
+  @Test
+  void testSyncPaginatesWithoutGapsOrDuplicates() {
+    List<Long> created = new ArrayList<>();
+    for (int i = 0; i < 5; i++) {
+      created.add(storyService.createStory(request("Page " + i)).id());
+    }
+
+    List<Long> synced = new ArrayList<>();
+    String cursor = baseline;
+    StorySyncPageDto page;
+    int pages = 0;
+    do {
+      page = syncService.getChangesSince(cursor, 2);
+      page.changed().forEach(story -> synced.add(story.id()));
+      cursor = page.cursor();
+      pages++;
+    } while (page.hasMore());
+
+    assertEquals(created, synced);
+    assertEquals(3, pages);
+  }
+
+  @Test
+  void testInvalidCursorIsRejected() {
+    ResponseStatusException ex =
+        assertThrows(
+            ResponseStatusException.class, () -> syncService.getChangesSince("not-a-cursor", 10));
+    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatusCode());
+  }
+
+  @Test
+  void testCursorOlderThanTombstoneRetentionRequiresFullSync() {
+    String stale = new SyncCursor(LocalDateTime.now().minusDays(365), 1).encode();
+
+    ResponseStatusException ex =
+        assertThrows(ResponseStatusException.class, () -> syncService.getChangesSince(stale, 10));
+    assertEquals(HttpStatus.GONE, ex.getStatusCode());
+  }
+
+  @Test
+  void testCursorRoundTrips() {
+    SyncCursor cursor = new SyncCursor(LocalDateTime.of(2025, 11, 11, 10, 30, 0, 123_456_000), 42);
+
+    assertEquals(cursor, SyncCursor.decode(cursor.encode()));
+  }
+
+  private static StoryRequestDto request(String title) {
+    return new StoryRequestDto(title, "Sync content", "Author", List.of("sync"));
+  }
+}
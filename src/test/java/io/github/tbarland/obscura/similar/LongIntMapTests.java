@@ -0,0 +1,33 @@
+package io.github.tbarland.obscura.similar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class LongIntMapTests {
+
+  @Test
+  void testMatchesHashMapUnderRandomOperations() {
+    Random random = new Random(42);
+    LongIntMap map = new LongIntMap(4);
+    Map<Long, Integer> expected = new HashMap<>();
+    for (int i = 0; i < 50_000; i++) {
+      long key = random.nextInt(2_000);
+      if (random.nextInt(3) == 0) {
+        assertEquals(expected.getOrDefault(key, -1), map.remove(key));
+        expected.remove(key);
+      } else {
+        map.put(key, i);
+        expected.put(key, i);
+      }
+    }
+
+    assertEquals(expected.size(), map.size());
+    for (long key = 0; key < 2_000; key++) {
+      assertEquals(expected.getOrDefault(key, -1), map.get(key));
+    }
+  }
+}
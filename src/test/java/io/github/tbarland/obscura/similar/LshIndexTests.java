@@ -0,0 +1,85 @@
+package io.github.tbarland.obscura.similar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.tbarland.obscura.dto.SimilarStoryDto;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class LshIndexTests {
+
+  private static final String HAUNTING =
+      "The fog rolled over the cellar door while the lantern flickered and footsteps echoed"
+          + " through the abandoned hall at midnight";
+
+  private final MinHasher hasher = new MinHasher(64, 3, 8, 20_000);
+
+  @Test
+  void testSimilarStoriesRankAboveUnrelatedOnes() {
+    LshIndex index = new LshIndex(16, 4, 4);
+    index.put(1, hasher.signature(List.of("ghost", "house"), HAUNTING));
+    index.put(2, hasher.signature(List.of("ghost", "house"), HAUNTING + " until dawn came"));
+    index.put(3, hasher.signature(List.of("ghost"), HAUNTING.replace("midnight", "noon")));
+    index.put(4, hasher.signature(List.of("space"), "Rockets launched toward a red planet"));
+
+    List<SimilarStoryDto> similar = index.nearest(1, 10, 0.1);
+
+    assertEquals(List.of(2L, 3L), similar.stream().map(SimilarStoryDto::id).toList());
+    assertTrue(similar.get(0).similarity() > similar.get(1).similarity());
+  }
+
+  @Test
+  void testIdenticalStoriesHaveSimilarityOne() {
+    LshIndex index = new LshIndex(16, 4, 4);
+    index.put(1, hasher.signature(List.of("Ghost"), HAUNTING));
+    index.put(2, hasher.signature(List.of("ghost"), HAUNTING.toUpperCase()));
+
+    assertEquals(List.of(new SimilarStoryDto(2L, 1.0)), index.nearest(1, 10, 0.0));
+  }
+
+  @Test
+  void testUpdateAndRemoveRelinkBuckets() {
+    LshIndex index = new LshIndex(16, 4, 4);
+    int[] haunting = hasher.signature(List.of("ghost"), HAUNTING);
+    index.put(1, haunting);
+    index.put(2, haunting);
+
+    index.put(2, hasher.signature(List.of("space"), "Rockets launched toward a red planet"));
+    assertEquals(List.of(), index.nearest(1, 10, 0.1));
+
+    index.put(2, haunting);
+    assertTrue(index.remove(2));
+    assertFalse(index.remove(2));
+    assertNull(index.nearest(2, 10, 0.1));
+    assertEquals(List.of(), index.nearest(1, 10, 0.1));
+    assertEquals(1, index.size());
+  }
+
+  @Test
+  void testGrowsAndReusesSlots() {
+    LshIndex index = new LshIndex(8, 2, 1);
+    for (long id = 1; id <= 1000; id++) {
+      index.put(id, hasher(16).signature(List.of("tag" + id % 10), "story number " + id));
+    }
+    for (long id = 1; id <= 1000; id += 2) {
+      index.remove(id);
+    }
+    long before = index.memoryBytes();
+    for (long id = 1001; id <= 1500; id++) {
+      index.put(id, hasher(16).signature(List.of("tag" + id % 10), "story number " + id));
+    }
+
+    assertEquals(1000, index.size());
+    assertEquals(before, index.memoryBytes());
+    // Same tag, and "story number" as the only shared shingle
+    assertTrue(index.nearest(1010, 1000, 0.0).stream().allMatch(s -> s.id() % 10 == 0));
+    assertFalse(index.nearest(1010, 1000, 0.0).isEmpty());
+  }
+
+  private static MinHasher hasher(int hashes) {
+    return new MinHasher(hashes, 3, 8, 20_000);
+  }
+}
@@ -0,0 +1,93 @@
+package io.github.tbarland.obscura.similar;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import io.github.tbarland.obscura.dto.SimilarStoryDto;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.service.StoryService;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+@SpringBootTest(properties = "obscura.similar.max-results=5")
+@AutoConfigureMockMvc
+class SimilarStoriesTests {
+
+  private static final String HAUNTING =
+      "The fog rolled over the cellar door while the lantern flickered and footsteps echoed"
+          + " through the abandoned hall at midnight";
+
+  private static final String SPACE =
+      "Rockets launched toward a distant red planet as the crew counted down the final seconds";
+
+  @Autowired private MockMvc mockMvc;
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private SimilarStories similarStories;
+
+  @Test
+  void testNewStoriesAreIndexedOnCommit() throws Exception {
+    Long original = createStory(HAUNTING, "haunted");
+    Long retelling = createStory(HAUNTING + " once more", "haunted");
+    Long unrelated = createStory(SPACE, "space");
+
+    mockMvc
+        .perform(get("/api/stories/{id}/similar", original))
+        .andExpect(status().isOk())
+        .andExpect(jsonPath("$[0].id").value(retelling));
+    assertFalse(ids(similarStories.similarTo(original, 5)).contains(unrelated));
+  }
+
+  @Test
+  void testUpdatesAndDeletesAreApplied() throws Exception {
+    // Built, so a story missing from the index is reported as not found
+    similarStories.rebuild();
+    Long original = createStory(HAUNTING + " in the old mill", "mill");
+    Long copy = createStory(HAUNTING + " in the old mill", "mill");
+    assertEquals(new SimilarStoryDto(copy, 1.0), similarStories.similarTo(original, 5).getFirst());
+
+    storyService.updateStory(
+        copy, new StoryRequestDto("Changed", SPACE + " again", "Author", List.of("space")));
+    assertFalse(ids(similarStories.similarTo(original, 5)).contains(copy));
+
+    storyService.deleteStory(copy);
+    mockMvc.perform(get("/api/stories/{id}/similar", copy)).andExpect(status().isNotFound());
+  }
+
+  @Test
+  void testRebuildKeepsTheIndex() {
+    Long original = createStory(HAUNTING + " by the lighthouse", "lighthouse");
+    Long copy = createStory(HAUNTING + " by the lighthouse", "lighthouse");
+
+    similarStories.rebuild();
+
+    assertEquals(copy, similarStories.similarTo(original, 5).getFirst().id());
+  }
+
+  @Test
+  void testRejectsLimitOutOfRange() throws Exception {
+    Long story = createStory(SPACE, "space");
+
+    mockMvc
+        .perform(get("/api/stories/{id}/similar", story).param("limit", "6"))
+        .andExpect(status().isBadRequest());
+  }
+
+  private static List<Long> ids(List<SimilarStoryDto> similar) {
+    return similar.stream().map(SimilarStoryDto::id).toList();
+  }
+
+  private Long createStory(String content, String tag) {
+    return storyService
+        .createStory(new StoryRequestDto("Story", content, "Author", List.of(tag)))
+        .id();
+  }
+}
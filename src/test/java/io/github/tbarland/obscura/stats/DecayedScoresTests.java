@@ -0,0 +1,70 @@
+package io.github.tbarland.obscura.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.github.tbarland.obscura.dto.TrendingStoryDto;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class DecayedScoresTests {
+
+  private static final long HOUR = Duration.ofHours(1).toMillis();
+
+  private final AtomicLong clock = new AtomicLong(1_000_000);
+
+  @Test
+  void testScoresHalveEveryHalfLife() {
+    DecayedScores scores = new DecayedScores(Duration.ofHours(1), 10, clock::get);
+    scores.add(1, 8.0);
+
+    clock.addAndGet(2 * HOUR);
+
+    assertEquals(2.0, scores.top().getFirst().score(), 1e-9);
+  }
+
+  @Test
+  void testRecentActivityOutranksOlderActivity() {
+    DecayedScores scores = new DecayedScores(Duration.ofHours(1), 10, clock::get);
+    scores.add(1, 10.0);
+    clock.addAndGet(3 * HOUR);
+    scores.add(2, 2.0);
+
+    assertEquals(List.of(2L, 1L), scores.top().stream().map(TrendingStoryDto::id).toList());
+  }
+
+  @Test
+  void testRescalingKeepsScoresAcrossManyHalfLives() {
+    DecayedScores scores = new DecayedScores(Duration.ofMinutes(1), 10, clock::get);
+    for (int i = 0; i < 200; i++) {
+      clock.addAndGet(Duration.ofMinutes(1).toMillis());
+      scores.add(1, 1.0);
+    }
+
+    // Geometric series 1 + 1/2 + 1/4 + ... converges to 2
+    assertEquals(2.0, scores.top().getFirst().score(), 1e-9);
+  }
+
+  @Test
+  void testRemovePromotesNextStory() {
+    DecayedScores scores = new DecayedScores(Duration.ofHours(1), 1, clock::get);
+    scores.add(1, 3.0);
+    scores.add(2, 2.0);
+
+    scores.remove(1);
+
+    assertEquals(List.of(new TrendingStoryDto(2L, 2.0)), scores.top());
+  }
+
+  @Test
+  void testPruneForgetsFadedStoriesOutsideTop() {
+    DecayedScores scores = new DecayedScores(Duration.ofHours(1), 1, clock::get);
+    scores.add(1, 1.0);
+    scores.add(2, 0.5);
+    clock.addAndGet(10 * HOUR);
+
+    assertEquals(1, scores.prune(0.01));
+    assertEquals(1, scores.trackedStories());
+  }
+}
@@ -0,0 +1,129 @@
+package io.github.tbarland.obscura.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.StoryViewCountDto;
+import io.github.tbarland.obscura.service.StoryService;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest(properties = "obscura.views.flush-interval=1h")
+class StoryViewCounterTests {
+
+  @Autowired private StoryViewCounter viewCounter;
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private MeterRegistry meterRegistry;
+
+  @Test
+  void testConcurrentViewsAreFlushedExactlyOnce() {
+    Long id = createStory("Popular");
+    try (ExecutorService executor = Executors.newFixedThreadPool(8)) {
+      for (int thread = 0; thread < 8; thread++) {
+        executor.submit(
+            () -> {
+              for (int i = 0; i < 1_000; i++) {
+                viewCounter.recordView(id);
+              }
+            });
+      }
+    }
+
+    viewCounter.flush();
+    assertEquals(8_000, storedViews(id));
+
+    viewCounter.recordView(id);
+    viewCounter.flush();
+    viewCounter.flush();
+    assertEquals(8_001, storedViews(id));
+  }
+
+  @Test
+  void testIdleCountersAreDropped() {
+    Long id = createStory("Briefly popular");
+    viewCounter.recordView(id);
+    viewCounter.recordView(id);
+    viewCounter.flush();
+    viewCounter.flush();
+    double tracked = trackedCounters();
+
+    viewCounter.recordView(id);
+
+    assertEquals(tracked + 1, trackedCounters());
+    viewCounter.flush();
+    assertEquals(3, storedViews(id));
+  }
+
+  @Test
+  void testMostViewedRanksByCount() {
+    Long less = createStory("Less viewed");
+    Long more = createStory("More viewed");
+    for (int i = 0; i < 20_000; i++) {
+      viewCounter.recordView(more);
+    }
+    for (int i = 0; i < 10_000; i++) {
+      viewCounter.recordView(less);
+    }
+
+    viewCounter.flush();
+    List<StoryViewCountDto> ranking = viewCounter.mostViewed(100);
+
+    List<Long> ids = ranking.stream().map(StoryViewCountDto::id).toList();
+    assertTrue(ids.indexOf(more) >= 0 && ids.indexOf(more) < ids.indexOf(less));
+    assertEquals(new StoryViewCountDto(more, 20_000), ranking.get(ids.indexOf(more)));
+  }
+
+  @Test
+  void testDeleteDropsStats() {
+    Long id = createStory("Doomed");
+    for (int i = 0; i < 50_000; i++) {
+      viewCounter.recordView(id);
+    }
+    viewCounter.flush();
+
+    storyService.deleteStory(id);
+
+    assertEquals(0, storedRows(id));
+    assertFalse(viewCounter.mostViewed(100).stream().anyMatch(entry -> entry.id().equals(id)));
+  }
+
+  @Test
+  void testMostViewedRejectsLimitOutOfRange() {
+    assertThrows(ResponseStatusException.class, () -> viewCounter.mostViewed(0));
+    assertThrows(ResponseStatusException.class, () -> viewCounter.mostViewed(101));
+  }
+
+  private Long createStory(String title) {
+    return storyService
+        .createStory(new StoryRequestDto(title, "Content", "Author", List.of("views")))
+        .id();
+  }
+
+  private double trackedCounters() {
+    return meterRegistry.get("obscura.views.tracked").gauge().value();
+  }
+
+  private long storedViews(Long id) {
+    return jdbcTemplate.queryForObject(
+        "SELECT view_count FROM story_stats WHERE story_id = ?", Long.class, id);
+  }
+
+  private int storedRows(Long id) {
+    return jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM story_stats WHERE story_id = ?", Integer.class, id);
+  }
+}
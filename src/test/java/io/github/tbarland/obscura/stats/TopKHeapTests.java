@@ -0,0 +1,68 @@
+package io.github.tbarland.obscura.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+class TopKHeapTests {
+
+  @Test
+  void testKeepsHighestScores() {
+    TopKHeap heap = new TopKHeap(2);
+
+    assertTrue(heap.offer(1, 1.0));
+    assertTrue(heap.offer(2, 3.0));
+    assertFalse(heap.offer(3, 0.5));
+    assertTrue(heap.offer(4, 2.0));
+
+    assertEquals(ids(heap), List.of(2L, 4L));
+  }
+
+  @Test
+  void testUpdatesAndRemovesMembers() {
+    TopKHeap heap = new TopKHeap(3);
+    heap.offer(1, 1.0);
+    heap.offer(2, 2.0);
+    heap.offer(3, 3.0);
+
+    heap.offer(1, 5.0);
+    assertEquals(List.of(1L, 3L, 2L), ids(heap));
+
+    assertTrue(heap.remove(3));
+    assertFalse(heap.contains(3));
+    assertEquals(List.of(1L, 2L), ids(heap));
+    assertTrue(heap.offer(4, 0.1));
+    assertTrue(heap.isFull());
+  }
+
+  @Test
+  void testMatchesFullSortUnderRandomUpdates() {
+    Random random = new Random(42);
+    TopKHeap heap = new TopKHeap(10);
+    Map<Long, Double> scores = new HashMap<>();
+    for (int i = 0; i < 10_000; i++) {
+      long id = random.nextInt(200);
+      double score = scores.merge(id, random.nextDouble(), Double::sum);
+      heap.offer(id, score);
+    }
+
+    // Scores only grow, so every story that ever beat the weakest member is tracked correctly
+    List<Long> expected =
+        scores.entrySet().stream()
+            .sorted(Map.Entry.<Long, Double>comparingByValue().reversed())
+            .limit(10)
+            .map(Map.Entry::getKey)
+            .toList();
+    assertEquals(expected, ids(heap));
+  }
+
+  private static List<Long> ids(TopKHeap heap) {
+    return heap.sortedDescending().stream().map(TopKHeap.Entry::id).toList();
+  }
+}
@@ -0,0 +1,100 @@
+package io.github.tbarland.obscura.stats;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import io.github.tbarland.obscura.config.TrendingProperties;
+import io.github.tbarland.obscura.dto.StoryRequestDto;
+import io.github.tbarland.obscura.dto.TrendingStoryDto;
+import io.github.tbarland.obscura.service.StoryService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.web.server.ResponseStatusException;
+
+@SpringBootTest(
+    properties = {
+      "obscura.trending.publish-interval=1h",
+      "obscura.trending.snapshot-interval=1h",
+      "obscura.trending.size=3"
+    })
+class TrendingLeaderboardTests {
+
+  @Autowired private TrendingLeaderboard leaderboard;
+
+  @Autowired private StoryViewCounter viewCounter;
+
+  @Autowired private StoryService storyService;
+
+  @Autowired private JdbcTemplate jdbcTemplate;
+
+  @Autowired private PlatformTransactionManager transactionManager;
+
+  @Autowired private TrendingProperties properties;
+
+  @Test
+  void testViewsDriveTheTopList() {
+    Long quiet = createStory("Quiet");
+    Long busy = createStory("Busy");
+    views(busy, 500);
+    views(quiet, 100);
+
+    leaderboard.tick();
+    List<Long> top = leaderboard.top(3).stream().map(TrendingStoryDto::id).toList();
+
+    assertTrue(top.contains(busy) && top.indexOf(busy) < top.indexOf(quiet));
+  }
+
+  @Test
+  void testDeletedStoryLeavesTheList() {
+    Long doomed = createStory("Doomed");
+    views(doomed, 10_000);
+    leaderboard.tick();
+
+    storyService.deleteStory(doomed);
+
+    assertFalse(leaderboard.top(3).stream().anyMatch(entry -> entry.id().equals(doomed)));
+  }
+
+  @Test
+  void testSnapshotRestoresScoresAfterRestart() {
+    Long saved = createStory("Saved");
+    views(saved, 20_000);
+    leaderboard.tick();
+    leaderboard.save();
+
+    TrendingLeaderboard restarted =
+        new TrendingLeaderboard(
+            jdbcTemplate, transactionManager, properties, new SimpleMeterRegistry());
+    restarted.tick();
+
+    TrendingStoryDto first = restarted.top(1).getFirst();
+    assertEquals(saved, first.id());
+    // 20,000 views plus the creation weight, decayed by a few milliseconds
+    assertEquals(20_005, first.score(), 1.0);
+  }
+
+  @Test
+  void testTopRejectsLimitOutOfRange() {
+    assertThrows(ResponseStatusException.class, () -> leaderboard.top(0));
+    assertThrows(ResponseStatusException.class, () -> leaderboard.top(4));
+  }
+
+  private void views(Long storyId, int count) {
+    for (int i = 0; i < count; i++) {
+      viewCounter.recordView(storyId);
+    }
+  }
+
+  private Long createStory(String title) {
+    return storyService
+        .createStory(new StoryRequestDto(title, "Content", "Author", List.of("trending")))
+        .id();
+  }
+}
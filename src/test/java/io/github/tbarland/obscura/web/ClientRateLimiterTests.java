@@ -0,0 +1,75 @@
+package io.github.tbarland.obscura.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.Test;
+
+class ClientRateLimiterTests {
+
+  private static final long SECOND = 1_000_000_000L;
+
+  private final AtomicLong now = new AtomicLong(10 * SECOND);
+
+  @Test
+  void testBucketAllowsBurstThenRefills() {
+    TokenBucket bucket = new TokenBucket(3, 1, now.get());
+
+    assertTrue(bucket.tryAcquire(now.get()));
+    assertTrue(bucket.tryAcquire(now.get()));
+    assertTrue(bucket.tryAcquire(now.get()));
+    assertFalse(bucket.tryAcquire(now.get()), "Burst capacity should be exhausted");
+    assertEquals(SECOND, bucket.nanosUntilAvailable(now.get()));
+
+    now.addAndGet(SECOND);
+
+    assertTrue(bucket.tryAcquire(now.get()), "One token should refill after one second");
+    assertFalse(bucket.tryAcquire(now.get()));
+  }
+
+  @Test
+  void testBucketBecomesFullWhenIdle() {
+    TokenBucket bucket = new TokenBucket(2, 10, now.get());
+
+    bucket.tryAcquire(now.get());
+    assertFalse(bucket.isFull(now.get()));
+
+    now.addAndGet(SECOND);
+    assertTrue(bucket.isFull(now.get()));
+  }
+
+  @Test
+  void testClientsAreLimitedIndependently() {
+    ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 100, now::get);
+
+    assertTrue(limiter.tryAcquire("ip:10.0.0.1"));
+    assertFalse(limiter.tryAcquire("ip:10.0.0.1"));
+    assertTrue(limiter.tryAcquire("ip:10.0.0.2"));
+    assertEquals(1, limiter.secondsUntilAvailable("ip:10.0.0.1"));
+  }
+
+  @Test
+  void testBucketMapStaysBounded() {
+    ClientRateLimiter limiter = new ClientRateLimiter(5, 1, 10, now::get);
+
+    for (int i = 0; i < 1_000; i++) {
+      limiter.tryAcquire("ip:client-" + i);
+    }
+
+    assertTrue(limiter.trackedClients() <= 10, "Bucket map should never exceed maxClients");
+  }
+
+  @Test
+  void testIdleBucketsAreEvictedFirst() {
+    ClientRateLimiter limiter = new ClientRateLimiter(1, 1, 2, now::get);
+
+    limiter.tryAcquire("ip:idle");
+    now.addAndGet(5 * SECOND);
+    limiter.tryAcquire("ip:busy");
+    limiter.tryAcquire("ip:newcomer");
+
+    assertFalse(limiter.tryAcquire("ip:busy"), "Busy client should keep its drained bucket");
+  }
+}
@@ -0,0 +1,126 @@
+package io.github.tbarland.obscura.web;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+class RateLimitFilterTests {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final AtomicInteger pendingConnections = new AtomicInteger();
+  private final ClientKeyResolver clientKeyResolver = new ClientKeyResolver(List.of("partner"));
+
+  @Test
+  void testRequestsBeyondBurstGetTooManyRequests() throws Exception {
+    RateLimitFilter filter = filter(new ClientRateLimiter(2, 1, 100), 100);
+
+    assertEquals(200, perform(filter, "GET").getStatus());
+    assertEquals(200, perform(filter, "GET").getStatus());
+    MockHttpServletResponse rejected = perform(filter, "GET");
+
+    assertEquals(429, rejected.getStatus());
+    assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+    assertEquals(
+        1.0,
+        meterRegistry.get("obscura.http.rejected").tag("reason", "rate_limit").counter().count());
+  }
+
+  @Test
+  void testUnknownApiKeysShareTheRemoteAddressBucket() throws Exception {
+    RateLimitFilter filter = filter(new ClientRateLimiter(2, 1, 100), 100);
+
+    assertEquals(200, perform(filter, "GET", "spoofed-1").getStatus());
+    assertEquals(200, perform(filter, "GET", "spoofed-2").getStatus());
+
+    assertEquals(429, perform(filter, "GET", "spoofed-3").getStatus());
+    assertEquals(200, perform(filter, "GET", "partner").getStatus());
+  }
+
+  @Test
+  void testPreflightRequestsAreNotLimited() throws Exception {
+    RateLimitFilter filter = filter(new ClientRateLimiter(1, 1, 100), 100);
+
+    perform(filter, "GET");
+    MockHttpServletResponse preflight = perform(filter, "OPTIONS");
+
+    assertEquals(200, preflight.getStatus());
+    assertNull(preflight.getHeader(HttpHeaders.RETRY_AFTER));
+  }
+
+  @Test
+  void testPoolSaturationShedsWithServiceUnavailable() throws Exception {
+    RateLimitFilter filter = filter(new ClientRateLimiter(100, 100, 100), 100);
+    pendingConnections.set(50);
+
+    MockHttpServletResponse shed = perform(filter, "GET");
+
+    assertEquals(503, shed.getStatus());
+    assertEquals(
+        1.0,
+        meterRegistry
+            .get("obscura.http.rejected")
+            .tag("reason", "pool_saturation")
+            .counter()
+            .count());
+  }
+
+  @Test
+  void testConcurrencyCapShedsWithServiceUnavailable() throws Exception {
+    LoadShedder shedder =
+        new LoadShedder(1, 10, Duration.ofSeconds(1), 0.9, pendingConnections::get);
+    RateLimitFilter filter =
+        new RateLimitFilter(
+            clientKeyResolver, new ClientRateLimiter(100, 100, 100), shedder, meterRegistry);
+    shedder.requestStarted();
+
+    assertEquals(503, perform(filter, "GET").getStatus());
+
+    shedder.requestFinished(1_000);
+    assertEquals(200, perform(filter, "GET").getStatus());
+  }
+
+  @Test
+  void testOneSlowRequestDoesNotShedTheNext() throws Exception {
+    LoadShedder shedder =
+        new LoadShedder(10, 10, Duration.ofSeconds(1), 0.9, pendingConnections::get);
+    RateLimitFilter filter =
+        new RateLimitFilter(
+            clientKeyResolver, new ClientRateLimiter(100, 100, 100), shedder, meterRegistry);
+    shedder.requestStarted();
+    shedder.requestFinished(Duration.ofSeconds(5).toNanos());
+
+    assertEquals(200, perform(filter, "GET").getStatus());
+  }
+
+  private RateLimitFilter filter(ClientRateLimiter limiter, int maxConcurrent) {
+    LoadShedder shedder =
+        new LoadShedder(maxConcurrent, 10, Duration.ofSeconds(1), 0.9, pendingConnections::get);
+    return new RateLimitFilter(clientKeyResolver, limiter, shedder, meterRegistry);
+  }
+
+  private static MockHttpServletResponse perform(RateLimitFilter filter, String method)
+      throws Exception {
+    return perform(filter, method, null);
+  }
+
+  private static MockHttpServletResponse perform(
+      RateLimitFilter filter, String method, String apiKey) throws Exception {
+    MockHttpServletRequest request = new MockHttpServletRequest(method, "/api/stories");
+    request.setRemoteAddr("10.0.0.1");
+    if (apiKey != null) {
+      request.addHeader(ClientKeyResolver.API_KEY_HEADER, apiKey);
+    }
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    filter.doFilter(request, response, new MockFilterChain());
+    return response;
+  }
+}